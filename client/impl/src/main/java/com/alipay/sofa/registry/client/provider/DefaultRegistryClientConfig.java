@@ -89,6 +89,12 @@ public class DefaultRegistryClientConfig implements RegistryClientConfig {
     /** */
     private boolean eventBusEnable;
 
+    /** */
+    private int     registerBatchSize          = 100;
+
+    /** */
+    private int     registerMaxInflightBatches = 4;
+
     /**
      * Instantiates a new Default registry client config.
      *
@@ -373,6 +379,42 @@ public class DefaultRegistryClientConfig implements RegistryClientConfig {
         return eventBusEnable;
     }
 
+    /**
+     * Getter method for property <tt>registerBatchSize</tt>.
+     *
+     * @return property value of registerBatchSize
+     */
+    public int getRegisterBatchSize() {
+        return registerBatchSize;
+    }
+
+    /**
+     * Setter method for property <tt>registerBatchSize</tt>.
+     *
+     * @param registerBatchSize value to be assigned to property registerBatchSize
+     */
+    public void setRegisterBatchSize(int registerBatchSize) {
+        this.registerBatchSize = registerBatchSize;
+    }
+
+    /**
+     * Getter method for property <tt>registerMaxInflightBatches</tt>.
+     *
+     * @return property value of registerMaxInflightBatches
+     */
+    public int getRegisterMaxInflightBatches() {
+        return registerMaxInflightBatches;
+    }
+
+    /**
+     * Setter method for property <tt>registerMaxInflightBatches</tt>.
+     *
+     * @param registerMaxInflightBatches value to be assigned to property registerMaxInflightBatches
+     */
+    public void setRegisterMaxInflightBatches(int registerMaxInflightBatches) {
+        this.registerMaxInflightBatches = registerMaxInflightBatches;
+    }
+
     /**
      * Setter method for property <tt>eventBusEnable</tt>.
      *
@@ -457,6 +499,7 @@ public class DefaultRegistryClientConfig implements RegistryClientConfig {
                + ", syncConfigRetryInterval=" + syncConfigRetryInterval + ", accessKey='"
                + accessKey + '\'' + ", secretKey='" + secretKey + '\'' + ", algorithm='"
                + algorithm + '\'' + ", authCacheInterval=" + authCacheInterval
-               + ", eventBusEnable=" + eventBusEnable + '}';
+               + ", eventBusEnable=" + eventBusEnable + ", registerBatchSize=" + registerBatchSize
+               + ", registerMaxInflightBatches=" + registerMaxInflightBatches + '}';
     }
 }
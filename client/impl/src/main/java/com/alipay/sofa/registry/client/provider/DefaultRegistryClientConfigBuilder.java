@@ -28,25 +28,27 @@ import static com.alipay.sofa.registry.client.constants.ValueConstants.DEFAULT_Z
 public class DefaultRegistryClientConfigBuilder {
     private String  env;
     private String  instanceId;
-    private String  zone                      = DEFAULT_ZONE;
+    private String  zone                       = DEFAULT_ZONE;
     private String  registryEndpoint;
-    private int     registryEndpointPort      = 9603;
-    private String  dataCenter                = DEFAULT_DATA_CENTER;
+    private int     registryEndpointPort       = 9603;
+    private String  dataCenter                 = DEFAULT_DATA_CENTER;
     private String  appName;
-    private int     connectTimeout            = 3000;
-    private int     socketTimeout             = 3000;
-    private int     invokeTimeout             = 1000;
-    private int     recheckInterval           = 500;
-    private int     observerThreadCoreSize    = 5;
-    private int     observerThreadMaxSize     = 10;
-    private int     observerThreadQueueLength = 1000;
-    private int     observerCallbackTimeout   = 5000;
-    private int     syncConfigRetryInterval   = 30000;
+    private int     connectTimeout             = 3000;
+    private int     socketTimeout              = 3000;
+    private int     invokeTimeout              = 1000;
+    private int     recheckInterval            = 500;
+    private int     observerThreadCoreSize     = 5;
+    private int     observerThreadMaxSize      = 10;
+    private int     observerThreadQueueLength  = 1000;
+    private int     observerCallbackTimeout    = 5000;
+    private int     syncConfigRetryInterval    = 30000;
     private String  accessKey;
     private String  secretKey;
-    private String  algorithm                 = "HmacSHA256";
-    private long    authCacheInterval         = 5 * 60 * 1000;
-    private boolean eventBusEnable            = true;
+    private String  algorithm                  = "HmacSHA256";
+    private long    authCacheInterval          = 5 * 60 * 1000;
+    private boolean eventBusEnable             = true;
+    private int     registerBatchSize          = 100;
+    private int     registerMaxInflightBatches = 4;
 
     /**
      * Start default registry client config builder.
@@ -278,16 +280,40 @@ public class DefaultRegistryClientConfigBuilder {
         return this;
     }
 
+    /**
+     * Setter method for property <tt>registerBatchSize</tt>.
+     *
+     * @param registerBatchSize value to be assigned to property registerBatchSize
+     */
+    public DefaultRegistryClientConfigBuilder setRegisterBatchSize(int registerBatchSize) {
+        this.registerBatchSize = registerBatchSize;
+        return this;
+    }
+
+    /**
+     * Setter method for property <tt>registerMaxInflightBatches</tt>.
+     *
+     * @param registerMaxInflightBatches value to be assigned to property registerMaxInflightBatches
+     */
+    public DefaultRegistryClientConfigBuilder setRegisterMaxInflightBatches(int registerMaxInflightBatches) {
+        this.registerMaxInflightBatches = registerMaxInflightBatches;
+        return this;
+    }
+
     /**
      * Create default registry client config default registry client config.
      *
      * @return the default registry client config
      */
     public DefaultRegistryClientConfig build() {
-        return new DefaultRegistryClientConfig(env, instanceId, zone, registryEndpoint,
-            registryEndpointPort, dataCenter, appName, connectTimeout, socketTimeout,
-            invokeTimeout, recheckInterval, observerThreadCoreSize, observerThreadMaxSize,
-            observerThreadQueueLength, observerCallbackTimeout, syncConfigRetryInterval, accessKey,
-            secretKey, algorithm, authCacheInterval, eventBusEnable);
+        DefaultRegistryClientConfig config = new DefaultRegistryClientConfig(env, instanceId, zone,
+            registryEndpoint, registryEndpointPort, dataCenter, appName, connectTimeout,
+            socketTimeout, invokeTimeout, recheckInterval, observerThreadCoreSize,
+            observerThreadMaxSize, observerThreadQueueLength, observerCallbackTimeout,
+            syncConfigRetryInterval, accessKey, secretKey, algorithm, authCacheInterval,
+            eventBusEnable);
+        config.setRegisterBatchSize(registerBatchSize);
+        config.setRegisterMaxInflightBatches(registerMaxInflightBatches);
+        return config;
     }
 }
\ No newline at end of file
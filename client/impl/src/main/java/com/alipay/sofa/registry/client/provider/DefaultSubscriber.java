@@ -27,6 +27,7 @@ import com.alipay.sofa.registry.client.task.TaskEvent;
 import com.alipay.sofa.registry.client.task.Worker;
 import com.alipay.sofa.registry.client.util.CommonUtils;
 import com.alipay.sofa.registry.client.util.StringUtils;
+import com.alipay.sofa.registry.core.constants.AttributeKeyConstants;
 import com.alipay.sofa.registry.core.constants.EventTypeConstants;
 import com.alipay.sofa.registry.core.model.DataBox;
 import com.alipay.sofa.registry.core.model.ScopeEnum;
@@ -34,6 +35,7 @@ import com.alipay.sofa.registry.core.model.SubscriberRegister;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -202,6 +204,8 @@ public class DefaultSubscriber extends AbstractInternalRegister implements Subsc
             register.setVersion(this.getPubVersion().get());
             register.setTimestamp(this.getTimestamp());
             register.setScope(registration.getScopeEnum().name());
+            register.getAttributes().put(AttributeKeyConstants.SUPPORT_DELTA_PUSH,
+                Boolean.TRUE.toString());
 
             // auth signature
             setAuthSignature(register);
@@ -227,6 +231,84 @@ public class DefaultSubscriber extends AbstractInternalRegister implements Subsc
         }
     }
 
+    /**
+     * Apply a delta push on the segment data of base version.
+     *
+     * @param segment the segment
+     * @param baseVersion the version the delta is based on
+     * @param version the version after applying the delta
+     * @param addedData the added data boxes
+     * @param removedData the removed data boxes
+     * @param localZone the local zone
+     * @return false if current segment data is not of base version, a full push is needed
+     */
+    public boolean putReceivedDelta(String segment, Long baseVersion, Long version,
+                                    Map<String, List<DataBox>> addedData,
+                                    Map<String, List<DataBox>> removedData, String localZone) {
+        writeLock.lock();
+        try {
+            SegmentData existsData = data.get(segment);
+            if (null == existsData) {
+                return false;
+            }
+            if (existsData.getVersion() >= version) {
+                // already received, maybe by a full push
+                return true;
+            }
+            if (!existsData.getVersion().equals(baseVersion)) {
+                return false;
+            }
+
+            Map<String, List<DataBox>> merged = new HashMap<String, List<DataBox>>();
+            for (Entry<String, List<DataBox>> entry : existsData.getData().entrySet()) {
+                merged.put(entry.getKey(), new ArrayList<DataBox>(entry.getValue()));
+            }
+            if (null != removedData) {
+                for (Entry<String, List<DataBox>> entry : removedData.entrySet()) {
+                    List<DataBox> zoneData = merged.get(entry.getKey());
+                    if (null == zoneData) {
+                        continue;
+                    }
+                    for (DataBox removed : entry.getValue()) {
+                        removeDataBox(zoneData, removed);
+                    }
+                }
+            }
+            if (null != addedData) {
+                for (Entry<String, List<DataBox>> entry : addedData.entrySet()) {
+                    List<DataBox> zoneData = merged.get(entry.getKey());
+                    if (null == zoneData) {
+                        zoneData = new ArrayList<DataBox>();
+                        merged.put(entry.getKey(), zoneData);
+                    }
+                    zoneData.addAll(entry.getValue());
+                }
+            }
+
+            SegmentData segmentData = new SegmentData();
+            segmentData.setSegment(segment);
+            segmentData.setVersion(version);
+            segmentData.setData(merged);
+            data.put(segment, segmentData);
+            this.localZone = localZone;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void removeDataBox(List<DataBox> zoneData, DataBox removed) {
+        Iterator<DataBox> iterator = zoneData.iterator();
+        while (iterator.hasNext()) {
+            DataBox dataBox = iterator.next();
+            String value = dataBox.getData();
+            if (value == null ? removed.getData() == null : value.equals(removed.getData())) {
+                iterator.remove();
+                return;
+            }
+        }
+    }
+
     private void putSegmentData(SegmentData segmentData) {
         if (null != segmentData) {
 
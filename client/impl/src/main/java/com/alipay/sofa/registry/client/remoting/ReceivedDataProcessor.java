@@ -36,7 +36,11 @@ import java.util.List;
  * @version $Id : ReceivedDataProcessor.java, v 0.1 2018-02-27 14:54 zhuoyu.sjw Exp $$
  */
 public class ReceivedDataProcessor extends SyncUserProcessor<ReceivedData> {
-    private static final Logger LOGGER = LoggerFactory.getLogger(ReceivedDataProcessor.class);
+    private static final Logger LOGGER              = LoggerFactory
+                                                        .getLogger(ReceivedDataProcessor.class);
+
+    /** result message when a delta push can not be applied */
+    public static final String  DELTA_BASE_MISMATCH = "deltaBaseMismatch";
 
     private RegisterCache       registerCache;
 
@@ -82,7 +86,23 @@ public class ReceivedDataProcessor extends SyncUserProcessor<ReceivedData> {
 
                 if (subscriber instanceof DefaultSubscriber) {
                     DefaultSubscriber defaultSubscriber = (DefaultSubscriber) subscriber;
-                    defaultSubscriber.putReceivedData(segmentData, request.getLocalZone());
+                    if (request.isDelta()) {
+                        boolean applied = defaultSubscriber.putReceivedDelta(request.getSegment(),
+                            request.getBaseVersion(), request.getVersion(), request.getData(),
+                            request.getRemovedData(), request.getLocalZone());
+                        if (!applied) {
+                            // base version mismatch, ask server for a full push
+                            result.setSuccess(false);
+                            result.setMessage(DELTA_BASE_MISMATCH);
+                            LOGGER
+                                .info(
+                                    "[received] delta base version mismatch, dataId: {}, registId: {}, baseVersion: {}",
+                                    subscriber.getDataId(), registId, request.getBaseVersion());
+                            continue;
+                        }
+                    } else {
+                        defaultSubscriber.putReceivedData(segmentData, request.getLocalZone());
+                    }
                     try {
                         observerHandler.notify(subscriber);
                     } catch (Exception e) {
@@ -97,9 +117,9 @@ public class ReceivedDataProcessor extends SyncUserProcessor<ReceivedData> {
 
             LOGGER
                 .info(
-                    "[received] receive subscriber data save success, dataId: {} group: {} version: {} data:{} registIds:{}",
+                    "[received] receive subscriber data save success, dataId: {} group: {} version: {} baseVersion: {} data:{} registIds:{}",
                     request.getDataId(), request.getGroup(), request.getVersion(),
-                    request.getData(), registIds);
+                    request.getBaseVersion(), request.getData(), registIds);
         } catch (Exception e) {
             result.setSuccess(false);
             result.setMessage("");
@@ -16,38 +16,73 @@
  */
 package com.alipay.sofa.registry.client.task;
 
+import com.alipay.remoting.InvokeCallback;
 import com.alipay.sofa.registry.client.api.Register;
 import com.alipay.sofa.registry.client.api.RegistryClientConfig;
 import com.alipay.sofa.registry.client.log.LoggerFactory;
 import com.alipay.sofa.registry.client.provider.AbstractInternalRegister;
 import com.alipay.sofa.registry.client.provider.AbstractInternalRegister.SyncTask;
+import com.alipay.sofa.registry.client.provider.DefaultRegistryClientConfig;
 import com.alipay.sofa.registry.client.provider.RegisterCache;
 import com.alipay.sofa.registry.client.remoting.Client;
+import com.alipay.sofa.registry.core.model.BaseRegister;
+import com.alipay.sofa.registry.core.model.BatchRegisterRequest;
+import com.alipay.sofa.registry.core.model.BatchRegisterResponse;
 import com.alipay.sofa.registry.core.model.RegisterResponse;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The type Worker thread.
+ *
+ * Registers are sent in batches when registerBatchSize is greater than 1. A batch is sent
+ * asynchronously, so the next one can be sent before it is answered, and at most
+ * registerMaxInflightBatches batches wait for their responses. Registers in a sent batch are
+ * skipped until the batch is answered. When a batch fails, e.g. the server does not support
+ * batch requests, registers are sent one by one for a while.
+ *
  * @author zhuoyu.sjw
  * @version $Id : WorkerThread.java, v 0.1 2018-03-01 11:51 zhuoyu.sjw Exp $$
  */
 public class WorkerThread extends AbstractWorkerThread {
-    private static final Logger  LOGGER       = LoggerFactory.getLogger(WorkerThread.class);
+    private static final Logger  LOGGER               = LoggerFactory.getLogger(WorkerThread.class);
 
     /**
      * Task queue
      */
-    protected final TaskQueue    requestQueue = new TaskQueue();
+    protected final TaskQueue    requestQueue         = new TaskQueue();
 
     private RegistryClientConfig config;
 
     private RegisterCache        registerCache;
 
-    private AtomicBoolean        inited       = new AtomicBoolean(false);
+    private AtomicBoolean        inited               = new AtomicBoolean(false);
+
+    /**
+     * Batch register is disabled for this time after a batch failed
+     */
+    static final long            BATCH_DISABLE_MILLIS = 60 * 1000;
+
+    /**
+     * Max registers in one batch request, batch register is disabled when it is less than 2
+     */
+    private final int            registerBatchSize;
+
+    private final Semaphore      inflightBatches;
+
+    private final Set<String>    inflightRegistIds    = Collections
+                                                          .newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private volatile long        batchDisabledUntil;
 
     /**
      * Instantiates a new Worker thread.
@@ -59,6 +94,16 @@ public class WorkerThread extends AbstractWorkerThread {
         super(client);
         this.config = config;
         this.registerCache = registerCache;
+        // batch settings are not part of the RegistryClientConfig api, other configs send one by one
+        if (config instanceof DefaultRegistryClientConfig) {
+            DefaultRegistryClientConfig defaultConfig = (DefaultRegistryClientConfig) config;
+            this.registerBatchSize = defaultConfig.getRegisterBatchSize();
+            this.inflightBatches = new Semaphore(Math.max(1,
+                defaultConfig.getRegisterMaxInflightBatches()));
+        } else {
+            this.registerBatchSize = 1;
+            this.inflightBatches = new Semaphore(1);
+        }
         this.setName("RegistryWorkerThread");
         this.setDaemon(true);
     }
@@ -107,11 +152,20 @@ public class WorkerThread extends AbstractWorkerThread {
                 }
 
                 Iterator<TaskEvent> lt = requestQueue.iterator();
+                boolean batch = isBatchEnabled();
+                List<TaskEvent> batchEvents = new ArrayList<TaskEvent>();
+                int handled = 0;
 
                 while (lt.hasNext()) {
                     client.ensureConnected();
                     TaskEvent ev = lt.next();
                     lt.remove();
+
+                    // Waiting for the response of its batch.
+                    if (inflightRegistIds.contains(ev.getSource().getRegistId())) {
+                        continue;
+                    }
+
                     int sendCount = ev.incSendCount();
 
                     // Resent needs delay when task event is not the first time to send.
@@ -119,11 +173,28 @@ public class WorkerThread extends AbstractWorkerThread {
                         continue;
                     }
 
-                    handleTask(ev);
+                    handled++;
+                    if (!batch) {
+                        handleTask(ev);
+                        continue;
+                    }
+                    batchEvents.add(ev);
+                    if (batchEvents.size() >= registerBatchSize) {
+                        handleTasks(batchEvents);
+                        batchEvents = new ArrayList<TaskEvent>();
+                    }
+                }
+                if (!batchEvents.isEmpty()) {
+                    handleTasks(batchEvents);
                 }
 
                 // Cleaning completed task, it will take more time when the registration number is large.
                 requestQueue.cleanCompletedTasks();
+
+                // All tasks are delayed or waiting for their batches, which signal when answered.
+                if (handled == 0 && !requestQueue.isEmpty()) {
+                    await(config.getRecheckInterval());
+                }
             } catch (Throwable e) {
                 LOGGER.error("[send] handle data error!", e);
             }
@@ -158,6 +229,15 @@ public class WorkerThread extends AbstractWorkerThread {
 
             Object result = client.invokeSync(request);
 
+            handleResult(abstractInternalRegister, requestId, request, result);
+        } catch (Exception e) {
+            LOGGER.error("[send] handle request failed, {}", event, e);
+        }
+    }
+
+    private void handleResult(AbstractInternalRegister register, String requestId, Object request,
+                              Object result) {
+        try {
             if (!(result instanceof RegisterResponse)) {
                 LOGGER.warn("[register] result type is wrong, {}", result);
                 return;
@@ -169,8 +249,8 @@ public class WorkerThread extends AbstractWorkerThread {
                 return;
             }
 
-            boolean syncOK = abstractInternalRegister.syncOK(requestId, response.getVersion(),
-                response.isRefused());
+            boolean syncOK = register
+                .syncOK(requestId, response.getVersion(), response.isRefused());
             if (!syncOK) {
                 LOGGER.info("[register] requestId has expired, ignore this response, {}, {}, {}",
                     requestId, request, response);
@@ -189,8 +269,124 @@ public class WorkerThread extends AbstractWorkerThread {
                     request, response);
             }
         } catch (Exception e) {
-            LOGGER.error("[send] handle request failed, {}", event, e);
+            LOGGER.error("[send] handle result failed, {}, {}", request, result, e);
+        }
+    }
+
+    private boolean isBatchEnabled() {
+        return registerBatchSize > 1 && System.currentTimeMillis() >= batchDisabledUntil;
+    }
+
+    private void disableBatch() {
+        batchDisabledUntil = System.currentTimeMillis() + BATCH_DISABLE_MILLIS;
+    }
+
+    /**
+     * Send task events in one batch request without waiting for the response.
+     *
+     * @param events the events
+     * @throws InterruptedException the interrupted exception
+     */
+    private void handleTasks(List<TaskEvent> events) throws InterruptedException {
+        final List<BatchItem> items = new ArrayList<BatchItem>(events.size());
+        BatchRegisterRequest batchRequest = new BatchRegisterRequest();
+        for (TaskEvent event : events) {
+            event.setTriggerTime(System.currentTimeMillis());
+            Register register = event.getSource();
+
+            if (!(register instanceof AbstractInternalRegister)) {
+                LOGGER.warn("[register] register type unknown, {}", register);
+                continue;
+            }
+
+            AbstractInternalRegister abstractInternalRegister = (AbstractInternalRegister) register;
+            SyncTask syncTask = abstractInternalRegister.assemblySyncTask();
+            if (syncTask.isDone()) {
+                LOGGER.info("[register] register already sync succeeded, {}", register);
+                continue;
+            }
+
+            Object request = syncTask.getRequest();
+            if (!(request instanceof BaseRegister)) {
+                handleTask(event);
+                continue;
+            }
+            batchRequest.getRegisters().add((BaseRegister) request);
+            items.add(new BatchItem(abstractInternalRegister, syncTask.getRequestId(), request));
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+
+        inflightBatches.acquire();
+        for (BatchItem item : items) {
+            inflightRegistIds.add(item.register.getRegistId());
         }
+        try {
+            client.invokeWithCallback(batchRequest, new InvokeCallback() {
+                @Override
+                public void onResponse(Object result) {
+                    try {
+                        if (!(result instanceof BatchRegisterResponse)) {
+                            LOGGER.warn("[register] batch result type is wrong, {}", result);
+                            disableBatch();
+                            return;
+                        }
+                        List<RegisterResponse> responses = ((BatchRegisterResponse) result)
+                            .getResponses();
+                        for (int i = 0; i < items.size() && i < responses.size(); i++) {
+                            BatchItem item = items.get(i);
+                            handleResult(item.register, item.requestId, item.request,
+                                responses.get(i));
+                        }
+                    } finally {
+                        complete(items);
+                    }
+                }
+
+                @Override
+                public void onException(Throwable e) {
+                    LOGGER.error("[register] batch register failed, send one by one for {}ms",
+                        BATCH_DISABLE_MILLIS, e);
+                    disableBatch();
+                    complete(items);
+                }
+
+                @Override
+                public Executor getExecutor() {
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            LOGGER.error("[register] send batch register failed, send one by one for {}ms",
+                BATCH_DISABLE_MILLIS, e);
+            disableBatch();
+            complete(items);
+        }
+    }
+
+    private void complete(List<BatchItem> items) {
+        for (BatchItem item : items) {
+            inflightRegistIds.remove(item.register.getRegistId());
+        }
+        inflightBatches.release();
+        signal();
     }
 
+    /**
+     * A register sent in a batch.
+     */
+    private static class BatchItem {
+        private final AbstractInternalRegister register;
+
+        private final String                   requestId;
+
+        private final Object                   request;
+
+        BatchItem(AbstractInternalRegister register, String requestId, Object request) {
+            this.register = register;
+            this.requestId = requestId;
+            this.request = request;
+        }
+    }
 }
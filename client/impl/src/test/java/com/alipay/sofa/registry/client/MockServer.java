@@ -21,6 +21,8 @@ import com.alipay.remoting.rpc.RpcServer;
 import com.alipay.remoting.rpc.protocol.SyncUserProcessor;
 import com.alipay.sofa.registry.core.constants.EventTypeConstants;
 import com.alipay.sofa.registry.core.model.BaseRegister;
+import com.alipay.sofa.registry.core.model.BatchRegisterRequest;
+import com.alipay.sofa.registry.core.model.BatchRegisterResponse;
 import com.alipay.sofa.registry.core.model.ConfiguratorRegister;
 import com.alipay.sofa.registry.core.model.DataBox;
 import com.alipay.sofa.registry.core.model.PublisherRegister;
@@ -33,6 +35,7 @@ import org.slf4j.LoggerFactory;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The type Mock server.
@@ -51,6 +54,10 @@ public class MockServer {
 
     private int                               port            = 9600;
 
+    private boolean                           batchEnabled    = true;
+
+    private AtomicInteger                     batchCount      = new AtomicInteger();
+
     private Map<String, PublisherRegister>    publisherMap    = new HashMap<String, PublisherRegister>();
     private Map<String, SubscriberRegister>   subscriberMap   = new HashMap<String, SubscriberRegister>();
     private Map<String, ConfiguratorRegister> configuratorMap = new HashMap<String, ConfiguratorRegister>();
@@ -63,6 +70,9 @@ public class MockServer {
         rpcServer.registerUserProcessor(new MockSubscriberRegisterProcessor());
         rpcServer.registerUserProcessor(new MockPublisherRegisterProcessor());
         rpcServer.registerUserProcessor(new MockConfiguratorRegisterProcesor());
+        if (batchEnabled) {
+            rpcServer.registerUserProcessor(new MockBatchRegisterProcessor());
+        }
         rpcServer.start(ip);
     }
 
@@ -109,6 +119,24 @@ public class MockServer {
         this.port = port;
     }
 
+    /**
+     * Setter method for property <tt>batchEnabled</tt>, must be set before start.
+     *
+     * @param batchEnabled value to be assigned to property batchEnabled
+     */
+    public void setBatchEnabled(boolean batchEnabled) {
+        this.batchEnabled = batchEnabled;
+    }
+
+    /**
+     * Gets count of batch requests received.
+     *
+     * @return the batch count
+     */
+    public int getBatchCount() {
+        return batchCount.get();
+    }
+
     /**
      * Query publisher by registId
      *
@@ -197,6 +225,39 @@ public class MockServer {
         return response;
     }
 
+    /**
+     * The type Mock batch register processor.
+     */
+    class MockBatchRegisterProcessor extends SyncUserProcessor<BatchRegisterRequest> {
+
+        @Override
+        public Object handleRequest(BizContext bizCtx, BatchRegisterRequest request)
+                                                                                    throws Exception {
+            batchCount.incrementAndGet();
+            BatchRegisterResponse response = new BatchRegisterResponse();
+            for (BaseRegister register : request.getRegisters()) {
+                Object result;
+                if (register instanceof PublisherRegister) {
+                    result = new MockPublisherRegisterProcessor().handleRequest(bizCtx,
+                        (PublisherRegister) register);
+                } else if (register instanceof SubscriberRegister) {
+                    result = new MockSubscriberRegisterProcessor().handleRequest(bizCtx,
+                        (SubscriberRegister) register);
+                } else {
+                    result = new MockConfiguratorRegisterProcesor().handleRequest(bizCtx,
+                        (ConfiguratorRegister) register);
+                }
+                response.getResponses().add((RegisterResponse) result);
+            }
+            return response;
+        }
+
+        @Override
+        public String interest() {
+            return BatchRegisterRequest.class.getName();
+        }
+    }
+
     class MockConfiguratorRegisterProcesor extends SyncUserProcessor<ConfiguratorRegister> {
 
         @Override
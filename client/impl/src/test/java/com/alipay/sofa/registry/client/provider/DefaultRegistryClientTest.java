@@ -22,6 +22,9 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.After;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -95,6 +98,25 @@ public class DefaultRegistryClientTest extends BaseTest {
         assertTrue(defaultPublisher.isRegistered());
     }
 
+    /**
+     * Register publishers in batches.
+     */
+    @Test
+    public void registerBatch() throws InterruptedException {
+        List<Publisher> publishers = new ArrayList<Publisher>();
+        for (int i = 0; i < 300; i++) {
+            publishers.add(registryClient
+                .register(new PublisherRegistration(dataId + "-batch-" + i)));
+        }
+
+        Thread.sleep(2000L);
+
+        for (Publisher publisher : publishers) {
+            assertTrue(((DefaultPublisher) publisher).isRegistered());
+        }
+        assertTrue(mockServer.getBatchCount() > 0);
+    }
+
     /**
      * Register subscriber.
      */
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -234,6 +235,54 @@ public class DefaultSubscriberTest {
         assertZoneDataEquals(expectedMap8, userData10.getZoneData());
     }
 
+    @Test
+    public void testPutReceivedDelta() {
+
+        String localZone = ZHEJIANG;
+
+        DefaultRegistryClientConfig config = DefaultRegistryClientConfigBuilder.start().build();
+        DefaultSubscriber defaultSubscriber = new DefaultSubscriber(null, null, config);
+
+        // 1. delta without any full data
+        Map<String, List<DataBox>> added1 = new HashMap<String, List<DataBox>>();
+        addToDataBoxMap(added1, ZHEJIANG, HANGZHOU);
+        assertFalse(defaultSubscriber.putReceivedDelta(segmentA, 1L, 2L, added1, null, localZone));
+
+        // 2. full data as base
+        Map<String, List<DataBox>> map2 = new HashMap<String, List<DataBox>>();
+        addToDataBoxMap(map2, ZHEJIANG, HANGZHOU, NINGBO);
+        SegmentData sd2 = new SegmentData();
+        sd2.setSegment(segmentA);
+        sd2.setVersion(2L);
+        sd2.setData(map2);
+        defaultSubscriber.putReceivedData(sd2, localZone);
+
+        // 3. delta on base version
+        Map<String, List<DataBox>> added3 = new HashMap<String, List<DataBox>>();
+        addToDataBoxMap(added3, ZHEJIANG, WENZHOU);
+        addToDataBoxMap(added3, JIANGSU, NANJING);
+        Map<String, List<DataBox>> removed3 = new HashMap<String, List<DataBox>>();
+        addToDataBoxMap(removed3, ZHEJIANG, HANGZHOU);
+        assertTrue(defaultSubscriber
+            .putReceivedDelta(segmentA, 2L, 3L, added3, removed3, localZone));
+
+        Map<String, List<String>> expectedMap3 = new HashMap<String, List<String>>();
+        addToStringMap(expectedMap3, ZHEJIANG, NINGBO, WENZHOU);
+        addToStringMap(expectedMap3, JIANGSU, NANJING);
+        assertZoneDataEquals(expectedMap3, defaultSubscriber.peekData().getZoneData());
+
+        // 4. delta with version gap is rejected and data is unchanged
+        Map<String, List<DataBox>> removed4 = new HashMap<String, List<DataBox>>();
+        addToDataBoxMap(removed4, JIANGSU, NANJING);
+        assertFalse(defaultSubscriber.putReceivedDelta(segmentA, 4L, 5L, null, removed4, localZone));
+        assertZoneDataEquals(expectedMap3, defaultSubscriber.peekData().getZoneData());
+
+        // 5. delta already received
+        assertTrue(defaultSubscriber
+            .putReceivedDelta(segmentA, 2L, 3L, added3, removed3, localZone));
+        assertZoneDataEquals(expectedMap3, defaultSubscriber.peekData().getZoneData());
+    }
+
     private void addToDataBoxMap(Map<String, List<DataBox>> map, String key, String... values) {
         List<DataBox> list = map.get(key);
         if (list == null) {
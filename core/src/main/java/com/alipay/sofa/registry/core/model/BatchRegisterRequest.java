@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.core.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Several publisher, subscriber or configurator registers sent in one request, they are handled
+ * in order and answered by a {@link BatchRegisterResponse}.
+ *
+ * @author agent
+ * @version $Id: BatchRegisterRequest.java, v 0.1 2026-10-17 agent Exp $$
+ */
+public class BatchRegisterRequest implements Serializable {
+
+    private static final long  serialVersionUID = 6457861389724016135L;
+
+    private List<BaseRegister> registers        = new ArrayList<BaseRegister>();
+
+    /**
+     * Getter method for property <tt>registers</tt>.
+     *
+     * @return property value of registers
+     */
+    public List<BaseRegister> getRegisters() {
+        return registers;
+    }
+
+    /**
+     * Setter method for property <tt>registers</tt>.
+     *
+     * @param registers value to be assigned to property registers
+     */
+    public void setRegisters(List<BaseRegister> registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "BatchRegisterRequest{" + "registers=" + (registers == null ? 0 : registers.size())
+               + '}';
+    }
+}
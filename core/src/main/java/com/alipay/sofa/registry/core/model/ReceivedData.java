@@ -47,6 +47,12 @@ public class ReceivedData implements Serializable {
 
     private String                              localZone;
 
+    /** version of the data this delta applies to, null means a full push */
+    private Long                                baseVersion;
+
+    /** data boxes removed since baseVersion, only used by a delta push */
+    private Map<String/*zone*/, List<DataBox>> removedData;
+
     /**
      * Instantiates a new Received data multi.
      */
@@ -238,6 +244,52 @@ public class ReceivedData implements Serializable {
         this.localZone = localZone;
     }
 
+    /**
+     * Getter method for property <tt>baseVersion</tt>.
+     *
+     * @return property value of baseVersion
+     */
+    public Long getBaseVersion() {
+        return baseVersion;
+    }
+
+    /**
+     * Setter method for property <tt>baseVersion</tt>.
+     *
+     * @param baseVersion value to be assigned to property baseVersion
+     */
+    public void setBaseVersion(Long baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+
+    /**
+     * Getter method for property <tt>removedData</tt>.
+     *
+     * @return property value of removedData
+     */
+    public Map<String, List<DataBox>> getRemovedData() {
+        return removedData;
+    }
+
+    /**
+     * Setter method for property <tt>removedData</tt>.
+     *
+     * @param removedData value to be assigned to property removedData
+     */
+    public void setRemovedData(Map<String, List<DataBox>> removedData) {
+        this.removedData = removedData;
+    }
+
+    /**
+     * Whether this is a delta push: data holds the added boxes and removedData the removed
+     * ones, both relative to baseVersion.
+     *
+     * @return true if delta
+     */
+    public boolean isDelta() {
+        return baseVersion != null;
+    }
+
     /**
      * To string string.
      *
@@ -248,6 +300,7 @@ public class ReceivedData implements Serializable {
         return "ReceivedData{" + "dataId='" + dataId + '\'' + ", group='" + group + '\''
                + ", instanceId='" + instanceId + '\'' + ", segment='" + segment + '\''
                + ", scope='" + scope + '\'' + ", subscriberRegistIds=" + subscriberRegistIds
-               + ", version=" + version + ", localZone='" + localZone + '\'' + '}';
+               + ", version=" + version + ", localZone='" + localZone + '\'' + ", baseVersion="
+               + baseVersion + '}';
     }
 }
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model;
+
+import java.util.List;
+import java.util.Map;
+
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+
+/**
+ * rough estimation of the serialized size of datum, used to decide whether a datum is small
+ * enough to be carried by a notification or how much memory it weighs in a cache
+ *
+ * @author agent
+ * @version $Id: DatumSizeUtil.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DatumSizeUtil {
+
+    /** registerId, cell, appName, addresses and other fields of a publisher */
+    private static final int PUBLISHER_OVERHEAD = 256;
+
+    /** dataInfoId, dataCenter and other fields of a datum */
+    private static final int DATUM_OVERHEAD     = 128;
+
+    public static long estimateSize(Datum datum) {
+        if (datum == null) {
+            return 0L;
+        }
+        long size = DATUM_OVERHEAD;
+        Map<String, Publisher> pubMap = datum.getPubMap();
+        if (pubMap != null) {
+            for (Publisher publisher : pubMap.values()) {
+                size += estimateSize(publisher);
+            }
+        }
+        return size;
+    }
+
+    public static long estimateSize(Publisher publisher) {
+        long size = PUBLISHER_OVERHEAD;
+        List<ServerDataBox> dataList = publisher.getDataList();
+        if (dataList != null) {
+            for (ServerDataBox dataBox : dataList) {
+                if (dataBox.isInBytes()) {
+                    size += dataBox.getBytes().length;
+                } else if (dataBox.getObject() instanceof String) {
+                    size += ((String) dataBox.getObject()).length();
+                }
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * renew many connectIds of one session server in a single request,
+ * the data server answers with the connectIds whose digest is different
+ *
+ * @author agent
+ * @version $Id: RenewDatumBatchRequest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class RenewDatumBatchRequest implements Serializable {
+
+    private static final long         serialVersionUID = -3512463297815092118L;
+
+    private final String              dataServerIP;
+
+    /** connectId -> digestSum */
+    private final Map<String, String> digestSums;
+
+    public RenewDatumBatchRequest(String dataServerIP, Map<String, String> digestSums) {
+        this.dataServerIP = dataServerIP;
+        this.digestSums = digestSums;
+    }
+
+    /**
+     * Getter method for property <tt>dataServerIP</tt>.
+     *
+     * @return property value of dataServerIP
+     */
+    public String getDataServerIP() {
+        return dataServerIP;
+    }
+
+    /**
+     * Getter method for property <tt>digestSums</tt>.
+     *
+     * @return property value of digestSums
+     */
+    public Map<String, String> getDigestSums() {
+        return digestSums;
+    }
+
+    /**
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("RenewDatumBatchRequest{");
+        sb.append("dataServerIP='").append(dataServerIP).append('\'');
+        sb.append(", size=").append(digestSums == null ? 0 : digestSums.size());
+        sb.append('}');
+        return sb.toString();
+    }
+}
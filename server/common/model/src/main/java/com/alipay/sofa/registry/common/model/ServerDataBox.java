@@ -22,6 +22,10 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -33,15 +37,33 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 public class ServerDataBox implements Serializable {
 
     /** UID */
-    private static final long serialVersionUID   = 2817539491173993030L;
-    /**  */
-    private static final int  SERIALIZED_BY_JAVA = 1;
+    private static final long    serialVersionUID           = 2817539491173993030L;
+    /** object written by java serialization, the default of old versions */
+    public static final int      SERIALIZED_BY_JAVA         = 1;
+    /** string stored as raw utf-8 bytes */
+    public static final int      SERIALIZED_BY_UTF8         = 2;
+    /** utf-8 bytes deflated with the shared preset dictionary */
+    public static final int      SERIALIZED_BY_UTF8_DEFLATE = 3;
+    /** strings shorter than this are not worth deflating */
+    private static final int     MIN_DEFLATE_SIZE           = 64;
+    /**
+     * Preset dictionary shared by all servers, tokens of typical published data.
+     * Deflated boxes are decoded with exactly these bytes, so never change it,
+     * add a new serialization type instead.
+     */
+    private static final byte[]  DEFLATE_DICTIONARY         = ("bolt://tr://dubbo://http://"
+                                                               + "?_CONNECTTIMEOUT=3000&_TIMEOUT=3000&_SERIALIZETYPE=hessian2"
+                                                               + "&_WARMUPTIME=0&_WARMUPWEIGHT=10&_WEIGHT=100&app_name=&zone="
+                                                               + "&v=4.0&p=1&_IDLETIMEOUT=27&_MAXREADIDLETIME=30&startTime="
+                                                               + "&pid=&uniqueId=&protocol=&version=1.0&interface=")
+                                                                .getBytes(Charset.forName("UTF-8"));
+    private static final Charset UTF8                       = Charset.forName("UTF-8");
     /** Null for locally instantiated, otherwise for internalized */
-    private byte[]            bytes;
+    private byte[]               bytes;
     /** Only available if bytes != null */
-    private int               serialization;
+    private int                  serialization;
     /** Actual object, lazy deserialized */
-    private Object            object;
+    private Object               object;
 
     /**
      * Instantiates a new DataBox.
@@ -68,6 +90,35 @@ public class ServerDataBox implements Serializable {
         this.serialization = SERIALIZED_BY_JAVA;
     }
 
+    /**
+     * Instantiates a DataBox holding the string in the given serialization type,
+     * deflated boxes fall back to plain utf-8 when compression does not pay off.
+     *
+     * @param data the string data
+     * @param serialization the serialization type
+     * @return ServerDataBox server data box
+     */
+    public static ServerDataBox of(String data, int serialization) {
+        if (data == null || serialization == SERIALIZED_BY_JAVA) {
+            return new ServerDataBox(getBytes(data));
+        }
+        if (serialization != SERIALIZED_BY_UTF8 && serialization != SERIALIZED_BY_UTF8_DEFLATE) {
+            throw new IllegalArgumentException("Unsupported serialization type: " + serialization);
+        }
+        ServerDataBox box = new ServerDataBox();
+        byte[] utf8 = data.getBytes(UTF8);
+        box.bytes = utf8;
+        box.serialization = SERIALIZED_BY_UTF8;
+        if (serialization == SERIALIZED_BY_UTF8_DEFLATE && utf8.length >= MIN_DEFLATE_SIZE) {
+            byte[] deflated = deflate(utf8);
+            if (deflated.length < utf8.length) {
+                box.bytes = deflated;
+                box.serialization = SERIALIZED_BY_UTF8_DEFLATE;
+            }
+        }
+        return box;
+    }
+
     /**
      * Is in bytes boolean.
      *
@@ -94,6 +145,9 @@ public class ServerDataBox implements Serializable {
      */
     public Object extract() throws IOException, ClassNotFoundException {
         if (object == null && isInBytes()) {
+            if (serialization == SERIALIZED_BY_UTF8 || serialization == SERIALIZED_BY_UTF8_DEFLATE) {
+                return extractString();
+            }
             ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
             if (serialization != SERIALIZED_BY_JAVA) {
                 throw new IOException("Unsupported serialization type: " + serialization);
@@ -112,6 +166,25 @@ public class ServerDataBox implements Serializable {
         return object;
     }
 
+    /**
+     * transfer bytes to string, utf-8 boxes are decoded on every call without
+     * caching the string, so that boxes passing through keep only their bytes
+     * @return String string
+     * @throws IOException the io exception
+     * @throws ClassNotFoundException the class not found exception
+     */
+    public String extractString() throws IOException, ClassNotFoundException {
+        if (object == null && isInBytes()) {
+            if (serialization == SERIALIZED_BY_UTF8) {
+                return new String(bytes, UTF8);
+            }
+            if (serialization == SERIALIZED_BY_UTF8_DEFLATE) {
+                return new String(inflate(bytes), UTF8);
+            }
+        }
+        return (String) extract();
+    }
+
     /**
      * change object to bytes
      *
@@ -145,6 +218,49 @@ public class ServerDataBox implements Serializable {
         return bos.toByteArray();
     }
 
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setDictionary(DEFLATE_DICTIONARY);
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(input.length);
+            byte[] buffer = new byte[Math.max(64, input.length)];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                bos.write(buffer, 0, count);
+            }
+            return bos.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[Math.max(256, input.length * 2)];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DEFLATE_DICTIONARY);
+                    } else if (inflater.needsInput()) {
+                        throw new IOException("Truncated deflated data box");
+                    }
+                }
+                bos.write(buffer, 0, count);
+            }
+            return bos.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted deflated data box", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         serialization = in.readByte(); // Read serialization type
         int size = in.readInt(); // Read byte stream size
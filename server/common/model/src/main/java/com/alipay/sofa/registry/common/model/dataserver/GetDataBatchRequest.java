@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.dataserver;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * request to get a batch of datum of one datacenter, used to migrate datum between data servers
+ *
+ * @author agent
+ * @version $Id: GetDataBatchRequest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class GetDataBatchRequest implements Serializable {
+
+    private static final long serialVersionUID = -3203590148432519738L;
+
+    private String            dataCenter;
+
+    private List<String>      dataInfoIds;
+
+    /**
+     * constructor
+     */
+    public GetDataBatchRequest() {
+    }
+
+    /**
+     * constructor
+     * @param dataCenter
+     * @param dataInfoIds
+     */
+    public GetDataBatchRequest(String dataCenter, List<String> dataInfoIds) {
+        this.dataCenter = dataCenter;
+        this.dataInfoIds = dataInfoIds;
+    }
+
+    /**
+     * Getter method for property <tt>dataCenter</tt>.
+     *
+     * @return property value of dataCenter
+     */
+    public String getDataCenter() {
+        return dataCenter;
+    }
+
+    /**
+     * Setter method for property <tt>dataCenter</tt>.
+     *
+     * @param dataCenter  value to be assigned to property dataCenter
+     */
+    public void setDataCenter(String dataCenter) {
+        this.dataCenter = dataCenter;
+    }
+
+    /**
+     * Getter method for property <tt>dataInfoIds</tt>.
+     *
+     * @return property value of dataInfoIds
+     */
+    public List<String> getDataInfoIds() {
+        return dataInfoIds;
+    }
+
+    /**
+     * Setter method for property <tt>dataInfoIds</tt>.
+     *
+     * @param dataInfoIds  value to be assigned to property dataInfoIds
+     */
+    public void setDataInfoIds(List<String> dataInfoIds) {
+        this.dataInfoIds = dataInfoIds;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("[GetDataBatchRequest] dataCenter=").append(this.dataCenter)
+            .append(", size=").append(dataInfoIds == null ? 0 : dataInfoIds.size()).toString();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.dataserver;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * request to get digests of specific nodes of the version hash tree, see DigestTree
+ *
+ * @author agent
+ * @version $Id: GetDataDigestRequest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class GetDataDigestRequest implements Serializable {
+
+    private static final long serialVersionUID = -3198546260571738203L;
+
+    private List<Integer>     nodes;
+
+    /**
+     * constructor
+     */
+    public GetDataDigestRequest() {
+    }
+
+    /**
+     * constructor
+     * @param nodes
+     */
+    public GetDataDigestRequest(List<Integer> nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Getter method for property <tt>nodes</tt>.
+     *
+     * @return property value of nodes
+     */
+    public List<Integer> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Setter method for property <tt>nodes</tt>.
+     *
+     * @param nodes  value to be assigned to property nodes
+     */
+    public void setNodes(List<Integer> nodes) {
+        this.nodes = nodes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[GetDataDigestRequest] nodes=");
+        if (nodes != null) {
+            sb.append(this.nodes.size());
+        }
+        return sb.toString();
+    }
+}
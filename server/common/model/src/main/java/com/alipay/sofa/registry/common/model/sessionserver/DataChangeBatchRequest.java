@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.sessionserver;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * request to notify sessionserver many data changes at once
+ *
+ * @author agent
+ * @version $Id: DataChangeBatchRequest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DataChangeBatchRequest implements Serializable {
+
+    private static final long       serialVersionUID = 3381927510743221458L;
+
+    private List<DataChangeRequest> changes          = new ArrayList<>();
+
+    /**
+     * constructor
+     */
+    public DataChangeBatchRequest() {
+    }
+
+    /**
+     * constructor
+     * @param changes
+     */
+    public DataChangeBatchRequest(List<DataChangeRequest> changes) {
+        this.changes = changes;
+    }
+
+    /**
+     * Getter method for property <tt>changes</tt>.
+     *
+     * @return property value of changes
+     */
+    public List<DataChangeRequest> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Setter method for property <tt>changes</tt>.
+     *
+     * @param changes  value to be assigned to property changes
+     */
+    public void setChanges(List<DataChangeRequest> changes) {
+        this.changes = changes;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DataChangeBatchRequest{");
+        sb.append("size=").append(changes == null ? 0 : changes.size());
+        sb.append(", changes=").append(changes);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -16,6 +16,7 @@
  */
 package com.alipay.sofa.registry.common.model.sessionserver;
 
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.store.WordCache;
 
 import java.io.Serializable;
@@ -36,6 +37,9 @@ public class DataChangeRequest implements Serializable {
 
     private long              version;
 
+    /** optional, the changed datum itself so session need not fetch it back */
+    private Datum             datum;
+
     /**
      * constructor
      */
@@ -108,12 +112,31 @@ public class DataChangeRequest implements Serializable {
         this.version = version;
     }
 
+    /**
+     * Getter method for property <tt>datum</tt>.
+     *
+     * @return property value of datum
+     */
+    public Datum getDatum() {
+        return datum;
+    }
+
+    /**
+     * Setter method for property <tt>datum</tt>.
+     *
+     * @param datum  value to be assigned to property datum
+     */
+    public void setDatum(Datum datum) {
+        this.datum = datum;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("DataChangeRequest{");
         sb.append("dataInfoId='").append(dataInfoId).append('\'');
         sb.append(", dataCenter='").append(dataCenter).append('\'');
         sb.append(", version=").append(version);
+        sb.append(", withDatum=").append(datum != null);
         sb.append('}');
         return sb.toString();
     }
@@ -21,6 +21,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import com.alipay.sofa.registry.common.model.ElementType;
 import com.alipay.sofa.registry.common.model.constants.ValueConstants;
+import com.alipay.sofa.registry.core.constants.AttributeKeyConstants;
 import com.alipay.sofa.registry.core.model.ScopeEnum;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -43,6 +44,11 @@ public class Subscriber extends BaseInfo {
      */
     private Map<String/*dataCenter*/, PushContext> lastPushContexts = new ConcurrentHashMap<>();
 
+    /**
+     * last sent version, may be not confirmed by client yet
+     */
+    private Map<String/*dataCenter*/, Long>        lastSentVersions = new ConcurrentHashMap<>();
+
     /**
      * Getter method for property <tt>scope</tt>.
      *
@@ -122,6 +128,61 @@ public class Subscriber extends BaseInfo {
         }
     }
 
+    /**
+     * get last pushed version of the dataCenter
+     * @param dataCenter
+     * @return null if never pushed
+     */
+    public Long getPushVersion(String dataCenter) {
+        PushContext pushContext = lastPushContexts.get(dataCenter);
+        return pushContext == null ? null : pushContext.pushVersion;
+    }
+
+    /**
+     * record version sent to client, it is confirmed later by checkAndUpdateVersion
+     * @param dataCenter
+     * @param version
+     */
+    public void markSentVersion(String dataCenter, Long version) {
+        if (version != null) {
+            lastSentVersions.merge(dataCenter, version, Math::max);
+        }
+    }
+
+    /**
+     * get the version client surely holds: the last push is confirmed and no newer push in flight
+     * @param dataCenter
+     * @return null if unknown
+     */
+    public Long getReceivedVersion(String dataCenter) {
+        Long pushVersion = getPushVersion(dataCenter);
+        Long sentVersion = lastSentVersions.get(dataCenter);
+        if (pushVersion == null || (sentVersion != null && sentVersion > pushVersion)) {
+            return null;
+        }
+        return pushVersion;
+    }
+
+    /**
+     * forget last push of the dataCenter, next push will be a full push
+     * @param dataCenter
+     */
+    public void resetPushVersion(String dataCenter) {
+        lastSentVersions.remove(dataCenter);
+        lastPushContexts.remove(dataCenter);
+    }
+
+    /**
+     * whether client declared it can apply delta push
+     * @return
+     */
+    @JsonIgnore
+    public boolean isSupportDeltaPush() {
+        Map<String, String> attributes = getAttributes();
+        return attributes != null
+               && Boolean.parseBoolean(attributes.get(AttributeKeyConstants.SUPPORT_DELTA_PUSH));
+    }
+
     /**
      * If the pushed data is empty, check the last push, for avoid continuous empty datum push
      */
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * hash tree over the versions of dataInfoIds, for anti-entropy between servers
+ *
+ * The dataInfoIds are hashed into LEAF_COUNT buckets. The digest of a leaf is the xor of
+ * hash(dataInfoId, version) of its dataInfoIds, and the digest of an inner node is the xor of its
+ * children, so a version change is applied by xor-ing one delta along the path from the leaf to
+ * the root. Nodes are stored as a binary heap: the root is 1, the children of node i are 2i and
+ * 2i+1, and the leaf of bucket b is LEAF_COUNT + b.
+ *
+ * Two sides comparing trees only need to descend into the subtrees whose digests differ.
+ *
+ * @author agent
+ * @version $Id: DigestTree.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DigestTree {
+
+    public static final int           DEPTH      = 10;
+
+    public static final int           LEAF_COUNT = 1 << DEPTH;
+
+    public static final int           ROOT       = 1;
+
+    private static final HashFunction BUCKET     = Hashing.murmur3_32();
+
+    private static final HashFunction DIGEST     = Hashing.murmur3_128();
+
+    private final AtomicLongArray     nodes      = new AtomicLongArray(LEAF_COUNT << 1);
+
+    /**
+     * apply the version change of a dataInfoId, null means absent
+     *
+     * @param dataInfoId
+     * @param oldVersion
+     * @param newVersion
+     */
+    public void update(String dataInfoId, Long oldVersion, Long newVersion) {
+        long delta = hash(dataInfoId, oldVersion) ^ hash(dataInfoId, newVersion);
+        if (delta == 0) {
+            return;
+        }
+        for (int node = leafOf(bucketOf(dataInfoId)); node >= ROOT; node >>>= 1) {
+            nodes.accumulateAndGet(node, delta, (a, b) -> a ^ b);
+        }
+    }
+
+    /**
+     * get digest of node
+     *
+     * @param node
+     * @return
+     */
+    public long get(int node) {
+        return nodes.get(node);
+    }
+
+    /**
+     * get digests of nodes
+     *
+     * @param nodes
+     * @return digests in the order of nodes
+     */
+    public long[] get(List<Integer> nodes) {
+        long[] digests = new long[nodes.size()];
+        for (int i = 0; i < digests.length; i++) {
+            digests[i] = get(nodes.get(i));
+        }
+        return digests;
+    }
+
+    /**
+     * copy digests of all leaves, indexed by bucket
+     *
+     * @return
+     */
+    public long[] getLeaves() {
+        long[] leaves = new long[LEAF_COUNT];
+        for (int bucket = 0; bucket < LEAF_COUNT; bucket++) {
+            leaves[bucket] = nodes.get(leafOf(bucket));
+        }
+        return leaves;
+    }
+
+    public static int bucketOf(String dataInfoId) {
+        return BUCKET.hashString(dataInfoId, StandardCharsets.UTF_8).asInt() & (LEAF_COUNT - 1);
+    }
+
+    public static int leafOf(int bucket) {
+        return LEAF_COUNT + bucket;
+    }
+
+    public static boolean isLeaf(int node) {
+        return node >= LEAF_COUNT;
+    }
+
+    public static boolean isValid(int node) {
+        return node >= ROOT && node < (LEAF_COUNT << 1);
+    }
+
+    /**
+     * get descendants of node which are the given levels below it, stopping at the leaves
+     *
+     * @param node
+     * @param levels
+     * @return
+     */
+    public static List<Integer> descendants(int node, int levels) {
+        int depth = 31 - Integer.numberOfLeadingZeros(node);
+        int shift = Math.max(0, Math.min(levels, DEPTH - depth));
+        int first = node << shift;
+        List<Integer> list = new ArrayList<>(1 << shift);
+        for (int i = 0; i < (1 << shift); i++) {
+            list.add(first + i);
+        }
+        return list;
+    }
+
+    private static long hash(String dataInfoId, Long version) {
+        if (version == null) {
+            return 0;
+        }
+        return DIGEST.newHasher().putString(dataInfoId, StandardCharsets.UTF_8).putLong(version)
+            .hash().asLong();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.util;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A lock keyed by an arbitrary object, e.g. connectId or dataInfoId.
+ *
+ * Keys are mapped onto a fixed number of lock stripes, so memory is bounded no matter how many
+ * keys are seen; two keys may share a stripe, which costs some concurrency but never correctness.
+ * Contention is counted so that the stripe count can be tuned.
+ *
+ * @author agent
+ * @version $Id: KeyedLock.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class KeyedLock {
+
+    private final String          name;
+
+    private final ReentrantLock[] locks;
+
+    private final int             mask;
+
+    private final LongAdder       acquireCount   = new LongAdder();
+
+    private final LongAdder       contendedCount = new LongAdder();
+
+    private final LongAdder       waitNanos      = new LongAdder();
+
+    /**
+     * constructor
+     * @param name
+     * @param stripes rounded up to a power of two
+     */
+    public KeyedLock(String name, int stripes) {
+        ParaCheckUtil.checkNotBlank(name, "name");
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.name = name;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * acquire the lock of key
+     * @param key
+     */
+    public void lock(Object key) {
+        ReentrantLock lock = getLock(key);
+        acquireCount.increment();
+        if (!lock.tryLock()) {
+            contendedCount.increment();
+            long start = System.nanoTime();
+            lock.lock();
+            waitNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * release the lock of key, must be called by the thread holding it
+     * @param key
+     */
+    public void unlock(Object key) {
+        getLock(key).unlock();
+    }
+
+    /**
+     * run task while holding the lock of key
+     * @param key
+     * @param task
+     */
+    public void runWith(Object key, Runnable task) {
+        lock(key);
+        try {
+            task.run();
+        } finally {
+            unlock(key);
+        }
+    }
+
+    /**
+     * call task while holding the lock of key
+     * @param key
+     * @param task
+     * @return result of task
+     */
+    public <T> T callWith(Object key, Supplier<T> task) {
+        lock(key);
+        try {
+            return task.get();
+        } finally {
+            unlock(key);
+        }
+    }
+
+    private ReentrantLock getLock(Object key) {
+        int h = key.hashCode();
+        return locks[(h ^ (h >>> 16)) & mask];
+    }
+
+    /**
+     * Getter method for property <tt>name</tt>.
+     *
+     * @return property value of name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * count of lock stripes
+     *
+     * @return
+     */
+    public int getStripes() {
+        return locks.length;
+    }
+
+    /**
+     * count of lock acquisitions
+     *
+     * @return
+     */
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    /**
+     * count of lock acquisitions which had to wait for another holder
+     *
+     * @return
+     */
+    public long getContendedCount() {
+        return contendedCount.sum();
+    }
+
+    /**
+     * total time spent waiting for contended locks
+     *
+     * @return
+     */
+    public long getWaitTimeMillis() {
+        return waitNanos.sum() / 1000000;
+    }
+
+    @Override
+    public String toString() {
+        return "KeyedLock{" + "name='" + name + '\'' + ", stripes=" + locks.length
+               + ", acquireCount=" + getAcquireCount() + ", contendedCount=" + getContendedCount()
+               + ", waitTimeMillis=" + getWaitTimeMillis() + '}';
+    }
+}
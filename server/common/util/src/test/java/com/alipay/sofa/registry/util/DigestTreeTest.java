@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.util;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @version $Id: DigestTreeTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DigestTreeTest {
+
+    @Test
+    public void testUpdate() {
+        DigestTree tree = new DigestTree();
+        DigestTree other = new DigestTree();
+        for (int i = 0; i < 1000; i++) {
+            tree.update("dataInfoId" + i, null, 1L);
+        }
+        // the digest depends on the content only, not on the order of updates
+        for (int i = 999; i >= 0; i--) {
+            other.update("dataInfoId" + i, null, 0L);
+            other.update("dataInfoId" + i, 0L, 1L);
+        }
+        Assert.assertEquals(tree.get(DigestTree.ROOT), other.get(DigestTree.ROOT));
+        Assert.assertArrayEquals(tree.getLeaves(), other.getLeaves());
+
+        long root = tree.get(DigestTree.ROOT);
+        int leaf = DigestTree.leafOf(DigestTree.bucketOf("dataInfoId7"));
+        long leafDigest = tree.get(leaf);
+        tree.update("dataInfoId7", 1L, 2L);
+        Assert.assertNotEquals(root, tree.get(DigestTree.ROOT));
+        Assert.assertNotEquals(leafDigest, tree.get(leaf));
+        // only the path from the leaf to the root changes
+        long[] leaves = tree.getLeaves();
+        long[] otherLeaves = other.getLeaves();
+        for (int bucket = 0; bucket < DigestTree.LEAF_COUNT; bucket++) {
+            if (DigestTree.leafOf(bucket) != leaf) {
+                Assert.assertEquals(otherLeaves[bucket], leaves[bucket]);
+            }
+        }
+
+        tree.update("dataInfoId7", 2L, 1L);
+        Assert.assertEquals(root, tree.get(DigestTree.ROOT));
+        tree.update("dataInfoId7", 1L, null);
+        other.update("dataInfoId7", 1L, null);
+        Assert.assertEquals(other.get(DigestTree.ROOT), tree.get(DigestTree.ROOT));
+    }
+
+    @Test
+    public void testInnerNodes() {
+        DigestTree tree = new DigestTree();
+        for (int i = 0; i < 5000; i++) {
+            tree.update("dataInfoId" + i, null, (long) i);
+        }
+        for (int node = DigestTree.ROOT; node < DigestTree.LEAF_COUNT; node++) {
+            Assert.assertEquals(tree.get(node), tree.get(2 * node) ^ tree.get(2 * node + 1));
+        }
+    }
+
+    @Test
+    public void testDescendants() {
+        List<Integer> children = DigestTree.descendants(DigestTree.ROOT, 5);
+        Assert.assertEquals(32, children.size());
+        Assert.assertEquals(Integer.valueOf(32), children.get(0));
+        Assert.assertEquals(Integer.valueOf(63), children.get(31));
+
+        // stops at the leaves
+        List<Integer> leaves = DigestTree.descendants(children.get(1), 100);
+        Assert.assertEquals(DigestTree.LEAF_COUNT / 32, leaves.size());
+        for (int node : leaves) {
+            Assert.assertTrue(DigestTree.isLeaf(node));
+            Assert.assertTrue(DigestTree.isValid(node));
+        }
+        Assert.assertEquals(Collections.singletonList(DigestTree.leafOf(3)),
+            DigestTree.descendants(DigestTree.leafOf(3), 5));
+        Assert.assertFalse(DigestTree.isValid(0));
+        Assert.assertFalse(DigestTree.isValid(DigestTree.LEAF_COUNT * 2));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @version $Id: KeyedLockTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class KeyedLockTest {
+
+    @Test
+    public void testStripes() {
+        Assert.assertEquals(1, new KeyedLock("test", 1).getStripes());
+        Assert.assertEquals(64, new KeyedLock("test", 50).getStripes());
+        Assert.assertEquals(64, new KeyedLock("test", 64).getStripes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidStripes() {
+        new KeyedLock("test", 0);
+    }
+
+    @Test
+    public void testMutualExclusion() throws Exception {
+        final KeyedLock keyedLock = new KeyedLock("test", 16);
+        final int[] counter = new int[1];
+        int threads = 8;
+        final int loops = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < loops; j++) {
+                    // an equal but not identical key must map to the same lock
+                    keyedLock.runWith(new String("127.0.0.1:9600_127.0.0.1:9601"), () -> counter[0]++);
+                }
+                latch.countDown();
+            });
+        }
+        Assert.assertTrue(latch.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertEquals(threads * loops, counter[0]);
+        Assert.assertEquals(threads * loops, keyedLock.getAcquireCount());
+        Assert.assertTrue(keyedLock.getContendedCount() <= keyedLock.getAcquireCount());
+        Assert.assertEquals(Integer.valueOf(1), keyedLock.callWith("key", () -> 1));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.consistency.hash;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Base of routers which keep the nodes as an array sorted by node name, so that every server
+ * sees the same node order.
+ * @param <T> hash node
+ * @author agent
+ * @version $Id: AbstractSortedNodeRouter.java, v 0.1 2026-10-17 agent Exp $$
+ */
+public abstract class AbstractSortedNodeRouter<T extends HashNode> implements NodeRouter<T> {
+
+    /** hash function for keys */
+    protected final HashFunction hashFunction;
+
+    /** nodes sorted by name */
+    protected final Object[]     nodes;
+
+    /**
+     * Instantiates a new router.
+     *
+     * @param hashFunction the hash function
+     * @param nodes the nodes, duplicated node names are kept once
+     */
+    protected AbstractSortedNodeRouter(HashFunction hashFunction, Collection<T> nodes) {
+        this.hashFunction = hashFunction;
+        Set<T> sorted = new TreeSet<>(Comparator.comparing(HashNode::getNodeName));
+        sorted.addAll(nodes);
+        this.nodes = sorted.toArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    protected T nodeAt(int idx) {
+        return (T) nodes[idx];
+    }
+
+    /**
+     * 64 bits finalizer of SplitMix64, spreads hashes of similar keys over the whole long range
+     *
+     * @param z the input
+     * @return the mixed value
+     */
+    protected static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * 64 bits hash of the key
+     *
+     * @param key the key
+     * @return the hash
+     */
+    protected long keyHash(Object key) {
+        return mix64(hashFunction.hash(key));
+    }
+
+    @Override
+    public List<T> getNUniqueNodesFor(Object key, int n) {
+        if (nodes.length == 0 || n <= 0) {
+            return Collections.emptyList();
+        }
+        if (n > nodes.length) {
+            n = nodes.length;
+        }
+        List<T> list = new ArrayList<>(n);
+        fillNodes(key, n, list);
+        return list;
+    }
+
+    /**
+     * Fill n unique nodes in order for the key, 0 < n <= count of nodes.
+     *
+     * @param key the key
+     * @param n the n
+     * @param list the list to fill
+     */
+    protected abstract void fillNodes(Object key, int n, List<T> list);
+}
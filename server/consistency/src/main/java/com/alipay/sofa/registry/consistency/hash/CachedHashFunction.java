@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.consistency.hash;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Hash function which caches the hashes computed by a delegate, e.g. MD5 digests of dataInfoIds
+ * which are routed again and again on every publish and client off.
+ * @author agent
+ * @version $Id: CachedHashFunction.java, v 0.1 2026-10-17 agent Exp $$
+ */
+public class CachedHashFunction implements HashFunction {
+
+    /** default max count of cached hashes */
+    public static final int              DEFAULT_MAX_SIZE = 1 << 17;
+
+    private final HashFunction           delegate;
+
+    private final Cache<String, Integer> cache;
+
+    /**
+     * Instantiates a new Cached hash function.
+     *
+     * @param delegate the hash function to cache
+     * @param maxSize max count of cached hashes
+     */
+    public CachedHashFunction(HashFunction delegate, int maxSize) {
+        this.delegate = delegate;
+        this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /**
+     * @see HashFunction#hash(Object)
+     */
+    @Override
+    public int hash(Object o) {
+        String key = o.toString();
+        Integer hash = cache.getIfPresent(key);
+        if (hash == null) {
+            hash = delegate.hash(key);
+            cache.put(key, hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the hash function to cache.
+     *
+     * @return the delegate
+     */
+    public HashFunction getDelegate() {
+        return delegate;
+    }
+}
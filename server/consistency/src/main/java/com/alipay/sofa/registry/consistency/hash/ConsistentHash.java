@@ -17,36 +17,48 @@
 package com.alipay.sofa.registry.consistency.hash;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.SortedMap;
 import java.util.TreeMap;
 
 /**
  * Consistent hash implementation, use {@link HashNode} as physical node.
+ *
+ * The ring is immutable once built: virtual node hashes are kept in a sorted int array with a
+ * parallel node array, so a lookup is a binary search which neither boxes nor allocates.
  * @param <T> hash node
  * @author zhuoyu.sjw
  * @version $Id : ConsistentHash.java, v 0.1 2016-08-24 11:10 zhuoyu.sjw Exp $$ 
  */
-public class ConsistentHash<T extends HashNode> {
+public class ConsistentHash<T extends HashNode> implements NodeRouter<T> {
 
     /** character used to separate virtual nodes */
-    private static final char           SIGN   = '#';
+    private static final char   SIGN                  = '#';
+
+    /** default hash function, digests of looked up keys are cached across rings and routers */
+    static final HashFunction   DEFAULT_HASH_FUNCTION = new CachedHashFunction(
+                                                          new MD5HashFunction(),
+                                                          CachedHashFunction.DEFAULT_MAX_SIZE);
 
     /** number of virtual nodes for one real node */
-    private final int                   numberOfReplicas;
+    private final int           numberOfReplicas;
 
     /** real nodes */
-    private Set<HashNode>               realNodes;
+    private final Set<HashNode> realNodes;
 
     /** hash function */
-    private final HashFunction          hashFunction;
+    private final HashFunction  hashFunction;
 
-    /** */
-    private final SortedMap<Integer, T> circle = new TreeMap<>();
+    /** sorted hashes of virtual nodes */
+    private final int[]         ring;
+
+    /** node of the virtual node at the same index of ring */
+    private final Object[]      ringNodes;
 
     /**
      * Instantiates a new Consistent hash.
@@ -55,7 +67,7 @@ public class ConsistentHash<T extends HashNode> {
      * @param nodes the nodes
      */
     public ConsistentHash(int numberOfReplicas, Collection<T> nodes) {
-        this(new MD5HashFunction(), numberOfReplicas, nodes);
+        this(DEFAULT_HASH_FUNCTION, numberOfReplicas, nodes);
     }
 
     /**
@@ -69,23 +81,46 @@ public class ConsistentHash<T extends HashNode> {
         this.realNodes = new HashSet<>();
         this.hashFunction = hashFunction;
         this.numberOfReplicas = numberOfReplicas;
+        // virtual nodes are hashed once per ring, keep them out of the lookup cache
+        HashFunction nodeHashFunction = hashFunction instanceof CachedHashFunction ? ((CachedHashFunction) hashFunction)
+            .getDelegate() : hashFunction;
+        // on hash collision the later node wins, same as the former TreeMap based circle
+        TreeMap<Integer, T> circle = new TreeMap<>();
         for (T node : nodes) {
-            addNode(node);
+            realNodes.add(node);
+            for (int i = 0; i < numberOfReplicas; i++) {
+                // The string addition forces each replica to have different hash
+                circle.put(nodeHashFunction.hash(node.getNodeName() + SIGN + i), node);
+            }
+        }
+        this.ring = new int[circle.size()];
+        this.ringNodes = new Object[circle.size()];
+        int idx = 0;
+        for (Map.Entry<Integer, T> entry : circle.entrySet()) {
+            ring[idx] = entry.getKey();
+            ringNodes[idx] = entry.getValue();
+            idx++;
         }
     }
 
     /**
-     * Add a new node to the consistent hash
-     *
-     * This is not thread safe.
-     * @param node the node
+     * index of the first virtual node whose hash is not less than the given hash, wrapping to 0
      */
-    private void addNode(T node) {
-        realNodes.add(node);
-        for (int i = 0; i < numberOfReplicas; i++) {
-            // The string addition forces each replica to have different hash
-            circle.put(hashFunction.hash(node.getNodeName() + SIGN + i), node);
+    private int indexFor(int hash) {
+        int idx = Arrays.binarySearch(ring, hash);
+        if (idx < 0) {
+            idx = -idx - 1;
         }
+        return idx == ring.length ? 0 : idx;
+    }
+
+    private int next(int idx) {
+        return idx + 1 == ring.length ? 0 : idx + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T nodeAt(int idx) {
+        return (T) ringNodes[idx];
     }
 
     /**
@@ -95,20 +130,12 @@ public class ConsistentHash<T extends HashNode> {
      * @param key the key 
      * @return node for
      */
+    @Override
     public T getNodeFor(Object key) {
-        if (circle.isEmpty()) {
+        if (ring.length == 0) {
             return null;
         }
-        int hash = hashFunction.hash(key);
-        T node = circle.get(hash);
-
-        if (node == null) {
-            // inexact match -- find the next value in the circle
-            SortedMap<Integer, T> tailMap = circle.tailMap(hash);
-            hash = tailMap.isEmpty() ? circle.firstKey() : tailMap.firstKey();
-            node = circle.get(hash);
-        }
-        return node;
+        return nodeAt(indexFor(hashFunction.hash(key)));
     }
 
     /**
@@ -120,8 +147,9 @@ public class ConsistentHash<T extends HashNode> {
      * @param n the n 
      * @return the n unique nodes for
      */
+    @Override
     public List<T> getNUniqueNodesFor(Object key, int n) {
-        if (circle.isEmpty()) {
+        if (ring.length == 0) {
             return Collections.emptyList();
         }
 
@@ -130,21 +158,14 @@ public class ConsistentHash<T extends HashNode> {
         }
 
         List<T> list = new ArrayList<>(n);
-        int hash = hashFunction.hash(key);
-        for (int i = 0; i < n; i++) {
-            if (!circle.containsKey(hash)) {
-                // go to next element.
-                SortedMap<Integer, T> tailMap = circle.tailMap(hash);
-                hash = tailMap.isEmpty() ? circle.firstKey() : tailMap.firstKey();
-            }
-            T candidate = circle.get(hash);
+        int idx = indexFor(hashFunction.hash(key));
+        // every real node is met within one turn of the ring
+        for (int step = 0; step < ring.length && list.size() < n; step++) {
+            T candidate = nodeAt(idx);
             if (!list.contains(candidate)) {
                 list.add(candidate);
-            } else {
-                i--; // try again.
             }
-            // find the next element in the circle
-            hash++;
+            idx = next(idx);
         }
         return list;
     }
@@ -160,7 +181,7 @@ public class ConsistentHash<T extends HashNode> {
      * @return the n unique nodes for
      */
     public List<T> getNUniqueNodesFor(Object key, int n, List<String> disasterList) {
-        if (circle.isEmpty()) {
+        if (ring.length == 0) {
             return Collections.emptyList();
         }
 
@@ -171,35 +192,23 @@ public class ConsistentHash<T extends HashNode> {
         List<String> disasters = disasterList != null && !disasterList.isEmpty() ? disasterList
             : new ArrayList<>();
         List<T> list = new ArrayList<>(n);
-        int hash = hashFunction.hash(key);
-        for (int i = 0; i < n; i++) {
-            if (!circle.containsKey(hash)) {
-                // go to next element.
-                SortedMap<Integer, T> tailMap = circle.tailMap(hash);
-                hash = tailMap.isEmpty() ? circle.firstKey() : tailMap.firstKey();
-            }
-            T candidate = circle.get(hash);
+        int idx = indexFor(hashFunction.hash(key));
+        for (int step = 0; step < ring.length && list.size() < n; step++) {
+            T candidate = nodeAt(idx);
             if (!list.contains(candidate)) {
 
                 while (!disasters.isEmpty() && !disasters.contains(candidate.getNodeName())) {
-                    hash++;
-                    if (!circle.containsKey(hash)) {
-                        // go to next element.
-                        SortedMap<Integer, T> tailMap = circle.tailMap(hash);
-                        hash = tailMap.isEmpty() ? circle.firstKey() : tailMap.firstKey();
-                    }
-                    candidate = circle.get(hash);
+                    idx = next(idx);
+                    candidate = nodeAt(idx);
                 }
                 list.add(candidate);
                 if (!disasters.isEmpty()) {
                     disasters.remove(candidate.getNodeName());
                 }
 
-            } else {
-                i--; // try again.
             }
             // find the next element in the circle
-            hash++;
+            idx = next(idx);
         }
         return list;
     }
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.consistency.hash;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Jump consistent hash (Lamping and Veach), buckets are the nodes sorted by name.
+ *
+ * No memory besides the nodes and an even load, but keys only move minimally when nodes join or
+ * leave at the end of the name order; removing a node in the middle shifts all later buckets.
+ * Backups are the nodes following the owner bucket.
+ * @param <T> hash node
+ * @author agent
+ * @version $Id: JumpConsistentHash.java, v 0.1 2026-10-17 agent Exp $$
+ */
+public class JumpConsistentHash<T extends HashNode> extends AbstractSortedNodeRouter<T> {
+
+    /**
+     * Instantiates a new Jump consistent hash.
+     *
+     * @param nodes the nodes
+     */
+    public JumpConsistentHash(Collection<T> nodes) {
+        this(ConsistentHash.DEFAULT_HASH_FUNCTION, nodes);
+    }
+
+    /**
+     * Instantiates a new Jump consistent hash.
+     *
+     * @param hashFunction the hash function
+     * @param nodes the nodes
+     */
+    public JumpConsistentHash(HashFunction hashFunction, Collection<T> nodes) {
+        super(hashFunction, nodes);
+    }
+
+    /**
+     * bucket in [0, buckets) of the key
+     *
+     * @param key the key
+     * @param buckets count of buckets
+     * @return the bucket
+     */
+    static int jump(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    @Override
+    public T getNodeFor(Object key) {
+        if (nodes.length == 0) {
+            return null;
+        }
+        return nodeAt(jump(keyHash(key), nodes.length));
+    }
+
+    @Override
+    protected void fillNodes(Object key, int n, List<T> list) {
+        int bucket = jump(keyHash(key), nodes.length);
+        for (int i = 0; i < n; i++) {
+            list.add(nodeAt((bucket + i) % nodes.length));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.consistency.hash;
+
+import java.util.List;
+
+/**
+ * Routes keys onto {@link HashNode}s. Every server computing routes for a cluster must use the
+ * same implementation, see {@link RouterType}.
+ * @param <T> hash node
+ * @author agent
+ * @version $Id: NodeRouter.java, v 0.1 2026-10-17 agent Exp $$
+ */
+public interface NodeRouter<T extends HashNode> {
+
+    /**
+     * Gets the node owning the key.
+     *
+     * @param key the key
+     * @return the node, null if there is no node
+     */
+    T getNodeFor(Object key);
+
+    /**
+     * Gets n unique nodes in order for the key, the first one is the owner.
+     *
+     * This will return a list that has all nodes if n > number of nodes.
+     *
+     * @param key the key
+     * @param n the n
+     * @return the n unique nodes for
+     */
+    List<T> getNUniqueNodesFor(Object key, int n);
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.consistency.hash;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rendezvous (highest random weight) hashing: every node scores the key, the highest scores win.
+ *
+ * A joining node only takes the keys it now scores highest on, a leaving node only gives away its
+ * own keys, and the load is even without virtual nodes. A lookup costs one score per node.
+ * @param <T> hash node
+ * @author agent
+ * @version $Id: RendezvousHash.java, v 0.1 2026-10-17 agent Exp $$
+ */
+public class RendezvousHash<T extends HashNode> extends AbstractSortedNodeRouter<T> {
+
+    /** seed of each node, at the same index of nodes */
+    private final long[] seeds;
+
+    /**
+     * Instantiates a new Rendezvous hash.
+     *
+     * @param nodes the nodes
+     */
+    public RendezvousHash(Collection<T> nodes) {
+        this(ConsistentHash.DEFAULT_HASH_FUNCTION, nodes);
+    }
+
+    /**
+     * Instantiates a new Rendezvous hash.
+     *
+     * @param hashFunction the hash function
+     * @param nodes the nodes
+     */
+    public RendezvousHash(HashFunction hashFunction, Collection<T> nodes) {
+        super(hashFunction, nodes);
+        HashFunction nodeHashFunction = hashFunction instanceof CachedHashFunction ? ((CachedHashFunction) hashFunction)
+            .getDelegate() : hashFunction;
+        this.seeds = new long[this.nodes.length];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = mix64(nodeHashFunction.hash(nodeAt(i).getNodeName()));
+        }
+    }
+
+    private static long score(long keyHash, long seed) {
+        return mix64(keyHash ^ seed);
+    }
+
+    @Override
+    public T getNodeFor(Object key) {
+        if (nodes.length == 0) {
+            return null;
+        }
+        long keyHash = keyHash(key);
+        int best = 0;
+        long bestScore = score(keyHash, seeds[0]);
+        for (int i = 1; i < seeds.length; i++) {
+            long score = score(keyHash, seeds[i]);
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return nodeAt(best);
+    }
+
+    @Override
+    protected void fillNodes(Object key, int n, List<T> list) {
+        long keyHash = keyHash(key);
+        long[] scores = new long[seeds.length];
+        for (int i = 0; i < seeds.length; i++) {
+            scores[i] = score(keyHash, seeds[i]);
+        }
+        boolean[] taken = new boolean[seeds.length];
+        // n is the count of backups, selecting the top n one by one is cheaper than sorting
+        for (int k = 0; k < n; k++) {
+            int best = -1;
+            for (int i = 0; i < scores.length; i++) {
+                if (!taken[i] && (best < 0 || scores[i] > scores[best])) {
+                    best = i;
+                }
+            }
+            taken[best] = true;
+            list.add(nodeAt(best));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.consistency.hash;
+
+import java.util.Collection;
+
+/**
+ * Available {@link NodeRouter} implementations.
+ * @author agent
+ * @version $Id: RouterType.java, v 0.1 2026-10-17 agent Exp $$
+ */
+public enum RouterType {
+
+    /** ring of numberOfReplicas MD5 hashed virtual nodes per node */
+    CONSISTENT_HASH {
+        @Override
+        public <T extends HashNode> NodeRouter<T> newRouter(int numberOfReplicas,
+                                                            Collection<T> nodes) {
+            return new ConsistentHash<>(numberOfReplicas, nodes);
+        }
+    },
+
+    /** highest random weight, only the keys of a joining or leaving node move */
+    RENDEZVOUS {
+        @Override
+        public <T extends HashNode> NodeRouter<T> newRouter(int numberOfReplicas,
+                                                            Collection<T> nodes) {
+            return new RendezvousHash<>(nodes);
+        }
+    },
+
+    /** jump consistent hash, minimal movement only when nodes join or leave at the end of name order */
+    JUMP {
+        @Override
+        public <T extends HashNode> NodeRouter<T> newRouter(int numberOfReplicas,
+                                                            Collection<T> nodes) {
+            return new JumpConsistentHash<>(nodes);
+        }
+    },
+
+    /** fixed slots of keys routed by rendezvous hashing, ownership changes per slot */
+    SLOT {
+        @Override
+        public <T extends HashNode> NodeRouter<T> newRouter(int numberOfReplicas,
+                                                            Collection<T> nodes) {
+            return new SlotRouter<>(nodes);
+        }
+    };
+
+    /**
+     * Build a router over nodes.
+     *
+     * @param numberOfReplicas number of virtual nodes per node, only used by CONSISTENT_HASH
+     * @param nodes the nodes
+     * @return the router
+     */
+    public abstract <T extends HashNode> NodeRouter<T> newRouter(int numberOfReplicas,
+                                                                 Collection<T> nodes);
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.consistency.hash;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Routes keys in two steps: a key always hashes to the same one of {@link #SLOT_COUNT} slots, and
+ * the slots are routed onto nodes by rendezvous hashing. Ownership only changes per slot, so a
+ * membership change is the diff of two slot tables and the keys of a slot move together.
+ * @param <T> hash node
+ * @author agent
+ * @version $Id: SlotRouter.java, v 0.1 2026-10-17 agent Exp $$
+ */
+public class SlotRouter<T extends HashNode> implements NodeRouter<T> {
+
+    /** count of slots, a power of two */
+    public static final int                         SLOT_COUNT = 1 << 14;
+
+    private static final String                     SLOT_KEY   = "slot-";
+
+    private final RendezvousHash<T>                 slotRouter;
+
+    /** slot tables computed lazily by count of unique nodes */
+    private final ConcurrentMap<Integer, List<T>[]> tables     = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Slot router.
+     *
+     * @param nodes the nodes
+     */
+    public SlotRouter(Collection<T> nodes) {
+        this.slotRouter = new RendezvousHash<>(nodes);
+    }
+
+    /**
+     * Gets the slot of the key, it does not depend on the nodes.
+     *
+     * @param key the key
+     * @return the slot, 0 <= slot < SLOT_COUNT
+     */
+    public static int slotOf(Object key) {
+        return ConsistentHash.DEFAULT_HASH_FUNCTION.hash(key) & (SLOT_COUNT - 1);
+    }
+
+    @Override
+    public T getNodeFor(Object key) {
+        List<T> nodes = getNUniqueNodesForSlot(slotOf(key), 1);
+        return nodes.isEmpty() ? null : nodes.get(0);
+    }
+
+    @Override
+    public List<T> getNUniqueNodesFor(Object key, int n) {
+        return getNUniqueNodesForSlot(slotOf(key), n);
+    }
+
+    /**
+     * Gets n unique nodes in order for the slot, the first one is the owner.
+     *
+     * @param slot the slot
+     * @param n the n
+     * @return the unmodifiable nodes, shared by all keys of the slot
+     */
+    public List<T> getNUniqueNodesForSlot(int slot, int n) {
+        if (n <= 0) {
+            return Collections.emptyList();
+        }
+        return tables.computeIfAbsent(n, this::buildTable)[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T>[] buildTable(int n) {
+        List<T>[] table = new List[SLOT_COUNT];
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            table[slot] = Collections.unmodifiableList(new ArrayList<>(slotRouter
+                .getNUniqueNodesFor(SLOT_KEY + slot, n)));
+        }
+        return table;
+    }
+}
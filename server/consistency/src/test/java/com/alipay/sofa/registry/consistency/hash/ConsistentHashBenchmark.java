@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.consistency.hash;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Lookup benchmark of {@link ConsistentHash} against the former {@link TreeMapConsistentHash}.
+ *
+ * Run {@link #main(String[])} from the test classpath, or pass -prof gc to the JMH runner to
+ * compare allocations as well.
+ * @author agent
+ * @version $Id: ConsistentHashBenchmark.java, v 0.1 2026-10-17 agent Exp $$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsistentHashBenchmark {
+
+    @Param({ "3", "30" })
+    private int                             nodeCount;
+
+    private String[]                        keys;
+
+    private ConsistentHash<TestNode>        ring;
+
+    private TreeMapConsistentHash<TestNode> treeMap;
+
+    private int                             idx;
+
+    @Setup
+    public void setUp() {
+        List<TestNode> nodes = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(new TestNode("10.10.10." + i));
+        }
+        keys = new String[1024];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "com.alipay.test.Service" + i + "#@#DEFAULT_INSTANCE_ID#@#DEFAULT_GROUP";
+        }
+        ring = new ConsistentHash<>(1000, nodes);
+        treeMap = new TreeMapConsistentHash<>(new MD5HashFunction(), 1000, nodes);
+    }
+
+    private String nextKey() {
+        idx = (idx + 1) & (keys.length - 1);
+        return keys[idx];
+    }
+
+    @Benchmark
+    public Object ringGetNodeFor() {
+        return ring.getNodeFor(nextKey());
+    }
+
+    @Benchmark
+    public Object treeMapGetNodeFor() {
+        return treeMap.getNodeFor(nextKey());
+    }
+
+    @Benchmark
+    public Object ringGetNUniqueNodesFor() {
+        return ring.getNUniqueNodesFor(nextKey(), 3);
+    }
+
+    @Benchmark
+    public Object treeMapGetNUniqueNodesFor() {
+        return treeMap.getNUniqueNodesFor(nextKey(), 3);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConsistentHashBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
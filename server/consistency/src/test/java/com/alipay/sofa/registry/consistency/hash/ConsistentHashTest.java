@@ -127,4 +127,21 @@ public class ConsistentHashTest {
         assertNotNull(uniqueNodes);
         assertTrue(uniqueNodes.isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * The sorted array ring routes exactly like the former TreeMap circle.
+     */
+    @Test
+    public void sameAsTreeMap() {
+        HashFunction hashFunction = new MD5HashFunction();
+        ConsistentHash<TestNode> ring = new ConsistentHash<>(hashFunction, 100, testNodes);
+        TreeMapConsistentHash<TestNode> treeMap = new TreeMapConsistentHash<>(hashFunction, 100,
+            testNodes);
+        for (int i = 0; i < 10000; i++) {
+            String key = "dataInfoId" + i;
+            assertEquals(treeMap.getNodeFor(key), ring.getNodeFor(key));
+            assertEquals(treeMap.getNUniqueNodesFor(key, 3), ring.getNUniqueNodesFor(key, 3));
+            assertEquals(consistentHash.getNodeFor(key), ring.getNodeFor(key));
+        }
+    }
+}
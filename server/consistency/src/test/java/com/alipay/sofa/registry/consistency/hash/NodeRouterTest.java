@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.consistency.hash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ * @version $Id: NodeRouterTest.java, v 0.1 2026-10-17 agent Exp $$
+ */
+public class NodeRouterTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NodeRouterTest.class);
+
+    private List<TestNode> nodes(String... names) {
+        List<TestNode> nodes = new ArrayList<>();
+        for (String name : names) {
+            nodes.add(new TestNode(name));
+        }
+        return nodes;
+    }
+
+    @Test
+    public void uniqueNodes() {
+        List<TestNode> nodes = nodes("10.10.10.1", "10.10.10.2", "10.10.10.3", "10.10.10.4");
+        for (RouterType routerType : RouterType.values()) {
+            NodeRouter<TestNode> router = routerType.newRouter(100, nodes);
+            // node order must not matter
+            List<TestNode> reversed = new ArrayList<>(nodes);
+            Collections.reverse(reversed);
+            NodeRouter<TestNode> other = routerType.newRouter(100, reversed);
+            for (int i = 0; i < 1000; i++) {
+                String key = "dataInfoId" + i;
+                List<TestNode> list = router.getNUniqueNodesFor(key, 3);
+                assertEquals(3, new HashSet<>(list).size());
+                assertEquals(router.getNodeFor(key), list.get(0));
+                assertEquals(list, other.getNUniqueNodesFor(key, 3));
+            }
+            assertEquals(4, router.getNUniqueNodesFor("test", 5).size());
+            assertTrue(router.getNUniqueNodesFor("test", 0).isEmpty());
+
+            NodeRouter<TestNode> empty = routerType.newRouter(100, new ArrayList<>());
+            assertNull(empty.getNodeFor("test"));
+            assertTrue(empty.getNUniqueNodesFor("test", 3).isEmpty());
+        }
+    }
+
+    @Test
+    public void jumpBuckets() {
+        for (long key = 0; key < 1000; key++) {
+            int bucket = JumpConsistentHash.jump(key, 10);
+            assertTrue(bucket >= 0 && bucket < 10);
+            // growing the buckets only moves keys into the new bucket
+            int grown = JumpConsistentHash.jump(key, 11);
+            assertTrue(grown == bucket || grown == 10);
+        }
+    }
+
+    @Test
+    public void slotTable() {
+        List<TestNode> nodes = nodes("10.10.10.1", "10.10.10.2", "10.10.10.3", "10.10.10.4");
+        SlotRouter<TestNode> router = new SlotRouter<>(nodes);
+        for (int i = 0; i < 1000; i++) {
+            String key = "dataInfoId" + i;
+            int slot = SlotRouter.slotOf(key);
+            assertTrue(slot >= 0 && slot < SlotRouter.SLOT_COUNT);
+            assertEquals(router.getNUniqueNodesForSlot(slot, 3), router.getNUniqueNodesFor(key, 3));
+        }
+    }
+
+    @Test
+    public void simulateScaleOut() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            keys.add("dataInfoId" + i);
+        }
+        List<String> before = Arrays.asList("10.10.10.1", "10.10.10.2", "10.10.10.3", "10.10.10.4");
+        List<String> after = Arrays.asList("10.10.10.1", "10.10.10.2", "10.10.10.3", "10.10.10.4",
+            "10.10.10.5");
+        for (RouterType routerType : RouterType.values()) {
+            RouterSimulator.Result result = RouterSimulator.simulate(routerType, 1000, 3, before,
+                after, keys);
+            LOGGER.info("{}", result);
+            // ideally 1/5 of the owners move to the new node
+            assertTrue(result.toString(), result.getOwnerMovedRatio() < 0.3);
+            assertTrue(result.toString(), result.getMaxLoadRatio() < 1.3);
+        }
+    }
+}
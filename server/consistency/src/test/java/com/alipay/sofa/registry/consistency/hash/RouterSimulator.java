@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.consistency.hash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Simulates a membership change for a {@link RouterType}: reports the load skew on the new node
+ * set and how many keys change their owner or their backup nodes.
+ *
+ * <pre>
+ * java RouterSimulator keyCount numberOfReplicas storeNodes nodesBefore nodesAfter
+ * e.g. java RouterSimulator 100000 1000 3 10.0.0.1,10.0.0.2,10.0.0.3 10.0.0.1,10.0.0.2,10.0.0.3,10.0.0.4
+ * </pre>
+ * @author agent
+ * @version $Id: RouterSimulator.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class RouterSimulator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RouterSimulator.class);
+
+    /**
+     * Run the simulation.
+     *
+     * @param routerType the router
+     * @param numberOfReplicas number of virtual nodes per node
+     * @param storeNodes count of nodes storing one key
+     * @param before node names before the change
+     * @param after node names after the change
+     * @param keys the keys
+     * @return the result
+     */
+    public static Result simulate(RouterType routerType, int numberOfReplicas, int storeNodes,
+                                  List<String> before, List<String> after, List<String> keys) {
+        NodeRouter<SimulationNode> routerBefore = routerType.newRouter(numberOfReplicas,
+            toNodes(before));
+        NodeRouter<SimulationNode> routerAfter = routerType.newRouter(numberOfReplicas,
+            toNodes(after));
+
+        Map<String, Integer> loads = new HashMap<>();
+        for (String node : after) {
+            loads.put(node, 0);
+        }
+        int ownerMoved = 0;
+        int backupsMoved = 0;
+        for (String key : keys) {
+            SimulationNode owner = routerAfter.getNodeFor(key);
+            loads.put(owner.getNodeName(), loads.get(owner.getNodeName()) + 1);
+            if (!owner.equals(routerBefore.getNodeFor(key))) {
+                ownerMoved++;
+            }
+            List<SimulationNode> backupsAfter = routerAfter.getNUniqueNodesFor(key, storeNodes);
+            List<SimulationNode> backupsBefore = routerBefore.getNUniqueNodesFor(key, storeNodes);
+            if (!backupsAfter.containsAll(backupsBefore)
+                || !backupsBefore.containsAll(backupsAfter)) {
+                backupsMoved++;
+            }
+        }
+
+        double avg = (double) keys.size() / after.size();
+        int max = 0;
+        double variance = 0;
+        for (int load : loads.values()) {
+            max = Math.max(max, load);
+            variance += (load - avg) * (load - avg);
+        }
+        variance /= after.size();
+
+        Result result = new Result();
+        result.routerType = routerType;
+        result.maxLoadRatio = max / avg;
+        result.loadCoefficientOfVariation = Math.sqrt(variance) / avg;
+        result.ownerMovedRatio = (double) ownerMoved / keys.size();
+        result.backupsMovedRatio = (double) backupsMoved / keys.size();
+        return result;
+    }
+
+    private static List<SimulationNode> toNodes(List<String> names) {
+        List<SimulationNode> nodes = new ArrayList<>(names.size());
+        for (String name : names) {
+            nodes.add(new SimulationNode(name));
+        }
+        return nodes;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 5) {
+            LOGGER
+                .info("usage: RouterSimulator keyCount numberOfReplicas storeNodes nodesBefore nodesAfter");
+            return;
+        }
+        int keyCount = Integer.parseInt(args[0]);
+        int numberOfReplicas = Integer.parseInt(args[1]);
+        int storeNodes = Integer.parseInt(args[2]);
+        List<String> before = Arrays.asList(args[3].split(","));
+        List<String> after = Arrays.asList(args[4].split(","));
+        List<String> keys = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keys.add("simulation.dataId" + i + "#@#DEFAULT_INSTANCE_ID#@#DEFAULT_GROUP");
+        }
+        for (RouterType routerType : RouterType.values()) {
+            LOGGER.info("{}",
+                simulate(routerType, numberOfReplicas, storeNodes, before, after, keys));
+        }
+    }
+
+    /**
+     * result of a simulation
+     */
+    public static class Result {
+
+        private RouterType routerType;
+
+        /** max load / average load on the nodes after the change */
+        private double     maxLoadRatio;
+
+        /** standard deviation / average of the load on the nodes after the change */
+        private double     loadCoefficientOfVariation;
+
+        /** ratio of keys whose owner changed */
+        private double     ownerMovedRatio;
+
+        /** ratio of keys whose set of store nodes changed */
+        private double     backupsMovedRatio;
+
+        public RouterType getRouterType() {
+            return routerType;
+        }
+
+        public double getMaxLoadRatio() {
+            return maxLoadRatio;
+        }
+
+        public double getLoadCoefficientOfVariation() {
+            return loadCoefficientOfVariation;
+        }
+
+        public double getOwnerMovedRatio() {
+            return ownerMovedRatio;
+        }
+
+        public double getBackupsMovedRatio() {
+            return backupsMovedRatio;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%-15s maxLoadRatio=%.3f, loadCV=%.3f, ownerMoved=%.2f%%, backupsMoved=%.2f%%",
+                routerType, maxLoadRatio, loadCoefficientOfVariation, ownerMovedRatio * 100,
+                backupsMovedRatio * 100);
+        }
+    }
+
+    private static class SimulationNode implements HashNode {
+
+        private final String name;
+
+        SimulationNode(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getNodeName() {
+            return name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o
+                   || (o instanceof SimulationNode && name.equals(((SimulationNode) o).name));
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.consistency.hash;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The former TreeMap based consistent hash, kept as the reference for tests and benchmarks.
+ * @param <T> hash node
+ * @author agent
+ * @version $Id: TreeMapConsistentHash.java, v 0.1 2026-10-17 agent Exp $$
+ */
+public class TreeMapConsistentHash<T extends HashNode> {
+
+    private static final char           SIGN   = '#';
+
+    private final Set<HashNode>         realNodes;
+
+    private final HashFunction          hashFunction;
+
+    private final SortedMap<Integer, T> circle = new TreeMap<>();
+
+    public TreeMapConsistentHash(HashFunction hashFunction, int numberOfReplicas,
+                                 Collection<T> nodes) {
+        this.realNodes = new HashSet<>();
+        this.hashFunction = hashFunction;
+        for (T node : nodes) {
+            realNodes.add(node);
+            for (int i = 0; i < numberOfReplicas; i++) {
+                circle.put(hashFunction.hash(node.getNodeName() + SIGN + i), node);
+            }
+        }
+    }
+
+    public T getNodeFor(Object key) {
+        if (circle.isEmpty()) {
+            return null;
+        }
+        int hash = hashFunction.hash(key);
+        T node = circle.get(hash);
+
+        if (node == null) {
+            SortedMap<Integer, T> tailMap = circle.tailMap(hash);
+            hash = tailMap.isEmpty() ? circle.firstKey() : tailMap.firstKey();
+            node = circle.get(hash);
+        }
+        return node;
+    }
+
+    public List<T> getNUniqueNodesFor(Object key, int n) {
+        if (circle.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        if (n > realNodes.size()) {
+            n = realNodes.size();
+        }
+
+        List<T> list = new ArrayList<>(n);
+        int hash = hashFunction.hash(key);
+        for (int i = 0; i < n; i++) {
+            if (!circle.containsKey(hash)) {
+                SortedMap<Integer, T> tailMap = circle.tailMap(hash);
+                hash = tailMap.isEmpty() ? circle.firstKey() : tailMap.firstKey();
+            }
+            T candidate = circle.get(hash);
+            if (!list.contains(candidate)) {
+                list.add(candidate);
+            } else {
+                i--;
+            }
+            hash++;
+        }
+        return list;
+    }
+}
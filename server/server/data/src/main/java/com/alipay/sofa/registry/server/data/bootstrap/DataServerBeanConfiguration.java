@@ -39,6 +39,7 @@ import com.alipay.sofa.registry.server.data.cache.CacheDigestTask;
 import com.alipay.sofa.registry.server.data.cache.DataServerCache;
 import com.alipay.sofa.registry.server.data.cache.DatumCache;
 import com.alipay.sofa.registry.server.data.cache.LocalDatumStorage;
+import com.alipay.sofa.registry.server.data.cache.PersistentDatumStorage;
 import com.alipay.sofa.registry.server.data.change.DataChangeHandler;
 import com.alipay.sofa.registry.server.data.change.event.DataChangeEventCenter;
 import com.alipay.sofa.registry.server.data.change.notify.BackUpNotifier;
@@ -63,8 +64,10 @@ import com.alipay.sofa.registry.server.data.node.DataNodeStatus;
 import com.alipay.sofa.registry.server.data.remoting.DataNodeExchanger;
 import com.alipay.sofa.registry.server.data.remoting.MetaNodeExchanger;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.DataServerConnectionFactory;
+import com.alipay.sofa.registry.server.data.remoting.dataserver.DatumBatchFetcher;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.GetSyncDataHandler;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.handler.DataSyncServerConnectionHandler;
+import com.alipay.sofa.registry.server.data.remoting.dataserver.handler.FetchDataBatchHandler;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.handler.FetchDataHandler;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.handler.NotifyDataSyncHandler;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.handler.NotifyFetchDatumHandler;
@@ -92,9 +95,11 @@ import com.alipay.sofa.registry.server.data.remoting.sessionserver.forward.Forwa
 import com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.ClientOffHandler;
 import com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.DataServerConnectionHandler;
 import com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.DatumSnapshotHandler;
+import com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.GetDataDigestHandler;
 import com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.GetDataHandler;
 import com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.GetDataVersionsHandler;
 import com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.PublishDataHandler;
+import com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.RenewDatumBatchHandler;
 import com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.RenewDatumHandler;
 import com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.SessionServerRegisterHandler;
 import com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.UnPublishDataHandler;
@@ -159,7 +164,10 @@ public class DataServerBeanConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public LocalDatumStorage localDatumStorage() {
+        public LocalDatumStorage localDatumStorage(DataServerConfig dataServerConfig) {
+            if (dataServerConfig.isEnableDatumPersistence()) {
+                return new PersistentDatumStorage();
+            }
             return new LocalDatumStorage();
         }
 
@@ -229,11 +237,13 @@ public class DataServerBeanConfiguration {
             list.add(getDataHandler());
             list.add(clientOffHandler());
             list.add(getDataVersionsHandler());
+            list.add(getDataDigestHandler());
             list.add(publishDataProcessor());
             list.add(sessionServerRegisterHandler());
             list.add(unPublishDataHandler());
             list.add(dataServerConnectionHandler());
             list.add(renewDatumHandler());
+            list.add(renewDatumBatchHandler());
             list.add(datumSnapshotHandler());
             return list;
         }
@@ -256,6 +266,7 @@ public class DataServerBeanConfiguration {
             Collection<AbstractClientHandler> list = new ArrayList<>();
             list.add(notifyDataSyncHandler());
             list.add(fetchDataHandler());
+            list.add(fetchDataBatchHandler());
             return list;
         }
 
@@ -288,6 +299,11 @@ public class DataServerBeanConfiguration {
             return new GetDataVersionsHandler();
         }
 
+        @Bean
+        public AbstractServerHandler getDataDigestHandler() {
+            return new GetDataDigestHandler();
+        }
+
         @Bean
         public AbstractServerHandler clientOffHandler() {
             return new ClientOffHandler();
@@ -303,6 +319,11 @@ public class DataServerBeanConfiguration {
             return new RenewDatumHandler();
         }
 
+        @Bean
+        public AbstractServerHandler renewDatumBatchHandler() {
+            return new RenewDatumBatchHandler();
+        }
+
         @Bean
         public AbstractServerHandler publishDataProcessor() {
             return new PublishDataHandler();
@@ -344,6 +365,11 @@ public class DataServerBeanConfiguration {
             return new FetchDataHandler();
         }
 
+        @Bean
+        public AbstractClientHandler fetchDataBatchHandler() {
+            return new FetchDataBatchHandler();
+        }
+
         @Bean
         public AbstractClientHandler serverChangeHandler() {
             return new ServerChangeHandler();
@@ -478,6 +504,11 @@ public class DataServerBeanConfiguration {
             return new LocalDataServerCleanHandler();
         }
 
+        @Bean
+        public DatumBatchFetcher datumBatchFetcher() {
+            return new DatumBatchFetcher();
+        }
+
         @Bean
         public GetSyncDataHandler getSyncDataHandler() {
             return new GetSyncDataHandler();
@@ -26,6 +26,7 @@ import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.commons.lang.builder.ToStringStyle;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import com.alipay.sofa.registry.consistency.hash.RouterType;
 import com.alipay.sofa.registry.net.NetUtil;
 
 /**
@@ -134,6 +135,42 @@ public class DataServerConfig {
 
     private int                sessionDisconnectDelayMs                     = 30000;
 
+    /** coalesce DataChangeRequest per session connection and send them in batches */
+    private boolean            notifySessionBatchEnabled                    = false;
+
+    private int                notifySessionBatchWindowMs                   = 100;
+
+    private int                notifySessionBatchMaxSize                    = 1000;
+
+    private int                notifySessionBatchMaxInFlight                = 2;
+
+    /** carry the datum in DataChangeRequest so that session need not fetch it back */
+    private boolean            notifySessionWithDatumEnabled                = false;
+
+    private int                notifySessionWithDatumMaxSize                = 16 * 1024;
+
+    /** router of dataInfoIds onto data servers, must be the same on all data and session servers */
+    private RouterType         routerType                                   = RouterType.CONSISTENT_HASH;
+
+    /** dataInfoIds per batch when fetching datum from other data servers */
+    private int                fetchDatumBatchSize                          = 200;
+
+    /** batches in flight when fetching datum from other data servers */
+    private int                fetchDatumParallelism                        = 4;
+
+    private int                fetchDatumMaxRetry                           = 3;
+
+    /** persist datum to local disk by snapshots and write-ahead log, replayed on restart */
+    private boolean            enableDatumPersistence                       = false;
+
+    private String             datumPersistenceDir                          = System
+                                                                                .getProperty("user.home")
+                                                                              + "/sofa-registry/data/datum";
+
+    private int                datumWalSegmentSize                          = 64 * 1024 * 1024;
+
+    private int                datumSnapshotIntervalSecs                    = 600;
+
     /**
      * constructor
      * @param commonConfig
@@ -923,4 +960,255 @@ public class DataServerConfig {
         this.logMetricsFixedDelay = logMetricsFixedDelay;
     }
 
+    /**
+     * Getter method for property <tt>notifySessionBatchEnabled</tt>.
+     *
+     * @return property value of notifySessionBatchEnabled
+     */
+    public boolean isNotifySessionBatchEnabled() {
+        return notifySessionBatchEnabled;
+    }
+
+    /**
+     * Setter method for property <tt>notifySessionBatchEnabled</tt>.
+     *
+     * @param notifySessionBatchEnabled  value to be assigned to property notifySessionBatchEnabled
+     */
+    public void setNotifySessionBatchEnabled(boolean notifySessionBatchEnabled) {
+        this.notifySessionBatchEnabled = notifySessionBatchEnabled;
+    }
+
+    /**
+     * Getter method for property <tt>notifySessionBatchWindowMs</tt>.
+     *
+     * @return property value of notifySessionBatchWindowMs
+     */
+    public int getNotifySessionBatchWindowMs() {
+        return notifySessionBatchWindowMs;
+    }
+
+    /**
+     * Setter method for property <tt>notifySessionBatchWindowMs</tt>.
+     *
+     * @param notifySessionBatchWindowMs  value to be assigned to property notifySessionBatchWindowMs
+     */
+    public void setNotifySessionBatchWindowMs(int notifySessionBatchWindowMs) {
+        this.notifySessionBatchWindowMs = notifySessionBatchWindowMs;
+    }
+
+    /**
+     * Getter method for property <tt>notifySessionBatchMaxSize</tt>.
+     *
+     * @return property value of notifySessionBatchMaxSize
+     */
+    public int getNotifySessionBatchMaxSize() {
+        return notifySessionBatchMaxSize;
+    }
+
+    /**
+     * Setter method for property <tt>notifySessionBatchMaxSize</tt>.
+     *
+     * @param notifySessionBatchMaxSize  value to be assigned to property notifySessionBatchMaxSize
+     */
+    public void setNotifySessionBatchMaxSize(int notifySessionBatchMaxSize) {
+        this.notifySessionBatchMaxSize = notifySessionBatchMaxSize;
+    }
+
+    /**
+     * Getter method for property <tt>notifySessionBatchMaxInFlight</tt>.
+     *
+     * @return property value of notifySessionBatchMaxInFlight
+     */
+    public int getNotifySessionBatchMaxInFlight() {
+        return notifySessionBatchMaxInFlight;
+    }
+
+    /**
+     * Setter method for property <tt>notifySessionBatchMaxInFlight</tt>.
+     *
+     * @param notifySessionBatchMaxInFlight  value to be assigned to property notifySessionBatchMaxInFlight
+     */
+    public void setNotifySessionBatchMaxInFlight(int notifySessionBatchMaxInFlight) {
+        this.notifySessionBatchMaxInFlight = notifySessionBatchMaxInFlight;
+    }
+
+    /**
+     * Getter method for property <tt>notifySessionWithDatumEnabled</tt>.
+     *
+     * @return property value of notifySessionWithDatumEnabled
+     */
+    public boolean isNotifySessionWithDatumEnabled() {
+        return notifySessionWithDatumEnabled;
+    }
+
+    /**
+     * Setter method for property <tt>notifySessionWithDatumEnabled</tt>.
+     *
+     * @param notifySessionWithDatumEnabled  value to be assigned to property notifySessionWithDatumEnabled
+     */
+    public void setNotifySessionWithDatumEnabled(boolean notifySessionWithDatumEnabled) {
+        this.notifySessionWithDatumEnabled = notifySessionWithDatumEnabled;
+    }
+
+    /**
+     * Getter method for property <tt>notifySessionWithDatumMaxSize</tt>.
+     *
+     * @return property value of notifySessionWithDatumMaxSize
+     */
+    public int getNotifySessionWithDatumMaxSize() {
+        return notifySessionWithDatumMaxSize;
+    }
+
+    /**
+     * Setter method for property <tt>notifySessionWithDatumMaxSize</tt>.
+     *
+     * @param notifySessionWithDatumMaxSize  value to be assigned to property notifySessionWithDatumMaxSize
+     */
+    public void setNotifySessionWithDatumMaxSize(int notifySessionWithDatumMaxSize) {
+        this.notifySessionWithDatumMaxSize = notifySessionWithDatumMaxSize;
+    }
+
+    /**
+     * Getter method for property <tt>routerType</tt>.
+     *
+     * @return property value of routerType
+     */
+    public RouterType getRouterType() {
+        return routerType;
+    }
+
+    /**
+     * Setter method for property <tt>routerType</tt>.
+     *
+     * @param routerType  value to be assigned to property routerType
+     */
+    public void setRouterType(RouterType routerType) {
+        this.routerType = routerType;
+    }
+
+    /**
+     * Getter method for property <tt>fetchDatumBatchSize</tt>.
+     *
+     * @return property value of fetchDatumBatchSize
+     */
+    public int getFetchDatumBatchSize() {
+        return fetchDatumBatchSize;
+    }
+
+    /**
+     * Setter method for property <tt>fetchDatumBatchSize</tt>.
+     *
+     * @param fetchDatumBatchSize  value to be assigned to property fetchDatumBatchSize
+     */
+    public void setFetchDatumBatchSize(int fetchDatumBatchSize) {
+        this.fetchDatumBatchSize = fetchDatumBatchSize;
+    }
+
+    /**
+     * Getter method for property <tt>fetchDatumParallelism</tt>.
+     *
+     * @return property value of fetchDatumParallelism
+     */
+    public int getFetchDatumParallelism() {
+        return fetchDatumParallelism;
+    }
+
+    /**
+     * Setter method for property <tt>fetchDatumParallelism</tt>.
+     *
+     * @param fetchDatumParallelism  value to be assigned to property fetchDatumParallelism
+     */
+    public void setFetchDatumParallelism(int fetchDatumParallelism) {
+        this.fetchDatumParallelism = fetchDatumParallelism;
+    }
+
+    /**
+     * Getter method for property <tt>fetchDatumMaxRetry</tt>.
+     *
+     * @return property value of fetchDatumMaxRetry
+     */
+    public int getFetchDatumMaxRetry() {
+        return fetchDatumMaxRetry;
+    }
+
+    /**
+     * Setter method for property <tt>fetchDatumMaxRetry</tt>.
+     *
+     * @param fetchDatumMaxRetry  value to be assigned to property fetchDatumMaxRetry
+     */
+    public void setFetchDatumMaxRetry(int fetchDatumMaxRetry) {
+        this.fetchDatumMaxRetry = fetchDatumMaxRetry;
+    }
+
+    /**
+     * Getter method for property <tt>enableDatumPersistence</tt>.
+     *
+     * @return property value of enableDatumPersistence
+     */
+    public boolean isEnableDatumPersistence() {
+        return enableDatumPersistence;
+    }
+
+    /**
+     * Setter method for property <tt>enableDatumPersistence</tt>.
+     *
+     * @param enableDatumPersistence  value to be assigned to property enableDatumPersistence
+     */
+    public void setEnableDatumPersistence(boolean enableDatumPersistence) {
+        this.enableDatumPersistence = enableDatumPersistence;
+    }
+
+    /**
+     * Getter method for property <tt>datumPersistenceDir</tt>.
+     *
+     * @return property value of datumPersistenceDir
+     */
+    public String getDatumPersistenceDir() {
+        return datumPersistenceDir;
+    }
+
+    /**
+     * Setter method for property <tt>datumPersistenceDir</tt>.
+     *
+     * @param datumPersistenceDir  value to be assigned to property datumPersistenceDir
+     */
+    public void setDatumPersistenceDir(String datumPersistenceDir) {
+        this.datumPersistenceDir = datumPersistenceDir;
+    }
+
+    /**
+     * Getter method for property <tt>datumWalSegmentSize</tt>.
+     *
+     * @return property value of datumWalSegmentSize
+     */
+    public int getDatumWalSegmentSize() {
+        return datumWalSegmentSize;
+    }
+
+    /**
+     * Setter method for property <tt>datumWalSegmentSize</tt>.
+     *
+     * @param datumWalSegmentSize  value to be assigned to property datumWalSegmentSize
+     */
+    public void setDatumWalSegmentSize(int datumWalSegmentSize) {
+        this.datumWalSegmentSize = datumWalSegmentSize;
+    }
+
+    /**
+     * Getter method for property <tt>datumSnapshotIntervalSecs</tt>.
+     *
+     * @return property value of datumSnapshotIntervalSecs
+     */
+    public int getDatumSnapshotIntervalSecs() {
+        return datumSnapshotIntervalSecs;
+    }
+
+    /**
+     * Setter method for property <tt>datumSnapshotIntervalSecs</tt>.
+     *
+     * @param datumSnapshotIntervalSecs  value to be assigned to property datumSnapshotIntervalSecs
+     */
+    public void setDatumSnapshotIntervalSecs(int datumSnapshotIntervalSecs) {
+        this.datumSnapshotIntervalSecs = datumSnapshotIntervalSecs;
+    }
 }
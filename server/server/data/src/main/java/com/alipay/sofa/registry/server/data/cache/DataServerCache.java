@@ -30,7 +30,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import com.alipay.sofa.registry.common.model.metaserver.DataNode;
 import com.alipay.sofa.registry.common.model.store.URL;
-import com.alipay.sofa.registry.consistency.hash.ConsistentHash;
+import com.alipay.sofa.registry.consistency.hash.NodeRouter;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
@@ -378,7 +378,7 @@ public class DataServerCache {
      *
      * 20200211 update: bugfix: empty dataServerList cause NPE because calculateOldConsistentHash return null
      */
-    public ConsistentHash<DataNode> calculateOldConsistentHash(String dataCenter) {
+    public NodeRouter<DataNode> calculateOldConsistentHash(String dataCenter) {
         Map<String, Map<String, DataNode>> dataServerMap = dataServerChangeItem.getServerMap();
         Map<String, DataNode> dataNodeMap = dataServerMap.get(dataCenter);
 
@@ -391,7 +391,7 @@ public class DataServerCache {
             LOGGER
                 .error("[calculateOldConsistentHash] Old dataServer list is empty, add on the local IP");
         }
-        ConsistentHash<DataNode> consistentHash = new ConsistentHash<>(
+        NodeRouter<DataNode> consistentHash = dataServerConfig.getRouterType().newRouter(
             dataServerConfig.getNumberOfReplicas(), dataServerNodes);
 
         return consistentHash;
@@ -17,6 +17,7 @@
 package com.alipay.sofa.registry.server.data.cache;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -111,6 +112,30 @@ public class DatumCache {
         return localDatumStorage.getAll();
     }
 
+    /**
+     * get dataInfoIds of datum in the slot
+     *
+     * @param dataCenter
+     * @param slot
+     * @return
+     */
+    public Set<String> getDataInfoIdsBySlot(String dataCenter, int slot) {
+        return localDatumStorage.getDataInfoIdsBySlot(dataCenter, slot);
+    }
+
+    /**
+     * get digests of the nodes of the version hash tree
+     *
+     * @param nodes
+     * @return dataCenter -> digests in the order of nodes
+     */
+    public Map<String, long[]> getDigests(List<Integer> nodes) {
+        Map<String, long[]> digests = new HashMap<>();
+        localDatumStorage.getDigestTrees().forEach(
+            (dataCenter, tree) -> digests.put(dataCenter, tree.get(nodes)));
+        return digests;
+    }
+
     /**
      *
      *
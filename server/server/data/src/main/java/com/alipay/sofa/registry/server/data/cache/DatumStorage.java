@@ -21,7 +21,9 @@ import java.util.Set;
 
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.consistency.hash.SlotRouter;
 import com.alipay.sofa.registry.server.data.change.DataChangeTypeEnum;
+import com.alipay.sofa.registry.util.DigestTree;
 
 /**
  *
@@ -54,6 +56,22 @@ public interface DatumStorage {
      */
     Map<String, Map<String, Datum>> getAll();
 
+    /**
+     * get dataInfoIds of datum in the slot, see {@link SlotRouter#slotOf(Object)}
+     *
+     * @param dataCenter
+     * @param slot
+     * @return
+     */
+    Set<String> getDataInfoIdsBySlot(String dataCenter, int slot);
+
+    /**
+     * get hash trees of datum versions, see {@link DigestTree}
+     *
+     * @return dataCenter -> digest tree
+     */
+    Map<String, DigestTree> getDigestTrees();
+
     /**
      *
      *
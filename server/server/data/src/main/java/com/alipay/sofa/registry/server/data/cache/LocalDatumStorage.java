@@ -16,12 +16,14 @@
  */
 package com.alipay.sofa.registry.server.data.cache;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import com.alipay.sofa.registry.common.model.constants.ValueConstants;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,10 +31,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.WordCache;
+import com.alipay.sofa.registry.consistency.hash.SlotRouter;
 import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
 import com.alipay.sofa.registry.server.data.change.DataChangeTypeEnum;
 import com.alipay.sofa.registry.server.data.node.DataServerNode;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.DataServerNodeFactory;
+import com.alipay.sofa.registry.util.DigestTree;
 
 /**
  * datum storage of local dataCenter
@@ -42,14 +46,14 @@ import com.alipay.sofa.registry.server.data.remoting.dataserver.DataServerNodeFa
  */
 public class LocalDatumStorage implements DatumStorage {
 
-    public static final long                            ERROR_DATUM_VERSION  = -2L;
+    public static final long                               ERROR_DATUM_VERSION  = -2L;
 
     /**
      * row:     dataCenter
      * column:  dataInfoId
      * value:   datum
      */
-    protected final Map<String, Map<String, Datum>>     DATUM_MAP            = new ConcurrentHashMap<>();
+    protected final Map<String, Map<String, Datum>>        DATUM_MAP            = new ConcurrentHashMap<>();
 
     /**
      * all datum index
@@ -58,10 +62,27 @@ public class LocalDatumStorage implements DatumStorage {
      * column:  registerId
      * value:   publisher
      */
-    protected final Map<String, Map<String, Publisher>> ALL_CONNECT_ID_INDEX = new ConcurrentHashMap<>();
+    protected final Map<String, Map<String, Publisher>>    ALL_CONNECT_ID_INDEX = new ConcurrentHashMap<>();
+
+    /**
+     * slot index of datum, see {@link SlotRouter#slotOf(Object)}
+     *
+     * row:     dataCenter
+     * column:  slot
+     * value:   dataInfoIds
+     */
+    protected final Map<String, Map<Integer, Set<String>>> SLOT_INDEX           = new ConcurrentHashMap<>();
+
+    /**
+     * hash tree of datum versions, see {@link DigestTree}
+     *
+     * row:     dataCenter
+     * value:   digest tree
+     */
+    protected final Map<String, DigestTree>                DIGEST_TREES         = new ConcurrentHashMap<>();
 
     @Autowired
-    private DataServerConfig                            dataServerConfig;
+    private DataServerConfig                               dataServerConfig;
 
     /**
      * get datum by specific dataCenter and dataInfoId
@@ -105,6 +126,73 @@ public class LocalDatumStorage implements DatumStorage {
         return DATUM_MAP;
     }
 
+    @Override
+    public Set<String> getDataInfoIdsBySlot(String dataCenter, int slot) {
+        Map<Integer, Set<String>> slotMap = SLOT_INDEX.get(dataCenter);
+        if (slotMap == null) {
+            return Collections.emptySet();
+        }
+        Set<String> dataInfoIds = slotMap.get(slot);
+        return dataInfoIds == null ? Collections.emptySet() : dataInfoIds;
+    }
+
+    @Override
+    public Map<String, DigestTree> getDigestTrees() {
+        return DIGEST_TREES;
+    }
+
+    /**
+     * called in the compute function of DATUM_MAP, so that the versions xor-ed into the digest
+     * are the ones the key holds even when changes of the same dataInfoId race
+     */
+    private void updateDigest(String dataCenter, String dataInfoId, Long oldVersion,
+                              Long newVersion) {
+        DIGEST_TREES.computeIfAbsent(dataCenter, k -> new DigestTree()).update(dataInfoId,
+            oldVersion, newVersion);
+    }
+
+    /**
+     * change the version of a cached datum and the digest of it atomically with the key
+     *
+     * @param dataCenter
+     * @param cacheDatum
+     * @param change
+     * @return the version before the change
+     */
+    private Long changeVersion(String dataCenter, Datum cacheDatum, Consumer<Datum> change) {
+        String dataInfoId = cacheDatum.getDataInfoId();
+        Long[] lastVersion = new Long[1];
+        getDatumMapByDataCenter(dataCenter).compute(dataInfoId, (k, v) -> {
+            lastVersion[0] = cacheDatum.getVersion();
+            change.accept(cacheDatum);
+            // a datum covered or cleaned meanwhile is not in the digest any more
+            if (v == cacheDatum) {
+                updateDigest(dataCenter, dataInfoId, lastVersion[0], cacheDatum.getVersion());
+            }
+            return v;
+        });
+        return lastVersion[0];
+    }
+
+    /**
+     * called in the compute function of DATUM_MAP, so that the index changes with the key atomically
+     */
+    private void addToSlotIndex(String dataCenter, String dataInfoId) {
+        SLOT_INDEX.computeIfAbsent(dataCenter, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(SlotRouter.slotOf(dataInfoId), k -> ConcurrentHashMap.newKeySet())
+                .add(dataInfoId);
+    }
+
+    private void removeFromSlotIndex(String dataCenter, String dataInfoId) {
+        Map<Integer, Set<String>> slotMap = SLOT_INDEX.get(dataCenter);
+        if (slotMap != null) {
+            Set<String> dataInfoIds = slotMap.get(SlotRouter.slotOf(dataInfoId));
+            if (dataInfoIds != null) {
+                dataInfoIds.remove(dataInfoId);
+            }
+        }
+    }
+
     /**
      *
      *
@@ -164,7 +252,11 @@ public class LocalDatumStorage implements DatumStorage {
         // filter out the unPubs of datum when first put.
         // Otherwise, "syncData" or "fetchData" when get Datum with unPubs, which will result something error
         boolean[] exists = { true };
-        Datum cacheDatum = map.computeIfAbsent(dataInfoId, k -> filterUnPubs(exists, datum));
+        Datum cacheDatum = map.computeIfAbsent(dataInfoId, k -> {
+            addToSlotIndex(dataCenter, dataInfoId);
+            updateDigest(dataCenter, dataInfoId, null, datum.getVersion());
+            return filterUnPubs(exists, datum);
+        });
         if (!exists[0]) {
             Iterator<Entry<String, Publisher>> iterator = datum.getPubMap().entrySet().iterator();
             while (iterator.hasNext()) {
@@ -223,7 +315,14 @@ public class LocalDatumStorage implements DatumStorage {
 
         Map<String, Datum> datumMap = DATUM_MAP.get(dataCenter);
         if (datumMap != null) {
-            Datum cacheDatum = datumMap.remove(dataInfoId);
+            Datum[] removed = new Datum[1];
+            datumMap.computeIfPresent(dataInfoId, (k, v) -> {
+                removeFromSlotIndex(dataCenter, dataInfoId);
+                updateDigest(dataCenter, dataInfoId, v.getVersion(), null);
+                removed[0] = v;
+                return null;
+            });
+            Datum cacheDatum = removed[0];
             if (cacheDatum != null) {
                 Map<String, Publisher> cachePubMap = cacheDatum.getPubMap();
 
@@ -262,7 +361,8 @@ public class LocalDatumStorage implements DatumStorage {
         }
         Long lastVersion = cacheDatum.getVersion();
         if (isChanged) {
-            cacheDatum.setVersion(datum.getVersion());
+            lastVersion = changeVersion(cacheDatum.getDataCenter(), cacheDatum,
+                d -> d.setVersion(datum.getVersion()));
         }
         return new MergeResult(lastVersion, isChanged);
     }
@@ -274,17 +374,19 @@ public class LocalDatumStorage implements DatumStorage {
                              Map<String, Publisher> snapshotPubMap) {
         // get cache datum
         Map<String, Datum> datumMap = getDatumMapByDataCenter(dataServerConfig.getLocalDataCenter());
+        String dataCenter = dataServerConfig.getLocalDataCenter();
         Datum cacheDatum = datumMap.get(dataInfoId);
         if (cacheDatum == null) {
-            cacheDatum = new Datum(dataInfoId, dataServerConfig.getLocalDataCenter());
-            Publisher publisher = snapshotPubMap.values().iterator().next();
-            cacheDatum.setInstanceId(publisher.getInstanceId());
-            cacheDatum.setDataId(publisher.getDataId());
-            cacheDatum.setGroup(publisher.getGroup());
-            Datum datum = datumMap.putIfAbsent(dataInfoId, cacheDatum);
-            if (datum != null) {
-                cacheDatum = datum;
-            }
+            cacheDatum = datumMap.computeIfAbsent(dataInfoId, k -> {
+                Datum datum = new Datum(dataInfoId, dataCenter);
+                Publisher publisher = snapshotPubMap.values().iterator().next();
+                datum.setInstanceId(publisher.getInstanceId());
+                datum.setDataId(publisher.getDataId());
+                datum.setGroup(publisher.getGroup());
+                addToSlotIndex(dataCenter, dataInfoId);
+                updateDigest(dataCenter, dataInfoId, null, datum.getVersion());
+                return datum;
+            });
         }
         //remove toBeDeletedPubMap from cacheDatum
         for (Entry<String, Publisher> toBeDeletedPubEntry : toBeDeletedPubMap.entrySet()) {
@@ -306,7 +408,7 @@ public class LocalDatumStorage implements DatumStorage {
             addToIndex(snapshotPub);
         }
 
-        cacheDatum.updateVersion();
+        changeVersion(dataCenter, cacheDatum, Datum::updateVersion);
 
         return cacheDatum;
     }
@@ -360,9 +462,21 @@ public class LocalDatumStorage implements DatumStorage {
     private Long coverDatum(Datum datum) {
         String dataCenter = datum.getDataCenter();
         String dataInfoId = datum.getDataInfoId();
-        Datum cacheDatum = DATUM_MAP.get(dataCenter).get(dataInfoId);
+        Datum[] covered = new Datum[1];
+        getDatumMapByDataCenter(dataCenter).computeIfPresent(dataInfoId, (k, v) -> {
+            covered[0] = v;
+            if (datum.getVersion() == v.getVersion()) {
+                return v;
+            }
+            updateDigest(dataCenter, dataInfoId, v.getVersion(), datum.getVersion());
+            return datum;
+        });
+        Datum cacheDatum = covered[0];
+        if (cacheDatum == null) {
+            // cleaned after putDatum found it, put it as a new one
+            return putDatum(DataChangeTypeEnum.COVER, datum).getLastVersion();
+        }
         if (datum.getVersion() != cacheDatum.getVersion()) {
-            DATUM_MAP.get(dataCenter).put(dataInfoId, datum);
             Map<String, Publisher> pubMap = datum.getPubMap();
             Map<String, Publisher> cachePubMap = new HashMap<>(cacheDatum.getPubMap());
             for (Entry<String, Publisher> pubEntry : pubMap.entrySet()) {
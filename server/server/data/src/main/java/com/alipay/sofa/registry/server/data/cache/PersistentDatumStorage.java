@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.server.data.cache.persistence.DatumSnapshot;
+import com.alipay.sofa.registry.server.data.cache.persistence.DatumWal;
+import com.alipay.sofa.registry.server.data.cache.persistence.WalRecord;
+import com.alipay.sofa.registry.server.data.change.DataChangeTypeEnum;
+import com.alipay.sofa.registry.server.data.executor.ExecutorFactory;
+import com.alipay.sofa.registry.util.KeyedLock;
+
+/**
+ * datum storage persisted to local disk by periodic snapshots and a write-ahead log of changes,
+ * replayed on start so that a restarted data server only reconciles versions with others.
+ *
+ * A change is applied and logged under the lock of its dataInfoId, and a datum is snapshot under
+ * the same lock after the log rolled, so replaying the log after the snapshot only re-applies
+ * changes which may already be in it, which is harmless for all changes of the storage.
+ *
+ * A snapshot or log which can not be read is not trusted in part, all persisted datum are then
+ * discarded and the data server syncs everything from the others.
+ *
+ * @author agent
+ * @version $Id: PersistentDatumStorage.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class PersistentDatumStorage extends LocalDatumStorage {
+
+    private static final Logger LOGGER    = LoggerFactory.getLogger(PersistentDatumStorage.class);
+
+    @Autowired
+    private DataServerConfig    dataServerConfig;
+
+    private final KeyedLock     keyedLock = new KeyedLock("PersistentDatumStorage", 1024);
+
+    private File                dir;
+
+    private DatumWal            wal;
+
+    @PostConstruct
+    public void init() throws IOException {
+        dir = new File(dataServerConfig.getDatumPersistenceDir());
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("create datum persistence dir failed: " + dir);
+        }
+        wal = new DatumWal(dir, dataServerConfig.getDatumWalSegmentSize());
+        if (!recover()) {
+            discard();
+        }
+        wal.roll();
+
+        ScheduledExecutorService scheduler = ExecutorFactory.newScheduledThreadPool(1,
+            PersistentDatumStorage.class.getSimpleName());
+        int interval = dataServerConfig.getDatumSnapshotIntervalSecs();
+        scheduler.scheduleWithFixedDelay(this::snapshot, interval, interval, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(wal::flush, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * load the newest snapshot and replay the wal after it
+     *
+     * @return false if the persisted state can not be read completely
+     */
+    private boolean recover() {
+        long begin = System.currentTimeMillis();
+        long fromSeq = 0;
+        long datumCount = 0;
+        List<Long> snapshots = DatumSnapshot.listSnapshots(dir);
+        if (!snapshots.isEmpty()) {
+            fromSeq = snapshots.get(0);
+            try {
+                datumCount = DatumSnapshot.read(dir, fromSeq,
+                    datum -> super.putDatum(DataChangeTypeEnum.COVER, Datum.internDatum(datum)));
+            } catch (Exception e) {
+                LOGGER.error("[PersistentDatumStorage] read snapshot {} error", fromSeq, e);
+                return false;
+            }
+        }
+        long recordCount = 0;
+        try {
+            recordCount = DatumWal.replay(dir, fromSeq, this::replay);
+        } catch (Exception e) {
+            LOGGER.error("[PersistentDatumStorage] replay wal error", e);
+            return false;
+        }
+        LOGGER.info(
+            "[PersistentDatumStorage] recovered {} datum from snapshot {} and {} wal records in {}ms",
+            datumCount, fromSeq, recordCount, System.currentTimeMillis() - begin);
+        return true;
+    }
+
+    /**
+     * drop the partially recovered datum and the persisted files, the data server then starts
+     * empty and syncs all datum from the other data servers like a new one
+     */
+    private void discard() {
+        DATUM_MAP.clear();
+        ALL_CONNECT_ID_INDEX.clear();
+        SLOT_INDEX.clear();
+        DIGEST_TREES.clear();
+        wal.deleteBefore(Long.MAX_VALUE);
+        DatumSnapshot.deleteBefore(dir, Long.MAX_VALUE);
+        LOGGER.error(
+            "[PersistentDatumStorage] discard persisted datum in {}, sync all from others", dir);
+    }
+
+    private void replay(WalRecord record) {
+        switch (record.getType()) {
+            case PUT_DATUM:
+                super.putDatum(record.getChangeType(), Datum.internDatum(record.getDatum()));
+                break;
+            case CLEAN_DATUM:
+                super.cleanDatum(record.getDataCenter(), record.getDataInfoId());
+                break;
+            case PUT_SNAPSHOT:
+                super.putSnapshot(record.getDataInfoId(), record.getToBeDeletedPubMap(),
+                    record.getSnapshotPubMap());
+                break;
+            default:
+                LOGGER.warn("[PersistentDatumStorage] unknown wal record {}", record.getType());
+        }
+    }
+
+    private void append(WalRecord record) {
+        try {
+            wal.append(record);
+        } catch (Throwable e) {
+            LOGGER.error("[PersistentDatumStorage] append wal error, type={}", record.getType(), e);
+        }
+    }
+
+    @Override
+    public MergeResult putDatum(DataChangeTypeEnum changeType, Datum datum) {
+        return keyedLock.callWith(datum.getDataInfoId(), () -> {
+            MergeResult mergeResult = super.putDatum(changeType, datum);
+            if (mergeResult.isChangeFlag()) {
+                append(WalRecord.putDatum(changeType, datum));
+            }
+            return mergeResult;
+        });
+    }
+
+    @Override
+    public boolean cleanDatum(String dataCenter, String dataInfoId) {
+        return keyedLock.callWith(dataInfoId, () -> {
+            boolean cleaned = super.cleanDatum(dataCenter, dataInfoId);
+            if (cleaned) {
+                append(WalRecord.cleanDatum(dataCenter, dataInfoId));
+            }
+            return cleaned;
+        });
+    }
+
+    @Override
+    public Datum putSnapshot(String dataInfoId, Map<String, Publisher> toBeDeletedPubMap,
+                             Map<String, Publisher> snapshotPubMap) {
+        return keyedLock.callWith(dataInfoId, () -> {
+            Datum datum = super.putSnapshot(dataInfoId, toBeDeletedPubMap, snapshotPubMap);
+            append(WalRecord.putSnapshot(dataInfoId, toBeDeletedPubMap, snapshotPubMap));
+            return datum;
+        });
+    }
+
+    /**
+     * Setter method for property <tt>dataServerConfig</tt>.
+     *
+     * @param dataServerConfig  value to be assigned to property dataServerConfig
+     */
+    public void setDataServerConfig(DataServerConfig dataServerConfig) {
+        this.dataServerConfig = dataServerConfig;
+    }
+
+    /**
+     * write a snapshot of all datum, then drop the snapshots and wal segments before it
+     */
+    public void snapshot() {
+        try {
+            long begin = System.currentTimeMillis();
+            long seq = wal.roll();
+            long count = DatumSnapshot.write(dir, seq, writer -> {
+                for (Map<String, Datum> datumMap : getAll().values()) {
+                    for (Datum datum : datumMap.values()) {
+                        keyedLock.lock(datum.getDataInfoId());
+                        try {
+                            writer.write(datum);
+                        } finally {
+                            keyedLock.unlock(datum.getDataInfoId());
+                        }
+                    }
+                }
+            });
+            wal.deleteBefore(seq);
+            DatumSnapshot.deleteBefore(dir, seq);
+            LOGGER.info("[PersistentDatumStorage] snapshot {} datum to {} in {}ms", count, seq,
+                System.currentTimeMillis() - begin);
+        } catch (Throwable e) {
+            LOGGER.error("[PersistentDatumStorage] snapshot error", e);
+        }
+    }
+}
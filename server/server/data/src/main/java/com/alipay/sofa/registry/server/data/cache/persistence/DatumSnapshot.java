@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+
+/**
+ * Snapshot file of all datum, named by the sequence of the first wal segment to replay after it.
+ * Every datum is written as [length][crc32][hessian bytes] and a zero length ends the file, the
+ * file is written aside and renamed when complete.
+ *
+ * @author agent
+ * @version $Id: DatumSnapshot.java, v 0.1 2026-10-17 agent Exp $
+ */
+public final class DatumSnapshot {
+
+    private static final Pattern SNAPSHOT_PATTERN = Pattern.compile("snapshot-(\\d+)\\.dat");
+
+    private DatumSnapshot() {
+    }
+
+    /**
+     * Writer of a snapshot file
+     */
+    public interface Writer {
+        void write(Datum datum) throws IOException;
+    }
+
+    /**
+     * Source of the datum to snapshot
+     */
+    public interface Source {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * write a snapshot
+     * @param dir
+     * @param seq
+     * @param source
+     * @return count of datum
+     * @throws IOException
+     */
+    public static long write(File dir, long seq, Source source) throws IOException {
+        File tmp = new File(dir, snapshotFile(dir, seq).getName() + ".tmp");
+        long[] count = { 0 };
+        try (FileOutputStream fos = new FileOutputStream(tmp);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16))) {
+            source.writeTo(datum -> {
+                byte[] bytes = DatumWal.serialize(datum);
+                out.writeInt(bytes.length);
+                out.writeInt(DatumWal.checksum(bytes));
+                out.write(bytes);
+                count[0]++;
+            });
+            out.writeInt(0);
+            out.flush();
+            fos.getFD().sync();
+        }
+        Files.move(tmp.toPath(), snapshotFile(dir, seq).toPath(), StandardCopyOption.ATOMIC_MOVE);
+        return count[0];
+    }
+
+    /**
+     * read a snapshot
+     * @param dir
+     * @param seq
+     * @param consumer
+     * @return count of datum
+     * @throws IOException if the file is corrupted
+     */
+    public static long read(File dir, long seq, Consumer<Datum> consumer) throws IOException {
+        long count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(
+            snapshotFile(dir, seq)), 1 << 16))) {
+            int length;
+            while ((length = in.readInt()) > 0) {
+                int checksum = in.readInt();
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                if (DatumWal.checksum(bytes) != checksum) {
+                    throw new IOException("checksum mismatch in snapshot " + seq);
+                }
+                consumer.accept((Datum) DatumWal.deserialize(bytes));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * sequences of complete snapshots, newest first
+     * @param dir
+     * @return
+     */
+    public static List<Long> listSnapshots(File dir) {
+        List<Long> seqs = new ArrayList<>();
+        String[] names = dir.list();
+        if (names != null) {
+            for (String name : names) {
+                Matcher matcher = SNAPSHOT_PATTERN.matcher(name);
+                if (matcher.matches()) {
+                    seqs.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        seqs.sort((a, b) -> Long.compare(b, a));
+        return seqs;
+    }
+
+    /**
+     * delete snapshots before the sequence
+     * @param dir
+     * @param seq
+     */
+    public static void deleteBefore(File dir, long seq) {
+        for (long old : listSnapshots(dir)) {
+            if (old < seq) {
+                snapshotFile(dir, old).delete();
+            }
+        }
+    }
+
+    private static File snapshotFile(File dir, long seq) {
+        return new File(dir, String.format("snapshot-%020d.dat", seq));
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.caucho.hessian.io.Hessian2Input;
+import com.caucho.hessian.io.Hessian2Output;
+import com.caucho.hessian.io.SerializerFactory;
+
+/**
+ * Append-only log of {@link WalRecord}s in memory-mapped segment files named by sequence.
+ * Every record is written as [length][crc32][hessian bytes], a zero length ends a segment.
+ *
+ * @author agent
+ * @version $Id: DatumWal.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DatumWal {
+
+    private static final Logger            LOGGER             = LoggerFactory
+                                                                  .getLogger(DatumWal.class);
+
+    private static final Pattern           SEGMENT_PATTERN    = Pattern.compile("wal-(\\d+)\\.log");
+
+    private static final int               RECORD_HEADER_SIZE = 8;
+
+    private static final SerializerFactory SERIALIZER_FACTORY = new SerializerFactory();
+
+    private final File                     dir;
+
+    private final int                      segmentSize;
+
+    private long                           segmentSeq;
+
+    private MappedByteBuffer               segment;
+
+    /**
+     * constructor
+     * @param dir
+     * @param segmentSize
+     */
+    public DatumWal(File dir, int segmentSize) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * start a new segment after all existing ones
+     * @return sequence of the new segment
+     * @throws IOException
+     */
+    public synchronized long roll() throws IOException {
+        long last = segmentSeq;
+        for (long seq : listSegments(dir)) {
+            last = Math.max(last, seq);
+        }
+        openSegment(last + 1, segmentSize);
+        return segmentSeq;
+    }
+
+    public synchronized void append(WalRecord record) throws IOException {
+        byte[] bytes = serialize(record);
+        int size = RECORD_HEADER_SIZE + bytes.length;
+        // keep 4 bytes for the end mark
+        if (segment == null || segment.remaining() < size + 4) {
+            if (segment != null) {
+                segment.force();
+            }
+            openSegment(segmentSeq + 1, Math.max(segmentSize, size + 4));
+        }
+        segment.putInt(bytes.length);
+        segment.putInt(checksum(bytes));
+        segment.put(bytes);
+    }
+
+    public synchronized void flush() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    /**
+     * delete segments before the sequence
+     * @param seq
+     */
+    public void deleteBefore(long seq) {
+        for (long old : listSegments(dir)) {
+            if (old < seq && !segmentFile(dir, old).delete()) {
+                LOGGER.warn("[DatumWal] delete segment {} failed", old);
+            }
+        }
+    }
+
+    private void openSegment(long seq, int size) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segmentFile(dir, seq), "rw")) {
+            segment = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        segmentSeq = seq;
+    }
+
+    /**
+     * replay records of segments from the sequence on. A bad record at the tail of the newest
+     * segment is a write torn by a crash, it ends the replay and is cut off so that the segment
+     * ends cleanly. A bad record anywhere else means records are lost, replaying the later ones
+     * on top of them would leave the storage inconsistent, so it fails the replay.
+     * @param dir
+     * @param fromSeq
+     * @param consumer
+     * @return count of records
+     * @throws IOException if a record before the tail of the newest segment is bad
+     */
+    public static long replay(File dir, long fromSeq, Consumer<WalRecord> consumer)
+                                                                                   throws IOException {
+        long count = 0;
+        List<Long> seqs = listSegments(dir);
+        for (int i = 0; i < seqs.size(); i++) {
+            long seq = seqs.get(i);
+            if (seq < fromSeq) {
+                continue;
+            }
+            boolean newest = i == seqs.size() - 1;
+            File file = segmentFile(dir, seq);
+            int badPosition = -1;
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0,
+                    raf.length());
+                while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                    int position = buffer.position();
+                    int length = buffer.getInt();
+                    int checksum = buffer.getInt();
+                    if (length == 0) {
+                        break;
+                    }
+                    if (length < 0 || length > buffer.remaining()) {
+                        badPosition = position;
+                        break;
+                    }
+                    byte[] bytes = new byte[length];
+                    buffer.get(bytes);
+                    if (checksum(bytes) != checksum) {
+                        badPosition = position;
+                        break;
+                    }
+                    consumer.accept((WalRecord) deserialize(bytes));
+                    count++;
+                }
+            }
+            if (badPosition < 0) {
+                continue;
+            }
+            if (!newest) {
+                throw new IOException(String.format(
+                    "bad record at %d of segment %d, later segments exist", badPosition, seq));
+            }
+            LOGGER.warn("[DatumWal] torn record at {} of newest segment {}, cut it off",
+                badPosition, seq);
+            truncate(file, badPosition);
+        }
+        return count;
+    }
+
+    private static void truncate(File file, int position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(position);
+            raf.writeInt(0);
+            raf.getFD().sync();
+        }
+    }
+
+    static List<Long> listSegments(File dir) {
+        List<Long> seqs = new ArrayList<>();
+        String[] names = dir.list();
+        if (names != null) {
+            for (String name : names) {
+                Matcher matcher = SEGMENT_PATTERN.matcher(name);
+                if (matcher.matches()) {
+                    seqs.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        seqs.sort(Long::compare);
+        return seqs;
+    }
+
+    private static File segmentFile(File dir, long seq) {
+        return new File(dir, String.format("wal-%020d.log", seq));
+    }
+
+    static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+        Hessian2Output output = new Hessian2Output(bos);
+        output.setSerializerFactory(SERIALIZER_FACTORY);
+        output.writeObject(object);
+        output.flush();
+        return bos.toByteArray();
+    }
+
+    static Object deserialize(byte[] bytes) throws IOException {
+        Hessian2Input input = new Hessian2Input(new ByteArrayInputStream(bytes));
+        input.setSerializerFactory(SERIALIZER_FACTORY);
+        return input.readObject();
+    }
+
+    static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return (int) crc.getValue();
+    }
+}
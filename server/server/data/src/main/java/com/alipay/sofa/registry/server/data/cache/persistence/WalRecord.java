@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache.persistence;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.server.data.change.DataChangeTypeEnum;
+
+/**
+ * one change of datum storage written to the write-ahead log
+ *
+ * @author agent
+ * @version $Id: WalRecord.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class WalRecord implements Serializable {
+
+    private static final long serialVersionUID = -6417420463093127411L;
+
+    public enum Type {
+        PUT_DATUM, CLEAN_DATUM, PUT_SNAPSHOT
+    }
+
+    private Type                   type;
+
+    private DataChangeTypeEnum     changeType;
+
+    private Datum                  datum;
+
+    private String                 dataCenter;
+
+    private String                 dataInfoId;
+
+    private Map<String, Publisher> toBeDeletedPubMap;
+
+    private Map<String, Publisher> snapshotPubMap;
+
+    public static WalRecord putDatum(DataChangeTypeEnum changeType, Datum datum) {
+        WalRecord record = new WalRecord();
+        record.type = Type.PUT_DATUM;
+        record.changeType = changeType;
+        record.datum = datum;
+        return record;
+    }
+
+    public static WalRecord cleanDatum(String dataCenter, String dataInfoId) {
+        WalRecord record = new WalRecord();
+        record.type = Type.CLEAN_DATUM;
+        record.dataCenter = dataCenter;
+        record.dataInfoId = dataInfoId;
+        return record;
+    }
+
+    public static WalRecord putSnapshot(String dataInfoId,
+                                        Map<String, Publisher> toBeDeletedPubMap,
+                                        Map<String, Publisher> snapshotPubMap) {
+        WalRecord record = new WalRecord();
+        record.type = Type.PUT_SNAPSHOT;
+        record.dataInfoId = dataInfoId;
+        record.toBeDeletedPubMap = toBeDeletedPubMap;
+        record.snapshotPubMap = snapshotPubMap;
+        return record;
+    }
+
+    /**
+     * Getter method for property <tt>type</tt>.
+     *
+     * @return property value of type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Getter method for property <tt>changeType</tt>.
+     *
+     * @return property value of changeType
+     */
+    public DataChangeTypeEnum getChangeType() {
+        return changeType;
+    }
+
+    /**
+     * Getter method for property <tt>datum</tt>.
+     *
+     * @return property value of datum
+     */
+    public Datum getDatum() {
+        return datum;
+    }
+
+    /**
+     * Getter method for property <tt>dataCenter</tt>.
+     *
+     * @return property value of dataCenter
+     */
+    public String getDataCenter() {
+        return dataCenter;
+    }
+
+    /**
+     * Getter method for property <tt>dataInfoId</tt>.
+     *
+     * @return property value of dataInfoId
+     */
+    public String getDataInfoId() {
+        return dataInfoId;
+    }
+
+    /**
+     * Getter method for property <tt>toBeDeletedPubMap</tt>.
+     *
+     * @return property value of toBeDeletedPubMap
+     */
+    public Map<String, Publisher> getToBeDeletedPubMap() {
+        return toBeDeletedPubMap;
+    }
+
+    /**
+     * Getter method for property <tt>snapshotPubMap</tt>.
+     *
+     * @return property value of snapshotPubMap
+     */
+    public Map<String, Publisher> getSnapshotPubMap() {
+        return snapshotPubMap;
+    }
+}
@@ -76,7 +76,7 @@ public class DataChangeHandler {
         int queueCount = queues.length;
         Executor executor = ExecutorFactory.newFixedThreadPool(queueCount, DataChangeHandler.class.getSimpleName());
         Executor notifyExecutor = ExecutorFactory
-                .newFixedThreadPool(dataServerConfig.getQueueCount() * 5, this.getClass().getSimpleName());
+                .newFixedThreadPool(queueCount * 5, this.getClass().getSimpleName());
         for (int idx = 0; idx < queueCount; idx++) {
             final DataChangeEventQueue dataChangeEventQueue = queues[idx];
             final String name = dataChangeEventQueue.getName();
@@ -16,20 +16,31 @@
  */
 package com.alipay.sofa.registry.server.data.change.event;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.alipay.sofa.registry.common.model.PublishType;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.metrics.ReporterUtils;
 import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
 import com.alipay.sofa.registry.server.data.cache.DatumCache;
 import com.alipay.sofa.registry.server.data.cache.UnPublisher;
 import com.alipay.sofa.registry.server.data.change.DataChangeTypeEnum;
 import com.alipay.sofa.registry.server.data.change.DataSourceTypeEnum;
+import com.alipay.sofa.registry.util.KeyedLock;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.util.HashedWheelTimer;
 
 /**
  *
@@ -37,7 +48,11 @@ import com.alipay.sofa.registry.server.data.change.DataSourceTypeEnum;
  * @version $Id: DataChangeEventCenter.java, v 0.1 2018-03-09 14:25 qian.lqlq Exp $
  */
 public class DataChangeEventCenter {
-    private AtomicBoolean          isInited = new AtomicBoolean(false);
+    private static final long      CHANGE_TIMER_TICK_MS    = 10;
+
+    private static final int       CONNECT_ID_LOCK_STRIPES = 1024;
+
+    private AtomicBoolean          isInited                = new AtomicBoolean(false);
 
     /**
      * count of DataChangeEventQueue
@@ -49,6 +64,16 @@ public class DataChangeEventCenter {
      */
     private DataChangeEventQueue[] dataChangeEventQueues;
 
+    /**
+     * delays changes of all queues before they are notified
+     */
+    private HashedWheelTimer       changeTimer;
+
+    /**
+     * shared by all queues, client off and snapshot of one connectId are handled one at a time
+     */
+    private KeyedLock              connectIdLock;
+
     @Autowired
     private DataServerConfig       dataServerConfig;
 
@@ -59,13 +84,62 @@ public class DataChangeEventCenter {
     public void init() {
         if (isInited.compareAndSet(false, true)) {
             queueCount = dataServerConfig.getQueueCount();
+            if (queueCount <= 0) {
+                //one queue with its own consumer per core
+                queueCount = Runtime.getRuntime().availableProcessors();
+            }
+            changeTimer = new HashedWheelTimer(new ThreadFactoryBuilder().setDaemon(true)
+                .setNameFormat("Registry-DataChangeEventCenter-WheelTimer").build(),
+                CHANGE_TIMER_TICK_MS, TimeUnit.MILLISECONDS, 512);
+            connectIdLock = new KeyedLock("DataChangeEventCenter-connectId",
+                CONNECT_ID_LOCK_STRIPES);
             dataChangeEventQueues = new DataChangeEventQueue[queueCount];
             for (int idx = 0; idx < queueCount; idx++) {
                 dataChangeEventQueues[idx] = new DataChangeEventQueue(idx, dataServerConfig, this,
-                    datumCache);
+                    datumCache, changeTimer, connectIdLock);
                 dataChangeEventQueues[idx].start();
             }
+            MetricRegistry metrics = new MetricRegistry();
+            metrics.register("dataChangeQueue", (Gauge<Map>) () -> getQueueMetrics());
+            metrics.register("connectIdLock.acquire", (Gauge<Long>) connectIdLock::getAcquireCount);
+            metrics.register("connectIdLock.wait", (Gauge<Long>) connectIdLock::getContendedCount);
+            metrics.register("connectIdLock.waitTimeMillis",
+                (Gauge<Long>) connectIdLock::getWaitTimeMillis);
+            ReporterUtils.startSlf4jReporter(60, metrics);
+        }
+    }
+
+    /**
+     * stop the change timer, pending changes which have not expired yet are dropped
+     */
+    @PreDestroy
+    public void destroy() {
+        if (changeTimer != null) {
+            changeTimer.stop();
+        }
+    }
+
+    /**
+     * depth and merge ratio of every queue
+     *
+     * @return
+     */
+    public Map<String, Map<String, Object>> getQueueMetrics() {
+        Map<String, Map<String, Object>> ret = new LinkedHashMap<>();
+        for (DataChangeEventQueue queue : dataChangeEventQueues) {
+            Map<String, Object> metrics = new HashMap<>();
+            long datumEventCount = queue.getDatumEventCount();
+            long mergedEventCount = queue.getMergedEventCount();
+            metrics.put("eventQueueDepth", queue.getEventQueueDepth());
+            metrics.put("pendingChangeCount", queue.getPendingChangeCount());
+            metrics.put("readyChangeCount", queue.getReadyChangeCount());
+            metrics.put("datumEventCount", datumEventCount);
+            metrics.put("mergedEventCount", mergedEventCount);
+            metrics.put("mergeRatio", datumEventCount == 0 ? 0d : (double) mergedEventCount
+                                                                  / datumEventCount);
+            ret.put(queue.getName(), metrics);
         }
+        return ret;
     }
 
     /**
@@ -153,4 +227,21 @@ public class DataChangeEventCenter {
         return dataChangeEventQueues;
     }
 
-}
\ No newline at end of file
+    /**
+     * Setter method for property <tt>dataServerConfig</tt>.
+     *
+     * @param dataServerConfig  value to be assigned to property dataServerConfig
+     */
+    public void setDataServerConfig(DataServerConfig dataServerConfig) {
+        this.dataServerConfig = dataServerConfig;
+    }
+
+    /**
+     * Setter method for property <tt>datumCache</tt>.
+     *
+     * @param datumCache  value to be assigned to property datumCache
+     */
+    public void setDatumCache(DatumCache datumCache) {
+        this.datumCache = datumCache;
+    }
+}
@@ -20,10 +20,11 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.DelayQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.alipay.sofa.registry.common.model.constants.ValueConstants;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
@@ -40,7 +41,8 @@ import com.alipay.sofa.registry.server.data.change.SnapshotData;
 import com.alipay.sofa.registry.server.data.executor.ExecutorFactory;
 import com.alipay.sofa.registry.server.data.node.DataServerNode;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.DataServerNodeFactory;
-import com.google.common.collect.Interners;
+import com.alipay.sofa.registry.util.KeyedLock;
+import io.netty.util.Timer;
 
 /**
  * a queue of DataChangeEvent
@@ -72,23 +74,41 @@ public class DataChangeEventQueue {
     private final BlockingQueue<IDataChangeEvent>      eventQueue;
 
     /**
-     *
+     * pending changes waiting for their notify delay, merged per dataInfoId with ConcurrentHashMap#compute
      */
     private final Map<String, Map<String, ChangeData>> CHANGE_DATA_MAP_FOR_MERGE = new ConcurrentHashMap<>();
 
     /**
-     *
+     * changes whose notify delay has expired, ready to be taken by consumers
+     */
+    private final BlockingQueue<ChangeData>            CHANGE_QUEUE              = new LinkedBlockingQueue<>();
+
+    /**
+     * timer which moves pending changes to CHANGE_QUEUE when their notify delay expires
      */
-    private final DelayQueue<ChangeData>               CHANGE_QUEUE              = new DelayQueue();
+    private final Timer                                changeTimer;
+
+    /**
+     * serializes client off and snapshot handling of the same connectId across queues
+     */
+    private final KeyedLock                            connectIdLock;
 
     private final int                                  notifyIntervalMs;
 
     private final int                                  notifyTempDataIntervalMs;
 
-    private final ReentrantLock                        lock                      = new ReentrantLock();
-
     private final int                                  queueIdx;
 
+    /**
+     * datum events received, including the ones merged into a pending change
+     */
+    private final AtomicLong                           datumEventCount           = new AtomicLong();
+
+    /**
+     * datum events merged into a pending change instead of producing a new one
+     */
+    private final AtomicLong                           mergedEventCount          = new AtomicLong();
+
     private DataServerConfig                           dataServerConfig;
 
     private DataChangeEventCenter                      dataChangeEventCenter;
@@ -99,10 +119,17 @@ public class DataChangeEventQueue {
      * constructor
      * @param queueIdx
      * @param dataServerConfig
+     * @param dataChangeEventCenter
+     * @param datumCache
+     * @param changeTimer
+     * @param connectIdLock
      */
     public DataChangeEventQueue(int queueIdx, DataServerConfig dataServerConfig,
-                                DataChangeEventCenter dataChangeEventCenter, DatumCache datumCache) {
+                                DataChangeEventCenter dataChangeEventCenter, DatumCache datumCache,
+                                Timer changeTimer, KeyedLock connectIdLock) {
         this.queueIdx = queueIdx;
+        this.changeTimer = changeTimer;
+        this.connectIdLock = connectIdLock;
         this.name = String.format("%s_%s", DataChangeEventQueue.class.getSimpleName(), queueIdx);
         this.dataServerConfig = dataServerConfig;
         int queueSize = dataServerConfig.getQueueSize();
@@ -145,33 +172,29 @@ public class DataChangeEventQueue {
      * @throws InterruptedException
      */
     public ChangeData take() throws InterruptedException {
-        ChangeData changeData = CHANGE_QUEUE.take();
-        lock.lock();
-        try {
-            removeMapForMerge(changeData);
-            return changeData;
-        } finally {
-            lock.unlock();
-        }
+        return CHANGE_QUEUE.take();
+    }
+
+    /**
+     * schedule a change, it will be ready to take after delayMs
+     *
+     * @param changeData
+     * @param delayMs
+     */
+    private void schedule(ChangeData changeData, long delayMs) {
+        changeTimer.newTimeout(timeout -> onExpired(changeData), delayMs, TimeUnit.MILLISECONDS);
     }
 
-    private void removeMapForMerge(ChangeData changeData) {
+    private void onExpired(ChangeData changeData) {
         Datum datum = changeData.getDatum();
         if (changeData.getSourceType() != DataSourceTypeEnum.PUB_TEMP && datum != null) {
-            CHANGE_DATA_MAP_FOR_MERGE.get(datum.getDataCenter()).remove(datum.getDataInfoId());
+            // atomic with the merges on the same dataInfoId, later events will start a new change
+            getMapForMerge(datum.getDataCenter()).remove(datum.getDataInfoId(), changeData);
         }
+        CHANGE_QUEUE.add(changeData);
     }
 
-    /**
-     *
-     * @param dataCenter
-     * @param dataInfoId
-     * @param sourceType
-     * @param changeType
-     * @return
-     */
-    private ChangeData getChangeData(String dataCenter, String dataInfoId,
-                                     DataSourceTypeEnum sourceType, DataChangeTypeEnum changeType) {
+    private Map<String, ChangeData> getMapForMerge(String dataCenter) {
         Map<String, ChangeData> map = CHANGE_DATA_MAP_FOR_MERGE.get(dataCenter);
         if (map == null) {
             Map<String, ChangeData> newMap = new ConcurrentHashMap<>();
@@ -180,18 +203,7 @@ public class DataChangeEventQueue {
                 map = newMap;
             }
         }
-
-        ChangeData changeData = map.get(dataInfoId);
-        if (changeData == null) {
-            ChangeData newChangeData = new ChangeData(null, this.notifyIntervalMs, sourceType,
-                changeType);
-            changeData = map.putIfAbsent(dataInfoId, newChangeData);
-            if (changeData == null) {
-                changeData = newChangeData;
-            }
-            CHANGE_QUEUE.put(changeData);
-        }
-        return changeData;
+        return map;
     }
 
     /**
@@ -230,7 +242,8 @@ public class DataChangeEventQueue {
 
     private void handleClientOff(ClientChangeEvent event) {
         String connectId = event.getHost();
-        synchronized (Interners.newWeakInterner().intern(connectId)) {
+        connectIdLock.lock(connectId);
+        try {
             Map<String, Publisher> pubMap = datumCache.getByConnectId(connectId);
             if (pubMap != null && !pubMap.isEmpty()) {
                 LOGGER.info(
@@ -261,45 +274,59 @@ public class DataChangeEventQueue {
                         getName(), connectId, event.getOccurredTimestamp(), event.getVersion(),
                         count);
             }
+        } finally {
+            connectIdLock.unlock(connectId);
         }
     }
 
     private void handleDatum(DataChangeTypeEnum changeType, DataSourceTypeEnum sourceType,
                              Datum targetDatum) {
-        lock.lock();
-        try {
-            //get changed datum
-            ChangeData changeData = getChangeData(targetDatum.getDataCenter(),
-                targetDatum.getDataInfoId(), sourceType, changeType);
-            Datum cacheDatum = changeData.getDatum();
-            if (changeType == DataChangeTypeEnum.COVER || cacheDatum == null) {
-                changeData.setDatum(targetDatum);
-            } else {
-                Map<String, Publisher> targetPubMap = targetDatum.getPubMap();
-                Map<String, Publisher> cachePubMap = cacheDatum.getPubMap();
-                for (Publisher pub : targetPubMap.values()) {
-                    String registerId = pub.getRegisterId();
-                    Publisher cachePub = cachePubMap.get(registerId);
-                    if (cachePub != null) {
-                        // if the registerTimestamp of cachePub is greater than the registerTimestamp of pub, it means
-                        // that pub is not the newest data, should be ignored
-                        if (pub.getRegisterTimestamp() < cachePub.getRegisterTimestamp()) {
-                            continue;
-                        }
-                        // if pub and cachePub both are publisher, and sourceAddress of both are equal,
-                        // and version of cachePub is greater than version of pub, should be ignored
-                        if (!(pub instanceof UnPublisher) && !(cachePub instanceof UnPublisher)
-                            && pub.getSourceAddress().equals(cachePub.getSourceAddress())
-                            && cachePub.getVersion() > pub.getVersion()) {
-                            continue;
-                        }
+        datumEventCount.incrementAndGet();
+        // the timer must not be touched inside compute, only remember the change created here
+        ChangeData[] created = new ChangeData[1];
+        getMapForMerge(targetDatum.getDataCenter()).compute(targetDatum.getDataInfoId(),
+            (dataInfoId, changeData) -> {
+                if (changeData == null) {
+                    changeData = new ChangeData(null, this.notifyIntervalMs, sourceType, changeType);
+                    created[0] = changeData;
+                } else {
+                    mergedEventCount.incrementAndGet();
+                }
+                mergeDatum(changeData, changeType, targetDatum);
+                return changeData;
+            });
+        if (created[0] != null) {
+            schedule(created[0], this.notifyIntervalMs);
+        }
+    }
+
+    private void mergeDatum(ChangeData changeData, DataChangeTypeEnum changeType, Datum targetDatum) {
+        Datum cacheDatum = changeData.getDatum();
+        if (changeType == DataChangeTypeEnum.COVER || cacheDatum == null) {
+            changeData.setDatum(targetDatum);
+        } else {
+            Map<String, Publisher> targetPubMap = targetDatum.getPubMap();
+            Map<String, Publisher> cachePubMap = cacheDatum.getPubMap();
+            for (Publisher pub : targetPubMap.values()) {
+                String registerId = pub.getRegisterId();
+                Publisher cachePub = cachePubMap.get(registerId);
+                if (cachePub != null) {
+                    // if the registerTimestamp of cachePub is greater than the registerTimestamp of pub, it means
+                    // that pub is not the newest data, should be ignored
+                    if (pub.getRegisterTimestamp() < cachePub.getRegisterTimestamp()) {
+                        continue;
+                    }
+                    // if pub and cachePub both are publisher, and sourceAddress of both are equal,
+                    // and version of cachePub is greater than version of pub, should be ignored
+                    if (!(pub instanceof UnPublisher) && !(cachePub instanceof UnPublisher)
+                        && pub.getSourceAddress().equals(cachePub.getSourceAddress())
+                        && cachePub.getVersion() > pub.getVersion()) {
+                        continue;
                     }
-                    cachePubMap.put(registerId, pub);
-                    cacheDatum.setVersion(targetDatum.getVersion());
                 }
+                cachePubMap.put(registerId, pub);
+                cacheDatum.setVersion(targetDatum.getVersion());
             }
-        } finally {
-            lock.unlock();
         }
     }
 
@@ -310,7 +337,8 @@ public class DataChangeEventQueue {
 
         // build SnapshotData
         Map<String, SnapshotData> dataInfoId2SnapshotData = new HashMap<>();
-        synchronized (Interners.newWeakInterner().intern(connectId)) {
+        connectIdLock.lock(connectId);
+        try {
             for (Map.Entry<String, Publisher> entry : snapshotPubMap.entrySet()) {
                 String registerId = entry.getKey();
                 Publisher publisher = entry.getValue();
@@ -339,6 +367,8 @@ public class DataChangeEventQueue {
                     dataInfoId);
                 snapshotData.getToBeDeletedPubMap().put(registerId, publisher);
             }
+        } finally {
+            connectIdLock.unlock(connectId);
         }
 
         // put all SnapshotDatas to queue
@@ -348,7 +378,7 @@ public class DataChangeEventQueue {
                     "SnapshotData: connectId={}, dataInfoId={}, cachePubSize={}, snapshotPubSize={}",
                     connectId, snapshotData.getDataInfoId(), snapshotData.getToBeDeletedPubMap()
                         .size(), snapshotData.getSnapshotPubMap().size());
-            CHANGE_QUEUE.put(snapshotData);
+            schedule(snapshotData, this.notifyIntervalMs);
         }
     }
 
@@ -366,7 +396,7 @@ public class DataChangeEventQueue {
                                    DataSourceTypeEnum sourceType) {
         ChangeData tempChangeData = new ChangeData(targetDatum, this.notifyTempDataIntervalMs,
             sourceType, changeType);
-        CHANGE_QUEUE.put(tempChangeData);
+        schedule(tempChangeData, this.notifyTempDataIntervalMs);
     }
 
     /**
@@ -375,4 +405,53 @@ public class DataChangeEventQueue {
     private boolean belongTo(String dataInfoId) {
         return this.queueIdx == this.dataChangeEventCenter.hash(dataInfoId);
     }
-}
\ No newline at end of file
+
+    /**
+     * count of events waiting to be merged
+     *
+     * @return
+     */
+    public int getEventQueueDepth() {
+        return eventQueue.size();
+    }
+
+    /**
+     * count of merged changes waiting for their notify delay
+     *
+     * @return
+     */
+    public int getPendingChangeCount() {
+        int count = 0;
+        for (Map<String, ChangeData> map : CHANGE_DATA_MAP_FOR_MERGE.values()) {
+            count += map.size();
+        }
+        return count;
+    }
+
+    /**
+     * count of changes ready to notify
+     *
+     * @return
+     */
+    public int getReadyChangeCount() {
+        return CHANGE_QUEUE.size();
+    }
+
+    /**
+     * Getter method for property <tt>datumEventCount</tt>.
+     *
+     * @return property value of datumEventCount
+     */
+    public long getDatumEventCount() {
+        return datumEventCount.get();
+    }
+
+    /**
+     * Getter method for property <tt>mergedEventCount</tt>.
+     *
+     * @return property value of mergedEventCount
+     */
+    public long getMergedEventCount() {
+        return mergedEventCount.get();
+    }
+}
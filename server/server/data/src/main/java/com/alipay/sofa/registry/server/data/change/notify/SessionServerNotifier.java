@@ -16,11 +16,21 @@
  */
 package com.alipay.sofa.registry.server.data.change.notify;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.PostConstruct;
 
@@ -28,7 +38,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import com.alipay.remoting.Connection;
 import com.alipay.sofa.registry.common.model.CommonResponse;
+import com.alipay.sofa.registry.common.model.DatumSizeUtil;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.sessionserver.DataChangeBatchRequest;
 import com.alipay.sofa.registry.common.model.sessionserver.DataChangeRequest;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
@@ -46,29 +58,36 @@ import com.alipay.sofa.registry.timer.AsyncHashedWheelTimer.TaskFailedCallback;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
- * Notify session DataChangeRequest,if fail get result callback retry
+ * Notify session DataChangeRequest,if fail get result callback retry.
+ * With batch enabled, changes are coalesced per session server and sent as DataChangeBatchRequest
  *
  * @author qian.lqlq
  * @version $Id: SessionServerNotifier.java, v 0.1 2018-03-09 15:32 qian.lqlq Exp $
  */
 public class SessionServerNotifier implements IDataChangeNotifier {
 
-    private static final Logger            LOGGER = LoggerFactory
-                                                      .getLogger(SessionServerNotifier.class);
+    private static final Logger                            LOGGER        = LoggerFactory
+                                                                             .getLogger(SessionServerNotifier.class);
 
-    private AsyncHashedWheelTimer          asyncHashedWheelTimer;
+    private AsyncHashedWheelTimer                          asyncHashedWheelTimer;
 
     @Autowired
-    private DataServerConfig               dataServerConfig;
+    private DataServerConfig                               dataServerConfig;
 
     @Autowired
-    private Exchange                       boltExchange;
+    private Exchange                                       boltExchange;
 
     @Autowired
-    private SessionServerConnectionFactory sessionServerConnectionFactory;
+    private SessionServerConnectionFactory                 sessionServerConnectionFactory;
 
     @Autowired
-    private DatumCache                     datumCache;
+    private DatumCache                                     datumCache;
+
+    private final Map<String/*processId*/, NotifyBatch>   notifyBatches = new ConcurrentHashMap<>();
+
+    private final Map<String/*processId*/, AtomicInteger> inFlights     = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService                       batchNotifyScheduler;
 
     @PostConstruct
     public void init() {
@@ -90,6 +109,14 @@ public class SessionServerNotifier implements IDataChangeNotifier {
                     LOGGER.error("executionFailed: " + e.getMessage(), e);
                 }
             });
+
+        if (dataServerConfig.isNotifySessionBatchEnabled()) {
+            batchNotifyScheduler = new ScheduledThreadPoolExecutor(1, threadFactoryBuilder
+                .setNameFormat("Registry-SessionServerNotifier-Batch").build());
+            batchNotifyScheduler.scheduleWithFixedDelay(this::flushBatches,
+                dataServerConfig.getNotifySessionBatchWindowMs(),
+                dataServerConfig.getNotifySessionBatchWindowMs(), TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
@@ -105,12 +132,181 @@ public class SessionServerNotifier implements IDataChangeNotifier {
     public void notify(Datum datum, Long lastVersion) {
         DataChangeRequest request = new DataChangeRequest(datum.getDataInfoId(),
             datum.getDataCenter(), datum.getVersion());
+        if (dataServerConfig.isNotifySessionWithDatumEnabled()) {
+            Datum payload = getDatumPayload(datum.getDataCenter(), datum.getDataInfoId());
+            if (payload != null) {
+                // the cache may have moved on since the change, announce the version carried
+                request.setDatum(payload);
+                request.setVersion(payload.getVersion());
+            }
+        }
+        if (dataServerConfig.isNotifySessionBatchEnabled()) {
+            for (String processId : sessionServerConnectionFactory.getSessionProcessIds()) {
+                addToBatch(processId, request);
+            }
+            return;
+        }
         List<Connection> connections = sessionServerConnectionFactory.getSessionConnections();
         for (Connection connection : connections) {
             doNotify(new NotifyCallback(connection, request));
         }
     }
 
+    private void addToBatch(String processId, DataChangeRequest request) {
+        while (true) {
+            NotifyBatch notifyBatch = notifyBatches.computeIfAbsent(processId,
+                k -> new NotifyBatch());
+            // a batch taken by flush refuses new changes, they go to a new batch
+            if (notifyBatch.add(request)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * copy of current datum if it is small enough to be sent with the notification
+     */
+    private Datum getDatumPayload(String dataCenter, String dataInfoId) {
+        Datum current = datumCache.get(dataCenter, dataInfoId);
+        if (current == null
+            || DatumSizeUtil.estimateSize(current) > dataServerConfig
+                .getNotifySessionWithDatumMaxSize()) {
+            return null;
+        }
+        Datum payload = new Datum(dataInfoId, dataCenter);
+        payload.setDataId(current.getDataId());
+        payload.setGroup(current.getGroup());
+        payload.setInstanceId(current.getInstanceId());
+        // version before the publishers, so the payload is never older than its version
+        payload.setVersion(current.getVersion());
+        payload.setPubMap(new HashMap<>(current.getPubMap()));
+        return payload;
+    }
+
+    /**
+     * send pending changes of every session server, at most maxInFlight batches for one session,
+     * the connection is resolved at sending so changes survive a reconnect
+     */
+    private void flushBatches() {
+        int maxInFlight = dataServerConfig.getNotifySessionBatchMaxInFlight();
+        int maxSize = dataServerConfig.getNotifySessionBatchMaxSize();
+        for (Entry<String, NotifyBatch> entry : notifyBatches.entrySet()) {
+            String processId = entry.getKey();
+            NotifyBatch notifyBatch = entry.getValue();
+            try {
+                AtomicInteger inFlight = inFlights.computeIfAbsent(processId,
+                    k -> new AtomicInteger(0));
+                if (inFlight.get() >= maxInFlight
+                    || !notifyBatches.remove(processId, notifyBatch)) {
+                    continue;
+                }
+                List<DataChangeRequest> pending = notifyBatch.close();
+                Connection connection = sessionServerConnectionFactory
+                    .getSessionConnection(processId);
+                if (connection == null || !connection.isFine()) {
+                    LOGGER.info(String.format(
+                        "no fine connection to sessionServer(%s), drop %s pending changes",
+                        processId, pending.size()));
+                    continue;
+                }
+                int from = 0;
+                while (from < pending.size() && inFlight.get() < maxInFlight) {
+                    int to = Math.min(from + maxSize, pending.size());
+                    inFlight.incrementAndGet();
+                    doBatchNotify(new BatchNotifyCallback(processId, new DataChangeBatchRequest(
+                        new ArrayList<>(pending.subList(from, to))), 0));
+                    from = to;
+                }
+                // over the in flight limit, keep the rest for next flush
+                for (DataChangeRequest request : pending.subList(from, pending.size())) {
+                    addToBatch(processId, request);
+                }
+            } catch (Throwable e) {
+                LOGGER.error(String.format("flush notify batch to sessionServer(%s) error",
+                    processId), e);
+            }
+        }
+    }
+
+    private void doBatchNotify(BatchNotifyCallback callback) {
+        Connection connection = sessionServerConnectionFactory
+            .getSessionConnection(callback.processId);
+        try {
+            if (connection == null || !connection.isFine()) {
+                LOGGER
+                    .info(String
+                        .format(
+                            "no fine connection to sessionServer(%s), so ignore batch notify, retryTimes=%s,size=%s",
+                            callback.processId, callback.retryTimes, callback.request.getChanges()
+                                .size()));
+                if (callback.finish()) {
+                    release(callback.processId);
+                }
+                return;
+            }
+            Server sessionServer = boltExchange.getServer(dataServerConfig.getPort());
+            sessionServer.sendCallback(sessionServer.getChannel(connection.getRemoteAddress()),
+                callback.request, callback, dataServerConfig.getRpcTimeout());
+        } catch (Exception e) {
+            LOGGER.error(String.format(
+                "invokeWithCallback failed: sessionServer(%s),retryTimes=%s, size=%s",
+                callback.processId, callback.retryTimes, callback.request.getChanges().size()), e);
+            onBatchFailed(callback);
+        }
+    }
+
+    /**
+     * give back the in flight slot of session server
+     */
+    private void release(String processId) {
+        AtomicInteger inFlight = inFlights.get(processId);
+        if (inFlight != null) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * on failed, retry the whole batch without the changes which fall behind,
+     * the retry keeps the in flight slot of the failed send
+     */
+    private void onBatchFailed(BatchNotifyCallback callback) {
+        if (!callback.finish()) {
+            // failure of this send is handled already
+            return;
+        }
+        List<DataChangeRequest> changes = new ArrayList<>();
+        for (DataChangeRequest request : callback.request.getChanges()) {
+            if (isCurrentVersion(request)) {
+                changes.add(request);
+            }
+        }
+        if (changes.isEmpty()) {
+            release(callback.processId);
+            return;
+        }
+
+        int retryTimes = callback.retryTimes + 1;
+        if (retryTimes <= dataServerConfig.getNotifySessionRetryTimes()) {
+            BatchNotifyCallback retry = new BatchNotifyCallback(callback.processId,
+                new DataChangeBatchRequest(changes), retryTimes);
+            this.asyncHashedWheelTimer.newTimeout(timeout -> {
+                LOGGER.info(String.format("retrying batch notify sessionServer(%s), retryTimes=%s, size=%s",
+                        retry.processId, retryTimes, changes.size()));
+                doBatchNotify(retry);
+            }, getDelayTimeForRetry(retryTimes), TimeUnit.MILLISECONDS);
+        } else {
+            release(callback.processId);
+            LOGGER.error(String.format(
+                    "retryTimes have exceeded! stop retry! retryTimes=%s, sessionServer(%s), size=%s",
+                    callback.retryTimes, callback.processId, changes.size()));
+        }
+    }
+
+    private boolean isCurrentVersion(DataChangeRequest request) {
+        Datum datum = datumCache.get(request.getDataCenter(), request.getDataInfoId());
+        return datum != null && datum.getVersion() == request.getVersion();
+    }
+
     private void doNotify(NotifyCallback notifyCallback) {
         Connection connection = notifyCallback.connection;
         DataChangeRequest request = notifyCallback.request;
@@ -183,6 +379,83 @@ public class SessionServerNotifier implements IDataChangeNotifier {
         return result >= 0L ? result : 0L;
     }
 
+    /**
+     * pending changes of one session server, newer version of same dataInfoId overrides,
+     * once closed by flush it refuses new changes
+     */
+    private static class NotifyBatch {
+
+        private final Map<String, DataChangeRequest> pending = new LinkedHashMap<>();
+
+        private boolean                              closed  = false;
+
+        public synchronized boolean add(DataChangeRequest request) {
+            if (closed) {
+                return false;
+            }
+            String key = request.getDataCenter() + "#" + request.getDataInfoId();
+            DataChangeRequest exist = pending.get(key);
+            if (exist == null || exist.getVersion() < request.getVersion()) {
+                pending.put(key, request);
+            }
+            return true;
+        }
+
+        public synchronized List<DataChangeRequest> close() {
+            closed = true;
+            return new ArrayList<>(pending.values());
+        }
+    }
+
+    private class BatchNotifyCallback implements CallbackHandler {
+
+        private final String                 processId;
+        private final DataChangeBatchRequest request;
+        private final int                    retryTimes;
+        private final AtomicBoolean          finished = new AtomicBoolean(false);
+
+        public BatchNotifyCallback(String processId, DataChangeBatchRequest request, int retryTimes) {
+            this.processId = processId;
+            this.request = request;
+            this.retryTimes = retryTimes;
+        }
+
+        /**
+         * @return false if the result of this send is handled already
+         */
+        public boolean finish() {
+            return finished.compareAndSet(false, true);
+        }
+
+        @Override
+        public void onCallback(Channel channel, Object message) {
+            CommonResponse result = (CommonResponse) message;
+            if (result != null && !result.isSuccess()) {
+                LOGGER
+                    .error(String
+                        .format(
+                            "response not success when batch notify sessionServer(%s), retryTimes=%s, size=%s, response=%s",
+                            processId, retryTimes, request.getChanges().size(), result));
+                onBatchFailed(this);
+            } else if (finish()) {
+                release(processId);
+            }
+        }
+
+        @Override
+        public void onException(Channel channel, Throwable e) {
+            LOGGER.error(String.format(
+                "exception when batch notify sessionServer(%s), retryTimes=%s, size=%s", processId,
+                retryTimes, request.getChanges().size()), e);
+            onBatchFailed(this);
+        }
+
+        @Override
+        public Executor getExecutor() {
+            return ExecutorFactory.NOTIFY_SESSION_CALLBACK_EXECUTOR;
+        }
+    }
+
     private class NotifyCallback implements CallbackHandler {
 
         private int               retryTimes = 0;
@@ -222,4 +495,39 @@ public class SessionServerNotifier implements IDataChangeNotifier {
 
     }
 
-}
\ No newline at end of file
+    /**
+     * Setter method for property <tt>dataServerConfig</tt>.
+     *
+     * @param dataServerConfig  value to be assigned to property dataServerConfig
+     */
+    public void setDataServerConfig(DataServerConfig dataServerConfig) {
+        this.dataServerConfig = dataServerConfig;
+    }
+
+    /**
+     * Setter method for property <tt>boltExchange</tt>.
+     *
+     * @param boltExchange  value to be assigned to property boltExchange
+     */
+    public void setBoltExchange(Exchange boltExchange) {
+        this.boltExchange = boltExchange;
+    }
+
+    /**
+     * Setter method for property <tt>sessionServerConnectionFactory</tt>.
+     *
+     * @param sessionServerConnectionFactory  value to be assigned to property sessionServerConnectionFactory
+     */
+    public void setSessionServerConnectionFactory(SessionServerConnectionFactory sessionServerConnectionFactory) {
+        this.sessionServerConnectionFactory = sessionServerConnectionFactory;
+    }
+
+    /**
+     * Setter method for property <tt>datumCache</tt>.
+     *
+     * @param datumCache  value to be assigned to property datumCache
+     */
+    public void setDatumCache(DatumCache datumCache) {
+        this.datumCache = datumCache;
+    }
+}
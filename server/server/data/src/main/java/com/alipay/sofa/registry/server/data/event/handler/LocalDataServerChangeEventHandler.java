@@ -20,11 +20,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -35,7 +38,8 @@ import com.alipay.sofa.registry.common.model.dataserver.NotifyFetchDatumRequest;
 import com.alipay.sofa.registry.common.model.dataserver.NotifyOnlineRequest;
 import com.alipay.sofa.registry.common.model.metaserver.DataNode;
 import com.alipay.sofa.registry.common.model.store.URL;
-import com.alipay.sofa.registry.consistency.hash.ConsistentHash;
+import com.alipay.sofa.registry.consistency.hash.NodeRouter;
+import com.alipay.sofa.registry.consistency.hash.SlotRouter;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.remoting.bolt.BoltChannel;
@@ -176,7 +180,7 @@ public class LocalDataServerChangeEventHandler extends
 
             Map<String, DataNode> dataServerMapIn = event.getLocalDataServerMap();
             List<DataNode> dataServerNodeList = Lists.newArrayList(dataServerMapIn.values());
-            ConsistentHash<DataNode> consistentHash = new ConsistentHash<>(
+            NodeRouter<DataNode> consistentHash = dataServerConfig.getRouterType().newRouter(
                 dataServerConfig.getNumberOfReplicas(), dataServerNodeList);
             Map<String, DataNode> dataServerMap = new ConcurrentHashMap<>(dataServerMapIn);
 
@@ -238,65 +242,83 @@ public class LocalDataServerChangeEventHandler extends
          * @param consistentHash
          * @return
          */
-        private Map<String/*ip*/, Map<String/*datacenter*/, Map<String/*datainfoId*/, BackupTriad>>> getToBeSyncMap(ConsistentHash<DataNode> consistentHash) {
+        private Map<String/*ip*/, Map<String/*datacenter*/, Map<String/*datainfoId*/, BackupTriad>>> getToBeSyncMap(NodeRouter<DataNode> consistentHash) {
 
-            Map<String, Map<String, Map<String, BackupTriad>>> toBeSyncMap = new HashMap<>();
-            Map<String, List<DataNode>> triadCache = new HashMap<>();
+            Map<String, Map<String, Map<String, BackupTriad>>> toBeSyncMap = new ConcurrentHashMap<>();
 
-            ConsistentHash<DataNode> consistentHashOld = dataServerCache
+            NodeRouter<DataNode> consistentHashOld = dataServerCache
                 .calculateOldConsistentHash(dataServerConfig.getLocalDataCenter());
-
-            //compute new triad for every datum in cache
-            Map<String, Map<String, Datum>> allMap = datumCache.getAll();
-            for (Entry<String, Map<String, Datum>> dataCenterEntry : allMap.entrySet()) {
-                String dataCenter = dataCenterEntry.getKey();
-                Map<String, Datum> datumMap = dataCenterEntry.getValue();
-                for (String dataInfoId : datumMap.keySet()) {
+            Set<String> notWorking = dataServerCache.getNotWorking();
+            int storeNodes = dataServerConfig.getStoreNodes();
+            long begin = System.currentTimeMillis();
+
+            boolean completed;
+            if (consistentHash instanceof SlotRouter && consistentHashOld instanceof SlotRouter) {
+                //diff ownership of slots, datum of a slot move together
+                SlotRouter<DataNode> slotRouter = (SlotRouter<DataNode>) consistentHash;
+                SlotRouter<DataNode> slotRouterOld = (SlotRouter<DataNode>) consistentHashOld;
+                Set<String> dataCenters = datumCache.getAll().keySet();
+                completed = IntStream.range(0, SlotRouter.SLOT_COUNT).parallel().allMatch(slot -> {
                     //if dataservers are changed, no longer to handle
                     if (isChanged.get()) {
-                        return new HashMap<>();
+                        return false;
                     }
-                    //compute new triad by new dataservers
-                    List<DataNode> backupNodes;
-                    if (triadCache.containsKey(dataInfoId)) {
-                        backupNodes = triadCache.get(dataInfoId);
-                    } else {
-                        backupNodes = consistentHash.getNUniqueNodesFor(dataInfoId,
-                            dataServerConfig.getStoreNodes());
-                        triadCache.put(dataInfoId, backupNodes);
+                    List<DataNode> backupNodes = slotRouter.getNUniqueNodesForSlot(slot, storeNodes);
+                    List<DataNode> oldNodes = slotRouterOld.getNUniqueNodesForSlot(slot, storeNodes);
+                    List<DataNode> newJoinedNodes = new BackupTriad(null, oldNodes).getNewJoined(
+                        backupNodes, notWorking);
+                    if (!newJoinedNodes.isEmpty()) {
+                        for (String dataCenter : dataCenters) {
+                            for (String dataInfoId : datumCache.getDataInfoIdsBySlot(dataCenter, slot)) {
+                                addToBeSynced(toBeSyncMap, newJoinedNodes, dataCenter,
+                                    new BackupTriad(dataInfoId, oldNodes));
+                            }
+                        }
                     }
-                    BackupTriad backupTriad = new BackupTriad(dataInfoId,
-                        consistentHashOld.getNUniqueNodesFor(dataInfoId,
-                            dataServerConfig.getStoreNodes()));
-                    if (backupTriad != null) {
-                        List<DataNode> newJoinedNodes = backupTriad.getNewJoined(backupNodes,
-                            dataServerCache.getNotWorking());
+                    return true;
+                });
+            } else {
+                //compute new triad for every datum in cache
+                completed = datumCache.getAll().entrySet().parallelStream().allMatch(dataCenterEntry -> {
+                    String dataCenter = dataCenterEntry.getKey();
+                    return dataCenterEntry.getValue().keySet().parallelStream().allMatch(dataInfoId -> {
+                        //if dataservers are changed, no longer to handle
+                        if (isChanged.get()) {
+                            return false;
+                        }
+                        List<DataNode> backupNodes = consistentHash.getNUniqueNodesFor(dataInfoId, storeNodes);
+                        BackupTriad backupTriad = new BackupTriad(dataInfoId,
+                            consistentHashOld.getNUniqueNodesFor(dataInfoId, storeNodes));
                         //all data node send notify to new join,the same data maybe send twice,receiver check same data duplicate!
-                        LOGGER
-                            .info(
-                                "DataInfoId {} has got newJoinedNodes={}  for backupNodes={},now backupTriad is {}",
-                                dataInfoId, newJoinedNodes, backupNodes, backupTriad);
+                        List<DataNode> newJoinedNodes = backupTriad.getNewJoined(backupNodes, notWorking);
                         if (!newJoinedNodes.isEmpty()) {
-                            for (DataNode node : newJoinedNodes) {
-                                String ip = node.getIp();
-                                if (!toBeSyncMap.containsKey(ip)) {
-                                    toBeSyncMap.put(ip, new HashMap<>());
-                                }
-                                Map<String, Map<String, BackupTriad>> dataInfoMap = toBeSyncMap
-                                    .get(ip);
-                                if (!dataInfoMap.containsKey(dataCenter)) {
-                                    dataInfoMap.put(dataCenter, new HashMap<>());
-                                }
-                                dataInfoMap.get(dataCenter).put(dataInfoId, backupTriad);
-                            }
+                            addToBeSynced(toBeSyncMap, newJoinedNodes, dataCenter, backupTriad);
                         }
-                    }
-                }
+                        return true;
+                    });
+                });
+            }
+            if (!completed) {
+                return new HashMap<>();
+            }
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Get to Be SyncMap in {}ms, {}", System.currentTimeMillis() - begin,
+                    toBeSyncMap.entrySet().stream().collect(Collectors.toMap(Entry::getKey,
+                        e -> e.getValue().values().stream().mapToInt(Map::size).sum())));
             }
-            LOGGER.info("Get to Be SyncMap {}", toBeSyncMap);
             return toBeSyncMap;
         }
 
+        private void addToBeSynced(Map<String, Map<String, Map<String, BackupTriad>>> toBeSyncMap,
+                                   List<DataNode> newJoinedNodes, String dataCenter,
+                                   BackupTriad backupTriad) {
+            for (DataNode node : newJoinedNodes) {
+                toBeSyncMap.computeIfAbsent(node.getIp(), k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(dataCenter, k -> new ConcurrentHashMap<>())
+                    .put(backupTriad.getDataInfoId(), backupTriad);
+            }
+        }
+
         /**
          * do notify
          *
@@ -25,7 +25,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.alipay.remoting.Connection;
-import com.alipay.sofa.registry.consistency.hash.ConsistentHash;
+import com.alipay.sofa.registry.consistency.hash.NodeRouter;
 import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
 import com.alipay.sofa.registry.server.data.node.DataServerNode;
 import com.google.common.collect.Lists;
@@ -43,16 +43,16 @@ public class DataServerNodeFactory {
      * column:  ip
      * value    dataServerNode
      */
-    private static final Map<String, Map<String, DataServerNode>>    MAP                 = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, DataServerNode>> MAP                 = new ConcurrentHashMap<>();
 
     /**
      * key:     dataCenter
      * value:   consistentHash
      */
-    private static final Map<String, ConsistentHash<DataServerNode>> CONSISTENT_HASH_MAP = new ConcurrentHashMap<>();
+    private static final Map<String, NodeRouter<DataServerNode>>  CONSISTENT_HASH_MAP = new ConcurrentHashMap<>();
 
-    private static AtomicBoolean                                     init                = new AtomicBoolean(
-                                                                                             false);
+    private static AtomicBoolean                                  init                = new AtomicBoolean(
+                                                                                          false);
 
     /**
      * add a dataserver to cache
@@ -86,8 +86,10 @@ public class DataServerNodeFactory {
                     .getLocalDataCenter(), null));
             }
         }
-        CONSISTENT_HASH_MAP.put(dataCenter,
-            new ConsistentHash<>(dataServerConfig.getNumberOfReplicas(), dataServerNodes));
+        CONSISTENT_HASH_MAP.put(
+            dataCenter,
+            dataServerConfig.getRouterType().newRouter(dataServerConfig.getNumberOfReplicas(),
+                dataServerNodes));
     }
 
     /**
@@ -99,8 +101,9 @@ public class DataServerNodeFactory {
             List<DataServerNode> dataServerNodes = Lists.newArrayList();
             dataServerNodes.add(new DataServerNode(DataServerConfig.IP, dataServerConfig
                 .getLocalDataCenter(), null));
-            CONSISTENT_HASH_MAP.put(dataServerConfig.getLocalDataCenter(), new ConsistentHash<>(
-                dataServerConfig.getNumberOfReplicas(), dataServerNodes));
+            CONSISTENT_HASH_MAP
+                .put(dataServerConfig.getLocalDataCenter(), dataServerConfig.getRouterType()
+                    .newRouter(dataServerConfig.getNumberOfReplicas(), dataServerNodes));
         }
     }
 
@@ -192,7 +195,7 @@ public class DataServerNodeFactory {
      * @return
      */
     public static DataServerNode computeDataServerNode(String dataCenter, String dataInfoId) {
-        ConsistentHash<DataServerNode> consistentHash = CONSISTENT_HASH_MAP.get(dataCenter);
+        NodeRouter<DataServerNode> consistentHash = CONSISTENT_HASH_MAP.get(dataCenter);
         if (consistentHash != null) {
             return consistentHash.getNodeFor(dataInfoId);
         }
@@ -201,7 +204,7 @@ public class DataServerNodeFactory {
 
     public static List<DataServerNode> computeDataServerNodes(String dataCenter, String dataInfoId,
                                                               int backupNodes) {
-        ConsistentHash<DataServerNode> consistentHash = CONSISTENT_HASH_MAP.get(dataCenter);
+        NodeRouter<DataServerNode> consistentHash = CONSISTENT_HASH_MAP.get(dataCenter);
         if (consistentHash != null) {
             return consistentHash.getNUniqueNodesFor(dataInfoId, backupNodes);
         }
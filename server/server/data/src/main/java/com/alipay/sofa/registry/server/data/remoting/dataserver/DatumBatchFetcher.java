@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.dataserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.alipay.remoting.Connection;
+import com.alipay.sofa.registry.common.model.GenericResponse;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.dataserver.GetDataBatchRequest;
+import com.alipay.sofa.registry.common.model.dataserver.GetDataRequest;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.remoting.Server;
+import com.alipay.sofa.registry.remoting.exchange.Exchange;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.server.data.change.DataChangeTypeEnum;
+import com.alipay.sofa.registry.server.data.change.DataSourceTypeEnum;
+import com.alipay.sofa.registry.server.data.change.event.DataChangeEventCenter;
+import com.alipay.sofa.registry.server.data.executor.ExecutorFactory;
+import com.alipay.sofa.registry.server.data.util.TimeUtil;
+
+/**
+ * Fetch datum from another data server in batches. A fetch is split into chunks of
+ * fetchDatumBatchSize dataInfoIds, at most fetchDatumParallelism chunks are in flight, failed
+ * chunks are retried and finally fetched one by one, which also works with old data servers. When
+ * a fetch fails, a repeated notify of the same change version skips the datum already fetched
+ * with the announced version.
+ *
+ * @author agent
+ * @version $Id: DatumBatchFetcher.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DatumBatchFetcher {
+
+    private static final Logger                   LOGGER      = LoggerFactory
+                                                                  .getLogger(DatumBatchFetcher.class);
+
+    @Autowired
+    private DataServerConfig                      dataServerConfig;
+
+    @Autowired
+    private DataServerConnectionFactory           dataServerConnectionFactory;
+
+    @Autowired
+    private DataChangeEventCenter                 dataChangeEventCenter;
+
+    @Autowired
+    private Exchange                              boltExchange;
+
+    private Executor                              fetchExecutor;
+
+    private final Map<String, DatumFetchProgress> progressMap = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        fetchExecutor = ExecutorFactory.newFixedThreadPool(
+            dataServerConfig.getFetchDatumParallelism(), DatumBatchFetcher.class.getSimpleName());
+    }
+
+    /**
+     * fetch datum of dataInfoIds from target data server, block until all chunks finished
+     *
+     * @param targetIp
+     * @param changeVersion
+     * @param dataInfoIdVersions dataCenter -> dataInfoId -> version announced by target data server
+     */
+    public void fetch(String targetIp, long changeVersion,
+                      Map<String, Map<String, Long>> dataInfoIdVersions) {
+        DatumFetchProgress progress = progressMap.compute(targetIp, (k, v) ->
+                v != null && v.getChangeVersion() == changeVersion ? v : new DatumFetchProgress(targetIp, changeVersion));
+
+        long total = dataInfoIdVersions.values().stream().mapToLong(Map::size).sum();
+        progress.begin(total);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        int batchSize = Math.max(1, dataServerConfig.getFetchDatumBatchSize());
+        int resumed = 0;
+        for (Entry<String, Map<String, Long>> entry : dataInfoIdVersions.entrySet()) {
+            String dataCenter = entry.getKey();
+            Map<String, Long> chunk = new LinkedHashMap<>();
+            for (Entry<String, Long> dataInfoIdVersion : entry.getValue().entrySet()) {
+                String dataInfoId = dataInfoIdVersion.getKey();
+                Long version = dataInfoIdVersion.getValue();
+                if (version != null && progress.isFetched(dataCenter, dataInfoId, version)) {
+                    resumed++;
+                    continue;
+                }
+                chunk.put(dataInfoId, version == null ? 0L : version);
+                if (chunk.size() >= batchSize) {
+                    futures.add(submit(targetIp, dataCenter, chunk, progress));
+                    chunk = new LinkedHashMap<>();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                futures.add(submit(targetIp, dataCenter, chunk, progress));
+            }
+        }
+        progress.resumed(resumed);
+        LOGGER.info("[DatumBatchFetcher] begin to fetch {} datum in {} batches from {}, changeVersion={}, resumed={}",
+                total, futures.size(), targetIp, changeVersion, resumed);
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).join();
+        } finally {
+            boolean complete = progress.end();
+            LOGGER.info("[DatumBatchFetcher] end to fetch datum from {}, complete={}, {}", targetIp,
+                    complete, progress.toMetrics());
+        }
+    }
+
+    private CompletableFuture<Void> submit(String targetIp, String dataCenter,
+                                           Map<String, Long> chunk, DatumFetchProgress progress) {
+        return CompletableFuture.runAsync(() -> fetchChunk(targetIp, dataCenter, chunk, progress),
+                fetchExecutor);
+    }
+
+    private void fetchChunk(String targetIp, String dataCenter, Map<String, Long> chunk,
+                            DatumFetchProgress progress) {
+        int maxRetry = dataServerConfig.getFetchDatumMaxRetry();
+        for (int retry = 0; retry <= maxRetry; retry++) {
+            if (retry > 0) {
+                progress.retry();
+                TimeUtil.randomDelay(500);
+            }
+            Connection connection = dataServerConnectionFactory.getConnection(targetIp);
+            if (connection == null) {
+                LOGGER.warn("[DatumBatchFetcher] connection of {} is closed, skip {} datum",
+                    targetIp, chunk.size());
+                progress.skipped(chunk.size());
+                return;
+            }
+            if (!connection.isFine()) {
+                throw new RuntimeException(String.format("connection of %s is not available",
+                    targetIp));
+            }
+            try {
+                Server syncServer = boltExchange.getServer(dataServerConfig.getSyncDataPort());
+                GenericResponse<Map<String, Datum>> response = (GenericResponse<Map<String, Datum>>) syncServer
+                    .sendSync(syncServer.getChannel(connection.getRemoteAddress()),
+                        new GetDataBatchRequest(dataCenter, new ArrayList<>(chunk.keySet())),
+                        dataServerConfig.getRpcTimeout());
+                if (response.isSuccess()) {
+                    Map<String, Datum> datumMap = response.getData() == null ? Collections
+                        .emptyMap() : response.getData();
+                    for (Datum datum : datumMap.values()) {
+                        syncDatum(datum);
+                    }
+                    progress.fetched(dataCenter, chunk);
+                    progress.batch();
+                    return;
+                }
+                LOGGER.error("[DatumBatchFetcher] fetch batch from {} failed, {}", targetIp,
+                    response.getMessage());
+            } catch (Exception e) {
+                LOGGER.error("[DatumBatchFetcher] fetch batch from {} error", targetIp, e);
+            }
+        }
+
+        progress.fallback();
+        for (Entry<String, Long> entry : chunk.entrySet()) {
+            if (fetchDatum(targetIp, dataCenter, entry.getKey())) {
+                progress.fetched(dataCenter,
+                    Collections.singletonMap(entry.getKey(), entry.getValue()));
+            } else {
+                progress.skipped(1);
+            }
+        }
+    }
+
+    /**
+     * fetch one datum, retry until success or connection closed
+     *
+     * @param targetIp
+     * @param dataCenter
+     * @param dataInfoId
+     * @return false if connection closed
+     */
+    public boolean fetchDatum(String targetIp, String dataCenter, String dataInfoId) {
+        while (dataServerConnectionFactory.getConnection(targetIp) != null) {
+            Connection connection = dataServerConnectionFactory.getConnection(targetIp);
+            if (connection == null || !connection.isFine()) {
+                throw new RuntimeException(String.format("connection of %s is not available",
+                    targetIp));
+            }
+            try {
+                Server syncServer = boltExchange.getServer(dataServerConfig.getSyncDataPort());
+                GenericResponse<Map<String, Datum>> response = (GenericResponse<Map<String, Datum>>) syncServer
+                    .sendSync(syncServer.getChannel(connection.getRemoteAddress()),
+                        new GetDataRequest(dataInfoId, dataCenter),
+                        dataServerConfig.getRpcTimeout());
+                if (response.isSuccess()) {
+                    Datum datum = response.getData().get(dataCenter);
+                    if (datum != null) {
+                        syncDatum(datum);
+                    }
+                    return true;
+                } else {
+                    throw new RuntimeException(response.getMessage());
+                }
+            } catch (Exception e) {
+                LOGGER.error("[DatumBatchFetcher] fetch datum error", e);
+                TimeUtil.randomDelay(500);
+            }
+        }
+        return false;
+    }
+
+    private void syncDatum(Datum datum) {
+        // wrap by WordCache
+        datum = Datum.internDatum(datum);
+        dataChangeEventCenter.sync(DataChangeTypeEnum.COVER, DataSourceTypeEnum.BACKUP, datum);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("[DatumBatchFetcher] fetch datum success,dataInfoId={},dataCenter={}",
+                datum.getDataInfoId(), datum.getDataCenter());
+        }
+    }
+
+    /**
+     * progress of fetching from every data server
+     * @return
+     */
+    public Map<String, Map<String, Object>> getProgress() {
+        Map<String, Map<String, Object>> ret = new TreeMap<>();
+        progressMap.forEach((ip, progress) -> ret.put(ip, progress.toMetrics()));
+        return ret;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.dataserver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * progress of fetching datum from one data server for one change version. Datum fetched are
+ * recorded with the version announced for them as checkpoint, so that a repeated notify of the
+ * same change version resumes from it, unless it announces a newer version of the datum. The
+ * checkpoint is dropped once a run fetched all datum.
+ *
+ * @author agent
+ * @version $Id: DatumFetchProgress.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DatumFetchProgress {
+
+    private final String            targetIp;
+
+    private final long              changeVersion;
+
+    /** dataCenter#dataInfoId -> version announced when it was fetched */
+    private final Map<String, Long> fetched       = new ConcurrentHashMap<>();
+
+    private final AtomicLong        total         = new AtomicLong();
+
+    private final AtomicLong        fetchedCount  = new AtomicLong();
+
+    private final AtomicLong        resumed       = new AtomicLong();
+
+    private final AtomicLong        skipped       = new AtomicLong();
+
+    private final AtomicLong        batchCount    = new AtomicLong();
+
+    private final AtomicLong        retryCount    = new AtomicLong();
+
+    private final AtomicLong        fallbackCount = new AtomicLong();
+
+    private volatile long           beginTime;
+
+    private volatile long           endTime;
+
+    /**
+     * constructor
+     * @param targetIp
+     * @param changeVersion
+     */
+    public DatumFetchProgress(String targetIp, long changeVersion) {
+        this.targetIp = targetIp;
+        this.changeVersion = changeVersion;
+    }
+
+    /**
+     * start a run, datum fetched by a failed run before are kept
+     * @param totalCount
+     */
+    public synchronized void begin(long totalCount) {
+        total.set(totalCount);
+        fetchedCount.set(0);
+        resumed.set(0);
+        skipped.set(0);
+        beginTime = System.currentTimeMillis();
+        endTime = 0;
+    }
+
+    /**
+     * end a run
+     * @return true if all datum of the run were fetched, the checkpoint is dropped then
+     */
+    public synchronized boolean end() {
+        endTime = System.currentTimeMillis();
+        boolean complete = skipped.get() == 0 && fetchedCount.get() + resumed.get() == total.get();
+        if (complete) {
+            fetched.clear();
+        }
+        return complete;
+    }
+
+    /**
+     * @param dataCenter
+     * @param dataInfoId
+     * @param version version announced by the data server
+     * @return true if the datum of the version, or newer, was fetched by a run before
+     */
+    public boolean isFetched(String dataCenter, String dataInfoId, long version) {
+        Long fetchedVersion = fetched.get(key(dataCenter, dataInfoId));
+        return fetchedVersion != null && fetchedVersion >= version;
+    }
+
+    public void fetched(String dataCenter, Map<String, Long> dataInfoIdVersions) {
+        for (Map.Entry<String, Long> entry : dataInfoIdVersions.entrySet()) {
+            fetched.merge(key(dataCenter, entry.getKey()), entry.getValue(), Math::max);
+        }
+        fetchedCount.addAndGet(dataInfoIdVersions.size());
+    }
+
+    /**
+     * @return count of datum kept as checkpoint
+     */
+    public int getCheckpointSize() {
+        return fetched.size();
+    }
+
+    public void resumed(int count) {
+        resumed.addAndGet(count);
+    }
+
+    public void skipped(int count) {
+        skipped.addAndGet(count);
+    }
+
+    public void batch() {
+        batchCount.incrementAndGet();
+    }
+
+    public void retry() {
+        retryCount.incrementAndGet();
+    }
+
+    public void fallback() {
+        fallbackCount.incrementAndGet();
+    }
+
+    private static String key(String dataCenter, String dataInfoId) {
+        return dataCenter + "#" + dataInfoId;
+    }
+
+    /**
+     * Getter method for property <tt>targetIp</tt>.
+     *
+     * @return property value of targetIp
+     */
+    public String getTargetIp() {
+        return targetIp;
+    }
+
+    /**
+     * Getter method for property <tt>changeVersion</tt>.
+     *
+     * @return property value of changeVersion
+     */
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public Map<String, Object> toMetrics() {
+        long now = endTime > 0 ? endTime : System.currentTimeMillis();
+        long elapsed = beginTime > 0 ? now - beginTime : 0;
+        long fetchedInRun = fetchedCount.get();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("changeVersion", changeVersion);
+        metrics.put("total", total.get());
+        metrics.put("fetched", fetchedInRun);
+        metrics.put("resumed", resumed.get());
+        metrics.put("skipped", skipped.get());
+        metrics.put("batches", batchCount.get());
+        metrics.put("retries", retryCount.get());
+        metrics.put("fallbacks", fallbackCount.get());
+        metrics.put("finished", endTime > 0);
+        metrics.put("elapsedMillis", elapsed);
+        metrics.put("checkpoint", fetched.size());
+        metrics.put("datumPerSecond", elapsed > 0 ? fetchedInRun * 1000 / elapsed : 0);
+        return metrics;
+    }
+}
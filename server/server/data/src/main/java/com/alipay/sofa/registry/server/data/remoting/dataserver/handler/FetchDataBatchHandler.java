@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.dataserver.handler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.alipay.sofa.registry.common.model.GenericResponse;
+import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.dataserver.GetDataBatchRequest;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.server.data.remoting.handler.AbstractClientHandler;
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+
+/**
+ * processor to get a batch of datum, the result is keyed by dataInfoId and absent datum are skipped
+ *
+ * @author agent
+ * @version $Id: FetchDataBatchHandler.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class FetchDataBatchHandler extends AbstractClientHandler<GetDataBatchRequest> {
+
+    @Autowired
+    private DatumCache datumCache;
+
+    @Override
+    public void checkParam(GetDataBatchRequest request) throws RuntimeException {
+        ParaCheckUtil.checkNotBlank(request.getDataCenter(), "GetDataBatchRequest.dataCenter");
+        ParaCheckUtil.checkNotNull(request.getDataInfoIds(), "GetDataBatchRequest.dataInfoIds");
+    }
+
+    @Override
+    public Object doHandle(Channel channel, GetDataBatchRequest request) {
+        Map<String, Datum> datumMap = new HashMap<>(request.getDataInfoIds().size());
+        for (String dataInfoId : request.getDataInfoIds()) {
+            Datum datum = datumCache.get(request.getDataCenter(), dataInfoId);
+            if (datum != null) {
+                datumMap.put(dataInfoId, datum);
+            }
+        }
+        return new GenericResponse<Map<String, Datum>>().fillSucceed(datumMap);
+    }
+
+    @Override
+    public GenericResponse<Map<String, Datum>> buildFailedResponse(String msg) {
+        return new GenericResponse<Map<String, Datum>>().fillFailed(msg);
+    }
+
+    @Override
+    public Class interest() {
+        return GetDataBatchRequest.class;
+    }
+
+    @Override
+    public HandlerType getType() {
+        return HandlerType.PROCESSER;
+    }
+
+    @Override
+    protected Node.NodeType getConnectNodeType() {
+        return Node.NodeType.DATA;
+    }
+}
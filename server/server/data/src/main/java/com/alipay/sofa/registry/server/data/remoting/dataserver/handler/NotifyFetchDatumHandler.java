@@ -16,34 +16,25 @@
  */
 package com.alipay.sofa.registry.server.data.remoting.dataserver.handler;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
-import com.alipay.remoting.Connection;
 import com.alipay.sofa.registry.common.model.CommonResponse;
-import com.alipay.sofa.registry.common.model.GenericResponse;
 import com.alipay.sofa.registry.common.model.Node;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
-import com.alipay.sofa.registry.common.model.dataserver.GetDataRequest;
 import com.alipay.sofa.registry.common.model.dataserver.NotifyFetchDatumRequest;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.remoting.Channel;
-import com.alipay.sofa.registry.remoting.Server;
-import com.alipay.sofa.registry.remoting.exchange.Exchange;
-import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
 import com.alipay.sofa.registry.server.data.cache.DataServerCache;
 import com.alipay.sofa.registry.server.data.cache.DatumCache;
-import com.alipay.sofa.registry.server.data.change.DataChangeTypeEnum;
-import com.alipay.sofa.registry.server.data.change.DataSourceTypeEnum;
-import com.alipay.sofa.registry.server.data.change.event.DataChangeEventCenter;
 import com.alipay.sofa.registry.server.data.executor.ExecutorFactory;
-import com.alipay.sofa.registry.server.data.remoting.dataserver.DataServerConnectionFactory;
+import com.alipay.sofa.registry.server.data.remoting.dataserver.DatumBatchFetcher;
 import com.alipay.sofa.registry.server.data.remoting.handler.AbstractServerHandler;
 import com.alipay.sofa.registry.server.data.renew.LocalDataServerCleanHandler;
-import com.alipay.sofa.registry.server.data.util.TimeUtil;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
 
 /**
@@ -60,16 +51,7 @@ public class NotifyFetchDatumHandler extends AbstractServerHandler<NotifyFetchDa
     private DataServerCache             dataServerCache;
 
     @Autowired
-    private DataServerConnectionFactory dataServerConnectionFactory;
-
-    @Autowired
-    private DataChangeEventCenter       dataChangeEventCenter;
-
-    @Autowired
-    private Exchange                    boltExchange;
-
-    @Autowired
-    private DataServerConfig            dataServerConfig;
+    private DatumBatchFetcher           datumBatchFetcher;
 
     @Autowired
     private DatumCache                  datumCache;
@@ -100,9 +82,11 @@ public class NotifyFetchDatumHandler extends AbstractServerHandler<NotifyFetchDa
                 dataServerCache.synced(version, ip);
             } else {
                 ExecutorFactory.getCommonExecutor().execute(() -> {
+                    Map<String, Map<String, Long>> toBeFetched = new HashMap<>();
                     for (Entry<String, Map<String, Long>> dataCenterEntry : versionMap.entrySet()) {
                         String dataCenter = dataCenterEntry.getKey();
                         Map<String, Long> map = dataCenterEntry.getValue();
+                        Map<String, Long> dataInfoIds = toBeFetched.computeIfAbsent(dataCenter, k -> new HashMap<>());
                         for (Entry<String, Long> dataInfoEntry : map.entrySet()) {
                             String dataInfoId = dataInfoEntry.getKey();
                             Datum datum = datumCache.get(dataCenter, dataInfoId);
@@ -122,9 +106,10 @@ public class NotifyFetchDatumHandler extends AbstractServerHandler<NotifyFetchDa
                                     }
                                 }
                             }
-                            fetchDatum(ip, dataCenter, dataInfoId);
+                            dataInfoIds.put(dataInfoId, dataInfoEntry.getValue());
                         }
                     }
+                    datumBatchFetcher.fetch(ip, version, toBeFetched);
                     dataServerCache.synced(version, ip);
                 });
             }
@@ -135,51 +120,6 @@ public class NotifyFetchDatumHandler extends AbstractServerHandler<NotifyFetchDa
         return CommonResponse.buildSuccessResponse();
     }
 
-    /**
-     * 拉取数据
-     *
-     * @param targetIp
-     * @param dataCenter
-     * @param dataInfoId
-     */
-    private void fetchDatum(String targetIp, String dataCenter, String dataInfoId) {
-        while (dataServerConnectionFactory.getConnection(targetIp) != null) {
-            Connection connection = dataServerConnectionFactory.getConnection(targetIp);
-            if (connection == null || !connection.isFine()) {
-                throw new RuntimeException(String.format("connection of %s is not available",
-                    targetIp));
-            }
-            try {
-                Server syncServer = boltExchange.getServer(dataServerConfig.getSyncDataPort());
-                GenericResponse<Map<String, Datum>> response = (GenericResponse<Map<String, Datum>>) syncServer
-                    .sendSync(syncServer.getChannel(connection.getRemoteAddress()),
-                        new GetDataRequest(dataInfoId, dataCenter),
-                        dataServerConfig.getRpcTimeout());
-                if (response.isSuccess()) {
-                    Datum datum = response.getData().get(dataCenter);
-
-                    if (datum != null) {
-                        // wrap by WordCache
-                        datum = Datum.internDatum(datum);
-
-                        dataChangeEventCenter.sync(DataChangeTypeEnum.COVER,
-                            DataSourceTypeEnum.BACKUP, datum);
-                        LOGGER
-                            .info(
-                                "[NotifyFetchDatumHandler] fetch datum success,dataInfoId={},dataCenter={},targetIp={}",
-                                datum.getDataInfoId(), datum.getDataCenter(), targetIp);
-                    }
-                    break;
-                } else {
-                    throw new RuntimeException(response.getMessage());
-                }
-            } catch (Exception e) {
-                LOGGER.error("[NotifyFetchDatumHandler] fetch datum error", e);
-                TimeUtil.randomDelay(500);
-            }
-        }
-    }
-
     @Override
     public CommonResponse buildFailedResponse(String msg) {
         return CommonResponse.buildFailedResponse(msg);
@@ -158,21 +158,53 @@ public class SessionServerConnectionFactory {
         Collection<Pair> pairs = PROCESS_ID_SESSION_CONN_MAP.values();
         if (pairs != null) {
             for (Pair pair : pairs) {
-                Object[] conns = pair.getConnections().values().toArray();
-                if (conns.length > 0) {
-                    int n = pair.roundRobin.incrementAndGet();
-                    if (n < 0) {
-                        pair.roundRobin.compareAndSet(n, 0);
-                        n = (n == Integer.MIN_VALUE) ? 0 : Math.abs(n);
-                    }
-                    n = n % conns.length;
-                    list.add((Connection) conns[n]);
+                Connection connection = selectConnection(pair);
+                if (connection != null) {
+                    list.add(connection);
                 }
             }
         }
         return list;
     }
 
+    /**
+     * get processIds of SessionServers which have connections
+     */
+    public List<String> getSessionProcessIds() {
+        List<String> list = new ArrayList<>(PROCESS_ID_SESSION_CONN_MAP.size());
+        for (Map.Entry<String, Pair> entry : PROCESS_ID_SESSION_CONN_MAP.entrySet()) {
+            if (!entry.getValue().getConnections().isEmpty()) {
+                list.add(entry.getKey());
+            }
+        }
+        return list;
+    }
+
+    /**
+     * get connection of SessionServer by processId ( Randomly select one of its connections )
+     *
+     * @param processId
+     * @return null if the session has no connection
+     */
+    public Connection getSessionConnection(String processId) {
+        Pair pair = PROCESS_ID_SESSION_CONN_MAP.get(processId);
+        return pair == null ? null : selectConnection(pair);
+    }
+
+    private Connection selectConnection(Pair pair) {
+        Object[] conns = pair.getConnections().values().toArray();
+        if (conns.length == 0) {
+            return null;
+        }
+        int n = pair.roundRobin.incrementAndGet();
+        if (n < 0) {
+            pair.roundRobin.compareAndSet(n, 0);
+            n = (n == Integer.MIN_VALUE) ? 0 : Math.abs(n);
+        }
+        n = n % conns.length;
+        return (Connection) conns[n];
+    }
+
     /**
      * convenient class to store sessionConnAddress and connection
      */
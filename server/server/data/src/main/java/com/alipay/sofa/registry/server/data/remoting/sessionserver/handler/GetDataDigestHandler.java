@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.sessionserver.handler;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.alipay.sofa.registry.common.model.GenericResponse;
+import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.dataserver.GetDataDigestRequest;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.server.data.remoting.handler.AbstractServerHandler;
+import com.alipay.sofa.registry.util.DigestTree;
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+
+/**
+ * processor to get digests of the version hash tree, see {@link DigestTree}
+ *
+ * @author agent
+ * @version $Id: GetDataDigestHandler.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class GetDataDigestHandler extends AbstractServerHandler<GetDataDigestRequest> {
+
+    @Autowired
+    private DatumCache         datumCache;
+
+    @Autowired
+    private ThreadPoolExecutor getDataProcessorExecutor;
+
+    @Override
+    public Executor getExecutor() {
+        return getDataProcessorExecutor;
+    }
+
+    @Override
+    protected void logRequest(Channel channel, GetDataDigestRequest request) {
+    }
+
+    @Override
+    public void checkParam(GetDataDigestRequest request) throws RuntimeException {
+        ParaCheckUtil.checkNotEmpty(request.getNodes(), "GetDataDigestRequest.nodes");
+        for (Integer node : request.getNodes()) {
+            if (node == null || !DigestTree.isValid(node)) {
+                throw new RuntimeException(String.format(
+                    "GetDataDigestRequest.nodes contains invalid node %s", node));
+            }
+        }
+    }
+
+    @Override
+    public Object doHandle(Channel channel, GetDataDigestRequest request) {
+        Map<String/*datacenter*/, long[]/*digests*/> map = datumCache.getDigests(request
+            .getNodes());
+        return new GenericResponse<Map<String, long[]>>().fillSucceed(map);
+    }
+
+    @Override
+    public GenericResponse<Map<String, long[]>> buildFailedResponse(String msg) {
+        return new GenericResponse<Map<String, long[]>>().fillFailed(msg);
+    }
+
+    @Override
+    public HandlerType getType() {
+        return HandlerType.PROCESSER;
+    }
+
+    @Override
+    public Class interest() {
+        return GetDataDigestRequest.class;
+    }
+
+    @Override
+    protected Node.NodeType getConnectNodeType() {
+        return Node.NodeType.DATA;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.sessionserver.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.alipay.sofa.registry.common.model.CommonResponse;
+import com.alipay.sofa.registry.common.model.GenericResponse;
+import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.RenewDatumBatchRequest;
+import com.alipay.sofa.registry.common.model.constants.ValueConstants;
+import com.alipay.sofa.registry.common.model.store.WordCache;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.server.data.remoting.handler.AbstractServerHandler;
+import com.alipay.sofa.registry.server.data.renew.DatumLeaseManager;
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+
+/**
+ * handling batched renew request, the response holds the connectIds whose digest is different,
+ * so the session server only sends snapshot for them
+ *
+ * @author agent
+ * @version $Id: RenewDatumBatchHandler.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class RenewDatumBatchHandler extends AbstractServerHandler<RenewDatumBatchRequest> {
+
+    /** LOGGER */
+    private static final Logger LOGGER       = LoggerFactory
+                                                 .getLogger(RenewDatumBatchHandler.class);
+
+    private static final Logger RENEW_LOGGER = LoggerFactory.getLogger(
+                                                 ValueConstants.LOGGER_NAME_RENEW,
+                                                 "[RenewDatumBatchHandler]");
+
+    @Autowired
+    private RenewDatumHandler   renewDatumHandler;
+
+    @Autowired
+    private DatumLeaseManager   datumLeaseManager;
+
+    @Autowired
+    private ThreadPoolExecutor  renewDatumProcessorExecutor;
+
+    @Override
+    public Executor getExecutor() {
+        return renewDatumProcessorExecutor;
+    }
+
+    @Override
+    protected void logRequest(Channel channel, RenewDatumBatchRequest request) {
+    }
+
+    @Override
+    public void checkParam(RenewDatumBatchRequest request) throws RuntimeException {
+        ParaCheckUtil.checkNotNull(request.getDigestSums(), "RenewDatumBatchRequest.digestSums");
+    }
+
+    @Override
+    public Object doHandle(Channel channel, RenewDatumBatchRequest request) {
+        if (RENEW_LOGGER.isDebugEnabled()) {
+            RENEW_LOGGER.debug("doHandle: request={}", request);
+        }
+
+        if (!renewDatumHandler.isRenewEnabled()) {
+            LOGGER.warn("Renew request refused, renewEnabled is false, request: {}", request);
+            GenericResponse response = new GenericResponse();
+            response.setSuccess(false);
+            response.setMessage("Renew request refused, renewEnabled is false yet");
+            return response;
+        }
+
+        Map<String, String> digestSums = request.getDigestSums();
+        List<String> connectIds = new ArrayList<>(digestSums.size());
+        List<String> diffConnectIds = new ArrayList<>();
+        for (Map.Entry<String, String> entry : digestSums.entrySet()) {
+            String connectId = WordCache.getInstance().getWordCache(entry.getKey());
+            connectIds.add(connectId);
+            if (!renewDatumHandler.digestEquals(connectId, entry.getValue())) {
+                diffConnectIds.add(connectId);
+            }
+        }
+
+        // record the renew timestamp of all connectIds at once
+        datumLeaseManager.renew(connectIds);
+
+        if (!diffConnectIds.isEmpty()) {
+            RENEW_LOGGER
+                .info("Digest different! dataServerIP={}, size={}/{}, connectIds={}",
+                    request.getDataServerIP(), diffConnectIds.size(), connectIds.size(),
+                    diffConnectIds);
+        }
+        return new GenericResponse<List<String>>().fillSucceed(diffConnectIds);
+    }
+
+    @Override
+    public CommonResponse buildFailedResponse(String msg) {
+        return CommonResponse.buildFailedResponse(msg);
+    }
+
+    @Override
+    public HandlerType getType() {
+        return HandlerType.PROCESSER;
+    }
+
+    @Override
+    public Class interest() {
+        return RenewDatumBatchRequest.class;
+    }
+
+    @Override
+    protected Node.NodeType getConnectNodeType() {
+        return Node.NodeType.DATA;
+    }
+}
@@ -133,20 +133,11 @@ public class RenewDatumHandler extends AbstractServerHandler<RenewDatumRequest>
      */
     private boolean renewDatum(RenewDatumRequest request) {
         String connectId = WordCache.getInstance().getWordCache(request.getConnectId());
-        String renewDigest = request.getDigestSum();
-
-        // Get all pubs corresponding to the connectId from datumCache
-        Map<String, Publisher> publisherMap = datumCache.getOwnByConnectId(connectId);
-        String cacheDigest = null;
-        if (publisherMap != null && publisherMap.values().size() > 0) {
-            cacheDigest = String.valueOf(PublisherDigestUtil.getDigestValueSum(publisherMap
-                .values()));
-        }
 
         // record the renew timestamp
         datumLeaseManager.renew(connectId);
 
-        boolean result = StringUtils.equals(renewDigest, cacheDigest);
+        boolean result = digestEquals(connectId, request.getDigestSum());
 
         if (!result) {
             RENEW_LOGGER.info("Digest different! renewDatumRequest={}", request);
@@ -154,6 +145,28 @@ public class RenewDatumHandler extends AbstractServerHandler<RenewDatumRequest>
         return result;
     }
 
+    /**
+     * Compare checksum: Get all pubs corresponding to the connId from datumCache and calculate checksum.
+     */
+    boolean digestEquals(String connectId, String renewDigest) {
+        Map<String, Publisher> publisherMap = datumCache.getOwnByConnectId(connectId);
+        String cacheDigest = null;
+        if (publisherMap != null && publisherMap.values().size() > 0) {
+            cacheDigest = String.valueOf(PublisherDigestUtil.getDigestValueSum(publisherMap
+                .values()));
+        }
+        return StringUtils.equals(renewDigest, cacheDigest);
+    }
+
+    /**
+     * Getter method for property <tt>renewEnabled</tt>.
+     *
+     * @return property value of renewEnabled
+     */
+    boolean isRenewEnabled() {
+        return renewEnabled.get();
+    }
+
     @Override
     public void afterWorkingProcess() {
         renewDatumProcessorExecutor.submit(() -> {
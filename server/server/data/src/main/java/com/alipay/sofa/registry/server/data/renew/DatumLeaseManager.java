@@ -16,10 +16,10 @@
  */
 package com.alipay.sofa.registry.server.data.renew;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -33,14 +33,17 @@ import com.alipay.sofa.registry.common.model.constants.ValueConstants;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.metrics.ReporterUtils;
 import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
 import com.alipay.sofa.registry.server.data.cache.DatumCache;
 import com.alipay.sofa.registry.server.data.event.AfterWorkingProcess;
 import com.alipay.sofa.registry.server.data.node.DataNodeStatus;
 import com.alipay.sofa.registry.server.data.remoting.sessionserver.disconnect.ClientDisconnectEvent;
 import com.alipay.sofa.registry.server.data.remoting.sessionserver.disconnect.DisconnectEventHandler;
-import com.alipay.sofa.registry.timer.AsyncHashedWheelTimer;
-import com.alipay.sofa.registry.timer.AsyncHashedWheelTimer.TaskFailedCallback;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
@@ -49,42 +52,46 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
  * @version $Id: DatumExpiredCleaner.java, v 0.1 2019-06-03 21:08 kezhu.wukz Exp $
  */
 public class DatumLeaseManager implements AfterWorkingProcess {
-    private static final Logger                LOGGER                     = LoggerFactory
-                                                                              .getLogger(DatumLeaseManager.class);
-    private static final TimeZone              TIME_ZONE                  = TimeZone
-                                                                              .getTimeZone("Asia/Shanghai");
-    private static final Logger                RENEW_LOGGER               = LoggerFactory
-                                                                              .getLogger(
-                                                                                  ValueConstants.LOGGER_NAME_RENEW,
-                                                                                  "[DatumLeaseManager]");
+    private static final Logger         LOGGER        = LoggerFactory
+                                                          .getLogger(DatumLeaseManager.class);
+    private static final TimeZone       TIME_ZONE     = TimeZone.getTimeZone("Asia/Shanghai");
+    private static final Logger         RENEW_LOGGER  = LoggerFactory.getLogger(
+                                                          ValueConstants.LOGGER_NAME_RENEW,
+                                                          "[DatumLeaseManager]");
 
-    /** record the latest heartbeat time for each connectId, format: connectId -> lastRenewTimestamp */
-    private final Map<String, Long>            connectIdRenewTimestampMap = new ConcurrentHashMap<>();
+    /** the leases of all connectIds, bucketed by expiry second */
+    private LeaseTimingWheel            leaseTimingWheel;
 
-    /** lock for connectId , format: connectId -> true */
-    private ConcurrentHashMap<String, Boolean> locksForConnectId          = new ConcurrentHashMap();
+    private volatile boolean            serverWorking = false;
 
-    private volatile boolean                   serverWorking              = false;
+    private volatile boolean            renewEnable   = true;
 
-    private volatile boolean                   renewEnable                = true;
+    private final MetricRegistry        metrics       = new MetricRegistry();
 
-    private AsyncHashedWheelTimer              datumAsyncHashedWheelTimer;
+    private final Meter                 expiredMeter  = metrics.meter("datumLeaseExpired");
+
+    /** the delay between the expiry of a lease and its eviction */
+    private final Histogram             expiryLatency = metrics
+                                                          .histogram("datumLeaseExpiryLatency");
+
+    /** the time of a sweep */
+    private final Histogram             sweepMillis   = metrics.histogram("datumLeaseSweepMillis");
 
     @Autowired
-    private DataServerConfig                   dataServerConfig;
+    private DataServerConfig            dataServerConfig;
 
     @Autowired
-    private DisconnectEventHandler             disconnectEventHandler;
+    private DisconnectEventHandler      disconnectEventHandler;
 
     @Autowired
-    private DatumCache                         datumCache;
+    private DatumCache                  datumCache;
 
     @Autowired
-    private DataNodeStatus                     dataNodeStatus;
+    private DataNodeStatus              dataNodeStatus;
 
-    private ScheduledThreadPoolExecutor        executorForHeartbeatLess;
+    private ScheduledThreadPoolExecutor executorForHeartbeatLess;
 
-    private ScheduledFuture<?>                 futureForHeartbeatLess;
+    private ScheduledFuture<?>          futureForHeartbeatLess;
 
     /**
      * constructor
@@ -93,25 +100,16 @@ public class DatumLeaseManager implements AfterWorkingProcess {
     public void init() {
         ThreadFactoryBuilder threadFactoryBuilder = new ThreadFactoryBuilder();
         threadFactoryBuilder.setDaemon(true);
-        datumAsyncHashedWheelTimer = new AsyncHashedWheelTimer(threadFactoryBuilder.setNameFormat(
-            "Registry-DatumLeaseManager-WheelTimer").build(), 100, TimeUnit.MILLISECONDS, 1024,
-            dataServerConfig.getDatumLeaseManagerExecutorThreadSize(),
-            dataServerConfig.getDatumLeaseManagerExecutorQueueSize(), threadFactoryBuilder
-                .setNameFormat("Registry-DatumLeaseManager-WheelExecutor-%d").build(),
-            new TaskFailedCallback() {
-                @Override
-                public void executionRejected(Throwable e) {
-                    LOGGER.error("executionRejected: " + e.getMessage(), e);
-                }
 
-                @Override
-                public void executionFailed(Throwable e) {
-                    LOGGER.error("executionFailed: " + e.getMessage(), e);
-                }
-            });
+        leaseTimingWheel = new LeaseTimingWheel(dataServerConfig.getDatumTimeToLiveSec() * 1000L,
+            System.currentTimeMillis());
+        metrics.register("datumLeaseCount", (Gauge<Integer>) () -> leaseTimingWheel.size());
+        ReporterUtils.startSlf4jReporter(60, metrics);
 
+        // one thread for both tasks: the sweep must be run by a single thread
         executorForHeartbeatLess = new ScheduledThreadPoolExecutor(1, threadFactoryBuilder
             .setNameFormat("Registry-DatumLeaseManager-ExecutorForHeartbeatLess").build());
+        executorForHeartbeatLess.scheduleWithFixedDelay(this::sweep, 1, 1, TimeUnit.SECONDS);
         scheduleEvictTaskForHeartbeatLess();
     }
 
@@ -141,10 +139,21 @@ public class DatumLeaseManager implements AfterWorkingProcess {
             RENEW_LOGGER.debug("renew: connectId={}", connectId);
         }
 
-        // record the renew timestamp
-        connectIdRenewTimestampMap.put(connectId, System.currentTimeMillis());
-        // try to trigger evict task
-        scheduleEvictTask(connectId, 0);
+        leaseTimingWheel.renew(connectId, System.currentTimeMillis());
+    }
+
+    /**
+     * record the renew timestamp of many connectIds in one pass, they share the same timestamp
+     */
+    public void renew(Collection<String> connectIds) {
+        if (RENEW_LOGGER.isDebugEnabled()) {
+            RENEW_LOGGER.debug("renew: connectIds.size={}", connectIds.size());
+        }
+
+        long now = System.currentTimeMillis();
+        for (String connectId : connectIds) {
+            leaseTimingWheel.renew(connectId, now);
+        }
     }
 
     /**
@@ -155,86 +164,49 @@ public class DatumLeaseManager implements AfterWorkingProcess {
             RENEW_LOGGER.debug("remove: connectId={}", connectId);
         }
 
-        Long removed = connectIdRenewTimestampMap.remove(connectId);
+        Long removed = leaseTimingWheel.remove(connectId);
         if (removed != null) {
             LOGGER.info("remove connectId({}) because it is clientOff", connectId);
         }
     }
 
     /**
-     * trigger evict task: if connectId expired, create ClientDisconnectEvent to cleanup datums bind to the connectId
-     * PS: every connectId allows only one task to be created
+     * sweep the expired buckets: if connectId expired, create ClientDisconnectEvent to cleanup datums bind to the connectId
      */
-    private void scheduleEvictTask(String connectId, long delaySec) {
-        delaySec = (delaySec <= 0) ? dataServerConfig.getDatumTimeToLiveSec() : delaySec;
-
-        // lock for connectId: every connectId allows only one task to be created
-        Boolean ifAbsent = locksForConnectId.putIfAbsent(connectId, true);
-        if (ifAbsent != null) {
-            return;
-        }
-
-        datumAsyncHashedWheelTimer.newTimeout(_timeout -> {
-            boolean continued = true;
-            long nextDelaySec = 0;
-            try {
-                // release lock
-                locksForConnectId.remove(connectId);
-
-                // get lastRenewTime of this connectId
-                Long lastRenewTime = connectIdRenewTimestampMap.get(connectId);
-                if (lastRenewTime == null) {
-                    // connectId is already clientOff
-                    LOGGER.info("EvictTask(connectId={}) stop because already disconnected", connectId);
-                    return;
-                }
-
-                if (RENEW_LOGGER.isDebugEnabled()) {
-                    RENEW_LOGGER.debug("EvictTask: connectId={}, lastRenewTime={}", connectId, format(lastRenewTime));
-                }
-
-                /*
-                 * 1. lastRenewTime expires, then:
-                 *   - build ClientOffEvent and hand it to DataChangeEventCenter.
-                 *   - It will not be scheduled next time, so terminated.
-                 * 2. lastRenewTime not expires, then:
-                 *   - trigger the next schedule
-                 */
-                boolean isExpired =
-                        System.currentTimeMillis() - lastRenewTime > dataServerConfig.getDatumTimeToLiveSec() * 1000L;
-                if (!isRenewEnable()) {
-                    LOGGER.info(
-                            "scheduleEvictTask({}) skipped because isRenewEnable() is false, lastRenewTime is {}, DataNodeStatus is {}, will retry after {}s",
-                            connectId, format(lastRenewTime), dataNodeStatus.getStatus(),
-                            dataServerConfig.getDatumTimeToLiveSec());
-                    nextDelaySec = dataServerConfig.getDatumTimeToLiveSec();
-                } else if (isExpired) {
-                    int ownPubSize = getOwnPubSize(connectId);
-                    if (ownPubSize > 0) {
-                        LOGGER.info("Evict connectId({}) because expired, lastRenewTime is {}, pub.size is {}",
-                                connectId, format(lastRenewTime), ownPubSize);
-                        evict(connectId);
-                    }
-                    connectIdRenewTimestampMap.remove(connectId, lastRenewTime);
-                    continued = false;
-                } else {
-                    nextDelaySec = dataServerConfig.getDatumTimeToLiveSec()
-                                   - (System.currentTimeMillis() - lastRenewTime) / 1000L;
-                    nextDelaySec = nextDelaySec <= 0 ? 1 : nextDelaySec;
-                }
-
-            } catch (Exception e) {
-                LOGGER.error("Error in task of datumAsyncHashedWheelTimer", e);
+    private void sweep() {
+        try {
+            long start = System.currentTimeMillis();
+            int swept = leaseTimingWheel.advance(start, this::onExpire);
+            if (swept > 0) {
+                sweepMillis.update(System.currentTimeMillis() - start);
             }
-            if (continued) {
-                scheduleEvictTask(connectId, nextDelaySec);
-            }
-        }, delaySec, TimeUnit.SECONDS);
-
-        if (RENEW_LOGGER.isDebugEnabled()) {
-            RENEW_LOGGER.debug("scheduleEvictTask: connectId={}, delaySec={}", connectId, delaySec);
+        } catch (Throwable e) {
+            LOGGER.error("Error in sweeping datum leases", e);
         }
+    }
 
+    /**
+     * 1. renew disabled: keep the lease and check it again after ttl
+     * 2. lastRenewTime expires: evict the pubs of connectId and drop the lease
+     */
+    private boolean onExpire(String connectId, long lastRenewTime, long latencyMillis) {
+        if (!isRenewEnable()) {
+            LOGGER
+                .info(
+                    "EvictTask({}) skipped because isRenewEnable() is false, lastRenewTime is {}, DataNodeStatus is {}, will retry after {}s",
+                    connectId, format(lastRenewTime), dataNodeStatus.getStatus(),
+                    dataServerConfig.getDatumTimeToLiveSec());
+            return false;
+        }
+        expiredMeter.mark();
+        expiryLatency.update(latencyMillis);
+        int ownPubSize = getOwnPubSize(connectId);
+        if (ownPubSize > 0) {
+            LOGGER.info("Evict connectId({}) because expired, lastRenewTime is {}, pub.size is {}",
+                connectId, format(lastRenewTime), ownPubSize);
+            evict(connectId);
+        }
+        return true;
     }
 
     private int getOwnPubSize(String connectId) {
@@ -286,9 +258,8 @@ public class DatumLeaseManager implements AfterWorkingProcess {
 
             Set<String> allConnectIds = datumCache.getAllConnectIds();
             for (String connectId : allConnectIds) {
-                Long timestamp = connectIdRenewTimestampMap.get(connectId);
                 // no heartbeat
-                if (timestamp == null) {
+                if (!leaseTimingWheel.contains(connectId)) {
                     int ownPubSize = getOwnPubSize(connectId);
                     if (ownPubSize > 0) {
                         LOGGER.info("Evict connectId({}) because no heartbeat, pub.size is {}",
@@ -298,7 +269,7 @@ public class DatumLeaseManager implements AfterWorkingProcess {
                 }
             }
 
-            LOGGER.info("connectIdRenewTimestampMap.size is {}", connectIdRenewTimestampMap.size());
+            LOGGER.info("datum lease size is {}", leaseTimingWheel.size());
         }
     }
 
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.renew;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leases of all connectIds grouped into one-second buckets by their expiry second.
+ *
+ * A renew of a known connectId only overwrites its lastRenewTime, it neither allocates nor moves
+ * the lease between buckets. When the bucket of a lease is swept, a lease renewed in the meantime
+ * is moved to the bucket of its new expiry second, so every lease is visited about once per ttl
+ * instead of once per renew. The ttl is the same for all leases, so a single wheel of ttl seconds
+ * covers every possible expiry and no hierarchical overflow wheels are needed.
+ *
+ * @author agent
+ * @version $Id: LeaseTimingWheel.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class LeaseTimingWheel {
+
+    private final long               ttlMillis;
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    private final Set<Lease>[]       buckets;
+
+    /** the last second which has been swept */
+    private long                     cursor;
+
+    public LeaseTimingWheel(long ttlMillis, long now) {
+        this.ttlMillis = ttlMillis;
+        // one more bucket for the second after the expiry and one for the bucket being swept
+        this.buckets = new Set[(int) (ttlMillis / 1000) + 2];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.cursor = now / 1000;
+    }
+
+    /**
+     * record the renew time of connectId
+     */
+    public void renew(String connectId, long now) {
+        Lease lease = leases.get(connectId);
+        if (lease != null) {
+            lease.lastRenewTime = now;
+            return;
+        }
+        Lease created = new Lease(connectId, now);
+        lease = leases.putIfAbsent(connectId, created);
+        if (lease != null) {
+            lease.lastRenewTime = now;
+            return;
+        }
+        schedule(created, now + ttlMillis);
+    }
+
+    /**
+     * drop the lease of connectId, its bucket forgets it lazily when swept
+     */
+    public Long remove(String connectId) {
+        Lease lease = leases.remove(connectId);
+        return lease == null ? null : lease.lastRenewTime;
+    }
+
+    public Long getLastRenewTime(String connectId) {
+        Lease lease = leases.get(connectId);
+        return lease == null ? null : lease.lastRenewTime;
+    }
+
+    public boolean contains(String connectId) {
+        return leases.containsKey(connectId);
+    }
+
+    public int size() {
+        return leases.size();
+    }
+
+    /**
+     * sweep all buckets up to now, must be called by a single thread
+     *
+     * @return the number of swept leases
+     */
+    public int advance(long now, ExpireHandler handler) {
+        long second = now / 1000;
+        int swept = 0;
+        while (cursor < second) {
+            cursor++;
+            swept += sweep(buckets[(int) (cursor % buckets.length)], now, handler);
+        }
+        return swept;
+    }
+
+    private int sweep(Set<Lease> bucket, long now, ExpireHandler handler) {
+        List<Lease> due = new ArrayList<>(bucket.size());
+        for (Iterator<Lease> it = bucket.iterator(); it.hasNext();) {
+            due.add(it.next());
+            it.remove();
+        }
+        for (Lease lease : due) {
+            if (leases.get(lease.connectId) != lease) {
+                // removed by clientOff
+                continue;
+            }
+            long lastRenewTime = lease.lastRenewTime;
+            long expireTime = Math.max(lastRenewTime + ttlMillis, lease.checkAfter);
+            if (expireTime >= now) {
+                schedule(lease, expireTime);
+            } else if (handler.onExpire(lease.connectId, lastRenewTime, now - expireTime)) {
+                // a renew after the expiry check keeps the lease
+                if (lease.lastRenewTime == lastRenewTime) {
+                    leases.remove(lease.connectId, lease);
+                } else {
+                    schedule(lease, lease.lastRenewTime + ttlMillis);
+                }
+            } else {
+                lease.checkAfter = now + ttlMillis;
+                schedule(lease, lease.checkAfter);
+            }
+        }
+        return due.size();
+    }
+
+    private void schedule(Lease lease, long expireTime) {
+        // the next second, so that a lease is never swept before or right at its expiry
+        long second = expireTime / 1000 + 1;
+        buckets[(int) (second % buckets.length)].add(lease);
+    }
+
+    public interface ExpireHandler {
+        /**
+         * @param connectId      the expired connectId
+         * @param lastRenewTime  the last renew time of connectId
+         * @param latencyMillis  how late the expiry is detected
+         * @return false to keep the lease for another ttl
+         */
+        boolean onExpire(String connectId, long lastRenewTime, long latencyMillis);
+    }
+
+    private static final class Lease {
+        private final String  connectId;
+
+        private volatile long lastRenewTime;
+
+        /** set by the sweeper when an expiry is refused, the lease is not checked again before it */
+        private long          checkAfter;
+
+        Lease(String connectId, long lastRenewTime) {
+            this.connectId = connectId;
+            this.lastRenewTime = lastRenewTime;
+        }
+    }
+}
@@ -26,7 +26,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.metaserver.DataNode;
-import com.alipay.sofa.registry.consistency.hash.ConsistentHash;
+import com.alipay.sofa.registry.consistency.hash.NodeRouter;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
@@ -121,8 +121,8 @@ public class LocalDataServerCleanHandler {
                         return;
                     }
 
-                    ConsistentHash<DataNode> consistentHash = new ConsistentHash<>(
-                        dataServerConfig.getNumberOfReplicas(), dataNodeMap.values());
+                    NodeRouter<DataNode> consistentHash = dataServerConfig.getRouterType()
+                        .newRouter(dataServerConfig.getNumberOfReplicas(), dataNodeMap.values());
 
                     Map<String, Map<String, Datum>> dataMapAll = datumCache.getAll();
 
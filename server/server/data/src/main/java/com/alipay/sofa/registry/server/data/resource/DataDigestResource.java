@@ -43,8 +43,10 @@ import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
 import com.alipay.sofa.registry.server.data.cache.DataServerCache;
 import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.server.data.change.event.DataChangeEventCenter;
 import com.alipay.sofa.registry.server.data.node.DataServerNode;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.DataServerNodeFactory;
+import com.alipay.sofa.registry.server.data.remoting.dataserver.DatumBatchFetcher;
 import com.alipay.sofa.registry.server.data.remoting.metaserver.MetaServerConnectionFactory;
 import com.alipay.sofa.registry.server.data.remoting.sessionserver.SessionServerConnectionFactory;
 
@@ -77,6 +79,12 @@ public class DataDigestResource {
     @Autowired
     private DataServerCache                dataServerCache;
 
+    @Autowired
+    private DataChangeEventCenter          dataChangeEventCenter;
+
+    @Autowired
+    private DatumBatchFetcher              datumBatchFetcher;
+
     @GET
     @Path("datum/query")
     @Produces(MediaType.APPLICATION_JSON)
@@ -125,6 +133,20 @@ public class DataDigestResource {
         return getLocalDatumCount();
     }
 
+    @GET
+    @Path("changeQueue/metrics")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Map<String, Object>> getChangeQueueMetrics() {
+        return dataChangeEventCenter.getQueueMetrics();
+    }
+
+    @GET
+    @Path("fetchDatum/progress")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Map<String, Object>> getFetchDatumProgress() {
+        return datumBatchFetcher.getProgress();
+    }
+
     protected String getLocalDatumCount() {
         StringBuilder sb = new StringBuilder("CacheDigest");
         try {
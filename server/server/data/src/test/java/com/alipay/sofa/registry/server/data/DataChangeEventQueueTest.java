@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.server.data.change.ChangeData;
+import com.alipay.sofa.registry.server.data.change.DataChangeTypeEnum;
+import com.alipay.sofa.registry.server.data.change.DataSourceTypeEnum;
+import com.alipay.sofa.registry.server.data.change.event.DataChangeEvent;
+import com.alipay.sofa.registry.server.data.change.event.DataChangeEventCenter;
+import com.alipay.sofa.registry.server.data.change.event.DataChangeEventQueue;
+import com.alipay.sofa.registry.util.KeyedLock;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+
+/**
+ *
+ * @author agent
+ * @version $Id: DataChangeEventQueueTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DataChangeEventQueueTest {
+
+    private static final String DATA_CENTER = "DefaultDataCenter";
+
+    private DataServerConfig    dataServerConfig;
+
+    private HashedWheelTimer    wheelTimer;
+
+    @Before
+    public void before() {
+        dataServerConfig = new DataServerConfig(null);
+        dataServerConfig.setQueueCount(1);
+        dataServerConfig.setNotifyIntervalMs(300);
+    }
+
+    @After
+    public void after() {
+        if (wheelTimer != null) {
+            wheelTimer.stop();
+        }
+    }
+
+    private static DataChangeEvent event(String dataInfoId, long version) {
+        Datum datum = new Datum();
+        datum.setDataInfoId(dataInfoId);
+        datum.setDataCenter(DATA_CENTER);
+        datum.setVersion(version);
+        return new DataChangeEvent(DataChangeTypeEnum.COVER, DataSourceTypeEnum.PUB, datum);
+    }
+
+    private DataChangeEventQueue queue(Timer timer) {
+        DataChangeEventQueue queue = new DataChangeEventQueue(0, dataServerConfig, null,
+            Mockito.mock(DatumCache.class), timer, new KeyedLock("test", 16));
+        queue.start();
+        return queue;
+    }
+
+    private static void waitReady(DataChangeEventQueue queue, int count)
+                                                                        throws InterruptedException {
+        for (int i = 0; i < 300 && queue.getReadyChangeCount() < count; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(count, queue.getReadyChangeCount());
+    }
+
+    @Test
+    public void testScheduleAfterCompute() throws InterruptedException {
+        // a timer which expires at once, on the thread that schedules
+        Timer timer = Mockito.mock(Timer.class);
+        Mockito.when(
+            timer.newTimeout(Matchers.any(TimerTask.class), Matchers.anyLong(),
+                Matchers.any(TimeUnit.class))).thenAnswer(invocation -> {
+            ((TimerTask) invocation.getArguments()[0]).run(Mockito.mock(Timeout.class));
+            return Mockito.mock(Timeout.class);
+        });
+        DataChangeEventQueue queue = queue(timer);
+
+        queue.onChange(event("a", 1));
+        waitReady(queue, 1);
+        // the expired change must not stay behind in the merge map
+        Assert.assertEquals(0, queue.getPendingChangeCount());
+
+        // so the next event starts a new change instead of merging into the expired one
+        queue.onChange(event("a", 2));
+        waitReady(queue, 2);
+        Assert.assertEquals(0, queue.getPendingChangeCount());
+        Assert.assertEquals(0, queue.getMergedEventCount());
+        Assert.assertEquals(1, queue.take().getDatum().getVersion());
+        Assert.assertEquals(2, queue.take().getDatum().getVersion());
+    }
+
+    @Test
+    public void testMergeWithinNotifyInterval() throws InterruptedException {
+        wheelTimer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+        DataChangeEventQueue queue = queue(wheelTimer);
+
+        queue.onChange(event("a", 1));
+        queue.onChange(event("a", 2));
+        queue.onChange(event("b", 1));
+
+        waitReady(queue, 2);
+        Assert.assertEquals(0, queue.getPendingChangeCount());
+        Assert.assertEquals(3, queue.getDatumEventCount());
+        Assert.assertEquals(1, queue.getMergedEventCount());
+        for (int i = 0; i < 2; i++) {
+            ChangeData changeData = queue.take();
+            if ("a".equals(changeData.getDatum().getDataInfoId())) {
+                Assert.assertEquals(2, changeData.getDatum().getVersion());
+            }
+        }
+    }
+
+    @Test
+    public void testDestroyStopsChangeTimer() throws InterruptedException {
+        DataChangeEventCenter center = new DataChangeEventCenter();
+        center.setDataServerConfig(dataServerConfig);
+        center.setDatumCache(Mockito.mock(DatumCache.class));
+        center.init();
+        DataChangeEventQueue queue = center.getQueues()[0];
+        // the wheel thread is started by the first change
+        queue.onChange(event("a", 1));
+        waitReady(queue, 1);
+        Assert.assertTrue(isTimerThreadAlive());
+
+        center.destroy();
+        Assert.assertFalse(isTimerThreadAlive());
+    }
+
+    private static boolean isTimerThreadAlive() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive()
+                && "Registry-DataChangeEventCenter-WheelTimer".equals(thread.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
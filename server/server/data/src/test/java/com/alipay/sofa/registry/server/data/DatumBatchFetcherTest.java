@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import com.alipay.remoting.Connection;
+import com.alipay.sofa.registry.common.model.GenericResponse;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.dataserver.GetDataBatchRequest;
+import com.alipay.sofa.registry.common.model.dataserver.GetDataRequest;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.remoting.Server;
+import com.alipay.sofa.registry.remoting.exchange.Exchange;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.server.data.change.DataChangeTypeEnum;
+import com.alipay.sofa.registry.server.data.change.DataSourceTypeEnum;
+import com.alipay.sofa.registry.server.data.change.event.DataChangeEventCenter;
+import com.alipay.sofa.registry.server.data.remoting.dataserver.DataServerConnectionFactory;
+import com.alipay.sofa.registry.server.data.remoting.dataserver.DatumBatchFetcher;
+
+/**
+ *
+ * @author agent
+ * @version $Id: DatumBatchFetcherTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DatumBatchFetcherTest {
+
+    private static final String               DATA_CENTER      = "DefaultDataCenter";
+
+    private static final String               TARGET_IP        = "192.168.1.2";
+
+    @Spy
+    private DataServerConfig                  dataServerConfig = new DataServerConfig(null);
+
+    @Mock
+    private DataServerConnectionFactory       dataServerConnectionFactory;
+
+    @Mock
+    private DataChangeEventCenter             dataChangeEventCenter;
+
+    @Mock
+    private Exchange                          boltExchange;
+
+    @InjectMocks
+    private DatumBatchFetcher                 fetcher;
+
+    /** requests sent to the target data server */
+    private final List<Object>                requests         = Collections
+                                                                   .synchronizedList(new ArrayList<>());
+
+    private volatile Function<Object, Object> responder;
+
+    private volatile boolean                  closed;
+
+    @Before
+    public void before() {
+        dataServerConfig.setFetchDatumBatchSize(2);
+        dataServerConfig.setFetchDatumParallelism(2);
+        dataServerConfig.setFetchDatumMaxRetry(0);
+        MockitoAnnotations.initMocks(this);
+
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.isFine()).thenReturn(true);
+        Mockito.when(connection.getRemoteAddress()).thenReturn(
+            new InetSocketAddress(TARGET_IP, 9621));
+        Mockito.when(dataServerConnectionFactory.getConnection(TARGET_IP)).thenAnswer(
+            invocation -> closed ? null : connection);
+
+        Server server = Mockito.mock(Server.class);
+        Mockito.when(boltExchange.getServer(Matchers.anyInt())).thenReturn(server);
+        Mockito.when(server.getChannel(Matchers.any(InetSocketAddress.class))).thenReturn(
+            Mockito.mock(Channel.class));
+        Mockito.when(server.sendSync(Matchers.any(), Matchers.any(), Matchers.anyInt()))
+            .thenAnswer(invocation -> {
+                Object request = invocation.getArguments()[1];
+                requests.add(request);
+                return responder.apply(request);
+            });
+        responder = DatumBatchFetcherTest::succeed;
+        fetcher.init();
+    }
+
+    private static Object succeed(Object request) {
+        Map<String, Datum> datumMap = new HashMap<>();
+        if (request instanceof GetDataBatchRequest) {
+            for (String dataInfoId : ((GetDataBatchRequest) request).getDataInfoIds()) {
+                datumMap.put(dataInfoId, new Datum(dataInfoId, DATA_CENTER));
+            }
+        } else {
+            String dataInfoId = ((GetDataRequest) request).getDataInfoId();
+            datumMap.put(DATA_CENTER, new Datum(dataInfoId, DATA_CENTER));
+        }
+        return new GenericResponse<Map<String, Datum>>().fillSucceed(datumMap);
+    }
+
+    private static Map<String, Map<String, Long>> versions(Object... dataInfoIdVersions) {
+        Map<String, Long> versions = new LinkedHashMap<>();
+        for (int i = 0; i < dataInfoIdVersions.length; i += 2) {
+            versions.put((String) dataInfoIdVersions[i], (Long) dataInfoIdVersions[i + 1]);
+        }
+        return Collections.singletonMap(DATA_CENTER, versions);
+    }
+
+    private List<String> requested() {
+        List<String> dataInfoIds = new ArrayList<>();
+        synchronized (requests) {
+            for (Object request : requests) {
+                if (request instanceof GetDataBatchRequest) {
+                    dataInfoIds.addAll(((GetDataBatchRequest) request).getDataInfoIds());
+                } else {
+                    dataInfoIds.add(((GetDataRequest) request).getDataInfoId());
+                }
+            }
+            requests.clear();
+        }
+        Collections.sort(dataInfoIds);
+        return dataInfoIds;
+    }
+
+    private Map<String, Object> progress() {
+        return fetcher.getProgress().get(TARGET_IP);
+    }
+
+    @Test
+    public void testChunking() {
+        fetcher.fetch(TARGET_IP, 1L, versions("a", 1L, "b", 1L, "c", 1L, "d", 1L, "e", 1L));
+
+        List<Integer> sizes = new ArrayList<>();
+        for (Object request : requests) {
+            Assert.assertTrue(request instanceof GetDataBatchRequest);
+            sizes.add(((GetDataBatchRequest) request).getDataInfoIds().size());
+        }
+        Collections.sort(sizes);
+        Assert.assertEquals(Arrays.asList(1, 2, 2), sizes);
+        Mockito.verify(dataChangeEventCenter, Mockito.times(5)).sync(
+            Matchers.eq(DataChangeTypeEnum.COVER), Matchers.eq(DataSourceTypeEnum.BACKUP),
+            Matchers.any(Datum.class));
+        Assert.assertEquals(3L, progress().get("batches"));
+        Assert.assertEquals(5L, progress().get("fetched"));
+        Assert.assertEquals(0, progress().get("checkpoint"));
+    }
+
+    @Test
+    public void testRetryThenFallback() {
+        dataServerConfig.setFetchDatumMaxRetry(1);
+        responder = request -> request instanceof GetDataBatchRequest ? new GenericResponse<>()
+            .fillFailed("mock") : succeed(request);
+
+        fetcher.fetch(TARGET_IP, 1L, versions("a", 1L, "b", 1L));
+
+        int batches = 0;
+        int singles = 0;
+        for (Object request : requests) {
+            if (request instanceof GetDataBatchRequest) {
+                batches++;
+            } else {
+                singles++;
+            }
+        }
+        // the batch is sent once and retried once, then the datum are fetched one by one
+        Assert.assertEquals(2, batches);
+        Assert.assertEquals(2, singles);
+        Mockito.verify(dataChangeEventCenter, Mockito.times(2)).sync(
+            Matchers.eq(DataChangeTypeEnum.COVER), Matchers.eq(DataSourceTypeEnum.BACKUP),
+            Matchers.any(Datum.class));
+        Assert.assertEquals(1L, progress().get("retries"));
+        Assert.assertEquals(1L, progress().get("fallbacks"));
+        Assert.assertEquals(2L, progress().get("fetched"));
+    }
+
+    @Test
+    public void testResume() {
+        dataServerConfig.setFetchDatumBatchSize(1);
+        dataServerConfig.setFetchDatumParallelism(1);
+        // one chunk at a time, so that a is fetched before the connection is closed by b
+        fetcher.init();
+        // fetching b fails and the connection is closed
+        responder = request -> {
+            if (request instanceof GetDataBatchRequest
+                && ((GetDataBatchRequest) request).getDataInfoIds().contains("b")
+                || request instanceof GetDataRequest
+                && "b".equals(((GetDataRequest) request).getDataInfoId())) {
+                closed = true;
+                throw new RuntimeException("mock");
+            }
+            return succeed(request);
+        };
+        fetcher.fetch(TARGET_IP, 1L, versions("a", 1L, "b", 1L));
+        Assert.assertTrue(requested().contains("a"));
+        Assert.assertEquals(1L, progress().get("skipped"));
+        Assert.assertEquals(1, progress().get("checkpoint"));
+
+        // a newer version of a is announced with the same change version, fetch it again
+        closed = false;
+        fetcher.fetch(TARGET_IP, 1L, versions("a", 2L, "b", 1L));
+        Assert.assertTrue(requested().contains("a"));
+        Assert.assertEquals(0L, progress().get("resumed"));
+
+        // resume from the checkpoint, only b is fetched
+        closed = false;
+        responder = DatumBatchFetcherTest::succeed;
+        fetcher.fetch(TARGET_IP, 1L, versions("a", 2L, "b", 1L));
+        Assert.assertEquals(Collections.singletonList("b"), requested());
+        Assert.assertEquals(1L, progress().get("resumed"));
+
+        // the checkpoint is dropped after all datum fetched
+        Assert.assertEquals(0, progress().get("checkpoint"));
+        fetcher.fetch(TARGET_IP, 1L, versions("a", 2L, "b", 1L));
+        Assert.assertEquals(Arrays.asList("a", "b"), requested());
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.server.data.cache.PersistentDatumStorage;
+import com.alipay.sofa.registry.server.data.cache.persistence.DatumSnapshot;
+import com.alipay.sofa.registry.server.data.cache.persistence.DatumWal;
+import com.alipay.sofa.registry.server.data.cache.persistence.WalRecord;
+import com.alipay.sofa.registry.server.data.change.DataChangeTypeEnum;
+
+/**
+ * @author agent
+ * @version $Id: DatumPersistenceTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DatumPersistenceTest {
+
+    private File dir;
+
+    @Before
+    public void before() throws Exception {
+        dir = Files.createTempDirectory("datum-persistence").toFile();
+    }
+
+    @After
+    public void after() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    private static Datum datum(String dataInfoId, int pubCount) {
+        Datum datum = new Datum(dataInfoId, "DefaultDataCenter");
+        datum.setDataId(dataInfoId);
+        datum.setVersion(100L);
+        for (int i = 0; i < pubCount; i++) {
+            Publisher publisher = new Publisher();
+            publisher.setRegisterId(dataInfoId + "-" + i);
+            publisher.setDataInfoId(dataInfoId);
+            publisher.setSourceAddress(new URL("192.168.1.1", 9600));
+            publisher.setTargetAddress(new URL("192.168.1.2", 9602));
+            datum.getPubMap().put(publisher.getRegisterId(), publisher);
+        }
+        return datum;
+    }
+
+    @Test
+    public void testWalRollAndReplay() throws Exception {
+        // small segments to roll on append
+        DatumWal wal = new DatumWal(dir, 1024);
+        long first = wal.roll();
+        for (int i = 0; i < 20; i++) {
+            wal.append(WalRecord.putDatum(DataChangeTypeEnum.MERGE, datum("dataInfoId" + i, 2)));
+        }
+        wal.append(WalRecord.cleanDatum("DefaultDataCenter", "dataInfoId0"));
+        wal.flush();
+
+        List<WalRecord> records = new ArrayList<>();
+        assertEquals(21, DatumWal.replay(dir, first, records::add));
+        assertEquals(WalRecord.Type.PUT_DATUM, records.get(0).getType());
+        assertEquals(2, records.get(19).getDatum().getPubMap().size());
+        assertEquals("dataInfoId0", records.get(20).getDataInfoId());
+
+        long seq = wal.roll();
+        wal.append(WalRecord.cleanDatum("DefaultDataCenter", "dataInfoId1"));
+        wal.deleteBefore(seq);
+        records.clear();
+        assertEquals(1, DatumWal.replay(dir, 0, records::add));
+    }
+
+    /**
+     * flip the last byte of a record in the segment
+     */
+    private static void corruptRecord(File segment, int index) throws Exception {
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            long position = 0;
+            for (int i = 0; i < index; i++) {
+                file.seek(position);
+                position += 8 + file.readInt();
+            }
+            file.seek(position);
+            long last = position + 8 + file.readInt() - 1;
+            file.seek(last);
+            int b = file.read();
+            file.seek(last);
+            file.write(b ^ 0xff);
+        }
+    }
+
+    private File[] segments() {
+        File[] segments = dir.listFiles((d, name) -> name.startsWith("wal-"));
+        Arrays.sort(segments);
+        return segments;
+    }
+
+    @Test
+    public void testTornRecord() throws Exception {
+        DatumWal wal = new DatumWal(dir, 4096);
+        long seq = wal.roll();
+        wal.append(WalRecord.cleanDatum("DefaultDataCenter", "dataInfoId0"));
+        wal.append(WalRecord.cleanDatum("DefaultDataCenter", "dataInfoId1"));
+        wal.flush();
+
+        // corrupt the second record, torn at the tail of the newest segment
+        corruptRecord(segments()[0], 1);
+        assertEquals(1, DatumWal.replay(dir, seq, record -> {
+        }));
+
+        // the torn record is cut off, it does not fail the replay once later segments exist
+        DatumWal restarted = new DatumWal(dir, 4096);
+        restarted.roll();
+        restarted.append(WalRecord.cleanDatum("DefaultDataCenter", "dataInfoId2"));
+        restarted.flush();
+        List<WalRecord> records = new ArrayList<>();
+        assertEquals(2, DatumWal.replay(dir, seq, records::add));
+        assertEquals("dataInfoId2", records.get(1).getDataInfoId());
+    }
+
+    @Test
+    public void testCorruptMiddleSegment() throws Exception {
+        // small segments to roll on append
+        DatumWal wal = new DatumWal(dir, 1024);
+        long seq = wal.roll();
+        for (int i = 0; i < 20; i++) {
+            wal.append(WalRecord.putDatum(DataChangeTypeEnum.MERGE, datum("dataInfoId" + i, 2)));
+        }
+        wal.flush();
+        File[] segments = segments();
+        assertTrue(segments.length > 2);
+
+        corruptRecord(segments[1], 0);
+        try {
+            DatumWal.replay(dir, seq, record -> {
+            });
+            fail("bad record before the newest segment should fail the replay");
+        } catch (IOException e) {
+            // expected
+        }
+
+        // the recovery discards the persisted files and starts empty
+        PersistentDatumStorage storage = start();
+        assertTrue(storage.getAll().isEmpty());
+        assertEquals(1, segments().length);
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        DatumSnapshot.write(dir, 3, writer -> {
+            for (int i = 0; i < 100; i++) {
+                writer.write(datum("dataInfoId" + i, 3));
+            }
+        });
+        DatumSnapshot.write(dir, 7, writer -> writer.write(datum("dataInfoId", 1)));
+        assertEquals(7L, (long) DatumSnapshot.listSnapshots(dir).get(0));
+        List<Datum> datums = new ArrayList<>();
+        assertEquals(100, DatumSnapshot.read(dir, 3, datums::add));
+        assertEquals(3, datums.get(99).getPubMap().size());
+
+        DatumSnapshot.deleteBefore(dir, 7);
+        assertEquals(1, DatumSnapshot.listSnapshots(dir).size());
+    }
+
+    private PersistentDatumStorage start() throws Exception {
+        DataServerConfig dataServerConfig = new DataServerConfig(null);
+        dataServerConfig.setDatumPersistenceDir(dir.getAbsolutePath());
+        dataServerConfig.setDatumWalSegmentSize(4096);
+        dataServerConfig.setDatumSnapshotIntervalSecs(3600);
+        PersistentDatumStorage storage = new PersistentDatumStorage();
+        storage.setDataServerConfig(dataServerConfig);
+        storage.init();
+        return storage;
+    }
+
+    private void writeState() throws Exception {
+        DatumSnapshot.write(dir, 1, writer -> {
+            for (int i = 0; i < 10; i++) {
+                writer.write(datum("dataInfoId" + i, 2));
+            }
+        });
+        DatumWal wal = new DatumWal(dir, 4096);
+        wal.roll();
+        wal.append(WalRecord.cleanDatum("DefaultDataCenter", "dataInfoId0"));
+        wal.append(WalRecord.putDatum(DataChangeTypeEnum.COVER, datum("dataInfoId10", 1)));
+        wal.flush();
+    }
+
+    @Test
+    public void testRecover() throws Exception {
+        writeState();
+
+        PersistentDatumStorage storage = start();
+        assertNull(storage.get("DefaultDataCenter", "dataInfoId0"));
+        assertEquals(2, storage.get("DefaultDataCenter", "dataInfoId9").getPubMap().size());
+        assertNotNull(storage.get("DefaultDataCenter", "dataInfoId10"));
+        assertEquals(10, storage.getAll().get("DefaultDataCenter").size());
+    }
+
+    @Test
+    public void testRecoverCorruptSnapshot() throws Exception {
+        writeState();
+        File snapshot = new File(dir, String.format("snapshot-%020d.dat", 1));
+        try (RandomAccessFile file = new RandomAccessFile(snapshot, "rw")) {
+            // flip a byte of the last datum, the ones before it are read fine
+            long last = file.length() - 5;
+            file.seek(last);
+            int b = file.read();
+            file.seek(last);
+            file.write(b ^ 0xff);
+        }
+
+        // neither the datum read before the corruption nor the wal after it are kept
+        PersistentDatumStorage storage = start();
+        assertTrue(storage.getAll().isEmpty());
+        assertTrue(DatumSnapshot.listSnapshots(dir).isEmpty());
+
+        // the discarded state is not recovered again on the next start
+        storage.putDatum(DataChangeTypeEnum.COVER, datum("dataInfoId20", 1));
+        storage.snapshot();
+        PersistentDatumStorage restarted = start();
+        assertEquals(1, restarted.getAll().get("DefaultDataCenter").size());
+        assertNotNull(restarted.get("DefaultDataCenter", "dataInfoId20"));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.alipay.sofa.registry.server.data.renew.LeaseTimingWheel;
+
+/**
+ * @author agent
+ * @version $Id: LeaseTimingWheelTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class LeaseTimingWheelTest {
+
+    private static final long TTL = 10000;
+
+    @Test
+    public void testExpire() {
+        LeaseTimingWheel wheel = new LeaseTimingWheel(TTL, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.renew("a", 0);
+        wheel.renew("b", 500);
+        wheel.renew("c", 500);
+        wheel.remove("c");
+        assertEquals(2, wheel.size());
+
+        // not expired yet
+        wheel.advance(9999, (connectId, lastRenewTime, latency) -> expired.add(connectId));
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(10000, (connectId, lastRenewTime, latency) -> expired.add(connectId));
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(11000, (connectId, lastRenewTime, latency) -> {
+            assertTrue(latency > 0 && latency <= 1000);
+            return expired.add(connectId);
+        });
+        assertEquals(2, expired.size());
+        assertEquals(0, wheel.size());
+        assertNull(wheel.getLastRenewTime("a"));
+    }
+
+    @Test
+    public void testRenewMovesLease() {
+        LeaseTimingWheel wheel = new LeaseTimingWheel(TTL, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.renew("a", 0);
+        wheel.renew("a", 8000);
+
+        // the bucket of the first expiry is swept, the lease goes to the bucket of 18s
+        wheel.advance(12000, (connectId, lastRenewTime, latency) -> expired.add(connectId));
+        assertTrue(expired.isEmpty());
+        assertTrue(wheel.contains("a"));
+
+        wheel.advance(19000, (connectId, lastRenewTime, latency) -> expired.add(connectId));
+        assertEquals(1, expired.size());
+        assertFalse(wheel.contains("a"));
+    }
+
+    @Test
+    public void testKeepWhenRefused() {
+        LeaseTimingWheel wheel = new LeaseTimingWheel(TTL, 0);
+        List<Long> checks = new ArrayList<>();
+        wheel.renew("a", 0);
+
+        // refused expiry keeps the lease for another ttl, even if the sweep lags behind
+        wheel.advance(35000, (connectId, lastRenewTime, latency) -> !checks.add(latency));
+        assertEquals(1, checks.size());
+        assertEquals(25000L, (long) checks.get(0));
+        assertTrue(wheel.contains("a"));
+
+        wheel.advance(46000, (connectId, lastRenewTime, latency) -> checks.add(latency));
+        assertEquals(2, checks.size());
+        assertFalse(wheel.contains("a"));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.server.data.cache.LocalDatumStorage;
+import com.alipay.sofa.registry.server.data.change.DataChangeTypeEnum;
+import com.alipay.sofa.registry.util.DigestTree;
+
+/**
+ * @author agent
+ * @version $Id: LocalDatumStorageTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class LocalDatumStorageTest {
+
+    private static final String DATA_CENTER = "DefaultDataCenter";
+
+    private final AtomicLong    version     = new AtomicLong(100);
+
+    private Datum datum(String dataInfoId, String registerId) {
+        Datum datum = new Datum(dataInfoId, DATA_CENTER);
+        datum.setDataId(dataInfoId);
+        datum.setVersion(version.incrementAndGet());
+        Publisher publisher = new Publisher();
+        publisher.setRegisterId(registerId);
+        publisher.setDataInfoId(dataInfoId);
+        publisher.setVersion(1L);
+        publisher.setRegisterTimestamp(System.currentTimeMillis());
+        publisher.setSourceAddress(new URL("192.168.1.1", 9600));
+        publisher.setTargetAddress(new URL("192.168.1.2", 9602));
+        datum.getPubMap().put(registerId, publisher);
+        return datum;
+    }
+
+    @Test
+    public void testConcurrentDigest() throws Exception {
+        LocalDatumStorage storage = new LocalDatumStorage();
+        int threads = 16;
+        int rounds = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < rounds; i++) {
+                        // few ids, so that the changes of the same dataInfoId race
+                        String dataInfoId = "dataInfoId" + (i % 4);
+                        Datum datum = datum(dataInfoId, thread + "-" + i);
+                        switch (i % 10) {
+                            case 0:
+                                storage.cleanDatum(DATA_CENTER, dataInfoId);
+                                break;
+                            case 1:
+                            case 2:
+                                storage.putDatum(DataChangeTypeEnum.COVER, datum);
+                                break;
+                            default:
+                                storage.putDatum(DataChangeTypeEnum.MERGE, datum);
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        executor.awaitTermination(60, TimeUnit.SECONDS);
+
+        DigestTree expected = new DigestTree();
+        Map<String, Datum> datumMap = storage.getAll().get(DATA_CENTER);
+        for (Datum datum : datumMap.values()) {
+            expected.update(datum.getDataInfoId(), null, datum.getVersion());
+        }
+        assertArrayEquals(expected.getLeaves(), storage.getDigestTrees().get(DATA_CENTER)
+            .getLeaves());
+    }
+}
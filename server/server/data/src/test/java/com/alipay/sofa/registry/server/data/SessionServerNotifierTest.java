@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import com.alipay.remoting.Connection;
+import com.alipay.sofa.registry.common.model.CommonResponse;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.sessionserver.DataChangeBatchRequest;
+import com.alipay.sofa.registry.common.model.sessionserver.DataChangeRequest;
+import com.alipay.sofa.registry.remoting.CallbackHandler;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.remoting.Server;
+import com.alipay.sofa.registry.remoting.exchange.Exchange;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.server.data.change.notify.SessionServerNotifier;
+import com.alipay.sofa.registry.server.data.remoting.sessionserver.SessionServerConnectionFactory;
+
+/**
+ *
+ * @author agent
+ * @version $Id: SessionServerNotifierTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class SessionServerNotifierTest {
+
+    private static final String                DATA_CENTER = "DefaultDataCenter";
+
+    private DataServerConfig                   dataServerConfig;
+
+    private SessionServerConnectionFactory     connectionFactory;
+
+    private AtomicReference<Connection>        connection;
+
+    private final Map<String, Datum>           datums      = new ConcurrentHashMap<>();
+
+    private final List<InetSocketAddress>      sentTo      = new CopyOnWriteArrayList<>();
+
+    private final List<DataChangeBatchRequest> sent        = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger                failures    = new AtomicInteger();
+
+    private SessionServerNotifier              notifier;
+
+    @Before
+    public void before() {
+        dataServerConfig = new DataServerConfig(null);
+        dataServerConfig.setNotifySessionBatchEnabled(true);
+        dataServerConfig.setNotifySessionBatchWindowMs(100);
+        dataServerConfig.setNotifySessionBatchMaxSize(2);
+        dataServerConfig.setNotifySessionBatchMaxInFlight(1);
+        dataServerConfig.setNotifySessionRetryFirstDelay(0);
+        dataServerConfig.setNotifySessionRetryIncrementDelay(0);
+        dataServerConfig.setNotifySessionRetryTimes(3);
+
+        connection = new AtomicReference<>(connection(9601));
+        connectionFactory = Mockito.mock(SessionServerConnectionFactory.class);
+        Mockito.when(connectionFactory.getSessionProcessIds()).thenReturn(
+            Collections.singletonList("sessionProcessId"));
+        Mockito.when(connectionFactory.getSessionConnection("sessionProcessId")).thenAnswer(
+            invocation -> connection.get());
+
+        Server server = Mockito.mock(Server.class);
+        Mockito.when(server.getChannel(Matchers.any(InetSocketAddress.class))).thenAnswer(
+            invocation -> {
+                Channel channel = Mockito.mock(Channel.class);
+                Mockito.when(channel.getRemoteAddress()).thenReturn(
+                    (InetSocketAddress) invocation.getArguments()[0]);
+                return channel;
+            });
+        Mockito.doAnswer(invocation -> {
+            Channel channel = (Channel) invocation.getArguments()[0];
+            CallbackHandler callback = (CallbackHandler) invocation.getArguments()[2];
+            sentTo.add(channel.getRemoteAddress());
+            sent.add((DataChangeBatchRequest) invocation.getArguments()[1]);
+            if (failures.getAndDecrement() > 0) {
+                // report the failure twice, by callback and by exception
+                callback.onException(channel, new RuntimeException("mock failure"));
+                throw new RuntimeException("mock failure");
+            }
+            callback.onCallback(channel, CommonResponse.buildSuccessResponse());
+            return null;
+        }).when(server).sendCallback(Matchers.any(Channel.class), Matchers.any(),
+            Matchers.any(CallbackHandler.class), Matchers.anyInt());
+        Exchange exchange = Mockito.mock(Exchange.class);
+        Mockito.when(exchange.getServer(Matchers.anyInt())).thenReturn(server);
+
+        DatumCache datumCache = Mockito.mock(DatumCache.class);
+        Mockito.when(datumCache.get(Matchers.anyString(), Matchers.anyString())).thenAnswer(
+            invocation -> datums.get((String) invocation.getArguments()[1]));
+
+        notifier = new SessionServerNotifier();
+        notifier.setDataServerConfig(dataServerConfig);
+        notifier.setBoltExchange(exchange);
+        notifier.setSessionServerConnectionFactory(connectionFactory);
+        notifier.setDatumCache(datumCache);
+        notifier.init();
+    }
+
+    private static Connection connection(int port) {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.isFine()).thenReturn(true);
+        Mockito.when(connection.getRemoteAddress()).thenReturn(
+            new InetSocketAddress("192.168.1.1", port));
+        return connection;
+    }
+
+    private void notify(String dataInfoId, long version) {
+        Datum datum = new Datum();
+        datum.setDataInfoId(dataInfoId);
+        datum.setDataCenter(DATA_CENTER);
+        datum.setVersion(version);
+        datums.put(dataInfoId, datum);
+        notifier.notify(datum, null);
+    }
+
+    private List<DataChangeRequest> sentChanges() {
+        List<DataChangeRequest> changes = new ArrayList<>();
+        for (DataChangeBatchRequest request : sent) {
+            changes.addAll(request.getChanges());
+        }
+        return changes;
+    }
+
+    private void waitSent(int batches) throws InterruptedException {
+        for (int i = 0; i < 300 && sent.size() < batches; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(batches, sent.size());
+    }
+
+    @Test
+    public void testBatchFollowsReconnect() throws InterruptedException {
+        notify("a", 1);
+        notify("a", 2);
+        notify("b", 1);
+        notify("c", 1);
+        // session reconnects before the batch is flushed
+        connection.set(connection(9602));
+
+        waitSent(2);
+        List<DataChangeRequest> changes = sentChanges();
+        Assert.assertEquals(3, changes.size());
+        for (DataChangeRequest change : changes) {
+            if ("a".equals(change.getDataInfoId())) {
+                Assert.assertEquals(2, change.getVersion());
+            }
+        }
+        for (InetSocketAddress address : sentTo) {
+            Assert.assertEquals(9602, address.getPort());
+        }
+    }
+
+    @Test
+    public void testRetryKeepsInFlightSlot() throws InterruptedException {
+        failures.set(1);
+        notify("a", 1);
+        // the failure is reported twice but retried once, after the wheel timer tick
+        waitSent(2);
+        Thread.sleep(1200);
+        Assert.assertEquals(2, sent.size());
+
+        // the only in flight slot is given back after the retry succeeded
+        notify("b", 1);
+        waitSent(3);
+        Assert.assertEquals("b", sent.get(2).getChanges().get(0).getDataInfoId());
+    }
+
+    @Test
+    public void testStaleChangeNotRetried() throws InterruptedException {
+        failures.set(1);
+        notify("a", 1);
+        notify("b", 1);
+        waitSent(1);
+        Assert.assertEquals(2, sent.get(0).getChanges().size());
+        // a changes before the retry, the retry holds the only slot and carries b only
+        notify("a", 2);
+        waitSent(3);
+        Assert.assertEquals(1, sent.get(1).getChanges().size());
+        Assert.assertEquals("b", sent.get(1).getChanges().get(0).getDataInfoId());
+        Assert.assertEquals(1, sent.get(2).getChanges().size());
+        Assert.assertEquals("a", sent.get(2).getChanges().get(0).getDataInfoId());
+        Assert.assertEquals(2, sent.get(2).getChanges().get(0).getVersion());
+    }
+
+    @Test
+    public void testDatumPayloadVersion() throws InterruptedException {
+        dataServerConfig.setNotifySessionWithDatumEnabled(true);
+        dataServerConfig.setNotifySessionWithDatumMaxSize(1024 * 1024);
+        Datum changed = new Datum();
+        changed.setDataInfoId("a");
+        changed.setDataCenter(DATA_CENTER);
+        changed.setVersion(1);
+        // the cache has moved on to a newer version before the notification is built
+        Datum current = new Datum("a", DATA_CENTER);
+        current.setDataId("a");
+        current.setVersion(3);
+        datums.put("a", current);
+        notifier.notify(changed, null);
+
+        waitSent(1);
+        DataChangeRequest change = sentChanges().get(0);
+        Assert.assertEquals(3, change.getVersion());
+        Assert.assertEquals(3, change.getDatum().getVersion());
+    }
+}
@@ -145,8 +145,18 @@ public interface MetaServerConfig {
 
     int getRaftElectionTimeout();
 
+    int getRaftReadIndexTimeout();
+
+    boolean isRaftReadLeaseBased();
+
+    boolean isRaftProposalBatchEnabled();
+
+    int getRaftProposalBatchSize();
+
     double getSessionLoadbalanceThresholdRatio();
 
+    int getNodeLeaseGracePeriodSecs();
+
     /**
      * decision mode enum
      */
@@ -83,6 +83,18 @@ public class MetaServerConfigBean implements MetaServerConfig {
 
     private int                raftElectionTimeout                             = 1000;
 
+    private int                raftReadIndexTimeout                            = 1000;
+
+    private boolean            raftReadLeaseBased                              = false;
+
+    /**
+     * Whether to propose concurrent raft requests in one log entry. Upgrade every meta server
+     * before enabling it, older servers cannot decode batched entries
+     */
+    private boolean            raftProposalBatchEnabled                        = false;
+
+    private int                raftProposalBatchSize                           = 64;
+
     /**
      * Whether to enable metrics for node.
      */
@@ -140,6 +152,11 @@ public class MetaServerConfigBean implements MetaServerConfig {
     private int                metaSchedulerPoolSize                           = 6;
     private double             sessionLoadbalanceThresholdRatio                = 1.1;
 
+    /**
+     * A new leader does not evict any node in this period, waiting for their heartbeats.
+     */
+    private int                nodeLeaseGracePeriodSecs                        = 30;
+
     @Override
     public int getSessionServerPort() {
         return sessionServerPort;
@@ -973,6 +990,82 @@ public class MetaServerConfigBean implements MetaServerConfig {
         this.raftElectionTimeout = raftElectionTimeout;
     }
 
+    /**
+     * Getter method for property <tt>raftReadIndexTimeout</tt>.
+     *
+     * @return property value of raftReadIndexTimeout
+     */
+    @Override
+    public int getRaftReadIndexTimeout() {
+        return raftReadIndexTimeout;
+    }
+
+    /**
+     * Setter method for property <tt>raftReadIndexTimeout</tt>.
+     *
+     * @param raftReadIndexTimeout  value to be assigned to property raftReadIndexTimeout
+     */
+    public void setRaftReadIndexTimeout(int raftReadIndexTimeout) {
+        this.raftReadIndexTimeout = raftReadIndexTimeout;
+    }
+
+    /**
+     * Getter method for property <tt>raftReadLeaseBased</tt>.
+     *
+     * @return property value of raftReadLeaseBased
+     */
+    @Override
+    public boolean isRaftReadLeaseBased() {
+        return raftReadLeaseBased;
+    }
+
+    /**
+     * Setter method for property <tt>raftReadLeaseBased</tt>.
+     *
+     * @param raftReadLeaseBased  value to be assigned to property raftReadLeaseBased
+     */
+    public void setRaftReadLeaseBased(boolean raftReadLeaseBased) {
+        this.raftReadLeaseBased = raftReadLeaseBased;
+    }
+
+    /**
+     * Getter method for property <tt>raftProposalBatchEnabled</tt>.
+     *
+     * @return property value of raftProposalBatchEnabled
+     */
+    @Override
+    public boolean isRaftProposalBatchEnabled() {
+        return raftProposalBatchEnabled;
+    }
+
+    /**
+     * Setter method for property <tt>raftProposalBatchEnabled</tt>.
+     *
+     * @param raftProposalBatchEnabled  value to be assigned to property raftProposalBatchEnabled
+     */
+    public void setRaftProposalBatchEnabled(boolean raftProposalBatchEnabled) {
+        this.raftProposalBatchEnabled = raftProposalBatchEnabled;
+    }
+
+    /**
+     * Getter method for property <tt>raftProposalBatchSize</tt>.
+     *
+     * @return property value of raftProposalBatchSize
+     */
+    @Override
+    public int getRaftProposalBatchSize() {
+        return raftProposalBatchSize;
+    }
+
+    /**
+     * Setter method for property <tt>raftProposalBatchSize</tt>.
+     *
+     * @param raftProposalBatchSize  value to be assigned to property raftProposalBatchSize
+     */
+    public void setRaftProposalBatchSize(int raftProposalBatchSize) {
+        this.raftProposalBatchSize = raftProposalBatchSize;
+    }
+
     @Override
     public double getSessionLoadbalanceThresholdRatio() {
         return sessionLoadbalanceThresholdRatio;
@@ -981,4 +1074,23 @@ public class MetaServerConfigBean implements MetaServerConfig {
     public void setSessionLoadbalanceThresholdRatio(double sessionLoadbalanceThresholdRatio) {
         this.sessionLoadbalanceThresholdRatio = sessionLoadbalanceThresholdRatio;
     }
-}
\ No newline at end of file
+
+    /**
+     * Getter method for property <tt>nodeLeaseGracePeriodSecs</tt>.
+     *
+     * @return property value of nodeLeaseGracePeriodSecs
+     */
+    @Override
+    public int getNodeLeaseGracePeriodSecs() {
+        return nodeLeaseGracePeriodSecs;
+    }
+
+    /**
+     * Setter method for property <tt>nodeLeaseGracePeriodSecs</tt>.
+     *
+     * @param nodeLeaseGracePeriodSecs  value to be assigned to property nodeLeaseGracePeriodSecs
+     */
+    public void setNodeLeaseGracePeriodSecs(int nodeLeaseGracePeriodSecs) {
+        this.nodeLeaseGracePeriodSecs = nodeLeaseGracePeriodSecs;
+    }
+}
@@ -71,6 +71,7 @@ import com.alipay.sofa.registry.server.meta.repository.service.SessionRepository
 import com.alipay.sofa.registry.server.meta.repository.service.SessionVersionRepositoryService;
 import com.alipay.sofa.registry.server.meta.store.DataStoreService;
 import com.alipay.sofa.registry.server.meta.store.MetaStoreService;
+import com.alipay.sofa.registry.server.meta.store.NodeLeaseManager;
 import com.alipay.sofa.registry.server.meta.store.SessionStoreService;
 import com.alipay.sofa.registry.server.meta.store.StoreService;
 import com.alipay.sofa.registry.server.meta.task.processor.DataNodeSingleTaskProcessor;
@@ -161,6 +162,11 @@ public class MetaServerConfiguration {
             return new MetaStoreService();
         }
 
+        @Bean
+        public NodeLeaseManager nodeLeaseManager() {
+            return new NodeLeaseManager();
+        }
+
     }
 
     @Configuration
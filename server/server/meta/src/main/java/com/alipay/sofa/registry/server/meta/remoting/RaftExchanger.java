@@ -55,6 +55,7 @@ import com.alipay.sofa.registry.server.meta.bootstrap.MetaServerConfig;
 import com.alipay.sofa.registry.server.meta.bootstrap.NodeConfig;
 import com.alipay.sofa.registry.server.meta.executor.ExecutorManager;
 import com.alipay.sofa.registry.server.meta.registry.Registry;
+import com.alipay.sofa.registry.server.meta.store.NodeLeaseManager;
 
 /**
  * @author shangyu.wh
@@ -80,6 +81,9 @@ public class RaftExchanger {
     @Autowired
     private Registry            metaServerRegistry;
 
+    @Autowired
+    private NodeLeaseManager    nodeLeaseManager;
+
     private RaftServer          raftServer;
 
     private RaftClient          raftClient;
@@ -108,6 +112,7 @@ public class RaftExchanger {
                     @Override
                     public void startProcess() {
                         LOGGER_START.info("Start leader process...");
+                        nodeLeaseManager.startGracePeriod();
                         executorManager.startScheduler();
                         LOGGER_START.info("Initialize server scheduler success!");
                         PeerId leader = new PeerId(NetUtil.getLocalAddress().getHostAddress(),
@@ -122,6 +127,7 @@ public class RaftExchanger {
                         LOGGER_START.info("Stop leader process...");
                         executorManager.stopScheduler();
                         LOGGER_START.info("Stop server scheduler success!");
+                        nodeLeaseManager.clear();
                         PeerId leader = new PeerId(NetUtil.getLocalAddress().getHostAddress(),
                             metaServerConfig.getRaftServerPort());
                         raftServer.sendNotify(leader, "leader");
@@ -173,6 +179,12 @@ public class RaftExchanger {
                 raftServerConfig.setMetricsLogger(METRICS_LOGGER);
                 raftServerConfig.setEnableMetrics(metaServerConfig.isEnableMetrics());
                 raftServerConfig.setElectionTimeoutMs(metaServerConfig.getRaftElectionTimeout());
+                raftServerConfig.setReadIndexTimeoutMs(metaServerConfig.getRaftReadIndexTimeout());
+                raftServerConfig.setReadOnlyLeaseBased(metaServerConfig.isRaftReadLeaseBased());
+                if (metaServerConfig.isRaftProposalBatchEnabled()) {
+                    raftServerConfig.setProposalBatchSize(metaServerConfig
+                        .getRaftProposalBatchSize());
+                }
                 if (metaServerConfig.getRockDBCacheSize() > 0) {
                     raftServerConfig.setRockDBCacheSize(metaServerConfig.getRockDBCacheSize());
                 }
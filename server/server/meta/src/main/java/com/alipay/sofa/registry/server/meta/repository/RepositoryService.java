@@ -16,7 +16,9 @@
  */
 package com.alipay.sofa.registry.server.meta.repository;
 
+import com.alipay.sofa.registry.store.api.annotation.ReadIndex;
 import com.alipay.sofa.registry.store.api.annotation.ReadOnLeader;
+import com.alipay.sofa.registry.store.api.annotation.StaleRead;
 
 import java.util.Map;
 
@@ -46,22 +48,28 @@ public interface RepositoryService<K, V> {
     V replace(K key, V value,Long currentTimeMillis);
 
     @ReadOnLeader
+    @ReadIndex
     V get(Object key);
 
     @ReadOnLeader
+    @ReadIndex
     Map<K, V> getAllData();
 
     @ReadOnLeader
+    @ReadIndex
     Map<String, Map<K, V>> getAllDataMap();
 
     @ReadOnLeader
+    @StaleRead
     Map<String, NodeRepository> getNodeRepositories();
 
     Map<K, V> replaceAll(String dataCenter, Map<K, V> map, Long version);
 
     @ReadOnLeader
+    @ReadIndex
     boolean checkVersion(K key, Long version);
 
     @ReadOnLeader
+    @ReadIndex
     Long getVersion(K key);
 }
\ No newline at end of file
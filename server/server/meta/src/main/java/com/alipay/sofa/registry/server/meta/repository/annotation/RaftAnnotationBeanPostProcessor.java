@@ -93,7 +93,7 @@ public class RaftAnnotationBeanPostProcessor implements BeanPostProcessor, Order
         }
         return Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(),
             new Class<?>[] { interfaceType }, new ProxyHandler(interfaceType, serviceId,
-                raftExchanger.getRaftClient()));
+                raftExchanger.getRaftClient(), raftExchanger::getRaftServer));
     }
 
     private void processRaftService(Object bean, String beanName) {
@@ -17,6 +17,7 @@
 package com.alipay.sofa.registry.server.meta.repository.service;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -26,6 +27,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import com.alipay.sofa.registry.common.model.metaserver.SessionNode;
 import com.alipay.sofa.registry.jraft.processor.AbstractSnapshotProcess;
+import com.alipay.sofa.registry.jraft.processor.MapSnapshotProcess;
+import com.alipay.sofa.registry.jraft.processor.SnapshotMap;
 import com.alipay.sofa.registry.jraft.processor.SnapshotProcess;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
@@ -45,18 +48,18 @@ public class SessionRepositoryService extends AbstractSnapshotProcess
                                                                      implements
                                                                      RepositoryService<String, RenewDecorate<SessionNode>> {
 
-    private static final Logger                                                 LOGGER            = LoggerFactory
-                                                                                                      .getLogger(SessionRepositoryService.class);
+    private static final Logger                                           LOGGER            = LoggerFactory
+                                                                                                .getLogger(SessionRepositoryService.class);
 
     @Autowired
-    private NodeConfig                                                          nodeConfig;
+    private NodeConfig                                                    nodeConfig;
 
     /**
      * session node store
      */
-    private ConcurrentHashMap<String/*ipAddress*/, RenewDecorate<SessionNode>> registry          = new ConcurrentHashMap<>();
+    private SnapshotMap<String/*ipAddress*/, RenewDecorate<SessionNode>> registry          = new SnapshotMap<>();
 
-    private Set<String>                                                         snapShotFileNames = new HashSet<>();
+    private Set<String>                                                   snapShotFileNames = new HashSet<>();
 
     /**
      * constructor
@@ -69,12 +72,12 @@ public class SessionRepositoryService extends AbstractSnapshotProcess
      * @param registry
      */
     public SessionRepositoryService(ConcurrentHashMap<String, RenewDecorate<SessionNode>> registry) {
-        this.registry = registry;
+        this.registry = new SnapshotMap<>(registry);
     }
 
     @Override
     public SnapshotProcess copy() {
-        return new SessionRepositoryService(new ConcurrentHashMap<>(registry));
+        return new MapSnapshotProcess(this, registry.snapshot());
     }
 
     @Override
@@ -147,13 +150,14 @@ public class SessionRepositoryService extends AbstractSnapshotProcess
 
     @Override
     public Map<String, RenewDecorate<SessionNode>> getAllData() {
-        return registry;
+        // writes must go through the service, so that the snapshot records them
+        return Collections.unmodifiableMap(registry);
     }
 
     @Override
     public Map<String, Map<String, RenewDecorate<SessionNode>>> getAllDataMap() {
         Map<String, Map<String, RenewDecorate<SessionNode>>> map = new ConcurrentHashMap<>();
-        map.put(nodeConfig.getLocalDataCenter(), registry);
+        map.put(nodeConfig.getLocalDataCenter(), Collections.unmodifiableMap(registry));
         return map;
     }
 
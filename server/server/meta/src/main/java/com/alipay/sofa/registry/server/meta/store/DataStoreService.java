@@ -77,6 +77,9 @@ public class DataStoreService implements StoreService<DataNode> {
     @Autowired
     private TaskListenerManager                                taskListenerManager;
 
+    @Autowired
+    private NodeLeaseManager                                   nodeLeaseManager;
+
     @RaftReference(uniqueId = "dataServer")
     private RepositoryService<String, RenewDecorate<DataNode>> dataRepositoryService;
 
@@ -128,6 +131,7 @@ public class DataStoreService implements StoreService<DataNode> {
 
             RenewDecorate<DataNode> dataNode = dataRepositoryService.remove(ipAddress);
             if (dataNode != null) {
+                nodeLeaseManager.cancel(NodeType.DATA, ipAddress);
 
                 dataConfirmStatusService.putConfirmNode(dataNode.getRenewal(), DataOperator.REMOVE);
 
@@ -151,6 +155,7 @@ public class DataStoreService implements StoreService<DataNode> {
                     RenewDecorate<DataNode> dataNodeRemove = dataRepositoryService
                         .remove(ipAddress);
                     if (dataNodeRemove != null) {
+                        nodeLeaseManager.cancel(NodeType.DATA, ipAddress);
 
                         dataConfirmStatusService.putConfirmNode(dataNode, DataOperator.REMOVE);
 
@@ -169,20 +174,19 @@ public class DataStoreService implements StoreService<DataNode> {
         write.lock();
         try {
             String ipAddress = dataNode.getNodeUrl().getIpAddress();
-            RenewDecorate renewer = dataRepositoryService.get(ipAddress);
+            RenewDecorate<DataNode> renewer = dataRepositoryService.get(ipAddress);
 
             if (renewer == null) {
                 LOGGER.warn("Renew Data node with ipAddress:" + ipAddress
                             + " has not existed!It will be registered again!");
                 addNode(dataNode);
             } else {
-                if (duration > 0) {
-                    dataRepositoryService.replace(ipAddress, new RenewDecorate(dataNode, duration));
-                } else {
+                if (!dataNode.equals(renewer.getRenewal())) {
+                    // only replicate the renew which changes the node
                     dataRepositoryService.replace(ipAddress, new RenewDecorate(dataNode,
                         RenewDecorate.DEFAULT_DURATION_SECS));
                 }
-
+                nodeLeaseManager.renew(dataNode, duration);
             }
         } finally {
             write.unlock();
@@ -204,7 +208,7 @@ public class DataStoreService implements StoreService<DataNode> {
 
                 String dataCenter = dataNode.getRenewal().getDataCenter();
                 if (dataCenter.equals(nodeConfig.getLocalDataCenter())) {
-                    if (dataNode.isExpired()) {
+                    if (nodeLeaseManager.isExpired(NodeType.DATA, ip, dataNode)) {
                         renewerList.add(dataNode.getRenewal());
                     }
                 }
@@ -592,4 +596,13 @@ public class DataStoreService implements StoreService<DataNode> {
         this.dataConfirmStatusService = dataConfirmStatusService;
     }
 
+    /**
+     * Setter method for property <tt>nodeLeaseManager</tt>.
+     *
+     * @param nodeLeaseManager  value to be assigned to property nodeLeaseManager
+     */
+    public void setNodeLeaseManager(NodeLeaseManager nodeLeaseManager) {
+        this.nodeLeaseManager = nodeLeaseManager;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.meta.store;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.Node.NodeType;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.meta.bootstrap.MetaServerConfig;
+
+/**
+ * Heartbeat leases of nodes, kept in the memory of the meta leader only.
+ *
+ * A heartbeat only refreshes the lease here instead of being written to the raft log, the raft
+ * repositories are only changed when a node is added, removed or evicted. A new leader has no
+ * lease of the nodes registered before it was elected, so it evicts nothing in a grace period,
+ * after which the nodes which have not renewed are evicted.
+ *
+ * @author agent
+ * @version $Id: NodeLeaseManager.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class NodeLeaseManager {
+
+    private static final Logger                                                               LOGGER = LoggerFactory
+                                                                                                         .getLogger(NodeLeaseManager.class);
+
+    private final Map<NodeType, ConcurrentHashMap<String/*ipAddress*/, RenewDecorate<Node>>> leases = new EnumMap<>(
+                                                                                                         NodeType.class);
+
+    @Autowired
+    private MetaServerConfig                                                                  metaServerConfig;
+
+    private volatile long                                                                     graceEndTimestamp;
+
+    /**
+     * constructor
+     */
+    public NodeLeaseManager() {
+        for (NodeType nodeType : NodeType.values()) {
+            leases.put(nodeType, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * constructor
+     * @param metaServerConfig
+     */
+    public NodeLeaseManager(MetaServerConfig metaServerConfig) {
+        this();
+        this.metaServerConfig = metaServerConfig;
+    }
+
+    /**
+     * drop the leases and start the grace period, called when this meta server becomes leader
+     */
+    public void startGracePeriod() {
+        clear();
+        graceEndTimestamp = System.currentTimeMillis()
+                            + metaServerConfig.getNodeLeaseGracePeriodSecs() * 1000L;
+        LOGGER.info("Node lease grace period started, evict nothing in {}s",
+            metaServerConfig.getNodeLeaseGracePeriodSecs());
+    }
+
+    /**
+     * drop all leases
+     */
+    public void clear() {
+        leases.values().forEach(Map::clear);
+    }
+
+    /**
+     * refresh the lease of node
+     * @param node
+     * @param durationSECS
+     */
+    public void renew(Node node, int durationSECS) {
+        long duration = durationSECS > 0 ? durationSECS : RenewDecorate.DEFAULT_DURATION_SECS;
+        leases.get(node.getNodeType()).compute(node.getNodeUrl().getIpAddress(), (ip, lease) -> {
+            if (lease == null) {
+                return new RenewDecorate<>(node, duration);
+            }
+            lease.setRenewal(node);
+            lease.renew();
+            return lease;
+        });
+    }
+
+    /**
+     * drop the lease of node
+     * @param nodeType
+     * @param ipAddress
+     */
+    public void cancel(NodeType nodeType, String ipAddress) {
+        leases.get(nodeType).remove(ipAddress);
+    }
+
+    /**
+     * verify the node registered in repository expired or not
+     * @param nodeType
+     * @param ipAddress
+     * @param renewDecorate the node in repository
+     * @return
+     */
+    public boolean isExpired(NodeType nodeType, String ipAddress,
+                             RenewDecorate<? extends Node> renewDecorate) {
+        if (System.currentTimeMillis() < graceEndTimestamp) {
+            return false;
+        }
+        RenewDecorate<Node> lease = leases.get(nodeType).get(ipAddress);
+        if (lease == null) {
+            // not renewed since this meta server became leader
+            return renewDecorate.isExpired();
+        }
+        return lease.isExpired();
+    }
+}
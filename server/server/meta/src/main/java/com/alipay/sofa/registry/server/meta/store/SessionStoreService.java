@@ -77,6 +77,8 @@ public class SessionStoreService implements StoreService<SessionNode> {
     private NodeConfig                                            nodeConfig;
     @Autowired
     private MetaServerConfig                                      metaServerConfig;
+    @Autowired
+    private NodeLeaseManager                                      nodeLeaseManager;
 
     @RaftReference(uniqueId = "sessionServer")
     private RepositoryService<String, RenewDecorate<SessionNode>> sessionRepositoryService;
@@ -136,6 +138,7 @@ public class SessionStoreService implements StoreService<SessionNode> {
                     .info("Remove Session node with ipAddress:" + ipAddress + " has not existed!");
                 return false;
             }
+            nodeLeaseManager.cancel(NodeType.SESSION, ipAddress);
 
             sessionVersionRepositoryService.checkAndUpdateVersions(nodeConfig.getLocalDataCenter(),
                 System.currentTimeMillis());
@@ -164,6 +167,7 @@ public class SessionStoreService implements StoreService<SessionNode> {
                                     + " has not existed!");
                         continue;
                     }
+                    nodeLeaseManager.cancel(NodeType.SESSION, ipAddress);
 
                     sessionVersionRepositoryService.checkAndUpdateVersions(
                         nodeConfig.getLocalDataCenter(), System.currentTimeMillis());
@@ -185,20 +189,19 @@ public class SessionStoreService implements StoreService<SessionNode> {
         write.lock();
         try {
             String ipAddress = sessionNode.getNodeUrl().getIpAddress();
-            RenewDecorate renewer = sessionRepositoryService.get(ipAddress);
+            RenewDecorate<SessionNode> renewer = sessionRepositoryService.get(ipAddress);
 
             if (renewer == null) {
                 LOGGER.warn("Renew session node with ipAddress:" + ipAddress
                             + " has not existed!It will be registered again!");
                 addNode(sessionNode);
             } else {
-                if (duration > 0) {
-                    sessionRepositoryService.replace(ipAddress, new RenewDecorate(sessionNode,
-                        duration));
-                } else {
+                if (!sessionNode.equals(renewer.getRenewal())) {
+                    // only replicate the renew which changes the node
                     sessionRepositoryService.replace(ipAddress, new RenewDecorate(sessionNode,
                         RenewDecorate.DEFAULT_DURATION_SECS));
                 }
+                nodeLeaseManager.renew(sessionNode, duration);
             }
         } finally {
             write.unlock();
@@ -212,7 +215,7 @@ public class SessionStoreService implements StoreService<SessionNode> {
         try {
             Map<String, RenewDecorate<SessionNode>> map = sessionRepositoryService.getAllData();
             map.forEach((key, value) -> {
-                if (value.isExpired()) {
+                if (nodeLeaseManager.isExpired(NodeType.SESSION, key, value)) {
                     renewerList.add(value.getRenewal());
                 }
             });
@@ -177,6 +177,13 @@ public class SessionRepositoryServiceTest {
             NodeStatus.WORKING);
         Assert.assertEquals(sessionRepositoryService.getAllData().size(), 1);
         Assert.assertEquals(sessionRepositoryService.getAllDataMap().get(dataCenter).size(), 1);
+
+        try {
+            sessionRepositoryService.getAllData().remove(ip);
+            Assert.fail("getAllData should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            Assert.assertEquals(sessionRepositoryService.getAllData().size(), 1);
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.meta.test.store;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.alipay.sofa.registry.common.model.Node.NodeType;
+import com.alipay.sofa.registry.common.model.metaserver.SessionNode;
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.server.meta.bootstrap.MetaServerConfigBean;
+import com.alipay.sofa.registry.server.meta.store.NodeLeaseManager;
+import com.alipay.sofa.registry.server.meta.store.RenewDecorate;
+
+/**
+ *
+ * @author agent
+ * @version $Id: NodeLeaseManagerTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class NodeLeaseManagerTest {
+
+    private String ip         = "192.1.1.1";
+
+    private String dataCenter = "zue";
+
+    private NodeLeaseManager newLeaseManager(int gracePeriodSecs) {
+        MetaServerConfigBean metaServerConfig = new MetaServerConfigBean();
+        metaServerConfig.setNodeLeaseGracePeriodSecs(gracePeriodSecs);
+        NodeLeaseManager nodeLeaseManager = new NodeLeaseManager(metaServerConfig);
+        nodeLeaseManager.startGracePeriod();
+        return nodeLeaseManager;
+    }
+
+    private RenewDecorate<SessionNode> expiredDecorate() throws InterruptedException {
+        RenewDecorate<SessionNode> renewDecorate = new RenewDecorate<>(new SessionNode(new URL(ip,
+            0), dataCenter), 0);
+        Thread.sleep(5);
+        return renewDecorate;
+    }
+
+    @Test
+    public void testNotExpiredInGracePeriod() throws InterruptedException {
+        NodeLeaseManager nodeLeaseManager = newLeaseManager(30);
+        Assert.assertFalse(nodeLeaseManager.isExpired(NodeType.SESSION, ip, expiredDecorate()));
+    }
+
+    @Test
+    public void testExpiredWithoutLease() throws InterruptedException {
+        NodeLeaseManager nodeLeaseManager = newLeaseManager(0);
+
+        RenewDecorate<SessionNode> registered = new RenewDecorate<>(new SessionNode(new URL(ip, 0),
+            dataCenter), RenewDecorate.DEFAULT_DURATION_SECS);
+        Assert.assertFalse(nodeLeaseManager.isExpired(NodeType.SESSION, ip, registered));
+        Assert.assertTrue(nodeLeaseManager.isExpired(NodeType.SESSION, ip, expiredDecorate()));
+    }
+
+    @Test
+    public void testRenewAndCancel() throws InterruptedException {
+        NodeLeaseManager nodeLeaseManager = newLeaseManager(0);
+        RenewDecorate<SessionNode> registered = expiredDecorate();
+
+        nodeLeaseManager.renew(registered.getRenewal(), 0);
+        Assert.assertFalse(nodeLeaseManager.isExpired(NodeType.SESSION, ip, registered));
+        // leases are kept per node type
+        Assert.assertTrue(nodeLeaseManager.isExpired(NodeType.DATA, ip, registered));
+
+        nodeLeaseManager.cancel(NodeType.SESSION, ip);
+        Assert.assertTrue(nodeLeaseManager.isExpired(NodeType.SESSION, ip, registered));
+
+        nodeLeaseManager.renew(registered.getRenewal(), 0);
+        // a new leader drops the leases of the old term
+        nodeLeaseManager.startGracePeriod();
+        Assert.assertTrue(nodeLeaseManager.isExpired(NodeType.SESSION, ip, registered));
+    }
+}
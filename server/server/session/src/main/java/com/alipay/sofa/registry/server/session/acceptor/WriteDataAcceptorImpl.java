@@ -19,11 +19,17 @@ package com.alipay.sofa.registry.server.session.acceptor;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.alipay.sofa.registry.metrics.ReporterUtils;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
 import com.alipay.sofa.registry.server.session.renew.RenewService;
 import com.alipay.sofa.registry.task.listener.TaskListenerManager;
+import com.alipay.sofa.registry.util.KeyedLock;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 
 /**
  *
@@ -33,6 +39,8 @@ import com.alipay.sofa.registry.task.listener.TaskListenerManager;
  */
 public class WriteDataAcceptorImpl implements WriteDataAcceptor {
 
+    private static final int                CONNECT_ID_LOCK_STRIPES = 1024;
+
     @Autowired
     private TaskListenerManager             taskListenerManager;
 
@@ -48,14 +56,34 @@ public class WriteDataAcceptorImpl implements WriteDataAcceptor {
      * value:writeRequest processor
      *
      */
-    private Map<String, WriteDataProcessor> writeDataProcessors = new ConcurrentHashMap();
+    private Map<String, WriteDataProcessor> writeDataProcessors     = new ConcurrentHashMap();
+
+    /**
+     * requests of one connectId are processed one at a time, so that a snapshot can not
+     * interleave with concurrent publishes of the same client
+     */
+    private final KeyedLock                 connectIdLock           = new KeyedLock(
+                                                                        "WriteDataAcceptor-connectId",
+                                                                        CONNECT_ID_LOCK_STRIPES);
+
+    @PostConstruct
+    public void init() {
+        MetricRegistry metrics = new MetricRegistry();
+        metrics.register("writeDataConnectIdLock.acquire",
+            (Gauge<Long>) connectIdLock::getAcquireCount);
+        metrics.register("writeDataConnectIdLock.wait",
+            (Gauge<Long>) connectIdLock::getContendedCount);
+        metrics.register("writeDataConnectIdLock.waitTimeMillis",
+            (Gauge<Long>) connectIdLock::getWaitTimeMillis);
+        ReporterUtils.startSlf4jReporter(60, metrics);
+    }
 
     public void accept(WriteDataRequest request) {
         String connectId = request.getConnectId();
         WriteDataProcessor writeDataProcessor = writeDataProcessors.computeIfAbsent(connectId,
                 key -> new WriteDataProcessor(connectId, taskListenerManager, sessionServerConfig, renewService));
 
-        writeDataProcessor.process(request);
+        connectIdLock.runWith(connectId, () -> writeDataProcessor.process(request));
     }
 
     public void remove(String connectId) {
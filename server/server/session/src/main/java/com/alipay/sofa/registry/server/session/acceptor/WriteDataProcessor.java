@@ -18,9 +18,6 @@ package com.alipay.sofa.registry.server.session.acceptor;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.alipay.sofa.registry.common.model.DatumSnapshotRequest;
@@ -43,35 +40,27 @@ import com.google.common.collect.Lists;
  */
 public class WriteDataProcessor {
 
-    private static final Logger                     LOGGER                 = LoggerFactory
-                                                                               .getLogger(WriteDataProcessor.class);
+    private static final Logger       LOGGER                 = LoggerFactory
+                                                                 .getLogger(WriteDataProcessor.class);
 
-    private static final Logger                     RENEW_LOGGER           = LoggerFactory
-                                                                               .getLogger(
-                                                                                   ValueConstants.LOGGER_NAME_RENEW,
-                                                                                   "[WriteDataProcessor]");
+    private static final Logger       RENEW_LOGGER           = LoggerFactory.getLogger(
+                                                                 ValueConstants.LOGGER_NAME_RENEW,
+                                                                 "[WriteDataProcessor]");
 
-    private static final Logger                     taskLogger             = LoggerFactory
-                                                                               .getLogger(
-                                                                                   WriteDataProcessor.class,
-                                                                                   "[Task]");
+    private static final Logger       taskLogger             = LoggerFactory
+                                                                 .getLogger(
+                                                                     WriteDataProcessor.class,
+                                                                     "[Task]");
 
-    private final TaskListenerManager               taskListenerManager;
+    private final TaskListenerManager taskListenerManager;
 
-    private final SessionServerConfig               sessionServerConfig;
+    private final SessionServerConfig sessionServerConfig;
 
-    private final RenewService                      renewService;
+    private final RenewService        renewService;
 
-    private final String                            connectId;
+    private final String              connectId;
 
-    private Map<String, AtomicLong>                 lastUpdateTimestampMap = new ConcurrentHashMap<>();
-
-    private AtomicBoolean                           writeDataLock          = new AtomicBoolean(
-                                                                               false);
-
-    private ConcurrentLinkedQueue<WriteDataRequest> acceptorQueue          = new ConcurrentLinkedQueue();
-
-    private AtomicInteger                           acceptorQueueSize      = new AtomicInteger(0);
+    private Map<String, AtomicLong>   lastUpdateTimestampMap = new ConcurrentHashMap<>();
 
     public WriteDataProcessor(String connectId, TaskListenerManager taskListenerManager,
                               SessionServerConfig sessionServerConfig, RenewService renewService) {
@@ -81,22 +70,6 @@ public class WriteDataProcessor {
         this.renewService = renewService;
     }
 
-    private boolean halt() {
-        if (RENEW_LOGGER.isDebugEnabled()) {
-            RENEW_LOGGER.debug("halt: connectId={}", connectId);
-        }
-        return writeDataLock.compareAndSet(false, true);
-    }
-
-    public void resume() {
-        if (RENEW_LOGGER.isDebugEnabled()) {
-            RENEW_LOGGER.debug("resume: connectId={}", connectId);
-        }
-        flushQueue();
-        writeDataLock.compareAndSet(true, false);
-        flushQueue();
-    }
-
     public void process(WriteDataRequest request) {
         if (RENEW_LOGGER.isDebugEnabled()) {
             RENEW_LOGGER.debug("process: connectId={}, requestType={}, requestBody={}", connectId,
@@ -108,33 +81,9 @@ public class WriteDataProcessor {
             refreshUpdateTime(request.getDataServerIP());
         }
 
-        if (request.getRequestType() == WriteDataRequestType.DATUM_SNAPSHOT) {
-            // snapshot has high priority, so handle directly
-            doHandle(request);
-        } else {
-            // If locked, insert the queue;
-            // otherwise, try emptying the queue (to avoid residue) before processing the request.
-            if (writeDataLock.get()) {
-                addQueue(request);
-            } else {
-                flushQueue();
-                doHandle(request);
-            }
-        }
-
-    }
-
-    private void addQueue(WriteDataRequest request) {
-        if (acceptorQueueSize.incrementAndGet() <= sessionServerConfig
-            .getWriteDataAcceptorQueueSize()) {
-            acceptorQueue.add(request);
-        } else {
-            RENEW_LOGGER
-                .error(
-                    "acceptorQueueSize({}) reached the limit : connectId={}, requestType={}, requestBody={}",
-                    acceptorQueue.size(), connectId, request.getRequestType(),
-                    request.getRequestBody());
-        }
+        // requests of one connectId are serialized by the acceptor, so a snapshot can not
+        // interleave with publishes of the same client and needs no extra queueing here
+        doHandle(request);
     }
 
     /**
@@ -147,24 +96,6 @@ public class WriteDataProcessor {
                || request.getRequestType() == WriteDataRequestType.UN_PUBLISHER;
     }
 
-    /**
-     * Ensure that the queue data is sent out
-     */
-    private void flushQueue() {
-        if (RENEW_LOGGER.isDebugEnabled()) {
-            RENEW_LOGGER.debug("flushQueue: connectId={}", connectId);
-        }
-
-        while (!acceptorQueue.isEmpty()) {
-            WriteDataRequest writeDataRequest = acceptorQueue.poll();
-            if (writeDataRequest == null) {
-                break;
-            }
-            acceptorQueueSize.decrementAndGet();
-            doHandle(writeDataRequest);
-        }
-    }
-
     private void doHandle(WriteDataRequest request) {
         if (RENEW_LOGGER.isDebugEnabled()) {
             RENEW_LOGGER.debug("doHandle: connectId={}, requestType={}, requestBody={}", connectId,
@@ -195,12 +126,7 @@ public class WriteDataProcessor {
                 if (renewAndSnapshotInSilenceAndRefreshUpdateTime(request.getDataServerIP())) {
                     return;
                 }
-                halt();
-                try {
-                    doSnapshotAsync(request);
-                } finally {
-                    resume();
-                }
+                doSnapshotAsync(request);
             }
                 break;
             default:
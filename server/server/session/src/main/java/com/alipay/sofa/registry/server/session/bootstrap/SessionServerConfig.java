@@ -16,6 +16,9 @@
  */
 package com.alipay.sofa.registry.server.session.bootstrap;
 
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.consistency.hash.RouterType;
+
 /**
  * SessionServerConfig Interface
  * @author shangyu.wh
@@ -189,8 +192,6 @@ public interface SessionServerConfig {
 
     int getRenewAndSnapshotSilentPeriodSec();
 
-    int getWriteDataAcceptorQueueSize();
-
     int getDataNodeRetryExecutorQueueSize();
 
     int getDataNodeRetryExecutorThreadSize();
@@ -232,4 +233,48 @@ public interface SessionServerConfig {
     int getDefaultRequestExecutorQueueSize();
 
     long getDefaultRequestExecutorKeepAliveTime();
-}
\ No newline at end of file
+
+    boolean isEnablePushDelta();
+
+    int getPushDeltaCacheMaxSize();
+
+    int getPushDeltaCacheExpireSecs();
+
+    RouterType getRouterType();
+
+    int getDataBoxSerialization();
+
+    boolean isEnablePushPayloadCache();
+
+    int getPushPayloadCacheMaxWeight();
+
+    int getPushPayloadCacheExpireSecs();
+
+    boolean isEnableRenewDatumBatch();
+
+    int getRenewDatumBatchSize();
+
+    int getRenewDatumBatchIntervalMillis();
+
+    boolean isEnablePushTaskMerge();
+
+    int getPushTaskMergeWindowMillis();
+
+    int getPushTaskMergeMaxWindowMillis();
+
+    int getFetchDataVersionBatchSize();
+
+    int getFetchDataVersionParallelism();
+
+    int getFetchDataVersionDeadlineMillis();
+
+    int getFetchDataVersionSweepRounds();
+
+    boolean isEnableDataVersionDigest();
+
+    long getSessionCacheMaxWeightBytes();
+
+    long getSessionCacheExpireMillis();
+
+    int getSessionCacheConcurrencyLevel();
+}
@@ -24,6 +24,9 @@ import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.commons.lang.builder.ToStringStyle;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.consistency.hash.RouterType;
+
 /**
  * The type Session server config bean.
  * @author shangyu.wh
@@ -57,7 +60,7 @@ public class SessionServerConfigBean implements SessionServerConfig {
 
     private int                schedulerGetSessionNodeExpBackOffBound  = 10;
 
-    private int                schedulerFetchDataTimeout               = 1;               //MINUTES
+    private int                schedulerFetchDataTimeout               = 1;                               //MINUTES
 
     private int                schedulerFetchDataFirstDelay            = 30;
 
@@ -117,7 +120,7 @@ public class SessionServerConfigBean implements SessionServerConfig {
 
     private int                defaultSessionExecutorMinPoolSize       = cpus();
 
-    private int                defaultSessionExecutorMaxPoolSize       = cpus() * 5;      //5*CPUs by default
+    private int                defaultSessionExecutorMaxPoolSize       = cpus() * 5;                      //5*CPUs by default
 
     private long               defaultSessionExecutorKeepAliveTime     = 60;
 
@@ -155,7 +158,7 @@ public class SessionServerConfigBean implements SessionServerConfig {
 
     private int                dataChangeFetchTaskWorkerSize           = 100;
 
-    private int                clientNodeExchangeTimeOut               = 1000;            //time out cause netty HashedWheelTimer occupy a lot of mem
+    private int                clientNodeExchangeTimeOut               = 1000;                            //time out cause netty HashedWheelTimer occupy a lot of mem
 
     private int                dataNodeExchangeTimeOut                 = 3000;
 
@@ -242,8 +245,6 @@ public class SessionServerConfigBean implements SessionServerConfig {
 
     private int                renewAndSnapshotSilentPeriodSec         = 20;
 
-    private int                writeDataAcceptorQueueSize              = 10000;
-
     private int                dataNodeRetryExecutorQueueSize          = 1000000;
 
     private int                dataNodeRetryExecutorThreadSize         = 100;
@@ -254,6 +255,68 @@ public class SessionServerConfigBean implements SessionServerConfig {
 
     private boolean            enableSessionLoadbalancePolicy          = false;
 
+    /** push only changed data boxes to clients which support delta */
+    private boolean            enablePushDelta                         = false;
+
+    private int                pushDeltaCacheMaxSize                   = 50000;
+
+    private int                pushDeltaCacheExpireSecs                = 300;
+
+    /** router of dataInfoIds onto data servers, must be the same on all data and session servers */
+    private RouterType         routerType                              = RouterType.CONSISTENT_HASH;
+
+    /** serialization of publisher data boxes, utf-8 types need every server upgraded first */
+    private int                dataBoxSerialization                    = ServerDataBox.SERIALIZED_BY_JAVA;
+
+    /** share converted push zone data between push tasks of the same datum version */
+    private boolean            enablePushPayloadCache                  = true;
+
+    /** max publishers kept in push zone data cache */
+    private int                pushPayloadCacheMaxWeight               = 1000000;
+
+    private int                pushPayloadCacheExpireSecs              = 300;
+
+    /** renew connectIds of the same data server in batched requests */
+    private boolean            enableRenewDatumBatch                   = true;
+
+    /** max connectIds carried by one batched renew request */
+    private int                renewDatumBatchSize                     = 1000;
+
+    /** interval to flush the pending renew requests */
+    private int                renewDatumBatchIntervalMillis           = 500;
+
+    /** coalesce the pushes of the same client address and dataInfoId */
+    private boolean            enablePushTaskMerge                     = true;
+
+    /** min window to hold the pushes of a hot dataInfoId */
+    private int                pushTaskMergeWindowMillis               = 100;
+
+    /** max window to hold the pushes of a hot dataInfoId */
+    private int                pushTaskMergeMaxWindowMillis            = 1000;
+
+    /** max dataInfoIds in one fetch data version request */
+    private int                fetchDataVersionBatchSize               = 5000;
+
+    /** data servers swept at the same time */
+    private int                fetchDataVersionParallelism             = 8;
+
+    /** deadline of one data server in a sweep, the rest is carried over to the next sweep */
+    private int                fetchDataVersionDeadlineMillis          = 30000;
+
+    /** rounds to cover all dataInfoIds, each sweep checks one share of them */
+    private int                fetchDataVersionSweepRounds             = 1;
+
+    /** compare hash trees of versions first, and only fetch versions under differing leaves */
+    private boolean            enableDataVersionDigest                 = true;
+
+    /** max estimated bytes of datum in session cache */
+    private long               sessionCacheMaxWeightBytes              = 256L * 1024 * 1024;
+
+    private long               sessionCacheExpireMillis                = 31000L;
+
+    /** segments of session cache, the max bytes is shared by them */
+    private int                sessionCacheConcurrencyLevel            = 16;
+
     //end config for enterprise version
 
     private CommonConfig       commonConfig;
@@ -378,24 +441,6 @@ public class SessionServerConfigBean implements SessionServerConfig {
         this.dataNodeRetryExecutorQueueSize = dataNodeRetryExecutorQueueSize;
     }
 
-    /**
-     * Getter method for property <tt>writeDataAcceptorQueueSize</tt>.
-     *
-     * @return property value of writeDataAcceptorQueueSize
-     */
-    public int getWriteDataAcceptorQueueSize() {
-        return writeDataAcceptorQueueSize;
-    }
-
-    /**
-     * Setter method for property <tt>writeDataAcceptorQueueSize </tt>.
-     *
-     * @param writeDataAcceptorQueueSize  value to be assigned to property writeDataAcceptorQueueSize
-     */
-    public void setWriteDataAcceptorQueueSize(int writeDataAcceptorQueueSize) {
-        this.writeDataAcceptorQueueSize = writeDataAcceptorQueueSize;
-    }
-
     /**
      * Getter method for property <tt>renewAndSnapshotSilentPeriodSec</tt>.
      *
@@ -2182,4 +2227,422 @@ public class SessionServerConfigBean implements SessionServerConfig {
     public void setDefaultRequestExecutorKeepAliveTime(long defaultRequestExecutorKeepAliveTime) {
         this.defaultRequestExecutorKeepAliveTime = defaultRequestExecutorKeepAliveTime;
     }
-}
\ No newline at end of file
+
+    /**
+     * Getter method for property <tt>enablePushDelta</tt>.
+     *
+     * @return property value of enablePushDelta
+     */
+    @Override
+    public boolean isEnablePushDelta() {
+        return enablePushDelta;
+    }
+
+    /**
+     * Setter method for property <tt>enablePushDelta</tt>.
+     *
+     * @param enablePushDelta  value to be assigned to property enablePushDelta
+     */
+    public void setEnablePushDelta(boolean enablePushDelta) {
+        this.enablePushDelta = enablePushDelta;
+    }
+
+    /**
+     * Getter method for property <tt>pushDeltaCacheMaxSize</tt>.
+     *
+     * @return property value of pushDeltaCacheMaxSize
+     */
+    @Override
+    public int getPushDeltaCacheMaxSize() {
+        return pushDeltaCacheMaxSize;
+    }
+
+    /**
+     * Setter method for property <tt>pushDeltaCacheMaxSize</tt>.
+     *
+     * @param pushDeltaCacheMaxSize  value to be assigned to property pushDeltaCacheMaxSize
+     */
+    public void setPushDeltaCacheMaxSize(int pushDeltaCacheMaxSize) {
+        this.pushDeltaCacheMaxSize = pushDeltaCacheMaxSize;
+    }
+
+    /**
+     * Getter method for property <tt>pushDeltaCacheExpireSecs</tt>.
+     *
+     * @return property value of pushDeltaCacheExpireSecs
+     */
+    @Override
+    public int getPushDeltaCacheExpireSecs() {
+        return pushDeltaCacheExpireSecs;
+    }
+
+    /**
+     * Setter method for property <tt>pushDeltaCacheExpireSecs</tt>.
+     *
+     * @param pushDeltaCacheExpireSecs  value to be assigned to property pushDeltaCacheExpireSecs
+     */
+    public void setPushDeltaCacheExpireSecs(int pushDeltaCacheExpireSecs) {
+        this.pushDeltaCacheExpireSecs = pushDeltaCacheExpireSecs;
+    }
+
+    /**
+     * Getter method for property <tt>routerType</tt>.
+     *
+     * @return property value of routerType
+     */
+    @Override
+    public RouterType getRouterType() {
+        return routerType;
+    }
+
+    /**
+     * Setter method for property <tt>routerType</tt>.
+     *
+     * @param routerType  value to be assigned to property routerType
+     */
+    public void setRouterType(RouterType routerType) {
+        this.routerType = routerType;
+    }
+
+    /**
+     * Getter method for property <tt>dataBoxSerialization</tt>.
+     *
+     * @return property value of dataBoxSerialization
+     */
+    @Override
+    public int getDataBoxSerialization() {
+        return dataBoxSerialization;
+    }
+
+    /**
+     * Setter method for property <tt>dataBoxSerialization</tt>.
+     *
+     * @param dataBoxSerialization  value to be assigned to property dataBoxSerialization
+     */
+    public void setDataBoxSerialization(int dataBoxSerialization) {
+        this.dataBoxSerialization = dataBoxSerialization;
+    }
+
+    /**
+     * Getter method for property <tt>enablePushPayloadCache</tt>.
+     *
+     * @return property value of enablePushPayloadCache
+     */
+    @Override
+    public boolean isEnablePushPayloadCache() {
+        return enablePushPayloadCache;
+    }
+
+    /**
+     * Setter method for property <tt>enablePushPayloadCache</tt>.
+     *
+     * @param enablePushPayloadCache  value to be assigned to property enablePushPayloadCache
+     */
+    public void setEnablePushPayloadCache(boolean enablePushPayloadCache) {
+        this.enablePushPayloadCache = enablePushPayloadCache;
+    }
+
+    /**
+     * Getter method for property <tt>pushPayloadCacheMaxWeight</tt>.
+     *
+     * @return property value of pushPayloadCacheMaxWeight
+     */
+    @Override
+    public int getPushPayloadCacheMaxWeight() {
+        return pushPayloadCacheMaxWeight;
+    }
+
+    /**
+     * Setter method for property <tt>pushPayloadCacheMaxWeight</tt>.
+     *
+     * @param pushPayloadCacheMaxWeight  value to be assigned to property pushPayloadCacheMaxWeight
+     */
+    public void setPushPayloadCacheMaxWeight(int pushPayloadCacheMaxWeight) {
+        this.pushPayloadCacheMaxWeight = pushPayloadCacheMaxWeight;
+    }
+
+    /**
+     * Getter method for property <tt>pushPayloadCacheExpireSecs</tt>.
+     *
+     * @return property value of pushPayloadCacheExpireSecs
+     */
+    @Override
+    public int getPushPayloadCacheExpireSecs() {
+        return pushPayloadCacheExpireSecs;
+    }
+
+    /**
+     * Setter method for property <tt>pushPayloadCacheExpireSecs</tt>.
+     *
+     * @param pushPayloadCacheExpireSecs  value to be assigned to property pushPayloadCacheExpireSecs
+     */
+    public void setPushPayloadCacheExpireSecs(int pushPayloadCacheExpireSecs) {
+        this.pushPayloadCacheExpireSecs = pushPayloadCacheExpireSecs;
+    }
+
+    /**
+     * Getter method for property <tt>enableRenewDatumBatch</tt>.
+     *
+     * @return property value of enableRenewDatumBatch
+     */
+    @Override
+    public boolean isEnableRenewDatumBatch() {
+        return enableRenewDatumBatch;
+    }
+
+    /**
+     * Setter method for property <tt>enableRenewDatumBatch</tt>.
+     *
+     * @param enableRenewDatumBatch  value to be assigned to property enableRenewDatumBatch
+     */
+    public void setEnableRenewDatumBatch(boolean enableRenewDatumBatch) {
+        this.enableRenewDatumBatch = enableRenewDatumBatch;
+    }
+
+    /**
+     * Getter method for property <tt>renewDatumBatchSize</tt>.
+     *
+     * @return property value of renewDatumBatchSize
+     */
+    @Override
+    public int getRenewDatumBatchSize() {
+        return renewDatumBatchSize;
+    }
+
+    /**
+     * Setter method for property <tt>renewDatumBatchSize</tt>.
+     *
+     * @param renewDatumBatchSize  value to be assigned to property renewDatumBatchSize
+     */
+    public void setRenewDatumBatchSize(int renewDatumBatchSize) {
+        this.renewDatumBatchSize = renewDatumBatchSize;
+    }
+
+    /**
+     * Getter method for property <tt>renewDatumBatchIntervalMillis</tt>.
+     *
+     * @return property value of renewDatumBatchIntervalMillis
+     */
+    @Override
+    public int getRenewDatumBatchIntervalMillis() {
+        return renewDatumBatchIntervalMillis;
+    }
+
+    /**
+     * Setter method for property <tt>renewDatumBatchIntervalMillis</tt>.
+     *
+     * @param renewDatumBatchIntervalMillis  value to be assigned to property renewDatumBatchIntervalMillis
+     */
+    public void setRenewDatumBatchIntervalMillis(int renewDatumBatchIntervalMillis) {
+        this.renewDatumBatchIntervalMillis = renewDatumBatchIntervalMillis;
+    }
+
+    /**
+     * Getter method for property <tt>enablePushTaskMerge</tt>.
+     *
+     * @return property value of enablePushTaskMerge
+     */
+    @Override
+    public boolean isEnablePushTaskMerge() {
+        return enablePushTaskMerge;
+    }
+
+    /**
+     * Setter method for property <tt>enablePushTaskMerge</tt>.
+     *
+     * @param enablePushTaskMerge  value to be assigned to property enablePushTaskMerge
+     */
+    public void setEnablePushTaskMerge(boolean enablePushTaskMerge) {
+        this.enablePushTaskMerge = enablePushTaskMerge;
+    }
+
+    /**
+     * Getter method for property <tt>pushTaskMergeWindowMillis</tt>.
+     *
+     * @return property value of pushTaskMergeWindowMillis
+     */
+    @Override
+    public int getPushTaskMergeWindowMillis() {
+        return pushTaskMergeWindowMillis;
+    }
+
+    /**
+     * Setter method for property <tt>pushTaskMergeWindowMillis</tt>.
+     *
+     * @param pushTaskMergeWindowMillis  value to be assigned to property pushTaskMergeWindowMillis
+     */
+    public void setPushTaskMergeWindowMillis(int pushTaskMergeWindowMillis) {
+        this.pushTaskMergeWindowMillis = pushTaskMergeWindowMillis;
+    }
+
+    /**
+     * Getter method for property <tt>pushTaskMergeMaxWindowMillis</tt>.
+     *
+     * @return property value of pushTaskMergeMaxWindowMillis
+     */
+    @Override
+    public int getPushTaskMergeMaxWindowMillis() {
+        return pushTaskMergeMaxWindowMillis;
+    }
+
+    /**
+     * Setter method for property <tt>pushTaskMergeMaxWindowMillis</tt>.
+     *
+     * @param pushTaskMergeMaxWindowMillis  value to be assigned to property pushTaskMergeMaxWindowMillis
+     */
+    public void setPushTaskMergeMaxWindowMillis(int pushTaskMergeMaxWindowMillis) {
+        this.pushTaskMergeMaxWindowMillis = pushTaskMergeMaxWindowMillis;
+    }
+
+    /**
+     * Getter method for property <tt>fetchDataVersionBatchSize</tt>.
+     *
+     * @return property value of fetchDataVersionBatchSize
+     */
+    @Override
+    public int getFetchDataVersionBatchSize() {
+        return fetchDataVersionBatchSize;
+    }
+
+    /**
+     * Setter method for property <tt>fetchDataVersionBatchSize</tt>.
+     *
+     * @param fetchDataVersionBatchSize  value to be assigned to property fetchDataVersionBatchSize
+     */
+    public void setFetchDataVersionBatchSize(int fetchDataVersionBatchSize) {
+        this.fetchDataVersionBatchSize = fetchDataVersionBatchSize;
+    }
+
+    /**
+     * Getter method for property <tt>fetchDataVersionParallelism</tt>.
+     *
+     * @return property value of fetchDataVersionParallelism
+     */
+    @Override
+    public int getFetchDataVersionParallelism() {
+        return fetchDataVersionParallelism;
+    }
+
+    /**
+     * Setter method for property <tt>fetchDataVersionParallelism</tt>.
+     *
+     * @param fetchDataVersionParallelism  value to be assigned to property fetchDataVersionParallelism
+     */
+    public void setFetchDataVersionParallelism(int fetchDataVersionParallelism) {
+        this.fetchDataVersionParallelism = fetchDataVersionParallelism;
+    }
+
+    /**
+     * Getter method for property <tt>fetchDataVersionDeadlineMillis</tt>.
+     *
+     * @return property value of fetchDataVersionDeadlineMillis
+     */
+    @Override
+    public int getFetchDataVersionDeadlineMillis() {
+        return fetchDataVersionDeadlineMillis;
+    }
+
+    /**
+     * Setter method for property <tt>fetchDataVersionDeadlineMillis</tt>.
+     *
+     * @param fetchDataVersionDeadlineMillis  value to be assigned to property fetchDataVersionDeadlineMillis
+     */
+    public void setFetchDataVersionDeadlineMillis(int fetchDataVersionDeadlineMillis) {
+        this.fetchDataVersionDeadlineMillis = fetchDataVersionDeadlineMillis;
+    }
+
+    /**
+     * Getter method for property <tt>fetchDataVersionSweepRounds</tt>.
+     *
+     * @return property value of fetchDataVersionSweepRounds
+     */
+    @Override
+    public int getFetchDataVersionSweepRounds() {
+        return fetchDataVersionSweepRounds;
+    }
+
+    /**
+     * Setter method for property <tt>fetchDataVersionSweepRounds</tt>.
+     *
+     * @param fetchDataVersionSweepRounds  value to be assigned to property fetchDataVersionSweepRounds
+     */
+    public void setFetchDataVersionSweepRounds(int fetchDataVersionSweepRounds) {
+        this.fetchDataVersionSweepRounds = fetchDataVersionSweepRounds;
+    }
+
+    /**
+     * Getter method for property <tt>enableDataVersionDigest</tt>.
+     *
+     * @return property value of enableDataVersionDigest
+     */
+    @Override
+    public boolean isEnableDataVersionDigest() {
+        return enableDataVersionDigest;
+    }
+
+    /**
+     * Setter method for property <tt>enableDataVersionDigest</tt>.
+     *
+     * @param enableDataVersionDigest  value to be assigned to property enableDataVersionDigest
+     */
+    public void setEnableDataVersionDigest(boolean enableDataVersionDigest) {
+        this.enableDataVersionDigest = enableDataVersionDigest;
+    }
+
+    /**
+     * Getter method for property <tt>sessionCacheMaxWeightBytes</tt>.
+     *
+     * @return property value of sessionCacheMaxWeightBytes
+     */
+    @Override
+    public long getSessionCacheMaxWeightBytes() {
+        return sessionCacheMaxWeightBytes;
+    }
+
+    /**
+     * Setter method for property <tt>sessionCacheMaxWeightBytes</tt>.
+     *
+     * @param sessionCacheMaxWeightBytes  value to be assigned to property sessionCacheMaxWeightBytes
+     */
+    public void setSessionCacheMaxWeightBytes(long sessionCacheMaxWeightBytes) {
+        this.sessionCacheMaxWeightBytes = sessionCacheMaxWeightBytes;
+    }
+
+    /**
+     * Getter method for property <tt>sessionCacheExpireMillis</tt>.
+     *
+     * @return property value of sessionCacheExpireMillis
+     */
+    @Override
+    public long getSessionCacheExpireMillis() {
+        return sessionCacheExpireMillis;
+    }
+
+    /**
+     * Setter method for property <tt>sessionCacheExpireMillis</tt>.
+     *
+     * @param sessionCacheExpireMillis  value to be assigned to property sessionCacheExpireMillis
+     */
+    public void setSessionCacheExpireMillis(long sessionCacheExpireMillis) {
+        this.sessionCacheExpireMillis = sessionCacheExpireMillis;
+    }
+
+    /**
+     * Getter method for property <tt>sessionCacheConcurrencyLevel</tt>.
+     *
+     * @return property value of sessionCacheConcurrencyLevel
+     */
+    @Override
+    public int getSessionCacheConcurrencyLevel() {
+        return sessionCacheConcurrencyLevel;
+    }
+
+    /**
+     * Setter method for property <tt>sessionCacheConcurrencyLevel</tt>.
+     *
+     * @param sessionCacheConcurrencyLevel  value to be assigned to property sessionCacheConcurrencyLevel
+     */
+    public void setSessionCacheConcurrencyLevel(int sessionCacheConcurrencyLevel) {
+        this.sessionCacheConcurrencyLevel = sessionCacheConcurrencyLevel;
+    }
+}
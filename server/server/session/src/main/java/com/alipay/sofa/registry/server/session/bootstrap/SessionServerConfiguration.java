@@ -39,6 +39,8 @@ import com.alipay.sofa.registry.server.session.acceptor.WriteDataAcceptorImpl;
 import com.alipay.sofa.registry.server.session.cache.CacheGenerator;
 import com.alipay.sofa.registry.server.session.cache.CacheService;
 import com.alipay.sofa.registry.server.session.cache.DatumCacheGenerator;
+import com.alipay.sofa.registry.server.session.cache.PushDataZoneCache;
+import com.alipay.sofa.registry.server.session.cache.PushDatumCache;
 import com.alipay.sofa.registry.server.session.cache.SessionCacheService;
 import com.alipay.sofa.registry.server.session.filter.DataIdMatchStrategy;
 import com.alipay.sofa.registry.server.session.filter.IPMatchStrategy;
@@ -87,6 +89,7 @@ import com.alipay.sofa.registry.server.session.provideData.ProvideDataProcessorM
 import com.alipay.sofa.registry.server.session.provideData.processor.BlackListProvideDataProcessor;
 import com.alipay.sofa.registry.server.session.provideData.processor.RenewSnapshotProvideDataProcessor;
 import com.alipay.sofa.registry.server.session.provideData.processor.StopPushProvideDataProcessor;
+import com.alipay.sofa.registry.server.session.registry.DataVersionSweeper;
 import com.alipay.sofa.registry.server.session.registry.Registry;
 import com.alipay.sofa.registry.server.session.registry.SessionRegistry;
 import com.alipay.sofa.registry.server.session.remoting.ClientNodeExchanger;
@@ -113,6 +116,7 @@ import com.alipay.sofa.registry.server.session.strategy.SubscriberRegisterFetchT
 import com.alipay.sofa.registry.server.session.strategy.SyncConfigHandlerStrategy;
 import com.alipay.sofa.registry.server.session.strategy.TaskMergeProcessorStrategy;
 import com.alipay.sofa.registry.server.session.strategy.WatcherHandlerStrategy;
+import com.alipay.sofa.registry.server.session.strategy.impl.CoalescingPushTaskMergeProcessor;
 import com.alipay.sofa.registry.server.session.strategy.impl.DefaultDataChangeRequestHandlerStrategy;
 import com.alipay.sofa.registry.server.session.strategy.impl.DefaultPublisherHandlerStrategy;
 import com.alipay.sofa.registry.server.session.strategy.impl.DefaultPushTaskMergeProcessor;
@@ -205,6 +209,7 @@ public class SessionServerConfiguration {
             Collection<AbstractServerHandler> list = new ArrayList<>();
             list.add(publisherHandler());
             list.add(subscriberHandler());
+            list.add(batchRegisterHandler());
             list.add(watcherHandler());
             list.add(clientNodeConnectionHandler());
             list.add(cancelAddressRequestHandler());
@@ -227,6 +232,11 @@ public class SessionServerConfiguration {
             return new SubscriberHandler();
         }
 
+        @Bean
+        public AbstractServerHandler batchRegisterHandler() {
+            return new BatchRegisterHandler();
+        }
+
         @Bean
         public AbstractServerHandler watcherHandler() {
             return new WatcherHandler();
@@ -247,6 +257,7 @@ public class SessionServerConfiguration {
             Collection<AbstractClientHandler> list = new ArrayList<>();
             list.add(dataNodeConnectionHandler());
             list.add(dataChangeRequestHandler());
+            list.add(dataChangeBatchRequestHandler());
             list.add(dataPushRequestHandler());
             return list;
         }
@@ -277,6 +288,11 @@ public class SessionServerConfiguration {
             return new DataChangeRequestHandler();
         }
 
+        @Bean
+        public AbstractClientHandler dataChangeBatchRequestHandler() {
+            return new DataChangeBatchRequestHandler();
+        }
+
         @Bean
         public AbstractClientHandler dataPushRequestHandler() {
             return new DataPushRequestHandler();
@@ -349,6 +365,11 @@ public class SessionServerConfiguration {
             return new SessionRegistry();
         }
 
+        @Bean
+        public DataVersionSweeper dataVersionSweeper() {
+            return new DataVersionSweeper();
+        }
+
         @Bean
         @ConditionalOnMissingBean
         public Interests sessionInterests() {
@@ -418,14 +439,26 @@ public class SessionServerConfiguration {
     public static class SessionCacheConfiguration {
 
         @Bean
-        public CacheService sessionCacheService() {
-            return new SessionCacheService();
+        public CacheService sessionCacheService(SessionServerConfig sessionServerConfig) {
+            return new SessionCacheService(sessionServerConfig.getSessionCacheMaxWeightBytes(),
+                sessionServerConfig.getSessionCacheExpireMillis(),
+                sessionServerConfig.getSessionCacheConcurrencyLevel());
         }
 
         @Bean(name = "com.alipay.sofa.registry.server.session.cache.DatumKey")
         public CacheGenerator datumCacheGenerator() {
             return new DatumCacheGenerator();
         }
+
+        @Bean
+        public PushDatumCache pushDatumCache() {
+            return new PushDatumCache();
+        }
+
+        @Bean
+        public PushDataZoneCache pushDataZoneCache() {
+            return new PushDataZoneCache();
+        }
     }
 
     @Configuration
@@ -655,7 +688,10 @@ public class SessionServerConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public TaskMergeProcessorStrategy receiveDataTaskMergeProcessorStrategy() {
+        public TaskMergeProcessorStrategy receiveDataTaskMergeProcessorStrategy(SessionServerConfig sessionServerConfig) {
+            if (sessionServerConfig.isEnablePushTaskMerge()) {
+                return new CoalescingPushTaskMergeProcessor(sessionServerConfig);
+            }
             return new DefaultPushTaskMergeProcessor();
         }
 
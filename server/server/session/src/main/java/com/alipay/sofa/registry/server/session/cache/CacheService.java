@@ -34,9 +34,39 @@ public interface CacheService {
 
     Map<Key, Value> getValues(final Iterable<Key> keys) throws CacheAccessException;
 
+    /**
+     * get cache by key without loading
+     * @param key
+     * @return null if absent
+     */
+    Value getValueIfPresent(Key key);
+
+    /**
+     * put value got from elsewhere into cache
+     * @param key
+     * @param value
+     */
+    void putValue(Key key, Value value);
+
+    /**
+     * put value got from elsewhere into cache unless the cached value is as new as it, the check
+     * and the put are atomic
+     * @param key
+     * @param value
+     */
+    void putValueIfNewer(Key key, Value value);
+
     /**
      * invalidate cache by keys
      * @param keys
      */
     void invalidate(Key... keys);
+
+    /**
+     * invalidate cache by key if the cached value is older than version, a value older than it
+     * loaded later is reloaded once
+     * @param key
+     * @param version
+     */
+    void invalidate(Key key, long version);
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.core.model.DataBox;
+import com.alipay.sofa.registry.core.model.ScopeEnum;
+import com.alipay.sofa.registry.metrics.ReporterUtils;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Zone data of pushes converted once per (dataInfoId, version, scope, client cell) and shared by
+ * all push tasks of that datum version, only the subscriber register ids differ between them.
+ * Cached zone maps are shared, so they must never be modified after loading.
+ *
+ * @author agent
+ * @version $Id: PushDataZoneCache.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class PushDataZoneCache {
+
+    @Autowired
+    private SessionServerConfig                sessionServerConfig;
+
+    private Cache<DatumKey, VersionedZoneData> zoneDataMap;
+
+    private final AtomicLong                   hitCount  = new AtomicLong();
+
+    private final AtomicLong                   loadCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        this.zoneDataMap = CacheBuilder.newBuilder()
+            .maximumWeight(sessionServerConfig.getPushPayloadCacheMaxWeight())
+            .weigher((DatumKey key, VersionedZoneData value) -> value.weight)
+            .expireAfterAccess(sessionServerConfig.getPushPayloadCacheExpireSecs(), TimeUnit.SECONDS)
+            .build();
+        MetricRegistry metrics = new MetricRegistry();
+        metrics.register("pushDataZoneCache", (Gauge<String>) () -> String.format(
+                "size=%d, hit=%d, load=%d", size(), getHitCount(), getLoadCount()));
+        ReporterUtils.startSlf4jReporter(60, metrics);
+    }
+
+    /**
+     * get zone data of datum for scope and client cell, load and share it if absent,
+     * entries of older versions are replaced once a newer version is loaded
+     * @param datum
+     * @param scope
+     * @param clientCell
+     * @param loader
+     * @return
+     */
+    public Map<String, List<DataBox>> getZoneData(Datum datum, ScopeEnum scope, String clientCell,
+                                                  Supplier<Map<String, List<DataBox>>> loader) {
+        if (!sessionServerConfig.isEnablePushPayloadCache()) {
+            return loader.get();
+        }
+        DatumKey datumKey = new DatumKey(datum.getDataInfoId(), datum.getDataCenter());
+        long version = datum.getVersion();
+        VersionedZoneData zoneData = zoneDataMap.asMap().compute(datumKey, (k, v) -> {
+            if (v == null || v.version < version) {
+                return new VersionedZoneData(version, weigh(datum));
+            }
+            return v;
+        });
+        if (zoneData.version != version) {
+            // a newer version is cached, do not evict it for an outdated push
+            return loader.get();
+        }
+        String variant = scope.name() + "#" + clientCell;
+        Map<String, List<DataBox>> data = zoneData.data.get(variant);
+        if (data != null) {
+            hitCount.incrementAndGet();
+            return data;
+        }
+        return zoneData.data.computeIfAbsent(variant, k -> {
+            loadCount.incrementAndGet();
+            return loader.get();
+        });
+    }
+
+    private static int weigh(Datum datum) {
+        // weight in publishers, each version keeps at most one zone map of every scope and cell
+        int size = datum.getPubMap() == null ? 0 : datum.getPubMap().size();
+        return size + 1;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    public long size() {
+        return zoneDataMap.size();
+    }
+
+    /**
+     * Setter method for property <tt>sessionServerConfig</tt>.
+     *
+     * @param sessionServerConfig  value to be assigned to property sessionServerConfig
+     */
+    public void setSessionServerConfig(SessionServerConfig sessionServerConfig) {
+        this.sessionServerConfig = sessionServerConfig;
+    }
+
+    private static final class VersionedZoneData {
+        final long                                                   version;
+        final int                                                    weight;
+        final Map<String/*scope#cell*/, Map<String, List<DataBox>>> data = new ConcurrentHashMap<>();
+
+        VersionedZoneData(long version, int weight) {
+            this.version = version;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Keep the last pushed datum of every dataInfoId, it is the base to compute delta push for
+ * subscribers which have received that version.
+ *
+ * @author agent
+ * @version $Id: PushDatumCache.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class PushDatumCache {
+
+    @Autowired
+    private SessionServerConfig    sessionServerConfig;
+
+    private Cache<DatumKey, Datum> pushedDatumMap;
+
+    @PostConstruct
+    public void init() {
+        this.pushedDatumMap = CacheBuilder.newBuilder()
+            .maximumSize(sessionServerConfig.getPushDeltaCacheMaxSize())
+            .expireAfterAccess(sessionServerConfig.getPushDeltaCacheExpireSecs(), TimeUnit.SECONDS)
+            .build();
+    }
+
+    /**
+     * get the pushed datum exactly of version
+     * @param dataCenter
+     * @param dataInfoId
+     * @param version
+     * @return null if not found or version not match
+     */
+    public Datum getBaseDatum(String dataCenter, String dataInfoId, Long version) {
+        if (version == null) {
+            return null;
+        }
+        Datum datum = pushedDatumMap.getIfPresent(new DatumKey(dataInfoId, dataCenter));
+        if (datum != null && version.equals(datum.getVersion())) {
+            return datum;
+        }
+        return null;
+    }
+
+    /**
+     * record datum as pushed, older version will be ignored
+     * @param datum
+     */
+    public void putPushedDatum(Datum datum) {
+        DatumKey datumKey = new DatumKey(datum.getDataInfoId(), datum.getDataCenter());
+        pushedDatumMap.asMap().merge(datumKey, datum,
+                (oldDatum, newDatum) -> newDatum.getVersion() > oldDatum.getVersion() ? newDatum : oldDatum);
+    }
+
+    /**
+     * Setter method for property <tt>sessionServerConfig</tt>.
+     *
+     * @param sessionServerConfig  value to be assigned to property sessionServerConfig
+     */
+    public void setSessionServerConfig(SessionServerConfig sessionServerConfig) {
+        this.sessionServerConfig = sessionServerConfig;
+    }
+}
@@ -16,29 +16,71 @@
  */
 package com.alipay.sofa.registry.server.session.cache;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.alipay.sofa.registry.common.model.DatumSizeUtil;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.metrics.ReporterUtils;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 
 /**
+ * Cache bounded by the estimated bytes of values, see {@link DatumSizeUtil}.
+ *
+ * Concurrent misses of the same key wait for one load. A key invalidated with a version keeps
+ * the version as a tag until a value of that version or newer is seen, so a load which started
+ * before the invalidation and returned an older value is reloaded once on the next get.
  *
  * @author shangyu.wh
  * @version $Id: CacheService.java, v 0.1 2017-12-06 18:22 shangyu.wh Exp $
  */
 public class SessionCacheService implements CacheService {
 
-    private static final Logger            LOGGER = LoggerFactory
-                                                      .getLogger(SessionCacheService.class);
+    private static final Logger            LOGGER                = LoggerFactory
+                                                                     .getLogger(SessionCacheService.class);
+
+    public static final long               DEFAULT_MAX_WEIGHT    = 256L * 1024 * 1024;
+
+    public static final long               DEFAULT_EXPIRE_MILLIS = 31000L;
+
+    public static final int                DEFAULT_CONCURRENCY   = 16;
+
+    /** weight of values whose size can not be estimated */
+    private static final int               DEFAULT_WEIGHT        = 64;
 
     private final LoadingCache<Key, Value> readWriteCacheMap;
+
+    /** the newest versions invalidated but not seen in cache yet */
+    private final Map<Key, Long>           versionTags           = new ConcurrentHashMap<>();
+
+    private final MetricRegistry           metrics               = new MetricRegistry();
+
+    private final Timer                    loadTimer             = metrics
+                                                                     .timer("sessionCache.load");
+
+    private final AtomicLong               staleCount            = new AtomicLong();
+
+    private final AtomicLong               skipInvalidateCount   = new AtomicLong();
+
     /**
      * injectQ
      */
@@ -48,15 +90,35 @@ public class SessionCacheService implements CacheService {
      * constructor
      */
     public SessionCacheService() {
-        this.readWriteCacheMap = CacheBuilder.newBuilder().maximumSize(1000L)
-            .expireAfterWrite(31000, TimeUnit.MILLISECONDS).build(new CacheLoader<Key, Value>() {
+        this(DEFAULT_MAX_WEIGHT, DEFAULT_EXPIRE_MILLIS, DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * constructor
+     * @param maxWeight max estimated bytes of values
+     * @param expireMillis
+     * @param concurrencyLevel segments of cache, the max weight is shared by them
+     */
+    public SessionCacheService(long maxWeight, long expireMillis, int concurrencyLevel) {
+        this.readWriteCacheMap = CacheBuilder.newBuilder().maximumWeight(maxWeight)
+            .weigher((Key key, Value value) -> weigh(value)).concurrencyLevel(concurrencyLevel)
+            .expireAfterWrite(expireMillis, TimeUnit.MILLISECONDS).recordStats()
+            .build(new CacheLoader<Key, Value>() {
                 @Override
                 public Value load(Key key) {
-                    return generatePayload(key);
+                    try (Timer.Context ignored = loadTimer.time()) {
+                        return generatePayload(key);
+                    }
                 }
             });
     }
 
+    @PostConstruct
+    public void init() {
+        metrics.register("sessionCache", (Gauge<String>) this::toString);
+        ReporterUtils.startSlf4jReporter(60, metrics);
+    }
+
     private Value generatePayload(Key key) {
         if (key == null || key.getEntityType() == null) {
             throw new IllegalArgumentException("Generator key input error!");
@@ -88,6 +150,9 @@ public class SessionCacheService implements CacheService {
         Value payload = null;
         try {
             payload = readWriteCacheMap.get(key);
+            if (isStale(key, payload)) {
+                payload = reload(Collections.singletonList(key)).get(key);
+            }
         } catch (Throwable e) {
             String msg = "Cannot get value for key is:" + key;
             throw new CacheAccessException(msg, e);
@@ -100,6 +165,16 @@ public class SessionCacheService implements CacheService {
         Map<Key, Value> valueMap = null;
         try {
             valueMap = readWriteCacheMap.getAll(keys);
+            List<Key> staleKeys = new ArrayList<>();
+            for (Map.Entry<Key, Value> entry : valueMap.entrySet()) {
+                if (isStale(entry.getKey(), entry.getValue())) {
+                    staleKeys.add(entry.getKey());
+                }
+            }
+            if (!staleKeys.isEmpty()) {
+                valueMap = new HashMap<>(valueMap);
+                valueMap.putAll(reload(staleKeys));
+            }
         } catch (Throwable e) {
             String msg = "Cannot get value for keys are:" + keys;
             throw new CacheAccessException(msg, e);
@@ -107,6 +182,40 @@ public class SessionCacheService implements CacheService {
         return valueMap;
     }
 
+    @Override
+    public Value getValueIfPresent(Key key) {
+        return readWriteCacheMap.getIfPresent(key);
+    }
+
+    @Override
+    public void putValue(Key key, Value value) {
+        readWriteCacheMap.put(key, value);
+        isStale(key, value);
+    }
+
+    @Override
+    public void putValueIfNewer(Key key, Value value) {
+        Long version = versionOf(value);
+        Value current = readWriteCacheMap.asMap().compute(key, (k, exist) -> {
+            Long existVersion = versionOf(exist);
+            return existVersion != null && version != null && existVersion >= version ? exist
+                : value;
+        });
+        isStale(key, current);
+    }
+
+    @Override
+    public void invalidate(Key key, long version) {
+        versionTags.merge(key, version, Math::max);
+        Value value = readWriteCacheMap.getIfPresent(key);
+        if (value != null && !isStale(key, value)) {
+            // the change is already in cache
+            skipInvalidateCount.incrementAndGet();
+            return;
+        }
+        invalidate(key);
+    }
+
     @Override
     public void invalidate(Key... keys) {
         for (Key key : keys) {
@@ -119,6 +228,72 @@ public class SessionCacheService implements CacheService {
         }
     }
 
+    /**
+     * reload stale keys once, the reloaded values are the newest of data server, so their tags
+     * are cleared even if they are still older
+     */
+    private Map<Key, Value> reload(List<Key> keys) throws ExecutionException {
+        Map<Key, Long> tags = new HashMap<>();
+        for (Key key : keys) {
+            Long tag = versionTags.get(key);
+            if (tag != null) {
+                tags.put(key, tag);
+            }
+        }
+        readWriteCacheMap.invalidateAll(keys);
+        Map<Key, Value> valueMap = readWriteCacheMap.getAll(keys);
+        tags.forEach(versionTags::remove);
+        return valueMap;
+    }
+
+    /**
+     * whether the version of value is older than the version tag of key, the tag is cleared when
+     * the value catches up
+     */
+    private boolean isStale(Key key, Value value) {
+        Long tag = versionTags.get(key);
+        if (tag == null) {
+            return false;
+        }
+        Long version = versionOf(value);
+        if (version != null && version < tag) {
+            staleCount.incrementAndGet();
+            return true;
+        }
+        versionTags.remove(key, tag);
+        return false;
+    }
+
+    private static Long versionOf(Value value) {
+        if (value != null && value.getPayload() instanceof Datum) {
+            return ((Datum) value.getPayload()).getVersion();
+        }
+        return null;
+    }
+
+    private static int weigh(Value value) {
+        if (value != null && value.getPayload() instanceof Datum) {
+            return (int) Math.min(Integer.MAX_VALUE,
+                DatumSizeUtil.estimateSize((Datum) value.getPayload()));
+        }
+        return DEFAULT_WEIGHT;
+    }
+
+    /**
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        CacheStats stats = readWriteCacheMap.stats();
+        return String.format(
+            "SessionCache{size=%d, hit=%d, miss=%d, hitRate=%.3f, load=%d, loadFail=%d, "
+                    + "loadAvgMillis=%.2f, eviction=%d, stale=%d, skipInvalidate=%d, tags=%d}",
+            readWriteCacheMap.size(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+            stats.loadCount(), stats.loadExceptionCount(), stats.averageLoadPenalty()
+                                                           / TimeUnit.MILLISECONDS.toNanos(1),
+            stats.evictionCount(), staleCount.get(), skipInvalidateCount.get(), versionTags.size());
+    }
+
     /**
      * Setter method for property <tt>cacheGenerators</tt>.
      *
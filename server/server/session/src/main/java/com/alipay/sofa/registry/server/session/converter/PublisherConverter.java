@@ -41,6 +41,17 @@ public class PublisherConverter {
      * @return
      */
     public static Publisher convert(PublisherRegister publisherRegister) {
+        return convert(publisherRegister, ServerDataBox.SERIALIZED_BY_JAVA);
+    }
+
+    /**
+     * PublisherRegister to Publisher, data boxes stored in the given serialization type
+     *
+     * @param publisherRegister
+     * @param serialization
+     * @return
+     */
+    public static Publisher convert(PublisherRegister publisherRegister, int serialization) {
 
         Converter<PublisherRegister, Publisher> messageToData = source -> {
             Publisher publisher = new Publisher();
@@ -68,7 +79,7 @@ public class PublisherConverter {
                     source.getGroup());
             publisher.setDataInfoId(dataInfo.getDataInfoId());
 
-            publisher.setDataList(convert(source.getDataList()));
+            publisher.setDataList(convert(source.getDataList(), serialization));
 
             return publisher;
         };
@@ -76,12 +87,14 @@ public class PublisherConverter {
     }
 
     public static List<ServerDataBox> convert(List<DataBox> boxList) {
+        return convert(boxList, ServerDataBox.SERIALIZED_BY_JAVA);
+    }
+
+    public static List<ServerDataBox> convert(List<DataBox> boxList, int serialization) {
         List<ServerDataBox> serverDataBoxes = new ArrayList<>();
         if (null != boxList) {
             for (DataBox dataBox : boxList) {
-                ServerDataBox serverDataBox = new ServerDataBox(ServerDataBox.getBytes(dataBox
-                    .getData()));
-                serverDataBoxes.add(serverDataBox);
+                serverDataBoxes.add(ServerDataBox.of(dataBox.getData(), serialization));
             }
         }
         return serverDataBoxes;
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.function.Predicate;
 
 import com.alipay.sofa.registry.common.model.ServerDataBox;
@@ -95,6 +96,24 @@ public class ReceivedDataConverter {
             return null;
         }
 
+        return getReceivedDataMulti(datum, scope, subscriberRegisterIdList, regionLocal,
+            getZoneData(datum, zonePredicate));
+    }
+
+    /**
+     * Standard RunEnv, with zone data converted before
+     * @param datum the datum
+     * @param scope the scope
+     * @param subscriberRegisterIdList the subscriber register id list
+     * @param regionLocal the region local
+     * @param zoneData zone data of datum, see {@link #getZoneData(Datum, Predicate)}
+     * @return received data multi
+     */
+    public static ReceivedData getReceivedDataMulti(Datum datum, ScopeEnum scope,
+                                                    List subscriberRegisterIdList,
+                                                    String regionLocal,
+                                                    Map<String, List<DataBox>> zoneData) {
+
         // todo judge server mode to decide local region
         ReceivedData receivedData = new ReceivedData();
         receivedData.setDataId(datum.getDataId());
@@ -108,12 +127,24 @@ public class ReceivedDataConverter {
 
         receivedData.setLocalZone(regionLocal);
 
+        receivedData.setData(zoneData);
+
+        return receivedData;
+    }
+
+    /**
+     * convert publishers of datum to data boxes grouped by zone
+     * @param datum the datum
+     * @param zonePredicate zones to skip
+     * @return zone data
+     */
+    public static Map<String, List<DataBox>> getZoneData(Datum datum,
+                                                         Predicate<String> zonePredicate) {
         Map<String/*zone*/, List<DataBox>> swizzMap = new HashMap<>();
 
         Map<String, Publisher> publisherMap = datum.getPubMap();
         if (publisherMap == null || publisherMap.isEmpty()) {
-            receivedData.setData(swizzMap);
-            return receivedData;
+            return swizzMap;
         }
         for (Entry<String, Publisher> entry : publisherMap.entrySet()) {
             Publisher publisher = entry.getValue();
@@ -134,16 +165,96 @@ public class ReceivedDataConverter {
 
         }
 
-        receivedData.setData(swizzMap);
+        return swizzMap;
+    }
+
+    /**
+     * Delta of datum against the base datum pushed before, compared by publisher registerId and version
+     * @param baseDatum the datum subscribers have received
+     * @param datum the datum to push
+     * @param scope the scope
+     * @param subscriberRegisterIdList the subscriber register id list
+     * @param regionLocal the region local
+     * @param zonePredicate zone filter, same as full push
+     * @return delta received data, or null if delta is not smaller than a full push
+     */
+    public static ReceivedData getReceivedDataDelta(Datum baseDatum, Datum datum, ScopeEnum scope,
+                                                    List subscriberRegisterIdList,
+                                                    String regionLocal,
+                                                    Predicate<String> zonePredicate) {
+        if (null == datum || null == baseDatum) {
+            return null;
+        }
+
+        Map<String, Publisher> publisherMap = datum.getPubMap() == null ? new HashMap<>() : datum
+            .getPubMap();
+        Map<String, Publisher> basePublisherMap = baseDatum.getPubMap() == null ? new HashMap<>()
+            : baseDatum.getPubMap();
+
+        Map<String/*zone*/, List<DataBox>> addedMap = new HashMap<>();
+        Map<String/*zone*/, List<DataBox>> removedMap = new HashMap<>();
+        int changedCount = 0;
 
+        for (Entry<String, Publisher> entry : publisherMap.entrySet()) {
+            Publisher publisher = entry.getValue();
+            Publisher basePublisher = basePublisherMap.get(entry.getKey());
+            if (basePublisher != null && isSamePublisher(basePublisher, publisher)) {
+                continue;
+            }
+            changedCount++;
+            if (basePublisher != null) {
+                fillDeltaDatas(removedMap, basePublisher, zonePredicate);
+            }
+            fillDeltaDatas(addedMap, publisher, zonePredicate);
+        }
+        for (Entry<String, Publisher> entry : basePublisherMap.entrySet()) {
+            if (!publisherMap.containsKey(entry.getKey())) {
+                changedCount++;
+                fillDeltaDatas(removedMap, entry.getValue(), zonePredicate);
+            }
+        }
+
+        if (changedCount >= publisherMap.size() && !publisherMap.isEmpty()) {
+            return null;
+        }
+
+        ReceivedData receivedData = new ReceivedData();
+        receivedData.setDataId(datum.getDataId());
+        receivedData.setGroup(datum.getGroup());
+        receivedData.setInstanceId(datum.getInstanceId());
+        receivedData.setSubscriberRegistIds(subscriberRegisterIdList);
+        receivedData.setSegment(datum.getDataCenter());
+        receivedData.setScope(scope.name());
+        receivedData.setVersion(datum.getVersion());
+        receivedData.setBaseVersion(baseDatum.getVersion());
+        receivedData.setLocalZone(regionLocal);
+        receivedData.setData(addedMap);
+        receivedData.setRemovedData(removedMap);
         return receivedData;
     }
 
+    private static boolean isSamePublisher(Publisher basePublisher, Publisher publisher) {
+        return basePublisher.getRegisterTimestamp() == publisher.getRegisterTimestamp()
+               && Objects.equals(basePublisher.getVersion(), publisher.getVersion());
+    }
+
+    private static void fillDeltaDatas(Map<String, List<DataBox>> zoneMap, Publisher publisher,
+                                       Predicate<String> zonePredicate) {
+        String region = publisher.getCell();
+        if (zonePredicate.test(region)) {
+            return;
+        }
+        List<DataBox> regionDatas = zoneMap.computeIfAbsent(region, k -> new ArrayList<>());
+        if (publisher.getDataList() != null) {
+            fillRegionDatas(regionDatas, publisher.getDataList());
+        }
+    }
+
     private static void fillRegionDatas(List<DataBox> regionDatas, List<ServerDataBox> datas) {
         for (ServerDataBox data : datas) {
             DataBox box = new DataBox();
             try {
-                String dataString = (String) data.extract();
+                String dataString = data.extractString();
                 box.setData(dataString);
                 regionDatas.add(box);
             } catch (Exception e) {
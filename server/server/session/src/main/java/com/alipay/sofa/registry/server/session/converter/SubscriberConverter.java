@@ -58,6 +58,7 @@ public class SubscriberConverter {
             subscriber.setSourceAddress(new URL(source.getIp(), source.getPort()));
 
             subscriber.setClientVersion(ClientVersion.StoreData);
+            subscriber.setAttributes(source.getAttributes());
 
             DataInfo dataInfo = new DataInfo(source.getInstanceId(), source.getDataId(),
                     source.getGroup());
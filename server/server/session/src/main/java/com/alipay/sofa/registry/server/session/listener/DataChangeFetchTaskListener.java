@@ -22,6 +22,8 @@ import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
 import com.alipay.sofa.registry.server.session.cache.CacheService;
+import com.alipay.sofa.registry.server.session.cache.PushDataZoneCache;
+import com.alipay.sofa.registry.server.session.cache.PushDatumCache;
 import com.alipay.sofa.registry.server.session.scheduler.ExecutorManager;
 import com.alipay.sofa.registry.server.session.scheduler.task.DataChangeFetchTask;
 import com.alipay.sofa.registry.server.session.scheduler.task.SessionTask;
@@ -56,6 +58,12 @@ public class DataChangeFetchTaskListener implements TaskListener {
     @Autowired
     private CacheService                                 sessionCacheService;
 
+    @Autowired
+    private PushDatumCache                               pushDatumCache;
+
+    @Autowired
+    private PushDataZoneCache                            pushDataZoneCache;
+
     /**
      * trigger task com.alipay.sofa.registry.server.meta.listener process
      */
@@ -94,7 +102,8 @@ public class DataChangeFetchTaskListener implements TaskListener {
     @Override
     public void handleEvent(TaskEvent event) {
         SessionTask dataChangeFetchTask = new DataChangeFetchTask(sessionServerConfig,
-            taskListenerManager, executorManager, sessionInterests, sessionCacheService);
+            taskListenerManager, executorManager, sessionInterests, sessionCacheService,
+            pushDatumCache, pushDataZoneCache);
         dataChangeFetchTask.setTaskEvent(event);
 
         getSingleTaskDispatcher().dispatch(dataChangeFetchTask.getTaskId(), dataChangeFetchTask,
@@ -37,6 +37,7 @@ import com.alipay.sofa.registry.task.batcher.TaskProcessor;
 import com.alipay.sofa.registry.task.listener.TaskEvent;
 import com.alipay.sofa.registry.task.listener.TaskEvent.TaskType;
 import com.alipay.sofa.registry.task.listener.TaskListener;
+import com.alipay.sofa.registry.task.listener.TaskListenerManager;
 import com.alipay.sofa.registry.timer.AsyncHashedWheelTimer;
 import com.alipay.sofa.registry.timer.AsyncHashedWheelTimer.TaskFailedCallback;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -69,6 +70,9 @@ public class ReceivedDataMultiPushTaskListener implements TaskListener, PushTask
     @Autowired
     private Interests                         sessionInterests;
 
+    @Autowired
+    private TaskListenerManager               taskListenerManager;
+
     private TaskMergeProcessorStrategy        receiveDataTaskMergeProcessorStrategy;
 
     private TaskProcessor                     clientNodeSingleTaskProcessor;
@@ -124,7 +128,8 @@ public class ReceivedDataMultiPushTaskListener implements TaskListener, PushTask
     public void executePushAsync(TaskEvent event) {
 
         SessionTask receivedDataMultiPushTask = new ReceivedDataMultiPushTask(sessionServerConfig, clientNodeService,
-                executorManager, boltExchange, receivedDataMultiPushTaskStrategy,asyncHashedWheelTimer,sessionInterests);
+                executorManager, boltExchange, receivedDataMultiPushTaskStrategy,asyncHashedWheelTimer,sessionInterests,
+                taskListenerManager);
         receivedDataMultiPushTask.setTaskEvent(event);
 
         executorManager.getPushTaskExecutor()
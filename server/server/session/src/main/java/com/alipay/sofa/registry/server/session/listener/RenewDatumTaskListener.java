@@ -20,9 +20,12 @@ import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.alipay.sofa.registry.common.model.RenewDatumRequest;
+import com.alipay.sofa.registry.metrics.ReporterUtils;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
 import com.alipay.sofa.registry.server.session.node.service.DataNodeService;
 import com.alipay.sofa.registry.server.session.registry.SessionRegistry;
+import com.alipay.sofa.registry.server.session.renew.RenewDatumBatcher;
 import com.alipay.sofa.registry.server.session.scheduler.task.RenewDatumTask;
 import com.alipay.sofa.registry.server.session.scheduler.task.SessionTask;
 import com.alipay.sofa.registry.task.batcher.TaskDispatcher;
@@ -31,6 +34,8 @@ import com.alipay.sofa.registry.task.batcher.TaskProcessor;
 import com.alipay.sofa.registry.task.listener.TaskEvent;
 import com.alipay.sofa.registry.task.listener.TaskEvent.TaskType;
 import com.alipay.sofa.registry.task.listener.TaskListener;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 
 /**
  *
@@ -53,11 +58,24 @@ public class RenewDatumTaskListener implements TaskListener {
     @Autowired
     private SessionRegistry                     sessionRegistry;
 
+    private RenewDatumBatcher                   renewDatumBatcher;
+
     @PostConstruct
     public void init() {
         singleTaskDispatcher = TaskDispatchers.createSingleTaskDispatcher(
             TaskDispatchers.getDispatcherName(TaskType.RENEW_DATUM_TASK.getName()), 100000, 32,
             1000, 1000, dataNodeSingleTaskProcessor);
+
+        if (sessionServerConfig.isEnableRenewDatumBatch()) {
+            renewDatumBatcher = new RenewDatumBatcher(sessionServerConfig, dataNodeService,
+                sessionRegistry, this::dispatch);
+            renewDatumBatcher.start();
+
+            MetricRegistry metrics = new MetricRegistry();
+            metrics.register("renewDatumBatcher",
+                (Gauge<String>) () -> renewDatumBatcher.toString());
+            ReporterUtils.startSlf4jReporter(60, metrics);
+        }
     }
 
     @Override
@@ -67,6 +85,18 @@ public class RenewDatumTaskListener implements TaskListener {
 
     @Override
     public void handleEvent(TaskEvent event) {
+        if (renewDatumBatcher != null) {
+            renewDatumBatcher.accept((RenewDatumRequest) event.getEventObj());
+            return;
+        }
+        dispatch(event);
+    }
+
+    private void dispatch(RenewDatumRequest renewDatumRequest) {
+        dispatch(new TaskEvent(renewDatumRequest, TaskType.RENEW_DATUM_TASK));
+    }
+
+    private void dispatch(TaskEvent event) {
         SessionTask renewDatumTask = new RenewDatumTask(sessionServerConfig, dataNodeService,
             sessionRegistry);
 
@@ -21,7 +21,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import com.alipay.sofa.registry.common.model.Node.NodeType;
 import com.alipay.sofa.registry.common.model.metaserver.DataNode;
 import com.alipay.sofa.registry.common.model.metaserver.NodeChangeResult;
-import com.alipay.sofa.registry.consistency.hash.ConsistentHash;
+import com.alipay.sofa.registry.consistency.hash.NodeRouter;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
@@ -33,13 +33,13 @@ import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
  */
 public class DataNodeManager extends AbstractNodeManager<DataNode> {
 
-    private static final Logger      LOGGER = LoggerFactory.getLogger(DataNodeManager.class,
-                                                "[DataNodeManager]");
+    private static final Logger  LOGGER = LoggerFactory.getLogger(DataNodeManager.class,
+                                            "[DataNodeManager]");
 
     @Autowired
-    private SessionServerConfig      sessionServerConfig;
+    private SessionServerConfig  sessionServerConfig;
 
-    private ConsistentHash<DataNode> consistentHash;
+    private NodeRouter<DataNode> consistentHash;
 
     @Override
     public DataNode getNode(String dataInfoId) {
@@ -56,8 +56,8 @@ public class DataNodeManager extends AbstractNodeManager<DataNode> {
         write.lock();
         try {
             super.updateNodes(nodeChangeResult);
-            consistentHash = new ConsistentHash(sessionServerConfig.getNumberOfReplicas(),
-                getDataCenterNodes());
+            consistentHash = sessionServerConfig.getRouterType().newRouter(
+                sessionServerConfig.getNumberOfReplicas(), getDataCenterNodes());
 
         } finally {
             write.unlock();
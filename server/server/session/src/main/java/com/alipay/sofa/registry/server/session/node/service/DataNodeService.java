@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.alipay.sofa.registry.common.model.DatumSnapshotRequest;
+import com.alipay.sofa.registry.common.model.RenewDatumBatchRequest;
 import com.alipay.sofa.registry.common.model.RenewDatumRequest;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.store.Publisher;
@@ -65,6 +66,16 @@ public interface DataNodeService {
     Map<String/*datacenter*/, Map<String/*datainfoid*/, Long>> fetchDataVersion(URL dataNodeUrl,
                                                                                   Collection<String> dataInfoIdList);
 
+    /**
+     * Get digests of some nodes of the version hash tree from one data server
+     *
+     * @param dataNodeUrl
+     * @param nodes
+     * @return digests in the order of nodes
+     */
+    Map<String/*datacenter*/, long[]/*digests*/> fetchDataDigest(URL dataNodeUrl,
+                                                                   List<Integer> nodes);
+
     /**
      * fetch one dataCenter publisher data from data server
      *
@@ -94,6 +105,14 @@ public interface DataNodeService {
      */
     Boolean renewDatum(RenewDatumRequest renewDatumRequest);
 
+    /**
+     * renew many connectIds on one dataServer at once
+     *
+     * @param renewDatumBatchRequest
+     * @return the connectIds whose digest is different on dataServer
+     */
+    List<String> renewDatumBatch(RenewDatumBatchRequest renewDatumBatchRequest);
+
     /**
      * Correct the publishers information of this connectId on dataServer
      */
@@ -31,9 +31,11 @@ import com.alipay.sofa.registry.common.model.CommonResponse;
 import com.alipay.sofa.registry.common.model.DatumSnapshotRequest;
 import com.alipay.sofa.registry.common.model.GenericResponse;
 import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.RenewDatumBatchRequest;
 import com.alipay.sofa.registry.common.model.RenewDatumRequest;
 import com.alipay.sofa.registry.common.model.dataserver.ClientOffRequest;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.dataserver.GetDataDigestRequest;
 import com.alipay.sofa.registry.common.model.dataserver.GetDataRequest;
 import com.alipay.sofa.registry.common.model.dataserver.GetDataVersionRequest;
 import com.alipay.sofa.registry.common.model.dataserver.PublishDataRequest;
@@ -262,6 +264,35 @@ public class DataNodeServiceImpl implements DataNodeService {
         return map;
     }
 
+    @Override
+    public Map<String/*datacenter*/, long[]/*digests*/> fetchDataDigest(URL dataNodeUrl,
+                                                                          List<Integer> nodes) {
+        try {
+            Request<GetDataDigestRequest> getDataDigestRequest = new Request<GetDataDigestRequest>() {
+                @Override
+                public GetDataDigestRequest getRequestBody() {
+                    return new GetDataDigestRequest(nodes);
+                }
+
+                @Override
+                public URL getRequestUrl() {
+                    return dataNodeUrl;
+                }
+            };
+
+            Response response = dataNodeExchanger.request(getDataDigestRequest);
+            GenericResponse genericResponse = (GenericResponse) response.getResult();
+            if (genericResponse.isSuccess()) {
+                return (Map<String, long[]>) genericResponse.getData();
+            } else {
+                throw new RuntimeException("fetchDataDigest has not get fail response! msg:"
+                                           + genericResponse.getMessage());
+            }
+        } catch (RequestException e) {
+            throw new RuntimeException("Fetch data digest request error! " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public Datum fetchDataCenter(String dataInfoId, String dataCenterId) {
 
@@ -372,6 +403,39 @@ public class DataNodeServiceImpl implements DataNodeService {
         };
     }
 
+    @Override
+    public List<String> renewDatumBatch(RenewDatumBatchRequest renewDatumBatchRequest) {
+        Request<RenewDatumBatchRequest> request = new Request<RenewDatumBatchRequest>() {
+            private AtomicInteger retryTimes = new AtomicInteger();
+
+            @Override
+            public RenewDatumBatchRequest getRequestBody() {
+                return renewDatumBatchRequest;
+            }
+
+            @Override
+            public URL getRequestUrl() {
+                return new URL(renewDatumBatchRequest.getDataServerIP(),
+                    sessionServerConfig.getDataServerPort());
+            }
+
+            @Override
+            public AtomicInteger getRetryTimes() {
+                return retryTimes;
+            }
+        };
+        try {
+            CommonResponse response = sendRequest("RenewDatumBatch", request);
+            if (!response.isSuccess() || !(response instanceof GenericResponse)) {
+                throw new RuntimeException("RenewDatumBatch got fail response! msg:"
+                                           + response.getMessage());
+            }
+            return (List<String>) ((GenericResponse) response).getData();
+        } catch (RequestException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public void sendDatumSnapshot(DatumSnapshotRequest datumSnapshotRequest) {
         String bizName = "DatumSnapshot";
@@ -454,4 +518,21 @@ public class DataNodeServiceImpl implements DataNodeService {
         return new URL(dataIp, sessionServerConfig.getDataServerPort());
     }
 
-}
\ No newline at end of file
+    /**
+     * Setter method for property <tt>dataNodeExchanger</tt>.
+     *
+     * @param dataNodeExchanger  value to be assigned to property dataNodeExchanger
+     */
+    public void setDataNodeExchanger(NodeExchanger dataNodeExchanger) {
+        this.dataNodeExchanger = dataNodeExchanger;
+    }
+
+    /**
+     * Setter method for property <tt>sessionServerConfig</tt>.
+     *
+     * @param sessionServerConfig  value to be assigned to property sessionServerConfig
+     */
+    public void setSessionServerConfig(SessionServerConfig sessionServerConfig) {
+        this.sessionServerConfig = sessionServerConfig;
+    }
+}
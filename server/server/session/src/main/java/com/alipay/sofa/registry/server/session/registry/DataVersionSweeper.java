@@ -0,0 +1,393 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.registry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.metrics.ReporterUtils;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
+import com.alipay.sofa.registry.server.session.node.service.DataNodeService;
+import com.alipay.sofa.registry.server.session.store.Interests;
+import com.alipay.sofa.registry.server.session.strategy.SessionRegistryStrategy;
+import com.alipay.sofa.registry.util.DigestTree;
+import com.alipay.sofa.registry.util.NamedThreadFactory;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Sweep the data versions of all interested dataInfoIds without blocking the caller.
+ *
+ * Every data server is swept by its own task, so a slow one only delays itself. The dataInfoIds
+ * of a data server are requested in chunks, and the chunks not sent before the deadline of the
+ * data server, or failed, are carried over to the next sweep. With fetchDataVersionSweepRounds
+ * above one, a sweep only checks one share of the dataInfoIds plus the carried over ones, and
+ * every dataInfoId is checked once in that many sweeps.
+ *
+ * With enableDataVersionDigest, the hash tree of versions on the data server is compared with
+ * the one seen in the last sweep of it, descending only into differing subtrees, and only the
+ * dataInfoIds under differing leaves are checked. The leaves of the local tree mirroring the
+ * interest versions are compared as well, so the dataInfoIds whose versions were reset after a
+ * failed push are checked again. When nothing changed, a sweep of a data server costs one digest
+ * per dataCenter instead of one version per dataInfoId.
+ *
+ * @author agent
+ * @version $Id: DataVersionSweeper.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DataVersionSweeper {
+
+    private static final Logger                        LOGGER             = LoggerFactory
+                                                                              .getLogger(DataVersionSweeper.class);
+
+    @Autowired
+    private SessionServerConfig                        sessionServerConfig;
+
+    @Autowired
+    private DataNodeService                            dataNodeService;
+
+    @Autowired
+    private SessionRegistryStrategy                    sessionRegistryStrategy;
+
+    @Autowired
+    private Interests                                  sessionInterests;
+
+    /** levels descended at once when comparing hash trees */
+    static final int                                   DESCEND_LEVELS     = 5;
+
+    /** the digests when the dataInfoIds of a data server were last checked */
+    private final Map<String/*address*/, DigestState> digestStates       = new ConcurrentHashMap<>();
+
+    /** the addresses of data servers whose sweep is still running */
+    private final Set<String>                          inflight           = ConcurrentHashMap
+                                                                              .newKeySet();
+
+    /** the dataInfoIds not checked in their sweep */
+    private final Set<String>                          carryOver          = ConcurrentHashMap
+                                                                              .newKeySet();
+
+    private final AtomicLong                           sweepCount         = new AtomicLong();
+
+    private final AtomicLong                           requestCount       = new AtomicLong();
+
+    private final AtomicLong                           skippedCount       = new AtomicLong();
+
+    private final AtomicLong                           deadlineCount      = new AtomicLong();
+
+    private final AtomicLong                           failCount          = new AtomicLong();
+
+    private final AtomicLong                           digestRequestCount = new AtomicLong();
+
+    private final AtomicLong                           digestSkippedCount = new AtomicLong();
+
+    private ThreadPoolExecutor                         sweepExecutor;
+
+    private long                                       round;
+
+    @PostConstruct
+    public void init() {
+        sweepExecutor = new ThreadPoolExecutor(
+            sessionServerConfig.getFetchDataVersionParallelism(),
+            sessionServerConfig.getFetchDataVersionParallelism(), 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new NamedThreadFactory("DataVersionSweeper", true));
+
+        MetricRegistry metrics = new MetricRegistry();
+        metrics.register("dataVersionSweeper", (Gauge<String>) this::toString);
+        ReporterUtils.startSlf4jReporter(60, metrics);
+    }
+
+    /**
+     * start a sweep and return at once
+     *
+     * @param dataNodeDataInfoIds data server address -> dataInfoIds on it
+     */
+    public synchronized void sweep(Map<String, Collection<String>> dataNodeDataInfoIds) {
+        sweepCount.incrementAndGet();
+        boolean digest = sessionServerConfig.isEnableDataVersionDigest();
+        // the digests already skip the unchanged dataInfoIds, and a leaf is only remembered when
+        // all of its dataInfoIds are checked, so do not share them between sweeps
+        int rounds = digest ? 1 : Math.max(1,
+            sessionServerConfig.getFetchDataVersionSweepRounds());
+        int share = (int) (round++ % rounds);
+        long deadline = System.currentTimeMillis()
+                        + sessionServerConfig.getFetchDataVersionDeadlineMillis();
+        if (digest) {
+            digestStates.keySet().retainAll(dataNodeDataInfoIds.keySet());
+        } else {
+            digestStates.clear();
+        }
+
+        for (Map.Entry<String, Collection<String>> entry : dataNodeDataInfoIds.entrySet()) {
+            String address = entry.getKey();
+            List<String> dataInfoIds = new ArrayList<>();
+            for (String dataInfoId : entry.getValue()) {
+                if (carryOver.remove(dataInfoId) || rounds == 1
+                    || (dataInfoId.hashCode() & Integer.MAX_VALUE) % rounds == share) {
+                    dataInfoIds.add(dataInfoId);
+                }
+            }
+            if (dataInfoIds.isEmpty()) {
+                continue;
+            }
+            if (!inflight.add(address)) {
+                // the previous sweep of this data server is not finished
+                skippedCount.incrementAndGet();
+                carryOver.addAll(dataInfoIds);
+                LOGGER.warn("Fetch data versions of {} skipped, previous sweep is running", address);
+                continue;
+            }
+            sweepExecutor.execute(() -> {
+                try {
+                    sweepDataNode(address, dataInfoIds, deadline);
+                } finally {
+                    inflight.remove(address);
+                }
+            });
+        }
+    }
+
+    private void sweepDataNode(String address, List<String> dataInfoIds, long deadline) {
+        URL url = URL.valueOf(address);
+        if (!sessionServerConfig.isEnableDataVersionDigest()) {
+            fetchDataVersions(address, url, dataInfoIds, deadline);
+            return;
+        }
+
+        DigestState state = digestStates.computeIfAbsent(address, k -> new DigestState());
+        // taken before the versions are fetched, so later changes are checked in the next sweep
+        Map<String, long[]> localLeaves = new HashMap<>();
+        sessionInterests.getInterestDigestTrees().forEach(
+            (dataCenter, tree) -> localLeaves.put(dataCenter, tree.getLeaves()));
+        Map<String, Map<Integer, Long>> remoteNodes = new HashMap<>();
+        Set<Integer> buckets;
+        try {
+            buckets = diffRemote(url, state, remoteNodes);
+        } catch (Throwable e) {
+            failCount.incrementAndGet();
+            LOGGER.error("Fetch data digests of {} error, fetch versions of all {}", address,
+                dataInfoIds.size(), e);
+            fetchDataVersions(address, url, dataInfoIds, deadline);
+            return;
+        }
+        buckets.addAll(diffLocal(state, localLeaves));
+
+        List<String> changed = new ArrayList<>();
+        for (String dataInfoId : dataInfoIds) {
+            if (buckets.contains(DigestTree.bucketOf(dataInfoId))) {
+                changed.add(dataInfoId);
+            }
+        }
+        digestSkippedCount.addAndGet(dataInfoIds.size() - changed.size());
+
+        Set<Integer> uncheckedBuckets = new HashSet<>();
+        for (String dataInfoId : fetchDataVersions(address, url, changed, deadline)) {
+            uncheckedBuckets.add(DigestTree.bucketOf(dataInfoId));
+        }
+        state.accept(buckets, uncheckedBuckets, remoteNodes, localLeaves);
+    }
+
+    /**
+     * compare the hash trees of the data server with the last checked ones
+     *
+     * @param url
+     * @param state
+     * @param remoteNodes the fetched digests, dataCenter -> node -> digest
+     * @return buckets of the differing leaves
+     */
+    Set<Integer> diffRemote(URL url, DigestState state,
+                            Map<String, Map<Integer, Long>> remoteNodes) {
+        Set<Integer> buckets = new HashSet<>();
+        List<Integer> frontier = Collections.singletonList(DigestTree.ROOT);
+        while (!frontier.isEmpty()) {
+            digestRequestCount.incrementAndGet();
+            Map<String, long[]> digests = dataNodeService.fetchDataDigest(url, frontier);
+            Set<String> dataCenters = new HashSet<>(state.remote.keySet());
+            if (digests != null) {
+                dataCenters.addAll(digests.keySet());
+            }
+            List<Integer> next = new ArrayList<>();
+            for (int i = 0; i < frontier.size(); i++) {
+                int node = frontier.get(i);
+                boolean differs = false;
+                for (String dataCenter : dataCenters) {
+                    long[] values = digests == null ? null : digests.get(dataCenter);
+                    long digest = values == null ? 0 : values[i];
+                    remoteNodes.computeIfAbsent(dataCenter, k -> new HashMap<>()).put(node,
+                        digest);
+                    if (digest != state.remoteDigest(dataCenter, node)) {
+                        differs = true;
+                    }
+                }
+                if (!differs) {
+                    continue;
+                }
+                if (DigestTree.isLeaf(node)) {
+                    buckets.add(node - DigestTree.LEAF_COUNT);
+                } else {
+                    next.addAll(DigestTree.descendants(node, DESCEND_LEVELS));
+                }
+            }
+            frontier = next;
+        }
+        return buckets;
+    }
+
+    /**
+     * compare the local leaves with the last checked ones
+     *
+     * @param state
+     * @param localLeaves
+     * @return buckets of the differing leaves
+     */
+    Set<Integer> diffLocal(DigestState state, Map<String, long[]> localLeaves) {
+        Set<Integer> buckets = new HashSet<>();
+        Set<String> dataCenters = new HashSet<>(state.local.keySet());
+        dataCenters.addAll(localLeaves.keySet());
+        for (String dataCenter : dataCenters) {
+            long[] leaves = localLeaves.get(dataCenter);
+            long[] checked = state.local.get(dataCenter);
+            for (int bucket = 0; bucket < DigestTree.LEAF_COUNT; bucket++) {
+                long leaf = leaves == null ? 0 : leaves[bucket];
+                if (leaf != (checked == null ? 0 : checked[bucket])) {
+                    buckets.add(bucket);
+                }
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * fetch versions of dataInfoIds in chunks
+     *
+     * @return dataInfoIds not checked, which are carried over to the next sweep
+     */
+    private List<String> fetchDataVersions(String address, URL url, List<String> dataInfoIds,
+                                           long deadline) {
+        int batchSize = sessionServerConfig.getFetchDataVersionBatchSize();
+        List<String> unchecked = new ArrayList<>();
+        for (int from = 0; from < dataInfoIds.size(); from += batchSize) {
+            List<String> chunk = new ArrayList<>(dataInfoIds.subList(from,
+                Math.min(from + batchSize, dataInfoIds.size())));
+            if (System.currentTimeMillis() > deadline) {
+                deadlineCount.incrementAndGet();
+                unchecked.addAll(dataInfoIds.subList(from, dataInfoIds.size()));
+                carryOver.addAll(dataInfoIds.subList(from, dataInfoIds.size()));
+                LOGGER.warn("Fetch data versions of {} exceeded deadline, {} of {} carried over",
+                    address, dataInfoIds.size() - from, dataInfoIds.size());
+                return unchecked;
+            }
+            try {
+                requestCount.incrementAndGet();
+                Map<String/*datacenter*/, Map<String/*datainfoid*/, Long>> dataVersions = dataNodeService
+                    .fetchDataVersion(url, chunk);
+                if (dataVersions != null) {
+                    sessionRegistryStrategy.doFetchChangDataProcess(dataVersions);
+                } else {
+                    LOGGER.warn("Fetch no change data versions info from {}", address);
+                }
+            } catch (Throwable e) {
+                failCount.incrementAndGet();
+                unchecked.addAll(chunk);
+                carryOver.addAll(chunk);
+                LOGGER.error("Fetch data versions of {} error, {} carried over", address,
+                    chunk.size(), e);
+            }
+        }
+        return unchecked;
+    }
+
+    /**
+     * the digests of one data server and of the local interests when its dataInfoIds were last
+     * checked, only accessed by the running sweep of the data server
+     */
+    static final class DigestState {
+
+        /** dataCenter -> digests of the data server, indexed by node */
+        final Map<String, long[]> remote = new HashMap<>();
+
+        /** dataCenter -> local leaves, indexed by bucket */
+        final Map<String, long[]> local  = new HashMap<>();
+
+        long remoteDigest(String dataCenter, int node) {
+            long[] nodes = remote.get(dataCenter);
+            return nodes == null ? 0 : nodes[node];
+        }
+
+        /**
+         * remember the digests of the checked buckets, the inner nodes are only remembered when
+         * all buckets are checked, otherwise the next sweep could not descend to the unchecked
+         *
+         * @param buckets differing buckets
+         * @param uncheckedBuckets buckets with dataInfoIds failed to check
+         * @param remoteNodes fetched digests of the data server
+         * @param localLeaves local leaves taken before checking
+         */
+        void accept(Set<Integer> buckets, Set<Integer> uncheckedBuckets,
+                    Map<String, Map<Integer, Long>> remoteNodes, Map<String, long[]> localLeaves) {
+            boolean complete = uncheckedBuckets.isEmpty();
+            remoteNodes.forEach((dataCenter, digests) -> {
+                long[] nodes = remote.computeIfAbsent(dataCenter,
+                    k -> new long[DigestTree.LEAF_COUNT << 1]);
+                digests.forEach((node, digest) -> {
+                    boolean leaf = DigestTree.isLeaf(node);
+                    if (leaf ? !uncheckedBuckets.contains(node - DigestTree.LEAF_COUNT) : complete) {
+                        nodes[node] = digest;
+                    }
+                });
+            });
+            localLeaves.forEach((dataCenter, leaves) -> {
+                long[] checked = local.computeIfAbsent(dataCenter,
+                    k -> new long[DigestTree.LEAF_COUNT]);
+                for (int bucket : buckets) {
+                    if (!uncheckedBuckets.contains(bucket)) {
+                        checked[bucket] = leaves[bucket];
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        return String.format(
+            "DataVersionSweeper{sweep=%d, request=%d, skipped=%d, deadline=%d, fail=%d, "
+                    + "inflight=%d, carryOver=%d, digestRequest=%d, digestSkipped=%d}",
+            sweepCount.get(), requestCount.get(), skippedCount.get(), deadlineCount.get(),
+            failCount.get(), inflight.size(), carryOver.size(), digestRequestCount.get(),
+            digestSkippedCount.get());
+    }
+}
@@ -113,6 +113,9 @@ public class SessionRegistry implements Registry {
     @Autowired
     private SessionRegistryStrategy   sessionRegistryStrategy;
 
+    @Autowired
+    private DataVersionSweeper        dataVersionSweeper;
+
     @Autowired
     private WrapperInterceptorManager wrapperInterceptorManager;
 
@@ -341,19 +344,7 @@ public class SessionRegistry implements Registry {
 
         Map<String/*address*/, Collection<String>/*dataInfoIds*/> map = calculateDataNode(checkDataInfoIds);
 
-        map.forEach((address, dataInfoIds) -> {
-
-            //TODO asynchronous fetch version
-            Map<String/*datacenter*/, Map<String/*datainfoid*/, Long>> dataVersions = dataNodeService
-                    .fetchDataVersion(URL.valueOf(address), dataInfoIds);
-
-            if (dataVersions != null) {
-                sessionRegistryStrategy.doFetchChangDataProcess(dataVersions);
-            } else {
-                LOGGER.warn("Fetch no change data versions info from {}", address);
-            }
-        });
-
+        dataVersionSweeper.sweep(map);
     }
 
     private Map<String, Collection<String>> calculateDataNode(Collection<String> dataInfoIds) {
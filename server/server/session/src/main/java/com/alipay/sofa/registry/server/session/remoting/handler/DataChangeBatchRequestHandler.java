@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.remoting.handler;
+
+import java.util.List;
+
+import com.alipay.sofa.registry.common.model.CommonResponse;
+import com.alipay.sofa.registry.common.model.sessionserver.DataChangeBatchRequest;
+import com.alipay.sofa.registry.common.model.sessionserver.DataChangeRequest;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.remoting.Channel;
+
+/**
+ * fan out a batch of data changes from one data server, each change is handled as a single
+ * DataChangeRequest
+ *
+ * @author agent
+ * @version $Id: DataChangeBatchRequestHandler.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DataChangeBatchRequestHandler extends DataChangeRequestHandler {
+
+    private static final Logger LOGGER = LoggerFactory
+                                           .getLogger(DataChangeBatchRequestHandler.class);
+
+    @Override
+    public Object reply(Channel channel, Object message) {
+        DataChangeBatchRequest batchRequest = (DataChangeBatchRequest) message;
+        List<DataChangeRequest> changes = batchRequest.getChanges();
+        if (changes == null || changes.isEmpty()) {
+            return CommonResponse.buildSuccessResponse();
+        }
+
+        int failedCount = 0;
+        for (DataChangeRequest dataChangeRequest : changes) {
+            try {
+                handleDataChange(channel, dataChangeRequest);
+            } catch (Exception e) {
+                failedCount++;
+                LOGGER.error("DataChange batch entry error! request={}", dataChangeRequest, e);
+            }
+        }
+        if (failedCount > 0) {
+            // data server retries the whole batch, entries already handled are ignored by version check
+            return CommonResponse.buildFailedResponse(String.format(
+                "%d of %d data changes handled failed", failedCount, changes.size()));
+        }
+        return CommonResponse.buildSuccessResponse();
+    }
+
+    @Override
+    public Class interest() {
+        return DataChangeBatchRequest.class;
+    }
+}
@@ -21,6 +21,7 @@ import java.util.concurrent.Executor;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.alipay.sofa.registry.common.model.Node.NodeType;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.sessionserver.DataChangeRequest;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
@@ -30,6 +31,7 @@ import com.alipay.sofa.registry.server.session.cache.CacheService;
 import com.alipay.sofa.registry.server.session.cache.DatumKey;
 import com.alipay.sofa.registry.server.session.cache.Key;
 import com.alipay.sofa.registry.server.session.cache.Key.KeyType;
+import com.alipay.sofa.registry.server.session.cache.Value;
 import com.alipay.sofa.registry.server.session.scheduler.ExecutorManager;
 import com.alipay.sofa.registry.server.session.store.Interests;
 import com.alipay.sofa.registry.server.session.strategy.DataChangeRequestHandlerStrategy;
@@ -83,17 +85,30 @@ public class DataChangeRequestHandler extends AbstractClientHandler {
 
     @Override
     public Object reply(Channel channel, Object message) {
-        DataChangeRequest dataChangeRequest = (DataChangeRequest) message;
+        handleDataChange(channel, (DataChangeRequest) message);
+        return null;
+    }
 
+    /**
+     * invalidate datum cache and fire fetch if version of interest changed
+     * @param channel
+     * @param dataChangeRequest
+     */
+    protected void handleDataChange(Channel channel, DataChangeRequest dataChangeRequest) {
         dataChangeRequest.setDataCenter(dataChangeRequest.getDataCenter());
         dataChangeRequest.setDataInfoId(dataChangeRequest.getDataInfoId());
 
         //update cache when change
-        sessionCacheService.invalidate(new Key(KeyType.OBJ, DatumKey.class.getName(), new DatumKey(
-            dataChangeRequest.getDataInfoId(), dataChangeRequest.getDataCenter())));
+        Key key = new Key(KeyType.OBJ, DatumKey.class.getName(), new DatumKey(
+            dataChangeRequest.getDataInfoId(), dataChangeRequest.getDataCenter()));
+        if (dataChangeRequest.getDatum() != null) {
+            refreshCache(key, dataChangeRequest.getDatum());
+        } else {
+            sessionCacheService.invalidate(key, dataChangeRequest.getVersion());
+        }
 
         if (sessionServerConfig.isStopPushSwitch()) {
-            return null;
+            return;
         }
 
         try {
@@ -102,7 +117,7 @@ public class DataChangeRequestHandler extends AbstractClientHandler {
                 dataChangeRequest.getVersion());
 
             if (!result) {
-                return null;
+                return;
             }
 
             EXCHANGE_LOGGER.info(
@@ -115,8 +130,13 @@ public class DataChangeRequestHandler extends AbstractClientHandler {
             LOGGER.error("DataChange Request error!", e);
             throw new RuntimeException("DataChangeRequest Request error!", e);
         }
+    }
 
-        return null;
+    /**
+     * datum sent with the change, put it into cache directly instead of fetching it from data server
+     */
+    private void refreshCache(Key key, Datum datum) {
+        sessionCacheService.putValueIfNewer(key, new Value(Datum.internDatum(datum)));
     }
 
     /**
@@ -131,4 +151,40 @@ public class DataChangeRequestHandler extends AbstractClientHandler {
     public Class interest() {
         return DataChangeRequest.class;
     }
-}
\ No newline at end of file
+
+    /**
+     * Setter method for property <tt>sessionInterests</tt>.
+     *
+     * @param sessionInterests  value to be assigned to property sessionInterests
+     */
+    public void setSessionInterests(Interests sessionInterests) {
+        this.sessionInterests = sessionInterests;
+    }
+
+    /**
+     * Setter method for property <tt>sessionServerConfig</tt>.
+     *
+     * @param sessionServerConfig  value to be assigned to property sessionServerConfig
+     */
+    public void setSessionServerConfig(SessionServerConfig sessionServerConfig) {
+        this.sessionServerConfig = sessionServerConfig;
+    }
+
+    /**
+     * Setter method for property <tt>sessionCacheService</tt>.
+     *
+     * @param sessionCacheService  value to be assigned to property sessionCacheService
+     */
+    public void setSessionCacheService(CacheService sessionCacheService) {
+        this.sessionCacheService = sessionCacheService;
+    }
+
+    /**
+     * Setter method for property <tt>dataChangeRequestHandlerStrategy</tt>.
+     *
+     * @param dataChangeRequestHandlerStrategy  value to be assigned to property dataChangeRequestHandlerStrategy
+     */
+    public void setDataChangeRequestHandlerStrategy(DataChangeRequestHandlerStrategy dataChangeRequestHandlerStrategy) {
+        this.dataChangeRequestHandlerStrategy = dataChangeRequestHandlerStrategy;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.renew;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.alipay.sofa.registry.common.model.RenewDatumBatchRequest;
+import com.alipay.sofa.registry.common.model.RenewDatumRequest;
+import com.alipay.sofa.registry.common.model.constants.ValueConstants;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
+import com.alipay.sofa.registry.server.session.node.service.DataNodeService;
+import com.alipay.sofa.registry.server.session.registry.Registry;
+import com.alipay.sofa.registry.util.NamedThreadFactory;
+
+/**
+ * Collect the renew requests of all connectIds and send them to every dataServer in batches,
+ * only the connectIds whose digest is different on dataServer trigger a snapshot.
+ *
+ * The pending requests of a dataServer are not drained while a batch to it is still in flight,
+ * so a slow dataServer just gets the latest digest of each connectId in its next batch.
+ *
+ * @author agent
+ * @version $Id: RenewDatumBatcher.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class RenewDatumBatcher {
+
+    private static final Logger                                  RENEW_LOGGER = LoggerFactory
+                                                                                  .getLogger(
+                                                                                      ValueConstants.LOGGER_NAME_RENEW,
+                                                                                      "[RenewDatumBatcher]");
+
+    private final SessionServerConfig                            sessionServerConfig;
+
+    private final DataNodeService                                dataNodeService;
+
+    private final Registry                                       sessionRegistry;
+
+    /** handle the renew requests one by one when the batch failed */
+    private final Consumer<RenewDatumRequest>                    fallback;
+
+    /** dataServerIP -> (connectId -> digestSum), replaced as a whole when drained */
+    private final ConcurrentHashMap<String, Map<String, String>> pending      = new ConcurrentHashMap<>();
+
+    /** count of connectIds in pending, the maps in pending are only touched inside compute */
+    private final AtomicInteger                                  pendingCount = new AtomicInteger();
+
+    private final Set<String>                                    inflight     = ConcurrentHashMap
+                                                                                  .newKeySet();
+
+    private final AtomicLong                                     batchCount   = new AtomicLong();
+
+    private final AtomicLong                                     renewCount   = new AtomicLong();
+
+    private final AtomicLong                                     diffCount    = new AtomicLong();
+
+    private final AtomicLong                                     failCount    = new AtomicLong();
+
+    private ScheduledThreadPoolExecutor                          scheduler;
+
+    private ThreadPoolExecutor                                   sendExecutor;
+
+    public RenewDatumBatcher(SessionServerConfig sessionServerConfig,
+                             DataNodeService dataNodeService, Registry sessionRegistry,
+                             Consumer<RenewDatumRequest> fallback) {
+        this.sessionServerConfig = sessionServerConfig;
+        this.dataNodeService = dataNodeService;
+        this.sessionRegistry = sessionRegistry;
+        this.fallback = fallback;
+    }
+
+    public void start() {
+        scheduler = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory(
+            "RenewDatumBatcher-Scheduler", true));
+        sendExecutor = new ThreadPoolExecutor(4, 4, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new NamedThreadFactory("RenewDatumBatcher-Sender", true));
+        scheduler.scheduleWithFixedDelay(this::flush,
+            sessionServerConfig.getRenewDatumBatchIntervalMillis(),
+            sessionServerConfig.getRenewDatumBatchIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * add a renew request, a newer digest of the same connectId overrides the pending one
+     */
+    public void accept(RenewDatumRequest request) {
+        pending.compute(request.getDataServerIP(), (dataServerIP, digestSums) -> {
+            if (digestSums == null) {
+                digestSums = new HashMap<>();
+            }
+            if (digestSums.put(request.getConnectId(), request.getDigestSum()) == null) {
+                pendingCount.incrementAndGet();
+            }
+            return digestSums;
+        });
+    }
+
+    private void flush() {
+        for (String dataServerIP : pending.keySet()) {
+            if (inflight.add(dataServerIP)) {
+                try {
+                    sendExecutor.execute(() -> {
+                        try {
+                            drain(dataServerIP);
+                        } finally {
+                            inflight.remove(dataServerIP);
+                        }
+                    });
+                } catch (Throwable e) {
+                    inflight.remove(dataServerIP);
+                    RENEW_LOGGER.error("Submit renew batch of {} failed", dataServerIP, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * send all pending renew requests of the dataServer, split by renewDatumBatchSize
+     */
+    void drain(String dataServerIP) {
+        Map<String, String> digestSums = pending.remove(dataServerIP);
+        if (digestSums == null || digestSums.isEmpty()) {
+            return;
+        }
+        pendingCount.addAndGet(-digestSums.size());
+        int batchSize = sessionServerConfig.getRenewDatumBatchSize();
+        Map<String, String> batch = new HashMap<>();
+        for (Map.Entry<String, String> entry : digestSums.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= batchSize) {
+                send(dataServerIP, batch);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(dataServerIP, batch);
+        }
+    }
+
+    private void send(String dataServerIP, Map<String, String> digestSums) {
+        batchCount.incrementAndGet();
+        renewCount.addAndGet(digestSums.size());
+        List<String> diffConnectIds;
+        try {
+            diffConnectIds = dataNodeService.renewDatumBatch(new RenewDatumBatchRequest(
+                dataServerIP, digestSums));
+        } catch (Throwable e) {
+            failCount.incrementAndGet();
+            RENEW_LOGGER.error(String.format(
+                "Renew datum batch to dataNode error, renew one by one! dataServerIP=%s, size=%s",
+                dataServerIP, digestSums.size()), e);
+            for (Map.Entry<String, String> entry : digestSums.entrySet()) {
+                fallback.accept(new RenewDatumRequest(entry.getKey(), dataServerIP, entry
+                    .getValue()));
+            }
+            return;
+        }
+
+        if (diffConnectIds == null || diffConnectIds.isEmpty()) {
+            return;
+        }
+        diffCount.addAndGet(diffConnectIds.size());
+        RENEW_LOGGER.info(
+            "Renew datum batch to dataNode got digest different! dataServerIP={}, size={}/{}",
+            dataServerIP, diffConnectIds.size(), digestSums.size());
+        // send snapshot datum only for the different connectIds
+        for (String connectId : diffConnectIds) {
+            sessionRegistry.sendDatumSnapshot(connectId, dataServerIP);
+        }
+    }
+
+    /**
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        return String.format(
+            "RenewDatumBatcher{batch=%d, renew=%d, diff=%d, fail=%d, pending=%d, inflight=%s}",
+            batchCount.get(), renewCount.get(), diffCount.get(), failCount.get(),
+            pendingCount.get(), inflight);
+    }
+}
@@ -30,6 +30,7 @@ import com.alipay.sofa.registry.common.model.sessionserver.DataChangeRequest;
 import com.alipay.sofa.registry.common.model.store.BaseInfo.ClientVersion;
 import com.alipay.sofa.registry.common.model.store.Subscriber;
 import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.core.model.DataBox;
 import com.alipay.sofa.registry.core.model.ReceivedData;
 import com.alipay.sofa.registry.core.model.ScopeEnum;
 import com.alipay.sofa.registry.log.Logger;
@@ -40,6 +41,8 @@ import com.alipay.sofa.registry.server.session.cache.CacheService;
 import com.alipay.sofa.registry.server.session.cache.DatumKey;
 import com.alipay.sofa.registry.server.session.cache.Key;
 import com.alipay.sofa.registry.server.session.cache.Key.KeyType;
+import com.alipay.sofa.registry.server.session.cache.PushDataZoneCache;
+import com.alipay.sofa.registry.server.session.cache.PushDatumCache;
 import com.alipay.sofa.registry.server.session.cache.Value;
 import com.alipay.sofa.registry.server.session.converter.ReceivedDataConverter;
 import com.alipay.sofa.registry.server.session.scheduler.ExecutorManager;
@@ -79,15 +82,22 @@ public class DataChangeFetchTask extends AbstractSessionTask {
 
     private final CacheService        sessionCacheService;
 
+    private final PushDatumCache      pushDatumCache;
+
+    private final PushDataZoneCache   pushDataZoneCache;
+
     public DataChangeFetchTask(SessionServerConfig sessionServerConfig,
                                TaskListenerManager taskListenerManager,
                                ExecutorManager executorManager, Interests sessionInterests,
-                               CacheService sessionCacheService) {
+                               CacheService sessionCacheService, PushDatumCache pushDatumCache,
+                               PushDataZoneCache pushDataZoneCache) {
         this.sessionServerConfig = sessionServerConfig;
         this.taskListenerManager = taskListenerManager;
         this.executorManager = executorManager;
         this.sessionInterests = sessionInterests;
         this.sessionCacheService = sessionCacheService;
+        this.pushDatumCache = pushDatumCache;
+        this.pushDataZoneCache = pushDataZoneCache;
     }
 
     @Override
@@ -100,7 +110,7 @@ public class DataChangeFetchTask extends AbstractSessionTask {
         Datum datum = getDatumCache();
 
         if (datum != null) {
-            PushTaskClosure pushTaskClosure = getTaskClosure(datum.getVersion());
+            PushTaskClosure pushTaskClosure = getTaskClosure(datum);
 
             for (ScopeEnum scopeEnum : ScopeEnum.values()) {
                 Map<InetSocketAddress, Map<String, Subscriber>> map = getCache(scopeEnum);
@@ -188,7 +198,8 @@ public class DataChangeFetchTask extends AbstractSessionTask {
         return subscribersSend;
     }
 
-    public PushTaskClosure getTaskClosure(Long version) {
+    public PushTaskClosure getTaskClosure(Datum datum) {
+        Long version = datum.getVersion();
         //this for all this dataInfoId push result get and call back to change version
         PushTaskClosure pushTaskClosure = new PushTaskClosure(executorManager.getPushTaskCheckAsyncHashedWheelTimer(),
                 sessionServerConfig, dataChangeRequest.getDataInfoId());
@@ -203,6 +214,10 @@ public class DataChangeFetchTask extends AbstractSessionTask {
                             dataCenter, dataInfoId, changeVersion, version);
                     return;
                 }
+                if (sessionServerConfig.isEnablePushDelta()) {
+                    // confirmed by all subscribers, base of next delta push
+                    pushDatumCache.putPushedDatum(datum);
+                }
                 boolean result = sessionInterests.checkAndUpdateInterestVersions(dataCenter, dataInfoId, version);
                 if (result) {
                     LOGGER.info("Push all tasks success, dataCenter:{}, dataInfoId:{}, changeVersion:{}, pushVersion:{}, update!", dataCenter,
@@ -248,9 +263,18 @@ public class DataChangeFetchTask extends AbstractSessionTask {
             }
             return false;
         };
-        ReceivedData receivedData = ReceivedDataConverter
-                .getReceivedDataMulti(datum, scopeEnum, subscriberRegisterIdList,
-                        clientCell, zonePredicate);
+        ReceivedData receivedData = getReceivedDataDelta(datum, subscribers, scopeEnum, clientCell,
+                zonePredicate);
+        if (sessionServerConfig.isEnablePushDelta()) {
+            subscribers.forEach(sub -> sub.markSentVersion(dataChangeRequest.getDataCenter(), datum.getVersion()));
+        }
+        if (receivedData == null) {
+            Map<String, List<DataBox>> zoneData = pushDataZoneCache.getZoneData(datum, scopeEnum,
+                    clientCell, () -> ReceivedDataConverter.getZoneData(datum, zonePredicate));
+            receivedData = ReceivedDataConverter
+                    .getReceivedDataMulti(datum, scopeEnum, subscriberRegisterIdList,
+                            clientCell, zoneData);
+        }
 
         //trigger push to client node
         Map<ReceivedData, URL> parameter = new HashMap<>();
@@ -263,6 +287,38 @@ public class DataChangeFetchTask extends AbstractSessionTask {
         taskListenerManager.sendTaskEvent(taskEvent);
     }
 
+    /**
+     * delta push only when all subscribers support it and have received the same base version,
+     * a subscriber with push in flight has no received version and gets a full push
+     */
+    private ReceivedData getReceivedDataDelta(Datum datum, Collection<Subscriber> subscribers,
+                                              ScopeEnum scopeEnum, String clientCell,
+                                              Predicate<String> zonePredicate) {
+        if (!sessionServerConfig.isEnablePushDelta()) {
+            return null;
+        }
+        String dataCenter = dataChangeRequest.getDataCenter();
+        Long baseVersion = null;
+        List<String> subscriberRegisterIdList = new ArrayList<>(subscribers.size());
+        for (Subscriber subscriber : subscribers) {
+            Long receivedVersion = subscriber.getReceivedVersion(dataCenter);
+            if (!subscriber.isSupportDeltaPush() || receivedVersion == null
+                || (baseVersion != null && !baseVersion.equals(receivedVersion))) {
+                return null;
+            }
+            baseVersion = receivedVersion;
+            subscriberRegisterIdList.add(subscriber.getRegisterId());
+        }
+
+        Datum baseDatum = pushDatumCache.getBaseDatum(dataCenter, datum.getDataInfoId(),
+            baseVersion);
+        if (baseDatum == null) {
+            return null;
+        }
+        return ReceivedDataConverter.getReceivedDataDelta(baseDatum, datum, scopeEnum,
+            subscriberRegisterIdList, clientCell, zonePredicate);
+    }
+
     private Map<InetSocketAddress, Map<String, Subscriber>> getCache(ScopeEnum scopeEnum) {
         return sessionInterests.querySubscriberIndex(dataChangeRequest.getDataInfoId(), scopeEnum);
     }
@@ -24,11 +24,13 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import com.alipay.sofa.registry.common.model.PushDataRetryRequest;
+import com.alipay.sofa.registry.common.model.sessionserver.DataChangeRequest;
 import com.alipay.sofa.registry.common.model.store.DataInfo;
 import com.alipay.sofa.registry.common.model.store.Subscriber;
 import com.alipay.sofa.registry.common.model.store.URL;
 import com.alipay.sofa.registry.core.model.DataBox;
 import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.core.model.Result;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.remoting.CallbackHandler;
@@ -43,6 +45,8 @@ import com.alipay.sofa.registry.server.session.strategy.ReceivedDataMultiPushTas
 import com.alipay.sofa.registry.task.TaskClosure;
 import com.alipay.sofa.registry.task.batcher.TaskProcessor.ProcessingResult;
 import com.alipay.sofa.registry.task.listener.TaskEvent;
+import com.alipay.sofa.registry.task.listener.TaskEvent.TaskType;
+import com.alipay.sofa.registry.task.listener.TaskListenerManager;
 import com.alipay.sofa.registry.timer.AsyncHashedWheelTimer;
 
 /**
@@ -66,6 +70,7 @@ public class ReceivedDataMultiPushTask extends AbstractSessionTask {
     private ReceivedDataMultiPushTaskStrategy receivedDataMultiPushTaskStrategy;
     private AsyncHashedWheelTimer             asyncHashedWheelTimer;
     private Interests                         sessionInterests;
+    private TaskListenerManager               taskListenerManager;
 
     private String                            dataPush;
 
@@ -75,7 +80,8 @@ public class ReceivedDataMultiPushTask extends AbstractSessionTask {
                                      Exchange boltExchange,
                                      ReceivedDataMultiPushTaskStrategy receivedDataMultiPushTaskStrategy,
                                      AsyncHashedWheelTimer asyncHashedWheelTimer,
-                                     Interests sessionInterests) {
+                                     Interests sessionInterests,
+                                     TaskListenerManager taskListenerManager) {
         this.sessionServerConfig = sessionServerConfig;
         this.clientNodeService = clientNodeService;
         this.executorManager = executorManager;
@@ -83,6 +89,7 @@ public class ReceivedDataMultiPushTask extends AbstractSessionTask {
         this.receivedDataMultiPushTaskStrategy = receivedDataMultiPushTaskStrategy;
         this.asyncHashedWheelTimer = asyncHashedWheelTimer;
         this.sessionInterests = sessionInterests;
+        this.taskListenerManager = taskListenerManager;
     }
 
     @Override
@@ -106,14 +113,32 @@ public class ReceivedDataMultiPushTask extends AbstractSessionTask {
                 @Override
                 public void onCallback(Channel channel, Object message) {
 
+                    if (receivedData.isDelta() && message instanceof Result
+                        && !((Result) message).isSuccess()) {
+                        // client can not apply the delta, reset version and push full data now
+                        subscribers.forEach(subscriber -> subscriber.resetPushVersion(receivedData.getSegment()));
+                        LOGGER
+                            .warn(
+                                "Push ReceivedData delta rejected! dataId:{},group:{},Instance:{},version:{},baseVersion:{},url: {}",
+                                receivedData.getDataId(), receivedData.getGroup(),
+                                receivedData.getInstanceId(), receivedData.getVersion(),
+                                receivedData.getBaseVersion(), url);
+                        if (taskClosure != null) {
+                            confirmCallBack(false);
+                        }
+                        fireFullPush();
+                        return;
+                    }
+
                     if (taskClosure != null) {
                         confirmCallBack(true);
                     }
                     LOGGER
                         .info(
-                            "Push ReceivedData success! dataId:{},group:{},Instance:{},version:{},url: {},dataPush:{}",
+                            "Push ReceivedData success! dataId:{},group:{},Instance:{},version:{},baseVersion:{},url: {},dataPush:{}",
                             receivedData.getDataId(), receivedData.getGroup(),
-                            receivedData.getInstanceId(), receivedData.getVersion(), url, dataPush);
+                            receivedData.getInstanceId(), receivedData.getVersion(),
+                            receivedData.getBaseVersion(), url, dataPush);
                 }
 
                 @Override
@@ -157,6 +182,17 @@ public class ReceivedDataMultiPushTask extends AbstractSessionTask {
         }
     }
 
+    private void fireFullPush() {
+        String dataInfoId = DataInfo.toDataInfoId(receivedData.getDataId(),
+            receivedData.getInstanceId(), receivedData.getGroup());
+        DataChangeRequest dataChangeRequest = new DataChangeRequest(dataInfoId,
+            receivedData.getSegment(), receivedData.getVersion());
+        TaskEvent taskEvent = new TaskEvent(dataChangeRequest, TaskType.DATA_CHANGE_FETCH_TASK);
+        LOGGER.info("send {} for full push after delta rejected, dataInfoId:{},dataCenter:{}",
+            taskEvent.getTaskType(), dataInfoId, receivedData.getSegment());
+        taskListenerManager.sendTaskEvent(taskEvent);
+    }
+
     private void retrySendReceiveData(PushDataRetryRequest pushDataRetryRequest) {
         ///taskClosure null means send task need not confirm
         if (taskClosure == null) {
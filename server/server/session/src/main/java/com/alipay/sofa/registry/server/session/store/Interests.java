@@ -23,6 +23,7 @@ import java.util.Map;
 
 import com.alipay.sofa.registry.common.model.store.Subscriber;
 import com.alipay.sofa.registry.core.model.ScopeEnum;
+import com.alipay.sofa.registry.util.DigestTree;
 
 /**
  *
@@ -102,4 +103,11 @@ public interface Interests extends DataManager<Subscriber, String, String> {
     Map<String/*connectId*/, Map<String/*registerId*/, Subscriber>> getConnectSubscribers();
 
     List<String> getDataCenters();
+
+    /**
+     * get hash trees mirroring the interest dataInfo versions
+     *
+     * @return dataCenter -> digest tree
+     */
+    Map<String/*dataCenter*/, DigestTree> getInterestDigestTrees();
 }
\ No newline at end of file
@@ -17,18 +17,18 @@
 package com.alipay.sofa.registry.server.session.store;
 
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReadWriteLock;
 
 import com.alipay.sofa.registry.common.model.constants.ValueConstants;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.WordCache;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
+import com.google.common.util.concurrent.Striped;
 
 /**
  * @author shangyu.wh
@@ -36,24 +36,35 @@ import com.alipay.sofa.registry.log.LoggerFactory;
  */
 public class SessionDataStore implements DataStore {
 
-    private static final Logger                                               LOGGER        = LoggerFactory
-                                                                                                .getLogger(SessionDataStore.class);
-    private final ReentrantReadWriteLock                                      readWriteLock = new ReentrantReadWriteLock();
-    private final Lock                                                        write         = readWriteLock
-                                                                                                .writeLock();
+    private static final int                                                  LOCK_STRIPES = 256;
+
+    private static final Logger                                               LOGGER       = LoggerFactory
+                                                                                               .getLogger(SessionDataStore.class);
+    /**
+     * locks striped by dataInfoId, operations on different dataInfoIds do not block each other
+     */
+    private final Striped<ReadWriteLock>                                      locks        = Striped
+                                                                                               .readWriteLock(LOCK_STRIPES);
+
+    /**
+     * locks striped by connectId, guard the connect index only and never held with other locks
+     */
+    private final Striped<ReadWriteLock>                                      connectLocks = Striped
+                                                                                               .readWriteLock(LOCK_STRIPES);
 
     /**
      * publisher store
      */
-    private Map<String/*dataInfoId*/, Map<String/*registerId*/, Publisher>> registry      = new ConcurrentHashMap<>();
+    private Map<String/*dataInfoId*/, Map<String/*registerId*/, Publisher>> registry     = new ConcurrentHashMap<>();
 
     /*** index */
-    private Map<String/*connectId*/, Map<String/*registerId*/, Publisher>>  connectIndex  = new ConcurrentHashMap<>();
+    private Map<String/*connectId*/, Map<String/*registerId*/, Publisher>>  connectIndex = new ConcurrentHashMap<>();
 
     @Override
     public void add(Publisher publisher) {
         Publisher.internPublisher(publisher);
 
+        Lock write = locks.get(publisher.getDataInfoId()).writeLock();
         write.lock();
         try {
             Map<String, Publisher> publishers = registry.get(publisher.getDataInfoId());
@@ -115,6 +126,7 @@ public class SessionDataStore implements DataStore {
     @Override
     public boolean deleteById(String registerId, String dataInfoId) {
 
+        Lock write = locks.get(dataInfoId).writeLock();
         write.lock();
         try {
             Map<String, Publisher> publishers = registry.get(dataInfoId);
@@ -144,32 +156,38 @@ public class SessionDataStore implements DataStore {
 
     @Override
     public Map<String, Publisher> queryByConnectId(String connectId) {
-        return connectIndex.get(connectId);
+        Lock read = connectLocks.get(connectId).readLock();
+        read.lock();
+        try {
+            return connectIndex.get(connectId);
+        } finally {
+            read.unlock();
+        }
     }
 
     @Override
     public boolean deleteByConnectId(String connectId) {
-        write.lock();
         try {
-            for (Map<String, Publisher> map : registry.values()) {
-                for (Iterator it = map.values().iterator(); it.hasNext();) {
-                    Publisher publisher = (Publisher) it.next();
-                    if (publisher != null
-                        && connectId.equals(WordCache.getInstance().getWordCache(
-                            publisher.getSourceAddress().getAddressString()
-                                    + ValueConstants.CONNECT_ID_SPLIT
-                                    + publisher.getTargetAddress().getAddressString()))) {
-                        it.remove();
+            Map<String/*registerId*/, Publisher> publisherMap = removeConnectIndex(connectId);
+            if (publisherMap == null) {
+                return true;
+            }
+            for (Publisher publisher : publisherMap.values()) {
+                Lock write = locks.get(publisher.getDataInfoId()).writeLock();
+                write.lock();
+                try {
+                    Map<String, Publisher> publishers = registry.get(publisher.getDataInfoId());
+                    if (publishers != null) {
+                        publishers.remove(publisher.getRegisterId(), publisher);
                     }
+                } finally {
+                    write.unlock();
                 }
             }
-            connectIndex.remove(connectId);
             return true;
         } catch (Exception e) {
             LOGGER.error("Delete publisher by connectId {} error!", connectId, e);
             return false;
-        } finally {
-            write.unlock();
         }
     }
 
@@ -217,27 +235,49 @@ public class SessionDataStore implements DataStore {
             publisher.getSourceAddress().getAddressString() + ValueConstants.CONNECT_ID_SPLIT
                     + publisher.getTargetAddress().getAddressString());
 
-        Map<String/*registerId*/, Publisher> publisherMap = connectIndex.get(connectId);
-        if (publisherMap == null) {
-            Map<String/*registerId*/, Publisher> newPublisherMap = new ConcurrentHashMap<>();
-            publisherMap = connectIndex.putIfAbsent(connectId, newPublisherMap);
+        Lock write = connectLocks.get(connectId).writeLock();
+        write.lock();
+        try {
+            Map<String/*registerId*/, Publisher> publisherMap = connectIndex.get(connectId);
             if (publisherMap == null) {
-                publisherMap = newPublisherMap;
+                Map<String/*registerId*/, Publisher> newPublisherMap = new ConcurrentHashMap<>();
+                publisherMap = connectIndex.putIfAbsent(connectId, newPublisherMap);
+                if (publisherMap == null) {
+                    publisherMap = newPublisherMap;
+                }
             }
-        }
 
-        publisherMap.put(publisher.getRegisterId(), publisher);
+            publisherMap.put(publisher.getRegisterId(), publisher);
+        } finally {
+            write.unlock();
+        }
     }
 
     private void removeFromConnectIndex(Publisher publisher) {
         String connectId = WordCache.getInstance().getWordCache(
             publisher.getSourceAddress().getAddressString() + ValueConstants.CONNECT_ID_SPLIT
                     + publisher.getTargetAddress().getAddressString());
-        Map<String/*registerId*/, Publisher> publisherMap = connectIndex.get(connectId);
-        if (publisherMap != null) {
-            publisherMap.remove(publisher.getRegisterId());
-        } else {
-            LOGGER.warn("ConnectId {} not existed in Index to remove!", connectId);
+        Lock write = connectLocks.get(connectId).writeLock();
+        write.lock();
+        try {
+            Map<String/*registerId*/, Publisher> publisherMap = connectIndex.get(connectId);
+            if (publisherMap != null) {
+                publisherMap.remove(publisher.getRegisterId());
+            } else {
+                LOGGER.warn("ConnectId {} not existed in Index to remove!", connectId);
+            }
+        } finally {
+            write.unlock();
+        }
+    }
+
+    private Map<String/*registerId*/, Publisher> removeConnectIndex(String connectId) {
+        Lock write = connectLocks.get(connectId).writeLock();
+        write.lock();
+        try {
+            return connectIndex.remove(connectId);
+        } finally {
+            write.unlock();
         }
     }
 
@@ -18,13 +18,12 @@ package com.alipay.sofa.registry.server.session.store;
 
 import java.net.InetSocketAddress;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.stream.Collectors;
 
 import com.alipay.sofa.registry.common.model.constants.ValueConstants;
@@ -37,8 +36,9 @@ import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
 import com.alipay.sofa.registry.server.session.cache.SubscriberResult;
-import com.alipay.sofa.registry.util.VersionsMapUtils;
+import com.alipay.sofa.registry.util.DigestTree;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Striped;
 
 /**
  * @author shangyu.wh
@@ -46,14 +46,22 @@ import com.google.common.collect.Lists;
  */
 public class SessionInterests implements Interests, ReSubscribers {
 
+    private static final int                                                                                LOCK_STRIPES      = 256;
+
     private static final Logger                                                                             LOGGER            = LoggerFactory
                                                                                                                                   .getLogger(SessionInterests.class);
 
-    private final ReentrantReadWriteLock                                                                    readWriteLock     = new ReentrantReadWriteLock();
-    private final Lock                                                                                      read              = readWriteLock
-                                                                                                                                  .readLock();
-    private final Lock                                                                                      write             = readWriteLock
-                                                                                                                                  .writeLock();
+    /**
+     * locks striped by dataInfoId, operations on different dataInfoIds do not block each other
+     */
+    private final Striped<ReadWriteLock>                                                                    locks             = Striped
+                                                                                                                                  .readWriteLock(LOCK_STRIPES);
+
+    /**
+     * locks striped by connectId, guard the connect index only and never held with other locks
+     */
+    private final Striped<ReadWriteLock>                                                                    connectLocks      = Striped
+                                                                                                                                  .readWriteLock(LOCK_STRIPES);
 
     @Autowired
     private SessionServerConfig                                                                             sessionServerConfig;
@@ -74,10 +82,16 @@ public class SessionInterests implements Interests, ReSubscribers {
 
     private Map<String/*dataInfoId*/, Map<String/*registerId*/, Subscriber>>                              stopPushInterests = new ConcurrentHashMap<>();
 
+    /**
+     * hash trees mirroring interestVersions, see {@link DigestTree}
+     */
+    private Map<String/*dataCenter*/, DigestTree>                                                          interestDigests   = new ConcurrentHashMap<>();
+
     @Override
     public void add(Subscriber subscriber) {
         Subscriber.internSubscriber(subscriber);
 
+        Lock write = locks.get(subscriber.getDataInfoId()).writeLock();
         write.lock();
         try {
             Map<String, Subscriber> subscribers = interests.get(subscriber.getDataInfoId());
@@ -116,6 +130,7 @@ public class SessionInterests implements Interests, ReSubscribers {
     @Override
     public boolean deleteById(String registerId, String dataInfoId) {
 
+        Lock write = locks.get(dataInfoId).writeLock();
         write.lock();
         try {
 
@@ -151,33 +166,33 @@ public class SessionInterests implements Interests, ReSubscribers {
 
     @Override
     public boolean deleteByConnectId(String connectId) {
-        write.lock();
         try {
-            for (Map<String, Subscriber> map : interests.values()) {
-                for (Iterator it = map.values().iterator(); it.hasNext();) {
-                    Subscriber subscriber = (Subscriber) it.next();
-                    if (connectId.equals(WordCache.getInstance().getWordCache(
-                        subscriber.getSourceAddress().getAddressString()
-                                + ValueConstants.CONNECT_ID_SPLIT
-                                + subscriber.getTargetAddress().getAddressString()))) {
-
-                        it.remove();
-                        if (sessionServerConfig.isStopPushSwitch()) {
-                            deleteReSubscriber(subscriber);
-                        }
-
-                        invalidateIndex(subscriber);
+            //force remove connectId, subscribers registered on it later will build a new index
+            Map<String/*registerId*/, Subscriber> subscriberMap = removeConnectIndex(connectId);
+            if (subscriberMap == null) {
+                return true;
+            }
+            for (Subscriber subscriber : subscriberMap.values()) {
+                Lock write = locks.get(subscriber.getDataInfoId()).writeLock();
+                write.lock();
+                try {
+                    Map<String, Subscriber> subscribers = interests.get(subscriber.getDataInfoId());
+                    if (subscribers == null
+                        || !subscribers.remove(subscriber.getRegisterId(), subscriber)) {
+                        continue;
+                    }
+                    if (sessionServerConfig.isStopPushSwitch()) {
+                        deleteReSubscriber(subscriber);
                     }
+                    invalidateResultIndex(subscriber);
+                } finally {
+                    write.unlock();
                 }
             }
-            //force remove connectId
-            invalidateConnectIndex(connectId);
             return true;
         } catch (Exception e) {
             LOGGER.error("Delete subscriber by connectId {} error!", connectId, e);
             return false;
-        } finally {
-            write.unlock();
         }
     }
 
@@ -192,7 +207,13 @@ public class SessionInterests implements Interests, ReSubscribers {
 
     @Override
     public Map<String, Subscriber> queryByConnectId(String connectId) {
-        return connectIndex.get(connectId);
+        Lock read = connectLocks.get(connectId).readLock();
+        read.lock();
+        try {
+            return connectIndex.get(connectId);
+        } finally {
+            read.unlock();
+        }
     }
 
     public Subscriber queryById(String registerId, String dataInfoId) {
@@ -242,9 +263,10 @@ public class SessionInterests implements Interests, ReSubscribers {
 
     @Override
     public boolean checkAndUpdateInterestVersions(String dataCenter, String dataInfoId, Long version) {
+        dataInfoId = WordCache.getInstance().getWordCache(dataInfoId);
+        Lock read = locks.get(dataInfoId).readLock();
         read.lock();
         try {
-            dataInfoId = WordCache.getInstance().getWordCache(dataInfoId);
 
             Map<String, Subscriber> subscribers = interests.get(dataInfoId);
 
@@ -264,11 +286,23 @@ public class SessionInterests implements Interests, ReSubscribers {
                     dataInfoVersions = newDataInfoVersions;
                 }
             }
-            //set zero
-            if (version.longValue() == 0l) {
-                return dataInfoVersions.put(dataInfoId, version) != null;
-            }
-            return VersionsMapUtils.checkAndUpdateVersions(dataInfoVersions, dataInfoId, version);
+            DigestTree digestTree = interestDigests.computeIfAbsent(dataCenter,
+                k -> new DigestTree());
+            boolean[] updated = { false };
+            dataInfoVersions.compute(dataInfoId, (k, oldVersion) -> {
+                //set zero
+                if (version.longValue() == 0l) {
+                    updated[0] = oldVersion != null;
+                } else if (oldVersion == null || version > oldVersion) {
+                    updated[0] = true;
+                } else {
+                    return oldVersion;
+                }
+                // mirror the change while holding the key, so the tree never misses one
+                digestTree.update(k, oldVersion, version);
+                return version;
+            });
+            return updated[0];
         } finally {
             read.unlock();
         }
@@ -278,6 +312,11 @@ public class SessionInterests implements Interests, ReSubscribers {
         return checkAndUpdateInterestVersions(dataCenter, dataInfoId, 0l);
     }
 
+    @Override
+    public Map<String, DigestTree> getInterestDigestTrees() {
+        return interestDigests;
+    }
+
     @Override
     public Collection<String> getInterestDataInfoIds() {
         return interests.keySet();
@@ -304,16 +343,22 @@ public class SessionInterests implements Interests, ReSubscribers {
                            + subscriber.getTargetAddress().getAddressString();
         connectId = WordCache.getInstance().getWordCache(connectId);
 
-        Map<String/*registerId*/, Subscriber> subscriberMap = connectIndex.get(connectId);
-        if (subscriberMap == null) {
-            Map<String/*registerId*/, Subscriber> newSubscriberMap = new ConcurrentHashMap<>();
-            subscriberMap = connectIndex.putIfAbsent(connectId, newSubscriberMap);
+        Lock write = connectLocks.get(connectId).writeLock();
+        write.lock();
+        try {
+            Map<String/*registerId*/, Subscriber> subscriberMap = connectIndex.get(connectId);
             if (subscriberMap == null) {
-                subscriberMap = newSubscriberMap;
+                Map<String/*registerId*/, Subscriber> newSubscriberMap = new ConcurrentHashMap<>();
+                subscriberMap = connectIndex.putIfAbsent(connectId, newSubscriberMap);
+                if (subscriberMap == null) {
+                    subscriberMap = newSubscriberMap;
+                }
             }
-        }
 
-        subscriberMap.put(subscriber.getRegisterId(), subscriber);
+            subscriberMap.put(subscriber.getRegisterId(), subscriber);
+        } finally {
+            write.unlock();
+        }
     }
 
     private void addResultIndex(Subscriber subscriber) {
@@ -348,11 +393,27 @@ public class SessionInterests implements Interests, ReSubscribers {
         String connectId = subscriber.getSourceAddress().getAddressString()
                            + ValueConstants.CONNECT_ID_SPLIT
                            + subscriber.getTargetAddress().getAddressString();
-        Map<String/*registerId*/, Subscriber> subscriberMap = connectIndex.get(connectId);
-        if (subscriberMap != null) {
-            subscriberMap.remove(subscriber.getRegisterId());
-        } else {
-            LOGGER.warn("ConnectId {} not existed in Index to remove!", connectId);
+        Lock write = connectLocks.get(connectId).writeLock();
+        write.lock();
+        try {
+            Map<String/*registerId*/, Subscriber> subscriberMap = connectIndex.get(connectId);
+            if (subscriberMap != null) {
+                subscriberMap.remove(subscriber.getRegisterId());
+            } else {
+                LOGGER.warn("ConnectId {} not existed in Index to remove!", connectId);
+            }
+        } finally {
+            write.unlock();
+        }
+    }
+
+    private Map<String/*registerId*/, Subscriber> removeConnectIndex(String connectId) {
+        Lock write = connectLocks.get(connectId).writeLock();
+        write.lock();
+        try {
+            return connectIndex.remove(connectId);
+        } finally {
+            write.unlock();
         }
     }
 
@@ -375,10 +436,6 @@ public class SessionInterests implements Interests, ReSubscribers {
         }
     }
 
-    private void invalidateConnectIndex(String connectId) {
-        connectIndex.remove(connectId);
-    }
-
     private void invalidateResultIndex(Subscriber subscriber) {
 
         SubscriberResult subscriberResult = new SubscriberResult(subscriber.getDataInfoId(),
@@ -398,6 +455,7 @@ public class SessionInterests implements Interests, ReSubscribers {
     @Override
     public Map<InetSocketAddress, Map<String, Subscriber>> querySubscriberIndex(String dataInfoId,
                                                                                 ScopeEnum scope) {
+        Lock read = locks.get(dataInfoId).readLock();
         read.lock();
         try {
             SubscriberResult subscriberResult = new SubscriberResult(dataInfoId, scope);
@@ -17,13 +17,11 @@
 package com.alipay.sofa.registry.server.session.store;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReadWriteLock;
 
 import com.alipay.sofa.registry.common.model.constants.ValueConstants;
 import com.alipay.sofa.registry.common.model.store.Watcher;
@@ -31,6 +29,7 @@ import com.alipay.sofa.registry.common.model.store.WordCache;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.util.VersionsMapUtils;
+import com.google.common.util.concurrent.Striped;
 
 /**
  * @author shangyu.wh
@@ -38,14 +37,22 @@ import com.alipay.sofa.registry.util.VersionsMapUtils;
  */
 public class SessionWatchers implements Watchers {
 
+    private static final int                                                              LOCK_STRIPES    = 256;
+
     private static final Logger                                                           LOGGER          = LoggerFactory
                                                                                                               .getLogger(SessionWatchers.class);
 
-    private final ReentrantReadWriteLock                                                  readWriteLock   = new ReentrantReadWriteLock();
-    private final Lock                                                                    read            = readWriteLock
-                                                                                                              .readLock();
-    private final Lock                                                                    write           = readWriteLock
-                                                                                                              .writeLock();
+    /**
+     * locks striped by dataInfoId, operations on different dataInfoIds do not block each other
+     */
+    private final Striped<ReadWriteLock>                                                  locks           = Striped
+                                                                                                              .readWriteLock(LOCK_STRIPES);
+
+    /**
+     * locks striped by connectId, guard the connect index only and never held with other locks
+     */
+    private final Striped<ReadWriteLock>                                                  connectLocks    = Striped
+                                                                                                              .readWriteLock(LOCK_STRIPES);
 
     /**
      * store all register watchers
@@ -63,12 +70,13 @@ public class SessionWatchers implements Watchers {
     public void add(Watcher watcher) {
         Watcher.internWatcher(watcher);
 
+        Lock write = locks.get(watcher.getDataInfoId()).writeLock();
         write.lock();
         try {
             Map<String, Watcher> watcherMap = watchers.get(watcher.getDataInfoId());
 
             if (watcherMap == null) {
-                Map<String, Watcher> newMap = new HashMap<>();
+                Map<String, Watcher> newMap = new ConcurrentHashMap<>();
                 watcherMap = watchers.putIfAbsent(watcher.getDataInfoId(), newMap);
                 if (watcherMap == null) {
                     watcherMap = newMap;
@@ -94,33 +102,33 @@ public class SessionWatchers implements Watchers {
 
     @Override
     public boolean deleteByConnectId(String connectId) {
-        write.lock();
         try {
-            for (Map<String, Watcher> map : watchers.values()) {
-                for (Iterator it = map.values().iterator(); it.hasNext();) {
-                    Watcher watcher = (Watcher) it.next();
-                    if (watcher != null
-                        && connectId.equals(watcher.getSourceAddress().getAddressString()
-                                            + ValueConstants.CONNECT_ID_SPLIT
-                                            + watcher.getTargetAddress().getAddressString())) {
-                        it.remove();
-                        invalidateConnectIndex(watcher.getSourceAddress().getAddressString()
-                                               + ValueConstants.CONNECT_ID_SPLIT
-                                               + watcher.getTargetAddress().getAddressString());
+            Map<String/*registerId*/, Watcher> watcherMap = removeConnectIndex(connectId);
+            if (watcherMap == null) {
+                return true;
+            }
+            for (Watcher watcher : watcherMap.values()) {
+                Lock write = locks.get(watcher.getDataInfoId()).writeLock();
+                write.lock();
+                try {
+                    Map<String, Watcher> watchersById = watchers.get(watcher.getDataInfoId());
+                    if (watchersById != null) {
+                        watchersById.remove(watcher.getRegisterId(), watcher);
                     }
+                } finally {
+                    write.unlock();
                 }
             }
             return true;
         } catch (Exception e) {
             LOGGER.error("Delete watcher by connectId {} error!", connectId, e);
             return false;
-        } finally {
-            write.unlock();
         }
     }
 
     @Override
     public boolean checkWatcherVersions(String dataInfoId, Long version) {
+        Lock read = locks.get(dataInfoId).readLock();
         read.lock();
         try {
 
@@ -140,12 +148,12 @@ public class SessionWatchers implements Watchers {
 
     @Override
     public Collection<Watcher> getWatchers(String dataInfoId) {
+        if (dataInfoId == null) {
+            throw new IllegalArgumentException("Input dataInfoId can not be null!");
+        }
+        Lock read = locks.get(dataInfoId).readLock();
         read.lock();
         try {
-
-            if (dataInfoId == null) {
-                throw new IllegalArgumentException("Input dataInfoId can not be null!");
-            }
             Map<String, Watcher> watcherMap = watchers.get(dataInfoId);
             if (watcherMap == null) {
                 LOGGER.info("There is not registered Watcher for : {}", dataInfoId);
@@ -159,6 +167,7 @@ public class SessionWatchers implements Watchers {
 
     @Override
     public boolean deleteById(String registerId, String dataInfoId) {
+        Lock write = locks.get(dataInfoId).writeLock();
         write.lock();
         try {
 
@@ -188,6 +197,7 @@ public class SessionWatchers implements Watchers {
 
     @Override
     public Map<String, Watcher> queryByConnectId(String connectId) {
+        Lock read = connectLocks.get(connectId).readLock();
         read.lock();
         try {
             return connectIndex.get(connectId);
@@ -211,32 +221,50 @@ public class SessionWatchers implements Watchers {
                            + watcher.getTargetAddress().getAddressString();
         connectId = WordCache.getInstance().getWordCache(connectId);
 
-        Map<String/*registerId*/, Watcher> subscriberMap = connectIndex.get(connectId);
-        if (subscriberMap == null) {
-            Map<String/*registerId*/, Watcher> newSubscriberMap = new ConcurrentHashMap<>();
-            subscriberMap = connectIndex.putIfAbsent(connectId, newSubscriberMap);
+        Lock write = connectLocks.get(connectId).writeLock();
+        write.lock();
+        try {
+            Map<String/*registerId*/, Watcher> subscriberMap = connectIndex.get(connectId);
             if (subscriberMap == null) {
-                subscriberMap = newSubscriberMap;
+                Map<String/*registerId*/, Watcher> newSubscriberMap = new ConcurrentHashMap<>();
+                subscriberMap = connectIndex.putIfAbsent(connectId, newSubscriberMap);
+                if (subscriberMap == null) {
+                    subscriberMap = newSubscriberMap;
+                }
             }
-        }
 
-        subscriberMap.put(watcher.getRegisterId(), watcher);
+            subscriberMap.put(watcher.getRegisterId(), watcher);
+        } finally {
+            write.unlock();
+        }
     }
 
     private void removeConnectIndex(Watcher watcher) {
         String connectId = watcher.getSourceAddress().getAddressString()
                            + ValueConstants.CONNECT_ID_SPLIT
                            + watcher.getTargetAddress().getAddressString();
-        Map<String/*registerId*/, Watcher> subscriberMap = connectIndex.get(connectId);
-        if (subscriberMap != null) {
-            subscriberMap.remove(watcher.getRegisterId());
-        } else {
-            LOGGER.warn("ConnectId {} not existed in Index to invalidate!", connectId);
+        Lock write = connectLocks.get(connectId).writeLock();
+        write.lock();
+        try {
+            Map<String/*registerId*/, Watcher> subscriberMap = connectIndex.get(connectId);
+            if (subscriberMap != null) {
+                subscriberMap.remove(watcher.getRegisterId());
+            } else {
+                LOGGER.warn("ConnectId {} not existed in Index to invalidate!", connectId);
+            }
+        } finally {
+            write.unlock();
         }
     }
 
-    private void invalidateConnectIndex(String connectId) {
-        connectIndex.remove(connectId);
+    private Map<String/*registerId*/, Watcher> removeConnectIndex(String connectId) {
+        Lock write = connectLocks.get(connectId).writeLock();
+        write.lock();
+        try {
+            return connectIndex.remove(connectId);
+        } finally {
+            write.unlock();
+        }
     }
 
     public Map<String /*connectId*/, Map<String /*registerId*/, Watcher>> getConnectWatchers() {
@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.strategy.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
+import com.alipay.sofa.registry.server.session.listener.PushTaskSender;
+import com.alipay.sofa.registry.server.session.strategy.TaskMergeProcessorStrategy;
+import com.alipay.sofa.registry.task.Task;
+import com.alipay.sofa.registry.task.TaskClosure;
+import com.alipay.sofa.registry.task.batcher.TaskProcessor.ProcessingResult;
+import com.alipay.sofa.registry.task.listener.TaskEvent;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.netty.util.HashedWheelTimer;
+
+/**
+ * Coalesce the pushes of the same client address, dataInfoId, dataCenter, scope and subscribers.
+ *
+ * The first push of a quiet key is sent at once and opens a window, the pushes arriving within
+ * the window are held and only the one with the newest version is sent when the window closes.
+ * The window doubles while the key keeps being overridden, up to pushTaskMergeMaxWindowMillis,
+ * and the key is forgotten after a window without any push.
+ *
+ * The closures of overridden pushes are run with the result of the push which replaced them, so
+ * a PushTaskClosure still confirms all of its tasks.
+ *
+ * Delta pushes are never coalesced, dropping one would leave the client unable to apply the next.
+ *
+ * @author agent
+ * @version $Id: CoalescingPushTaskMergeProcessor.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class CoalescingPushTaskMergeProcessor<T extends PushTaskSender>
+                                                                        implements
+                                                                        TaskMergeProcessorStrategy<T> {
+
+    private static final Logger          LOGGER           = LoggerFactory
+                                                              .getLogger(CoalescingPushTaskMergeProcessor.class);
+
+    private static final int             TIMER_TICK_MS    = 10;
+
+    private final SessionServerConfig    sessionServerConfig;
+
+    private final Map<String, MergeSlot> slots            = new ConcurrentHashMap<>();
+
+    private final AtomicInteger          putTaskSize      = new AtomicInteger();
+
+    private final AtomicInteger          overrideTaskSize = new AtomicInteger();
+
+    private final AtomicInteger          sendTaskSize     = new AtomicInteger();
+
+    private final AtomicInteger          pendingTaskSize  = new AtomicInteger();
+
+    private HashedWheelTimer             mergeTimer;
+
+    private T                            pushTaskSender;
+
+    public CoalescingPushTaskMergeProcessor(SessionServerConfig sessionServerConfig) {
+        this.sessionServerConfig = sessionServerConfig;
+    }
+
+    @Override
+    public void init(T pushTaskSender) {
+        this.pushTaskSender = pushTaskSender;
+        this.mergeTimer = new HashedWheelTimer(new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("Registry-PushTaskMerge-WheelTimer").build(), TIMER_TICK_MS,
+            TimeUnit.MILLISECONDS, 512);
+    }
+
+    @Override
+    public void handleEvent(TaskEvent event) {
+        putTaskSize.incrementAndGet();
+
+        Entry<ReceivedData, URL> entry = getPushEntry(event);
+        if (entry == null) {
+            send(event);
+            return;
+        }
+        String key = mergeKey(entry.getKey(), entry.getValue());
+        if (entry.getKey().isDelta()) {
+            sendDelta(key, event);
+            return;
+        }
+        long version = versionOf(entry.getKey());
+
+        boolean[] sendNow = new boolean[1];
+        slots.compute(key, (k, slot) -> {
+            if (slot == null) {
+                // quiet key, send at once and hold the following pushes for a window
+                sendNow[0] = true;
+                slot = new MergeSlot(sessionServerConfig.getPushTaskMergeWindowMillis());
+                schedule(k, slot.window);
+            } else {
+                slot.offer(event, version);
+            }
+            return slot;
+        });
+        if (sendNow[0]) {
+            send(event);
+        }
+    }
+
+    /**
+     * a delta only applies on top of the push before it, so it is neither merged nor held, the
+     * push still held for the key is sent first to keep the order
+     */
+    private void sendDelta(String key, TaskEvent event) {
+        TaskEvent[] held = new TaskEvent[1];
+        slots.computeIfPresent(key, (k, slot) -> {
+            if (slot.pending != null) {
+                held[0] = slot.pending;
+                slot.pending = null;
+                pendingTaskSize.decrementAndGet();
+            }
+            return slot;
+        });
+        if (held[0] != null) {
+            send(held[0]);
+        }
+        send(event);
+    }
+
+    private void onWindowClosed(String key) {
+        TaskEvent[] toSend = new TaskEvent[1];
+        slots.computeIfPresent(key, (k, slot) -> {
+            if (slot.pending == null) {
+                // nothing arrived in the window, forget the key
+                return null;
+            }
+            toSend[0] = slot.pending;
+            slot.pending = null;
+            pendingTaskSize.decrementAndGet();
+            slot.window = slot.overridden ? Math.min(slot.window * 2,
+                sessionServerConfig.getPushTaskMergeMaxWindowMillis()) : sessionServerConfig
+                .getPushTaskMergeWindowMillis();
+            slot.overridden = false;
+            schedule(k, slot.window);
+            return slot;
+        });
+        if (toSend[0] != null) {
+            send(toSend[0]);
+        }
+    }
+
+    private void schedule(String key, int windowMillis) {
+        mergeTimer.newTimeout(timeout -> {
+            try {
+                onWindowClosed(key);
+            } catch (Throwable e) {
+                LOGGER.error("Push task merge window close error! key={}", key, e);
+            }
+        }, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void send(TaskEvent event) {
+        sendTaskSize.incrementAndGet();
+        pushTaskSender.executePushAsync(event);
+    }
+
+    private static Entry<ReceivedData, URL> getPushEntry(TaskEvent event) {
+        Object obj = event.getEventObj();
+        if (obj instanceof Map && ((Map) obj).size() == 1) {
+            Entry entry = (Entry) ((Map) obj).entrySet().iterator().next();
+            if (entry.getKey() instanceof ReceivedData && entry.getValue() instanceof URL) {
+                return (Entry<ReceivedData, URL>) entry;
+            }
+        }
+        return null;
+    }
+
+    private static String mergeKey(ReceivedData receivedData, URL url) {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append(url.getAddressString()).append('#').append(receivedData.getDataId()).append('#')
+            .append(receivedData.getInstanceId()).append('#').append(receivedData.getGroup())
+            .append('#').append(receivedData.getSegment()).append('#')
+            .append(receivedData.getScope()).append('#')
+            .append(receivedData.getSubscriberRegistIds());
+        return sb.toString();
+    }
+
+    private static long versionOf(ReceivedData receivedData) {
+        return receivedData.getVersion() == null ? 0 : receivedData.getVersion();
+    }
+
+    /**
+     * the event replaced by a newer one completes with the result of that one
+     */
+    private static void supersede(TaskEvent loser, TaskEvent winner) {
+        TaskClosure loserClosure = loser.getTaskClosure();
+        if (loserClosure == null) {
+            return;
+        }
+        TaskClosure winnerClosure = winner.getTaskClosure();
+        MergedTaskClosure merged;
+        if (winnerClosure instanceof MergedTaskClosure) {
+            merged = (MergedTaskClosure) winnerClosure;
+        } else {
+            merged = new MergedTaskClosure(winnerClosure);
+            winner.setTaskClosure(merged);
+        }
+        if (loserClosure instanceof MergedTaskClosure) {
+            MergedTaskClosure loserMerged = (MergedTaskClosure) loserClosure;
+            if (loserMerged.own != null) {
+                merged.superseded.add(new SupersededTask(loser.getTaskId(), loserMerged.own));
+            }
+            merged.superseded.addAll(loserMerged.superseded);
+        } else {
+            merged.superseded.add(new SupersededTask(loser.getTaskId(), loserClosure));
+        }
+    }
+
+    @Override
+    public AtomicInteger getPutTaskSize() {
+        return putTaskSize;
+    }
+
+    @Override
+    public AtomicInteger getOverrideTaskSize() {
+        return overrideTaskSize;
+    }
+
+    @Override
+    public AtomicInteger getSendTaskSize() {
+        return sendTaskSize;
+    }
+
+    @Override
+    public Integer getPendingTaskSize() {
+        return pendingTaskSize.get();
+    }
+
+    private final class MergeSlot {
+        private TaskEvent pending;
+
+        private long      pendingVersion;
+
+        private int       window;
+
+        private boolean   overridden;
+
+        MergeSlot(int window) {
+            this.window = window;
+        }
+
+        /**
+         * keep the event with the newest version, called inside the lock of the key
+         */
+        void offer(TaskEvent event, long version) {
+            if (pending == null) {
+                pending = event;
+                pendingVersion = version;
+                pendingTaskSize.incrementAndGet();
+                return;
+            }
+            overrideTaskSize.incrementAndGet();
+            overridden = true;
+            if (version >= pendingVersion) {
+                supersede(pending, event);
+                pending = event;
+                pendingVersion = version;
+            } else {
+                supersede(event, pending);
+            }
+        }
+    }
+
+    private static final class MergedTaskClosure implements TaskClosure {
+        private final TaskClosure          own;
+
+        private final List<SupersededTask> superseded = new ArrayList<>();
+
+        MergedTaskClosure(TaskClosure own) {
+            this.own = own;
+        }
+
+        @Override
+        public void run(ProcessingResult processingResult, Task task) {
+            if (own != null) {
+                own.run(processingResult, task);
+            }
+            for (SupersededTask supersededTask : superseded) {
+                supersededTask.taskClosure.run(processingResult, supersededTask);
+            }
+        }
+    }
+
+    /**
+     * stands for an overridden push when its closure is run
+     */
+    private static final class SupersededTask implements Task {
+        private final String      taskId;
+
+        private final TaskClosure taskClosure;
+
+        SupersededTask(String taskId, TaskClosure taskClosure) {
+            this.taskId = taskId;
+            this.taskClosure = taskClosure;
+        }
+
+        @Override
+        public long getExpiryTime() {
+            return -1;
+        }
+
+        @Override
+        public String getTaskId() {
+            return taskId;
+        }
+
+        @Override
+        public void setTaskEvent(TaskEvent taskEvent) {
+        }
+
+        @Override
+        public void execute() {
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.core.model.DataBox;
+import com.alipay.sofa.registry.core.model.ScopeEnum;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
+
+/**
+ *
+ * @author agent
+ * @version $Id: PushDataZoneCacheTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class PushDataZoneCacheTest {
+
+    private PushDataZoneCache cache;
+
+    private AtomicInteger     loads;
+
+    @Before
+    public void before() {
+        cache = new PushDataZoneCache();
+        cache.setSessionServerConfig(new SessionServerConfigBean(null));
+        cache.init();
+        loads = new AtomicInteger();
+    }
+
+    private Map<String, List<DataBox>> get(Datum datum, ScopeEnum scope, String cell) {
+        return cache.getZoneData(datum, scope, cell, () -> {
+            loads.incrementAndGet();
+            return new HashMap<>();
+        });
+    }
+
+    private static Datum datum(long version) {
+        Datum datum = new Datum();
+        datum.setDataInfoId("testDataInfoId");
+        datum.setDataCenter("DefaultDataCenter");
+        datum.setVersion(version);
+        return datum;
+    }
+
+    @Test
+    public void testShareAndEvictOnVersion() {
+        Map<String, List<DataBox>> first = get(datum(1), ScopeEnum.zone, "zoneA");
+        Assert.assertSame(first, get(datum(1), ScopeEnum.zone, "zoneA"));
+        Assert.assertEquals(1, loads.get());
+
+        get(datum(1), ScopeEnum.global, "zoneA");
+        get(datum(1), ScopeEnum.zone, "zoneB");
+        Assert.assertEquals(3, loads.get());
+
+        // newer version replaces all entries of the old one
+        Map<String, List<DataBox>> second = get(datum(2), ScopeEnum.zone, "zoneA");
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(4, loads.get());
+        Assert.assertEquals(1, cache.size());
+
+        // outdated version is loaded but not cached
+        get(datum(1), ScopeEnum.zone, "zoneA");
+        get(datum(1), ScopeEnum.zone, "zoneA");
+        Assert.assertEquals(6, loads.get());
+        Assert.assertSame(second, get(datum(2), ScopeEnum.zone, "zoneA"));
+        Assert.assertEquals(2, cache.getHitCount());
+    }
+}
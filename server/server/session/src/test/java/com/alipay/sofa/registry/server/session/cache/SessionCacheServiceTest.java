@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.server.session.cache.Key.KeyType;
+
+/**
+ *
+ * @author agent
+ * @version $Id: SessionCacheServiceTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class SessionCacheServiceTest {
+
+    private final AtomicLong        remoteVersion = new AtomicLong(1);
+
+    private final AtomicInteger     loads         = new AtomicInteger();
+
+    private volatile CountDownLatch loadLatch;
+
+    private SessionCacheService     cacheService;
+
+    @Before
+    public void before() {
+        cacheService = new SessionCacheService();
+        cacheService.setCacheGenerators(Collections.singletonMap(DatumKey.class.getName(),
+            key -> {
+                loads.incrementAndGet();
+                if (loadLatch != null) {
+                    try {
+                        loadLatch.await(3, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                DatumKey datumKey = (DatumKey) key.getEntityType();
+                Datum datum = new Datum(datumKey.getDataInfoId(), datumKey.getDataCenter());
+                datum.setVersion(remoteVersion.get());
+                return new Value<>(datum);
+            }));
+    }
+
+    private static Key key(String dataInfoId) {
+        return new Key(KeyType.OBJ, DatumKey.class.getName(), new DatumKey(dataInfoId,
+            "DefaultDataCenter"));
+    }
+
+    private long version(Key key) throws CacheAccessException {
+        return ((Datum) cacheService.getValue(key).getPayload()).getVersion();
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        loadLatch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> version(key("dataInfoId"))));
+            }
+            Thread.sleep(200);
+            loadLatch.countDown();
+            for (Future<Long> future : futures) {
+                Assert.assertEquals(1L, future.get().longValue());
+            }
+            Assert.assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvalidateByVersion() throws Exception {
+        Key key = key("dataInfoId");
+        Assert.assertEquals(1L, version(key));
+
+        // the change is already in cache
+        cacheService.invalidate(key, 1L);
+        Assert.assertEquals(1L, version(key));
+        Assert.assertEquals(1, loads.get());
+
+        remoteVersion.set(2);
+        cacheService.invalidate(key, 2L);
+        Assert.assertEquals(2L, version(key));
+        Assert.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testStaleLoad() throws Exception {
+        Key key = key("dataInfoId");
+        Assert.assertEquals(1L, version(key));
+
+        // the data server has not caught up, the stale value is reloaded once on next get
+        cacheService.invalidate(key, 3L);
+        Assert.assertEquals(1L, version(key));
+        Assert.assertEquals(3, loads.get());
+
+        remoteVersion.set(3);
+        cacheService.invalidate(key, 3L);
+        Assert.assertEquals(3L, version(key));
+        Assert.assertEquals(3L, version(key));
+        Assert.assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testMaxWeight() throws Exception {
+        cacheService = new SessionCacheService(64 * 1024, 31000, 1);
+        cacheService.setCacheGenerators(Collections.singletonMap(DatumKey.class.getName(),
+            key -> {
+                DatumKey datumKey = (DatumKey) key.getEntityType();
+                return new Value<>(new Datum(datumKey.getDataInfoId(), datumKey.getDataCenter()));
+            }));
+        for (int i = 0; i < 10000; i++) {
+            cacheService.getValue(key("dataInfoId" + i));
+        }
+        int present = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (cacheService.getValueIfPresent(key("dataInfoId" + i)) != null) {
+                present++;
+            }
+        }
+        Assert.assertTrue(String.valueOf(present), present > 0 && present < 10000);
+    }
+
+    private static Value<Datum> datumValue(String dataInfoId, long version) {
+        Datum datum = new Datum(dataInfoId, "DefaultDataCenter");
+        datum.setVersion(version);
+        return new Value<>(datum);
+    }
+
+    @Test
+    public void testPutValueIfNewer() throws Exception {
+        Key key = key("dataInfoId");
+        cacheService.putValueIfNewer(key, datumValue("dataInfoId", 2));
+        cacheService.putValueIfNewer(key, datumValue("dataInfoId", 1));
+        Assert.assertEquals(2L, version(key));
+        Assert.assertEquals(0, loads.get());
+
+        // racing puts of older versions never replace the newest one
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                for (long version = 3 + offset; version < 1000; version += 4) {
+                    cacheService.putValueIfNewer(key, datumValue("dataInfoId", version));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        Assert.assertEquals(999L, version(key));
+    }
+}
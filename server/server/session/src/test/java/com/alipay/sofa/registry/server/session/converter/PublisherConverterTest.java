@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.converter;
+
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.core.model.DataBox;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ *
+ * @author agent
+ * @version $Id: PublisherConverterTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class PublisherConverterTest {
+
+    private static final String DATA = "bolt://192.168.1.100:12200?_CONNECTTIMEOUT=3000&p=1"
+                                       + "&_SERIALIZETYPE=hessian2&app_name=someApp&zone=GZ00A"
+                                       + "&v=4.0&_TIMEOUT=3000&_WEIGHT=100&startTime=1584670000000";
+
+    @Test
+    public void testSerializationTypes() throws Exception {
+        DataBox dataBox = new DataBox();
+        dataBox.setData(DATA);
+        DataBox shortBox = new DataBox();
+        shortBox.setData("short");
+        List<DataBox> boxes = Arrays.asList(dataBox, shortBox);
+
+        List<ServerDataBox> java = PublisherConverter.convert(boxes);
+        Assert.assertEquals(ServerDataBox.SERIALIZED_BY_JAVA, java.get(0).getSerialization());
+        Assert.assertEquals(DATA, java.get(0).extractString());
+
+        List<ServerDataBox> utf8 = PublisherConverter.convert(boxes,
+            ServerDataBox.SERIALIZED_BY_UTF8);
+        Assert.assertEquals(ServerDataBox.SERIALIZED_BY_UTF8, utf8.get(0).getSerialization());
+        Assert.assertEquals(DATA, utf8.get(0).extractString());
+        Assert.assertEquals(DATA, utf8.get(0).extract());
+        Assert.assertNull(utf8.get(0).getObject());
+
+        List<ServerDataBox> deflated = PublisherConverter.convert(boxes,
+            ServerDataBox.SERIALIZED_BY_UTF8_DEFLATE);
+        Assert.assertEquals(ServerDataBox.SERIALIZED_BY_UTF8_DEFLATE, deflated.get(0)
+            .getSerialization());
+        Assert.assertTrue(deflated.get(0).getBytes().length < utf8.get(0).getBytes().length);
+        Assert.assertEquals(DATA, deflated.get(0).extractString());
+        // too short to deflate
+        Assert.assertEquals(ServerDataBox.SERIALIZED_BY_UTF8, deflated.get(1).getSerialization());
+        Assert.assertEquals("short", deflated.get(1).extractString());
+    }
+
+    @Test
+    public void testPassThrough() throws Exception {
+        ServerDataBox box = ServerDataBox.of(DATA, ServerDataBox.SERIALIZED_BY_UTF8_DEFLATE);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(bos);
+        oos.writeObject(box);
+        oos.close();
+        ServerDataBox copy = (ServerDataBox) new ObjectInputStream(new ByteArrayInputStream(
+            bos.toByteArray())).readObject();
+
+        Assert.assertEquals(box.getSerialization(), copy.getSerialization());
+        Assert.assertArrayEquals(box.getBytes(), copy.getBytes());
+        Assert.assertEquals(DATA, copy.extractString());
+    }
+}
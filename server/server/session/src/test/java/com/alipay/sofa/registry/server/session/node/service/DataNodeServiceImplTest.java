@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.node.service;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import com.alipay.sofa.registry.common.model.CommonResponse;
+import com.alipay.sofa.registry.common.model.GenericResponse;
+import com.alipay.sofa.registry.common.model.RenewDatumBatchRequest;
+import com.alipay.sofa.registry.remoting.exchange.NodeExchanger;
+import com.alipay.sofa.registry.remoting.exchange.message.Request;
+import com.alipay.sofa.registry.remoting.exchange.message.Response;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
+
+/**
+ *
+ * @author agent
+ * @version $Id: DataNodeServiceImplTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DataNodeServiceImplTest {
+
+    private NodeExchanger       dataNodeExchanger;
+
+    private DataNodeServiceImpl dataNodeService;
+
+    @Before
+    public void before() {
+        dataNodeExchanger = Mockito.mock(NodeExchanger.class);
+        dataNodeService = new DataNodeServiceImpl();
+        dataNodeService.setDataNodeExchanger(dataNodeExchanger);
+        dataNodeService.setSessionServerConfig(new SessionServerConfigBean(null));
+    }
+
+    private void respond(Object result) throws Exception {
+        Response response = Mockito.mock(Response.class);
+        Mockito.when(response.getResult()).thenReturn(result);
+        Mockito.when(dataNodeExchanger.request(Matchers.any(Request.class))).thenReturn(response);
+    }
+
+    private static RenewDatumBatchRequest request() {
+        return new RenewDatumBatchRequest("192.168.1.1", Collections.singletonMap("c1", "1"));
+    }
+
+    @Test
+    public void testRenewDatumBatch() throws Exception {
+        respond(new GenericResponse<List<String>>().fillSucceed(Collections.singletonList("c1")));
+        Assert.assertEquals(Collections.singletonList("c1"),
+            dataNodeService.renewDatumBatch(request()));
+    }
+
+    @Test
+    public void testRenewDatumBatchFailed() throws Exception {
+        // refused by a data server whose renew is not enabled yet
+        GenericResponse failed = new GenericResponse();
+        failed.setSuccess(false);
+        failed.setMessage("Renew request refused");
+        for (CommonResponse response : new CommonResponse[] { failed,
+                CommonResponse.buildFailedResponse("unknown request") }) {
+            respond(response);
+            try {
+                dataNodeService.renewDatumBatch(request());
+                Assert.fail("a failed response must throw so that the batch falls back");
+            } catch (RuntimeException e) {
+                Assert.assertTrue(e.getMessage().contains(response.getMessage()));
+            }
+        }
+    }
+}
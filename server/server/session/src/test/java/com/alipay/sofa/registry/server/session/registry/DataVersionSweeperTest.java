@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.registry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
+import com.alipay.sofa.registry.server.session.node.service.DataNodeService;
+import com.alipay.sofa.registry.server.session.strategy.SessionRegistryStrategy;
+import com.alipay.sofa.registry.util.DigestTree;
+
+/**
+ *
+ * @author agent
+ * @version $Id: DataVersionSweeperTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DataVersionSweeperTest {
+
+    private static final String     ADDRESS     = "127.0.0.1:9620";
+
+    private static final URL        URL         = new URL("127.0.0.1", 9620);
+
+    private static final int        WAIT_MS     = 3000;
+
+    private static final String     DATA_CENTER = "DefaultDataCenter";
+
+    @Mock
+    private SessionServerConfig     sessionServerConfig;
+
+    @Mock
+    private DataNodeService         dataNodeService;
+
+    @Mock
+    private SessionRegistryStrategy sessionRegistryStrategy;
+
+    @InjectMocks
+    private DataVersionSweeper      sweeper;
+
+    private DigestTree              remote;
+
+    private int                     requests;
+
+    @Before
+    public void before() {
+        MockitoAnnotations.initMocks(this);
+        Mockito.when(sessionServerConfig.getFetchDataVersionParallelism()).thenReturn(2);
+        Mockito.when(sessionServerConfig.getFetchDataVersionBatchSize()).thenReturn(2);
+        Mockito.when(sessionServerConfig.getFetchDataVersionDeadlineMillis()).thenReturn(60000);
+        Mockito.when(sessionServerConfig.getFetchDataVersionSweepRounds()).thenReturn(1);
+        Mockito.when(dataNodeService.fetchDataVersion(anyUrl(), Mockito.anyList()))
+            .thenReturn(Collections.emptyMap());
+        remote = new DigestTree();
+        Mockito.when(dataNodeService.fetchDataDigest(Mockito.eq(URL), Mockito.anyList()))
+            .thenAnswer(invocation -> {
+                requests++;
+                List<Integer> nodes = (List<Integer>) invocation.getArguments()[1];
+                return Collections.singletonMap(DATA_CENTER, remote.get(nodes));
+            });
+        for (int i = 0; i < 1000; i++) {
+            remote.update("dataInfoId" + i, null, 1L);
+        }
+        sweeper.init();
+    }
+
+    /**
+     * ids falling into the given share when swept in two rounds
+     */
+    private List<String> idsOfShare(int share, int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; ids.size() < count; i++) {
+            String dataInfoId = "dataInfoId" + i;
+            if ((dataInfoId.hashCode() & Integer.MAX_VALUE) % 2 == share) {
+                ids.add(dataInfoId);
+            }
+        }
+        return ids;
+    }
+
+    private static URL anyUrl() {
+        return Mockito.any(URL.class);
+    }
+
+    private Map<String, Collection<String>> dataNode(List<String> dataInfoIds) {
+        return Collections.singletonMap(ADDRESS, dataInfoIds);
+    }
+
+    @Test
+    public void testChunking() {
+        List<String> ids = idsOfShare(0, 5);
+        sweeper.sweep(dataNode(ids));
+
+        Mockito.verify(dataNodeService, Mockito.timeout(WAIT_MS)).fetchDataVersion(anyUrl(),
+            Mockito.eq(ids.subList(0, 2)));
+        Mockito.verify(dataNodeService, Mockito.timeout(WAIT_MS)).fetchDataVersion(anyUrl(),
+            Mockito.eq(ids.subList(2, 4)));
+        Mockito.verify(dataNodeService, Mockito.timeout(WAIT_MS)).fetchDataVersion(anyUrl(),
+            Mockito.eq(ids.subList(4, 5)));
+        Mockito.verify(sessionRegistryStrategy, Mockito.timeout(WAIT_MS).times(3))
+            .doFetchChangDataProcess(Mockito.anyMap());
+    }
+
+    @Test
+    public void testDeadlineCarryOver() {
+        Mockito.when(sessionServerConfig.getFetchDataVersionSweepRounds()).thenReturn(2);
+        Mockito.when(sessionServerConfig.getFetchDataVersionDeadlineMillis()).thenReturn(-1000,
+            60000);
+        List<String> share0 = idsOfShare(0, 2);
+
+        // the deadline passed before the first chunk was sent
+        sweeper.sweep(dataNode(share0));
+        waitFor("deadline=1");
+        waitFor("inflight=0");
+        Mockito.verify(dataNodeService, Mockito.never()).fetchDataVersion(anyUrl(),
+            Mockito.anyList());
+
+        // share 1 is swept now, the carried over ids of share 0 are checked as well
+        sweeper.sweep(dataNode(share0));
+        Mockito.verify(dataNodeService, Mockito.timeout(WAIT_MS)).fetchDataVersion(anyUrl(),
+            Mockito.eq(share0));
+    }
+
+    @Test
+    public void testFailCarryOver() {
+        Mockito.when(sessionServerConfig.getFetchDataVersionSweepRounds()).thenReturn(2);
+        List<String> share0 = idsOfShare(0, 2);
+        Mockito.when(dataNodeService.fetchDataVersion(anyUrl(), Mockito.eq(share0)))
+            .thenThrow(new RuntimeException("mock")).thenReturn(Collections.emptyMap());
+
+        sweeper.sweep(dataNode(share0));
+        waitFor("fail=1");
+        waitFor("inflight=0");
+        sweeper.sweep(dataNode(share0));
+        Mockito.verify(dataNodeService, Mockito.timeout(WAIT_MS).times(2)).fetchDataVersion(
+            anyUrl(), Mockito.eq(share0));
+        Mockito.verify(sessionRegistryStrategy, Mockito.timeout(WAIT_MS)).doFetchChangDataProcess(
+            Mockito.anyMap());
+    }
+
+    @Test
+    public void testSkipWhenRunning() throws Exception {
+        Mockito.when(sessionServerConfig.getFetchDataVersionSweepRounds()).thenReturn(2);
+        List<String> share0 = idsOfShare(0, 2);
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(dataNodeService.fetchDataVersion(anyUrl(), Mockito.eq(share0))).thenAnswer(
+            invocation -> {
+                fetching.countDown();
+                release.await(WAIT_MS, TimeUnit.MILLISECONDS);
+                return Collections.emptyMap();
+            });
+
+        sweeper.sweep(dataNode(share0));
+        Assert.assertTrue(fetching.await(WAIT_MS, TimeUnit.MILLISECONDS));
+
+        // the previous sweep of the data server is still running
+        List<String> share1 = idsOfShare(1, 2);
+        sweeper.sweep(dataNode(share1));
+        Assert.assertTrue(sweeper.toString(), sweeper.toString().contains("skipped=1"));
+        release.countDown();
+        waitFor("inflight=0");
+
+        // share 0 is swept now, the skipped ids of share 1 are carried over
+        sweeper.sweep(dataNode(share1));
+        Mockito.verify(dataNodeService, Mockito.timeout(WAIT_MS)).fetchDataVersion(anyUrl(),
+            Mockito.eq(share1));
+    }
+
+    @Test
+    public void testDiffRemote() {
+        DataVersionSweeper.DigestState state = new DataVersionSweeper.DigestState();
+        Map<String, Map<Integer, Long>> remoteNodes = new HashMap<>();
+        Set<Integer> buckets = sweeper.diffRemote(URL, state, remoteNodes);
+        Assert.assertTrue(buckets.contains(DigestTree.bucketOf("dataInfoId7")));
+        state.accept(buckets, Collections.emptySet(), remoteNodes, Collections.emptyMap());
+
+        // nothing changed, only the root is compared
+        requests = 0;
+        remoteNodes.clear();
+        Assert.assertTrue(sweeper.diffRemote(URL, state, remoteNodes).isEmpty());
+        Assert.assertEquals(1, requests);
+
+        // one change, descend to its leaf only
+        remote.update("dataInfoId7", 1L, 2L);
+        requests = 0;
+        remoteNodes.clear();
+        buckets = sweeper.diffRemote(URL, state, remoteNodes);
+        Assert.assertEquals(Collections.singleton(DigestTree.bucketOf("dataInfoId7")), buckets);
+        Assert.assertEquals(3, requests);
+
+        // the bucket failed to check, it is compared again in the next sweep
+        state.accept(buckets, buckets, remoteNodes, Collections.emptyMap());
+        remoteNodes.clear();
+        Assert.assertEquals(buckets, sweeper.diffRemote(URL, state, remoteNodes));
+        state.accept(buckets, Collections.emptySet(), remoteNodes, Collections.emptyMap());
+        remoteNodes.clear();
+        Assert.assertTrue(sweeper.diffRemote(URL, state, remoteNodes).isEmpty());
+    }
+
+    @Test
+    public void testDiffLocal() {
+        DataVersionSweeper.DigestState state = new DataVersionSweeper.DigestState();
+        DigestTree local = new DigestTree();
+        local.update("dataInfoId1", null, 1L);
+        Map<String, long[]> leaves = Collections.singletonMap(DATA_CENTER, local.getLeaves());
+        Set<Integer> buckets = sweeper.diffLocal(state, leaves);
+        Assert.assertEquals(Collections.singleton(DigestTree.bucketOf("dataInfoId1")), buckets);
+        state.accept(buckets, Collections.emptySet(), Collections.emptyMap(), leaves);
+        Assert.assertTrue(sweeper.diffLocal(state, leaves).isEmpty());
+
+        // the version is reset after a failed push
+        local.update("dataInfoId1", 1L, 0L);
+        leaves = Collections.singletonMap(DATA_CENTER, local.getLeaves());
+        Assert.assertEquals(buckets, sweeper.diffLocal(state, leaves));
+    }
+
+    private void waitFor(String state) {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (!sweeper.toString().contains(state)) {
+            Assert.assertTrue(sweeper.toString(), System.currentTimeMillis() < deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
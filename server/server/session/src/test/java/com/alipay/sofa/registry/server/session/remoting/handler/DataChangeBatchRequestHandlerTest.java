@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.remoting.handler;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import com.alipay.sofa.registry.common.model.CommonResponse;
+import com.alipay.sofa.registry.common.model.sessionserver.DataChangeBatchRequest;
+import com.alipay.sofa.registry.common.model.sessionserver.DataChangeRequest;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
+import com.alipay.sofa.registry.server.session.cache.CacheService;
+import com.alipay.sofa.registry.server.session.cache.Key;
+import com.alipay.sofa.registry.server.session.store.Interests;
+import com.alipay.sofa.registry.server.session.strategy.DataChangeRequestHandlerStrategy;
+
+/**
+ *
+ * @author agent
+ * @version $Id: DataChangeBatchRequestHandlerTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DataChangeBatchRequestHandlerTest {
+
+    private static final String           DATA_CENTER = "DefaultDataCenter";
+
+    private Interests                     sessionInterests;
+
+    private CacheService                  sessionCacheService;
+
+    private List<DataChangeRequest>       fired;
+
+    private DataChangeBatchRequestHandler handler;
+
+    private Channel                       channel;
+
+    @Before
+    public void before() {
+        sessionInterests = Mockito.mock(Interests.class);
+        sessionCacheService = Mockito.mock(CacheService.class);
+        fired = new ArrayList<>();
+        DataChangeRequestHandlerStrategy strategy = Mockito
+            .mock(DataChangeRequestHandlerStrategy.class);
+        Mockito.doAnswer(invocation -> fired.add((DataChangeRequest) invocation.getArguments()[0]))
+            .when(strategy).doFireChangFetch(Matchers.any(DataChangeRequest.class));
+
+        handler = new DataChangeBatchRequestHandler();
+        handler.setSessionInterests(sessionInterests);
+        handler.setSessionServerConfig(new SessionServerConfigBean(null));
+        handler.setSessionCacheService(sessionCacheService);
+        handler.setDataChangeRequestHandlerStrategy(strategy);
+
+        channel = Mockito.mock(Channel.class);
+        Mockito.when(channel.getRemoteAddress()).thenReturn(
+            new InetSocketAddress("192.168.1.1", 9602));
+    }
+
+    @Test
+    public void testFanOut() {
+        Mockito.when(
+            sessionInterests.checkInterestVersions(Matchers.eq(DATA_CENTER), Matchers.anyString(),
+                Matchers.anyLong())).thenReturn(true);
+        Mockito.when(sessionInterests.checkInterestVersions(DATA_CENTER, "b", 1L))
+            .thenReturn(false);
+
+        Object response = handler.reply(
+            channel,
+            new DataChangeBatchRequest(Arrays.asList(new DataChangeRequest("a", DATA_CENTER, 1L),
+                new DataChangeRequest("b", DATA_CENTER, 1L), new DataChangeRequest("c",
+                    DATA_CENTER, 1L))));
+
+        Assert.assertTrue(((CommonResponse) response).isSuccess());
+        // every entry invalidates its cache, only changed interests are fetched
+        Mockito.verify(sessionCacheService, Mockito.times(3)).invalidate(Matchers.any(Key.class),
+            Matchers.anyLong());
+        Assert.assertEquals(2, fired.size());
+        Assert.assertEquals("a", fired.get(0).getDataInfoId());
+        Assert.assertEquals("c", fired.get(1).getDataInfoId());
+    }
+
+    @Test
+    public void testPartialFailure() {
+        Mockito.when(
+            sessionInterests.checkInterestVersions(Matchers.eq(DATA_CENTER), Matchers.anyString(),
+                Matchers.anyLong())).thenReturn(true);
+        Mockito.when(sessionInterests.checkInterestVersions(DATA_CENTER, "a", 1L)).thenThrow(
+            new IllegalStateException("mock error"));
+
+        Object response = handler.reply(
+            channel,
+            new DataChangeBatchRequest(Arrays.asList(new DataChangeRequest("a", DATA_CENTER, 1L),
+                new DataChangeRequest("b", DATA_CENTER, 1L))));
+
+        // the failed entry does not stop the rest, data server retries the batch
+        Assert.assertFalse(((CommonResponse) response).isSuccess());
+        Assert.assertEquals("1 of 2 data changes handled failed",
+            ((CommonResponse) response).getMessage());
+        Assert.assertEquals(1, fired.size());
+        Assert.assertEquals("b", fired.get(0).getDataInfoId());
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        Object response = handler.reply(channel, new DataChangeBatchRequest(new ArrayList<>()));
+        Assert.assertTrue(((CommonResponse) response).isSuccess());
+        Assert.assertTrue(fired.isEmpty());
+    }
+}
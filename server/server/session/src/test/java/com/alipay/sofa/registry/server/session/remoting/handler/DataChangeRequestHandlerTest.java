@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.remoting.handler;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.sessionserver.DataChangeRequest;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
+import com.alipay.sofa.registry.server.session.cache.DatumKey;
+import com.alipay.sofa.registry.server.session.cache.Key;
+import com.alipay.sofa.registry.server.session.cache.Key.KeyType;
+import com.alipay.sofa.registry.server.session.cache.SessionCacheService;
+import com.alipay.sofa.registry.server.session.cache.Value;
+import com.alipay.sofa.registry.server.session.store.Interests;
+import com.alipay.sofa.registry.server.session.strategy.DataChangeRequestHandlerStrategy;
+
+/**
+ *
+ * @author agent
+ * @version $Id: DataChangeRequestHandlerTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DataChangeRequestHandlerTest {
+
+    private static final String      DATA_CENTER = "DefaultDataCenter";
+
+    private Interests                sessionInterests;
+
+    private SessionCacheService      sessionCacheService;
+
+    private List<DataChangeRequest>  fired;
+
+    private DataChangeRequestHandler handler;
+
+    private Channel                  channel;
+
+    @Before
+    public void before() {
+        sessionInterests = Mockito.mock(Interests.class);
+        sessionCacheService = new SessionCacheService();
+        // a load would mean the datum carried by the change was not used
+        sessionCacheService.setCacheGenerators(Collections.singletonMap(
+            DatumKey.class.getName(), key -> {
+                throw new IllegalStateException("unexpected load of " + key);
+            }));
+        fired = new ArrayList<>();
+        DataChangeRequestHandlerStrategy strategy = Mockito
+            .mock(DataChangeRequestHandlerStrategy.class);
+        Mockito.doAnswer(invocation -> fired.add((DataChangeRequest) invocation.getArguments()[0]))
+            .when(strategy).doFireChangFetch(Matchers.any(DataChangeRequest.class));
+
+        handler = new DataChangeRequestHandler();
+        handler.setSessionInterests(sessionInterests);
+        handler.setSessionServerConfig(new SessionServerConfigBean(null));
+        handler.setSessionCacheService(sessionCacheService);
+        handler.setDataChangeRequestHandlerStrategy(strategy);
+
+        channel = Mockito.mock(Channel.class);
+        Mockito.when(channel.getRemoteAddress()).thenReturn(
+            new InetSocketAddress("192.168.1.1", 9602));
+    }
+
+    private static DataChangeRequest change(String dataInfoId, long version) {
+        Datum datum = new Datum(dataInfoId, DATA_CENTER);
+        datum.setVersion(version);
+        DataChangeRequest request = new DataChangeRequest(dataInfoId, DATA_CENTER, version);
+        request.setDatum(datum);
+        return request;
+    }
+
+    private long cachedVersion(String dataInfoId) throws Exception {
+        Key key = new Key(KeyType.OBJ, DatumKey.class.getName(), new DatumKey(dataInfoId,
+            DATA_CENTER));
+        Value value = sessionCacheService.getValue(key);
+        return ((Datum) value.getPayload()).getVersion();
+    }
+
+    @Test
+    public void testDatumRefreshesCache() throws Exception {
+        Mockito.when(
+            sessionInterests.checkInterestVersions(Matchers.eq(DATA_CENTER), Matchers.anyString(),
+                Matchers.anyLong())).thenReturn(true);
+
+        handler.reply(channel, change("a", 2));
+        Assert.assertEquals(2, cachedVersion("a"));
+        // a late change never rolls the cache back
+        handler.reply(channel, change("a", 1));
+        Assert.assertEquals(2, cachedVersion("a"));
+        handler.reply(channel, change("a", 3));
+        Assert.assertEquals(3, cachedVersion("a"));
+
+        Assert.assertEquals(3, fired.size());
+    }
+
+    @Test
+    public void testNoFetchWithoutInterest() throws Exception {
+        Mockito.when(
+            sessionInterests.checkInterestVersions(Matchers.eq(DATA_CENTER), Matchers.anyString(),
+                Matchers.anyLong())).thenReturn(false);
+
+        handler.reply(channel, change("a", 1));
+        Assert.assertEquals(1, cachedVersion("a"));
+        Assert.assertTrue(fired.isEmpty());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.renew;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.alipay.sofa.registry.common.model.RenewDatumBatchRequest;
+import com.alipay.sofa.registry.common.model.RenewDatumRequest;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
+import com.alipay.sofa.registry.server.session.node.service.DataNodeService;
+import com.alipay.sofa.registry.server.session.registry.Registry;
+
+/**
+ *
+ * @author agent
+ * @version $Id: RenewDatumBatcherTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class RenewDatumBatcherTest {
+
+    private DataNodeService         dataNodeService;
+
+    private Registry                sessionRegistry;
+
+    private List<RenewDatumRequest> fallbacks;
+
+    private RenewDatumBatcher       batcher;
+
+    @Before
+    public void before() {
+        SessionServerConfigBean sessionServerConfig = new SessionServerConfigBean(null);
+        sessionServerConfig.setRenewDatumBatchSize(2);
+        dataNodeService = Mockito.mock(DataNodeService.class);
+        sessionRegistry = Mockito.mock(Registry.class);
+        fallbacks = new ArrayList<>();
+        batcher = new RenewDatumBatcher(sessionServerConfig, dataNodeService, sessionRegistry,
+            fallbacks::add);
+    }
+
+    @Test
+    public void testSnapshotOnlyDifferent() {
+        Mockito.when(dataNodeService.renewDatumBatch(Mockito.any())).thenReturn(
+            Collections.singletonList("c1"), Collections.emptyList());
+
+        batcher.accept(new RenewDatumRequest("c1", "ip1", "1"));
+        batcher.accept(new RenewDatumRequest("c2", "ip1", "2"));
+        // newer digest of the same connectId overrides the pending one
+        batcher.accept(new RenewDatumRequest("c2", "ip1", "22"));
+        batcher.accept(new RenewDatumRequest("c3", "ip1", "3"));
+        batcher.drain("ip1");
+
+        ArgumentCaptor<RenewDatumBatchRequest> captor = ArgumentCaptor
+            .forClass(RenewDatumBatchRequest.class);
+        Mockito.verify(dataNodeService, Mockito.times(2)).renewDatumBatch(captor.capture());
+        int size = 0;
+        for (RenewDatumBatchRequest request : captor.getAllValues()) {
+            Assert.assertEquals("ip1", request.getDataServerIP());
+            Assert.assertTrue(request.getDigestSums().size() <= 2);
+            size += request.getDigestSums().size();
+            if (request.getDigestSums().containsKey("c2")) {
+                Assert.assertEquals("22", request.getDigestSums().get("c2"));
+            }
+        }
+        Assert.assertEquals(3, size);
+
+        Mockito.verify(sessionRegistry).sendDatumSnapshot("c1", "ip1");
+        Mockito.verifyNoMoreInteractions(sessionRegistry);
+        Assert.assertTrue(fallbacks.isEmpty());
+
+        // nothing left
+        batcher.drain("ip1");
+        Mockito.verifyNoMoreInteractions(dataNodeService);
+    }
+
+    @Test
+    public void testFallbackOnFailure() {
+        Mockito.when(dataNodeService.renewDatumBatch(Mockito.any())).thenThrow(
+            new RuntimeException("unsupported"));
+
+        batcher.accept(new RenewDatumRequest("c1", "ip1", "1"));
+        batcher.accept(new RenewDatumRequest("c2", "ip2", "2"));
+        batcher.drain("ip1");
+
+        Assert.assertEquals(1, fallbacks.size());
+        Assert.assertEquals(Arrays.asList("c1", "ip1", "1"), Arrays.asList(fallbacks.get(0)
+            .getConnectId(), fallbacks.get(0).getDataServerIP(), fallbacks.get(0).getDigestSum()));
+        Mockito.verifyZeroInteractions(sessionRegistry);
+    }
+
+    @Test
+    public void testPendingCount() {
+        batcher.accept(new RenewDatumRequest("c1", "ip1", "1"));
+        batcher.accept(new RenewDatumRequest("c2", "ip1", "2"));
+        batcher.accept(new RenewDatumRequest("c2", "ip1", "22"));
+        batcher.accept(new RenewDatumRequest("c3", "ip2", "3"));
+        Assert.assertTrue(batcher.toString(), batcher.toString().contains("pending=3"));
+
+        batcher.drain("ip1");
+        Assert.assertTrue(batcher.toString(), batcher.toString().contains("pending=1"));
+        batcher.drain("ip2");
+        Assert.assertTrue(batcher.toString(), batcher.toString().contains("pending=0"));
+    }
+}
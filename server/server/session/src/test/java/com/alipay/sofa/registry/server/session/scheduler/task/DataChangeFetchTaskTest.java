@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.scheduler.task;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.sessionserver.DataChangeRequest;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.Subscriber;
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.core.constants.AttributeKeyConstants;
+import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.core.model.Result;
+import com.alipay.sofa.registry.core.model.ScopeEnum;
+import com.alipay.sofa.registry.remoting.CallbackHandler;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
+import com.alipay.sofa.registry.server.session.cache.CacheService;
+import com.alipay.sofa.registry.server.session.cache.Key;
+import com.alipay.sofa.registry.server.session.cache.PushDataZoneCache;
+import com.alipay.sofa.registry.server.session.cache.PushDatumCache;
+import com.alipay.sofa.registry.server.session.cache.Value;
+import com.alipay.sofa.registry.server.session.node.service.ClientNodeService;
+import com.alipay.sofa.registry.server.session.scheduler.ExecutorManager;
+import com.alipay.sofa.registry.server.session.store.Interests;
+import com.alipay.sofa.registry.server.session.strategy.ReceivedDataMultiPushTaskStrategy;
+import com.alipay.sofa.registry.task.Task;
+import com.alipay.sofa.registry.task.batcher.TaskProcessor.ProcessingResult;
+import com.alipay.sofa.registry.task.listener.TaskEvent;
+import com.alipay.sofa.registry.task.listener.TaskEvent.TaskType;
+import com.alipay.sofa.registry.task.listener.TaskListenerManager;
+import com.alipay.sofa.registry.timer.AsyncHashedWheelTimer;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ *
+ * @author agent
+ * @version $Id: DataChangeFetchTaskTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class DataChangeFetchTaskTest {
+
+    private static final String     DATA_INFO_ID = "dataId#@#DEFAULT_INSTANCE_ID#@#DEFAULT_GROUP";
+
+    private static final String     DATA_CENTER  = "DefaultDataCenter";
+
+    private static final String     ZONE         = "ZONE_A";
+
+    private SessionServerConfigBean sessionServerConfig;
+
+    private ExecutorManager         executorManager;
+
+    private TaskListenerManager     taskListenerManager;
+
+    private Interests               sessionInterests;
+
+    private CacheService            sessionCacheService;
+
+    private PushDatumCache          pushDatumCache;
+
+    private PushDataZoneCache       pushDataZoneCache;
+
+    private List<TaskEvent>         sent;
+
+    private Subscriber              subscriber;
+
+    @Before
+    public void before() throws Exception {
+        sessionServerConfig = new SessionServerConfigBean(null);
+        sessionServerConfig.setEnablePushDelta(true);
+        sessionServerConfig.setSessionServerRegion(ZONE);
+        sessionServerConfig.setSessionServerDataCenter(DATA_CENTER);
+
+        executorManager = Mockito.mock(ExecutorManager.class);
+        Mockito.when(executorManager.getPushTaskCheckAsyncHashedWheelTimer()).thenReturn(
+            Mockito.mock(AsyncHashedWheelTimer.class));
+        Mockito.when(executorManager.getCheckPushExecutor()).thenReturn(
+            MoreExecutors.newDirectExecutorService());
+
+        sent = new ArrayList<>();
+        taskListenerManager = Mockito.mock(TaskListenerManager.class);
+        Mockito.doAnswer(invocation -> sent.add((TaskEvent) invocation.getArguments()[0]))
+            .when(taskListenerManager).sendTaskEvent(Matchers.any(TaskEvent.class));
+
+        subscriber = new Subscriber();
+        subscriber.setRegisterId("registerId");
+        subscriber.setDataInfoId(DATA_INFO_ID);
+        subscriber.setScope(ScopeEnum.global);
+        subscriber.setSourceAddress(new URL("192.168.1.1", 9600));
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put(AttributeKeyConstants.SUPPORT_DELTA_PUSH, Boolean.TRUE.toString());
+        subscriber.setAttributes(attributes);
+
+        Map<InetSocketAddress, Map<String, Subscriber>> index = new HashMap<>();
+        index.put(new InetSocketAddress("192.168.1.1", 9600),
+            Collections.singletonMap(subscriber.getRegisterId(), subscriber));
+        sessionInterests = Mockito.mock(Interests.class);
+        Mockito.when(sessionInterests.querySubscriberIndex(DATA_INFO_ID, ScopeEnum.global))
+            .thenReturn(index);
+
+        sessionCacheService = Mockito.mock(CacheService.class);
+
+        pushDatumCache = new PushDatumCache();
+        pushDatumCache.setSessionServerConfig(sessionServerConfig);
+        pushDatumCache.init();
+        pushDataZoneCache = new PushDataZoneCache();
+        pushDataZoneCache.setSessionServerConfig(sessionServerConfig);
+        pushDataZoneCache.init();
+    }
+
+    private static Publisher publisher(String registerId, long version) {
+        Publisher publisher = new Publisher();
+        publisher.setDataInfoId(DATA_INFO_ID);
+        publisher.setRegisterId(registerId);
+        publisher.setCell(ZONE);
+        publisher.setVersion(version);
+        publisher.setRegisterTimestamp(1L);
+        publisher.setDataList(Collections.singletonList(new ServerDataBox(registerId + "-"
+                                                                          + version)));
+        return publisher;
+    }
+
+    private static Datum datum(long version, Publisher... publishers) {
+        Datum datum = new Datum();
+        datum.setDataInfoId(DATA_INFO_ID);
+        datum.setDataCenter(DATA_CENTER);
+        datum.setDataId("dataId");
+        datum.setInstanceId("DEFAULT_INSTANCE_ID");
+        datum.setGroup("DEFAULT_GROUP");
+        datum.setVersion(version);
+        Map<String, Publisher> pubMap = new HashMap<>();
+        for (Publisher publisher : publishers) {
+            pubMap.put(publisher.getRegisterId(), publisher);
+        }
+        datum.setPubMap(pubMap);
+        return datum;
+    }
+
+    private TaskEvent fetch(Datum datum) throws Exception {
+        Mockito.when(sessionCacheService.getValue(Matchers.any(Key.class))).thenReturn(
+            new Value<>(datum));
+        DataChangeFetchTask task = new DataChangeFetchTask(sessionServerConfig,
+            taskListenerManager, executorManager, sessionInterests, sessionCacheService,
+            pushDatumCache, pushDataZoneCache);
+        task.setTaskEvent(new TaskEvent(new DataChangeRequest(DATA_INFO_ID, DATA_CENTER, datum
+            .getVersion()), TaskType.DATA_CHANGE_FETCH_TASK));
+        int size = sent.size();
+        task.execute();
+        Assert.assertEquals(size + 1, sent.size());
+        return sent.get(size);
+    }
+
+    private static ReceivedData receivedDataOf(TaskEvent event) {
+        return ((Map<ReceivedData, URL>) event.getEventObj()).keySet().iterator().next();
+    }
+
+    private static void confirm(TaskEvent event) {
+        PushTaskClosure closure = (PushTaskClosure) event.getTaskClosure();
+        closure.addTask(event);
+        Task task = Mockito.mock(Task.class);
+        Mockito.when(task.getTaskId()).thenReturn(event.getTaskId());
+        closure.run(ProcessingResult.Success, task);
+    }
+
+    @Test
+    public void testDeltaFromReceivedVersion() throws Exception {
+        Datum v1 = datum(1, publisher("a", 1), publisher("b", 1), publisher("c", 1));
+        Datum v2 = datum(2, publisher("a", 1), publisher("b", 2), publisher("c", 1));
+        Datum v3 = datum(3, publisher("a", 1), publisher("b", 2), publisher("c", 2));
+        subscriber.checkAndUpdateVersion(DATA_CENTER, 1L);
+        pushDatumCache.putPushedDatum(v1);
+
+        TaskEvent second = fetch(v2);
+        ReceivedData delta = receivedDataOf(second);
+        Assert.assertTrue(delta.isDelta());
+        Assert.assertEquals(Long.valueOf(1), delta.getBaseVersion());
+        Assert.assertEquals("b-2", delta.getData().get(ZONE).get(0).getData());
+        Assert.assertEquals("b-1", delta.getRemovedData().get(ZONE).get(0).getData());
+        // the pushed datum is not the delta base until confirmed
+        Assert.assertNotNull(pushDatumCache.getBaseDatum(DATA_CENTER, DATA_INFO_ID, 1L));
+        Assert.assertNull(pushDatumCache.getBaseDatum(DATA_CENTER, DATA_INFO_ID, 2L));
+
+        // version 2 is still in flight, client may hold version 1 or 2, push full data
+        TaskEvent third = fetch(v3);
+        Assert.assertFalse(receivedDataOf(third).isDelta());
+        Assert.assertEquals(3, receivedDataOf(third).getData().get(ZONE).size());
+
+        subscriber.checkAndUpdateVersion(DATA_CENTER, 2L);
+        confirm(second);
+        Assert.assertNotNull(pushDatumCache.getBaseDatum(DATA_CENTER, DATA_INFO_ID, 2L));
+        subscriber.checkAndUpdateVersion(DATA_CENTER, 3L);
+        confirm(third);
+        Assert.assertNotNull(pushDatumCache.getBaseDatum(DATA_CENTER, DATA_INFO_ID, 3L));
+
+        // all pushes confirmed, the next change is a delta again
+        Datum v4 = datum(4, publisher("a", 2), publisher("b", 2), publisher("c", 2));
+        ReceivedData next = receivedDataOf(fetch(v4));
+        Assert.assertTrue(next.isDelta());
+        Assert.assertEquals(Long.valueOf(3), next.getBaseVersion());
+    }
+
+    @Test
+    public void testRejectedDeltaFiresFullPush() {
+        subscriber.checkAndUpdateVersion(DATA_CENTER, 1L);
+        ReceivedData delta = new ReceivedData("dataId", "DEFAULT_GROUP", "DEFAULT_INSTANCE_ID",
+            DATA_CENTER, Collections.singletonList("registerId"), new HashMap<>(), 2L);
+        delta.setBaseVersion(1L);
+
+        ClientNodeService clientNodeService = Mockito.mock(ClientNodeService.class);
+        Mockito.doAnswer(invocation -> {
+            Result result = new Result();
+            result.setSuccess(false);
+            ((CallbackHandler) invocation.getArguments()[2]).onCallback(null, result);
+            return null;
+        }).when(clientNodeService).pushWithCallback(Matchers.any(), Matchers.any(URL.class),
+            Matchers.any(CallbackHandler.class));
+        ReceivedDataMultiPushTaskStrategy strategy = Mockito
+            .mock(ReceivedDataMultiPushTaskStrategy.class);
+        Mockito.when(strategy.convert2PushData(Matchers.any(ReceivedData.class),
+            Matchers.any(URL.class))).thenReturn(delta);
+
+        List<ProcessingResult> results = new ArrayList<>();
+        Map<ReceivedData, URL> parameter = new HashMap<>();
+        parameter.put(delta, subscriber.getSourceAddress());
+        TaskEvent event = new TaskEvent(parameter, TaskType.RECEIVED_DATA_MULTI_PUSH_TASK);
+        event.setTaskClosure((result, task) -> results.add(result));
+        Collection<Subscriber> subscribers = Collections.singletonList(subscriber);
+        event.setAttribute(Constant.PUSH_CLIENT_SUBSCRIBERS, subscribers);
+
+        ReceivedDataMultiPushTask task = new ReceivedDataMultiPushTask(sessionServerConfig,
+            clientNodeService, executorManager, null, strategy, null, sessionInterests,
+            taskListenerManager);
+        task.setTaskEvent(event);
+        task.execute();
+
+        Assert.assertEquals(Collections.singletonList(ProcessingResult.PermanentError), results);
+        Assert.assertNull(subscriber.getPushVersion(DATA_CENTER));
+        // a full push of the datum is scheduled at once
+        Assert.assertEquals(1, sent.size());
+        Assert.assertEquals(TaskType.DATA_CHANGE_FETCH_TASK, sent.get(0).getTaskType());
+        DataChangeRequest request = (DataChangeRequest) sent.get(0).getEventObj();
+        Assert.assertEquals(DATA_INFO_ID, request.getDataInfoId());
+        Assert.assertEquals(DATA_CENTER, request.getDataCenter());
+        Assert.assertEquals(2L, request.getVersion());
+    }
+}
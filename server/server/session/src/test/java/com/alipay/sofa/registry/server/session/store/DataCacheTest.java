@@ -31,9 +31,13 @@ import org.junit.Test;
 import java.net.InetSocketAddress;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  *
@@ -192,6 +196,72 @@ public class DataCacheTest extends BaseTest {
         Assert.assertFalse(getCachePub(sessionDataStore, "192.168.1.9:8000_127.0.0.1:34567"));
     }
 
+    @Test
+    public void testAddRaceDeleteByConnectId() throws InterruptedException {
+        String connectId = "192.168.1.2:9000_127.0.0.1:34567";
+
+        SessionInterests sessionInterests = new SessionInterests();
+        sessionInterests.setSessionServerConfig(new SessionServerConfigBean(null));
+        raceDeleteByConnectId(i -> sessionInterests.add(getSub("dataid" + i % 10, ScopeEnum.zone,
+            null, null)), () -> sessionInterests.deleteByConnectId(connectId));
+        // every registration left is still indexed by its connectId
+        sessionInterests.deleteByConnectId(connectId);
+        Assert.assertEquals(0, sessionInterests.count());
+
+        SessionDataStore sessionDataStore = new SessionDataStore();
+        raceDeleteByConnectId(i -> sessionDataStore.add(getPub("dataid" + i % 10, null, null)),
+            () -> sessionDataStore.deleteByConnectId(connectId));
+        sessionDataStore.deleteByConnectId(connectId);
+        Assert.assertEquals(0, sessionDataStore.count());
+
+        SessionWatchers sessionWatchers = new SessionWatchers();
+        raceDeleteByConnectId(i -> sessionWatchers.add(getWatcher("dataid" + i % 10)),
+            () -> sessionWatchers.deleteByConnectId(connectId));
+        sessionWatchers.deleteByConnectId(connectId);
+        Assert.assertEquals(0, sessionWatchers.count());
+    }
+
+    private void raceDeleteByConnectId(Consumer<Integer> add, Runnable delete)
+                                                                              throws InterruptedException {
+        int threads = 4;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch latch = new CountDownLatch(threads);
+        AtomicBoolean done = new AtomicBoolean();
+        for (int t = 0; t < threads; t++) {
+            executorService.submit(() -> {
+                try {
+                    for (int i = 0; i < 5000; i++) {
+                        add.accept(i);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.submit(() -> {
+            while (!done.get()) {
+                delete.run();
+            }
+        });
+        Assert.assertTrue(latch.await(30, TimeUnit.SECONDS));
+        done.set(true);
+        executorService.shutdown();
+        Assert.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private Watcher getWatcher(String dataId) {
+        Watcher watcher = new Watcher();
+        watcher.setAppName("app");
+        watcher.setDataId(dataId);
+        watcher.setGroup("rpc");
+        watcher.setInstanceId("instance2");
+        watcher.setRegisterId(String.valueOf(registId.incrementAndGet()));
+        watcher.setDataInfoId(DataInfo.toDataInfoId(dataId, "instance2", "rpc"));
+        watcher.setSourceAddress(new URL("192.168.1.2", 9000));
+        watcher.setTargetAddress(new URL("127.0.0.1", 34567));
+        return watcher;
+    }
+
     private boolean getCachePub(SessionDataStore sessionDataStore, String connectId) {
         Map map = sessionDataStore.queryByConnectId(connectId);
         return map != null && !map.isEmpty();
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.strategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
+import com.alipay.sofa.registry.server.session.listener.PushTaskSender;
+import com.alipay.sofa.registry.server.session.strategy.impl.CoalescingPushTaskMergeProcessor;
+import com.alipay.sofa.registry.task.Task;
+import com.alipay.sofa.registry.task.batcher.TaskProcessor.ProcessingResult;
+import com.alipay.sofa.registry.task.listener.TaskEvent;
+import com.alipay.sofa.registry.task.listener.TaskEvent.TaskType;
+
+/**
+ *
+ * @author agent
+ * @version $Id: CoalescingPushTaskMergeProcessorTest.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class CoalescingPushTaskMergeProcessorTest {
+
+    private final List<TaskEvent>                            sent = new CopyOnWriteArrayList<>();
+
+    private CoalescingPushTaskMergeProcessor<PushTaskSender> processor;
+
+    @Before
+    public void before() {
+        SessionServerConfigBean sessionServerConfig = new SessionServerConfigBean(null);
+        sessionServerConfig.setPushTaskMergeWindowMillis(200);
+        sessionServerConfig.setPushTaskMergeMaxWindowMillis(400);
+        processor = new CoalescingPushTaskMergeProcessor<>(sessionServerConfig);
+        processor.init(new PushTaskSender() {
+            @Override
+            public void executePushAsync(TaskEvent event) {
+                sent.add(event);
+            }
+
+            @Override
+            public PushDataType getPushDataType() {
+                return PushDataType.RECEIVE_DATA;
+            }
+        });
+    }
+
+    private static TaskEvent event(String address, long version, List<String> confirmed) {
+        ReceivedData receivedData = new ReceivedData("dataId", "group", "instanceId",
+            "DefaultDataCenter", Collections.singletonList("registerId"), new HashMap<>(),
+            version);
+        Map<ReceivedData, URL> parameter = new HashMap<>();
+        parameter.put(receivedData, new URL(address, 9600));
+        TaskEvent event = new TaskEvent(parameter, TaskType.RECEIVED_DATA_MULTI_PUSH_TASK);
+        event.setTaskClosure((result, task) -> confirmed.add(task.getTaskId()));
+        return event;
+    }
+
+    private static TaskEvent deltaEvent(String address, long version, long baseVersion,
+                                        List<String> confirmed) {
+        TaskEvent event = event(address, version, confirmed);
+        ((Map<ReceivedData, URL>) event.getEventObj()).keySet().iterator().next()
+            .setBaseVersion(baseVersion);
+        return event;
+    }
+
+    private static long versionOf(TaskEvent event) {
+        return ((Map<ReceivedData, URL>) event.getEventObj()).keySet().iterator().next()
+            .getVersion();
+    }
+
+    private void waitSent(int size) throws InterruptedException {
+        for (int i = 0; i < 200 && sent.size() < size; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(size, sent.size());
+    }
+
+    @Test
+    public void testKeepNewest() throws InterruptedException {
+        List<String> confirmed = new CopyOnWriteArrayList<>();
+        TaskEvent first = event("192.168.1.1", 1, confirmed);
+        processor.handleEvent(first);
+        // a quiet key is sent at once
+        Assert.assertEquals(1, sent.size());
+
+        List<TaskEvent> held = new ArrayList<>();
+        for (long version : new long[] { 3, 2, 5, 4 }) {
+            TaskEvent event = event("192.168.1.1", version, confirmed);
+            held.add(event);
+            processor.handleEvent(event);
+        }
+        // another client is not merged with the first one
+        processor.handleEvent(event("192.168.1.2", 3, confirmed));
+        Assert.assertEquals(2, sent.size());
+        Assert.assertEquals(1, (int) processor.getPendingTaskSize());
+
+        waitSent(3);
+        TaskEvent newest = sent.get(2);
+        Assert.assertEquals(5, versionOf(newest));
+        Assert.assertEquals(3, processor.getOverrideTaskSize().get());
+        Assert.assertEquals(6, processor.getPutTaskSize().get());
+        Assert.assertEquals(3, processor.getSendTaskSize().get());
+        Assert.assertEquals(0, (int) processor.getPendingTaskSize());
+
+        // the closures of the overridden pushes complete with the newest one
+        Task task = Mockito.mock(Task.class);
+        Mockito.when(task.getTaskId()).thenReturn(newest.getTaskId());
+        newest.getTaskClosure().run(ProcessingResult.Success, task);
+        Assert.assertEquals(held.size(), confirmed.size());
+        for (TaskEvent event : held) {
+            Assert.assertTrue(confirmed.contains(event.getTaskId()));
+        }
+    }
+
+    @Test
+    public void testDeltaNotCoalesced() throws InterruptedException {
+        List<String> confirmed = new CopyOnWriteArrayList<>();
+        processor.handleEvent(event("192.168.1.1", 1, confirmed));
+        processor.handleEvent(event("192.168.1.1", 2, confirmed));
+        Assert.assertEquals(1, sent.size());
+        Assert.assertEquals(1, (int) processor.getPendingTaskSize());
+
+        // the held push goes out first, then the delta based on it
+        processor.handleEvent(deltaEvent("192.168.1.1", 3, 2, confirmed));
+        Assert.assertEquals(3, sent.size());
+        Assert.assertEquals(2, versionOf(sent.get(1)));
+        Assert.assertEquals(3, versionOf(sent.get(2)));
+        Assert.assertEquals(0, (int) processor.getPendingTaskSize());
+
+        processor.handleEvent(deltaEvent("192.168.1.1", 4, 3, confirmed));
+        processor.handleEvent(deltaEvent("192.168.1.1", 5, 4, confirmed));
+        Assert.assertEquals(5, sent.size());
+        Assert.assertEquals(0, processor.getOverrideTaskSize().get());
+
+        // nothing is left to be sent when the window closes
+        Thread.sleep(500);
+        Assert.assertEquals(5, sent.size());
+    }
+}
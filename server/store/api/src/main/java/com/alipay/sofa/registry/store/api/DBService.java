@@ -16,6 +16,7 @@
  */
 package com.alipay.sofa.registry.store.api;
 
+import com.alipay.sofa.registry.store.api.annotation.ReadIndex;
 import com.alipay.sofa.registry.store.api.annotation.ReadOnLeader;
 
 /**
@@ -48,6 +49,7 @@ public interface DBService {
      * @throws Exception
      */
     @ReadOnLeader
+    @ReadIndex
     DBResponse get(String key) throws Exception;
 
     /**
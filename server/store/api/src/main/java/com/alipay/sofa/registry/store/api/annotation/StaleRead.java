@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.store.api.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * The method can be read on a follower without asking the leader when the follower caught up with
+ * the leader by read index within maxLagMillis, so the result may miss the writes of at most
+ * maxLagMillis. A read index is done to catch up again when the follower lags more.
+ *
+ * @author agent
+ * @version $Id: StaleRead.java, v 0.1 2026-10-17 agent Exp $
+ */
+@Target({ ElementType.METHOD })
+@Retention(RUNTIME)
+public @interface StaleRead {
+
+    long maxLagMillis() default 1000;
+}
@@ -17,6 +17,7 @@
 package com.alipay.sofa.registry.jraft.bootstrap;
 
 import com.alipay.remoting.ConnectionEventType;
+import com.alipay.remoting.InvokeCallback;
 import com.alipay.remoting.rpc.RpcClient;
 import com.alipay.sofa.jraft.RouteTable;
 import com.alipay.sofa.jraft.Status;
@@ -36,6 +37,8 @@ import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.remoting.bolt.ConnectionEventAdapter;
 import com.alipay.sofa.registry.remoting.bolt.SyncUserProcessorAdapter;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -200,31 +203,81 @@ public class RaftClient {
             }
 
             PeerId peer = getLeader();
-            LOGGER.info("Raft client send message {} to url {}", request, peer.getEndpoint()
+            LOGGER.debug("Raft client send message {} to url {}", request, peer.getEndpoint()
                 .toString());
             Object response = this.rpcClient.invokeSync(peer.getEndpoint().toString(), request,
                 cliOptions.getRpcDefaultTimeout());
-            if (response == null) {
-                LOGGER.error("Send process request has no response return!");
-                throw new RuntimeException("Send process request has no response return!");
-            }
-            ProcessResponse cmd = (ProcessResponse) response;
-            if (cmd.getSuccess()) {
-                return cmd.getEntity();
-            } else {
-                String redirect = cmd.getRedirect();
-                if (redirect != null && !redirect.isEmpty()) {
-                    return redirectRequest(request, redirect);
-                } else {
-                    throw new IllegalStateException("Server error:" + cmd.getEntity());
-                }
-            }
+            return handleResponse(request, response);
         } catch (Exception e) {
             LOGGER.error("Send process request error!", e);
             throw new RuntimeException("Send process request error!" + e.getMessage(), e);
         }
     }
 
+    /**
+     * raft client send request without blocking, the future is completed with the entity of
+     * response, or exceptionally when the request failed
+     *
+     * @param request
+     * @return
+     */
+    public CompletableFuture<Object> sendRequestAsync(ProcessRequest request) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try {
+            if (!started.get()) {
+                LOGGER.error("Client must be started before send request!");
+                throw new IllegalStateException("Client must be started before send request!");
+            }
+
+            PeerId peer = getLeader();
+            LOGGER.debug("Raft client send message {} to url {} async", request, peer.getEndpoint()
+                .toString());
+            this.rpcClient.invokeWithCallback(peer.getEndpoint().toString(), request,
+                new InvokeCallback() {
+                    @Override
+                    public void onResponse(Object response) {
+                        try {
+                            future.complete(handleResponse(request, response));
+                        } catch (Throwable e) {
+                            LOGGER.error("Handle process response error!", e);
+                            future.completeExceptionally(e);
+                        }
+                    }
+
+                    @Override
+                    public void onException(Throwable e) {
+                        LOGGER.error("Send process request error!", e);
+                        future.completeExceptionally(e);
+                    }
+
+                    @Override
+                    public Executor getExecutor() {
+                        return executor;
+                    }
+                }, cliOptions.getRpcDefaultTimeout());
+        } catch (Exception e) {
+            LOGGER.error("Send process request error!", e);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private Object handleResponse(ProcessRequest request, Object response) {
+        if (response == null) {
+            LOGGER.error("Send process request has no response return!");
+            throw new RuntimeException("Send process request has no response return!");
+        }
+        ProcessResponse cmd = (ProcessResponse) response;
+        if (cmd.getSuccess()) {
+            return cmd.getEntity();
+        }
+        String redirect = cmd.getRedirect();
+        if (redirect != null && !redirect.isEmpty()) {
+            return redirectRequest(request, redirect);
+        }
+        throw new IllegalStateException("Server error:" + cmd.getEntity());
+    }
+
     private Object redirectRequest(ProcessRequest request, String redirect) {
         try {
             PeerId redirectLead = new PeerId();
@@ -19,16 +19,20 @@ package com.alipay.sofa.registry.jraft.bootstrap;
 import com.alipay.remoting.rpc.RpcClient;
 import com.alipay.sofa.jraft.Node;
 import com.alipay.sofa.jraft.RaftGroupService;
+import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.jraft.closure.ReadIndexClosure;
 import com.alipay.sofa.jraft.conf.Configuration;
 import com.alipay.sofa.jraft.core.NodeImpl;
 import com.alipay.sofa.jraft.entity.PeerId;
 import com.alipay.sofa.jraft.option.NodeOptions;
+import com.alipay.sofa.jraft.option.ReadOnlyOption;
 import com.alipay.sofa.jraft.rpc.RaftRpcServerFactory;
 import com.alipay.sofa.jraft.rpc.RpcServer;
 import com.alipay.sofa.jraft.rpc.impl.AbstractClientService;
 import com.alipay.sofa.jraft.rpc.impl.BoltRpcClient;
 import com.alipay.sofa.jraft.rpc.impl.BoltRpcServer;
 import com.alipay.sofa.jraft.storage.impl.RocksDBLogStorage;
+import com.alipay.sofa.jraft.util.BytesUtil;
 import com.alipay.sofa.jraft.util.StorageOptionsFactory;
 import com.alipay.sofa.registry.common.model.store.URL;
 import com.alipay.sofa.registry.jraft.command.NotifyLeaderChange;
@@ -37,6 +41,7 @@ import com.alipay.sofa.registry.jraft.handler.RaftServerConnectionHandler;
 import com.alipay.sofa.registry.jraft.handler.RaftServerHandler;
 import com.alipay.sofa.registry.jraft.processor.FollowerProcessListener;
 import com.alipay.sofa.registry.jraft.processor.LeaderProcessListener;
+import com.alipay.sofa.registry.jraft.processor.ProposalBatcher;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.metrics.ReporterUtils;
@@ -58,6 +63,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author shangyu.wh
@@ -69,7 +75,7 @@ public class RaftServer {
         RocksDB.loadLibrary();
     }
 
-    private static final Logger     LOGGER         = LoggerFactory.getLogger(RaftServer.class);
+    private static final Logger     LOGGER            = LoggerFactory.getLogger(RaftServer.class);
 
     private RaftGroupService        raftGroupService;
     private Node                    node;
@@ -78,7 +84,7 @@ public class RaftServer {
     private Configuration           initConf;
     private String                  groupId;
     private String                  dataPath;
-    private List<ChannelHandler>    serverHandlers = new ArrayList<>();
+    private List<ChannelHandler>    serverHandlers    = new ArrayList<>();
 
     private LeaderProcessListener   leaderProcessListener;
 
@@ -88,6 +94,9 @@ public class RaftServer {
     private ThreadPoolExecutor      raftExecutor;
     private ThreadPoolExecutor      raftServerExecutor;
     private ThreadPoolExecutor      fsmExecutor;
+    private ProposalBatcher         proposalBatcher;
+    private int                     readIndexTimeoutMs;
+    private final AtomicLong        caughtUpTimestamp = new AtomicLong();
 
     /**
      * @param dataPath    Example: /tmp/server1
@@ -138,11 +147,16 @@ public class RaftServer {
         this.fsm.setFollowerProcessListener(followerProcessListener);
 
         NodeOptions nodeOptions = initNodeOptions(raftServerConfig);
+        this.readIndexTimeoutMs = raftServerConfig.getReadIndexTimeoutMs();
 
         this.raftGroupService = new RaftGroupService(groupId, serverId, nodeOptions, rpcServer);
         //start
         this.node = this.raftGroupService.start();
 
+        this.proposalBatcher = new ProposalBatcher(node, raftServerConfig.getProposalBatchSize(),
+            raftServerConfig.getProposalQueueSize());
+        this.proposalBatcher.start();
+
         if (raftServerConfig.isEnableMetrics()) {
             ReporterUtils.startSlf4jReporter(raftServerConfig.getEnableMetricsReporterPeriod(),
                 node.getNodeMetrics().getMetricRegistry(), raftServerConfig.getMetricsLogger());
@@ -160,6 +174,9 @@ public class RaftServer {
      * shutdown raftGroupService
      */
     public void shutdown() {
+        if (proposalBatcher != null) {
+            proposalBatcher.shutdown();
+        }
         if (raftGroupService != null) {
             this.raftGroupService.shutdown();
         }
@@ -186,6 +203,10 @@ public class RaftServer {
         nodeOptions.setRaftMetaUri(dataPath + File.separator + "raft_meta");
         nodeOptions.setSnapshotUri(dataPath + File.separator + "snapshot");
 
+        if (raftServerConfig.isReadOnlyLeaseBased()) {
+            nodeOptions.getRaftOptions().setReadOnlyOptions(ReadOnlyOption.ReadOnlyLeaseBased);
+        }
+
         if (raftServerConfig.isEnableMetrics()) {
             nodeOptions.setEnableMetrics(raftServerConfig.isEnableMetrics());
         }
@@ -211,6 +232,59 @@ public class RaftServer {
         return nodeOptions;
     }
 
+    /**
+     * wait until the local state machine applied all the logs committed on leader before now,
+     * after that the local state machine can serve a linearizable read
+     *
+     * @return false if the read index failed or timeout
+     */
+    public boolean readIndex() {
+        if (node == null) {
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        node.readIndex(BytesUtil.EMPTY_BYTES, new ReadIndexClosure(readIndexTimeoutMs) {
+            @Override
+            public void run(Status status, long index, byte[] reqCtx) {
+                if (status.isOk()) {
+                    caughtUpTimestamp.accumulateAndGet(start, Math::max);
+                } else {
+                    LOGGER.warn("Raft read index failed:{}", status);
+                }
+                future.complete(status.isOk());
+            }
+        });
+        try {
+            return future.get(readIndexTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.warn("Raft read index wait timeout {}ms", readIndexTimeoutMs);
+            return false;
+        }
+    }
+
+    /**
+     * whether the local state machine caught up with leader within maxLagMillis, a read index
+     * is done to catch up again when it lags more
+     *
+     * @param maxLagMillis
+     * @return
+     */
+    public boolean isCaughtUp(long maxLagMillis) {
+        long now = System.currentTimeMillis();
+        if (now - caughtUpTimestamp.get() <= maxLagMillis) {
+            return true;
+        }
+        if (readIndex()) {
+            caughtUpTimestamp.accumulateAndGet(now, Math::max);
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Redirect request to new leader
      *
@@ -277,6 +351,15 @@ public class RaftServer {
         return this.node;
     }
 
+    /**
+     * Getter method for property <tt>proposalBatcher</tt>.
+     *
+     * @return property value of proposalBatcher
+     */
+    public ProposalBatcher getProposalBatcher() {
+        return this.proposalBatcher;
+    }
+
     /**
      * Setter method for property <tt>leaderProcessListener</tt>.
      *
@@ -52,6 +52,28 @@ public class RaftServerConfig {
 
     private int     RockDBCacheSize             = 64;   //64M
 
+    /**
+     * Max requests proposed in one raft log entry, 1 turns batching off.
+     * Enable it only after every server of the group can decode batched entries
+     */
+    private int     proposalBatchSize           = 1;
+
+    /**
+     * Max requests waiting to be proposed, more requests are rejected
+     */
+    private int     proposalQueueSize           = 8192;
+
+    /**
+     * Max time to wait for a read index before the read is sent to leader
+     */
+    private int     readIndexTimeoutMs          = 1000;
+
+    /**
+     * Whether the leader confirms a read index by its lease instead of a heartbeat round,
+     * which is faster but relies on bounded clock drift
+     */
+    private boolean readOnlyLeaseBased          = false;
+
     private Logger  metricsLogger;
 
     /**
@@ -161,4 +183,76 @@ public class RaftServerConfig {
     public void setRockDBCacheSize(int rockDBCacheSize) {
         RockDBCacheSize = rockDBCacheSize;
     }
-}
\ No newline at end of file
+
+    /**
+     * Getter method for property <tt>proposalBatchSize</tt>.
+     *
+     * @return property value of proposalBatchSize
+     */
+    public int getProposalBatchSize() {
+        return proposalBatchSize;
+    }
+
+    /**
+     * Setter method for property <tt>proposalBatchSize</tt>.
+     *
+     * @param proposalBatchSize  value to be assigned to property proposalBatchSize
+     */
+    public void setProposalBatchSize(int proposalBatchSize) {
+        this.proposalBatchSize = proposalBatchSize;
+    }
+
+    /**
+     * Getter method for property <tt>proposalQueueSize</tt>.
+     *
+     * @return property value of proposalQueueSize
+     */
+    public int getProposalQueueSize() {
+        return proposalQueueSize;
+    }
+
+    /**
+     * Setter method for property <tt>proposalQueueSize</tt>.
+     *
+     * @param proposalQueueSize  value to be assigned to property proposalQueueSize
+     */
+    public void setProposalQueueSize(int proposalQueueSize) {
+        this.proposalQueueSize = proposalQueueSize;
+    }
+
+    /**
+     * Getter method for property <tt>readIndexTimeoutMs</tt>.
+     *
+     * @return property value of readIndexTimeoutMs
+     */
+    public int getReadIndexTimeoutMs() {
+        return readIndexTimeoutMs;
+    }
+
+    /**
+     * Setter method for property <tt>readIndexTimeoutMs</tt>.
+     *
+     * @param readIndexTimeoutMs  value to be assigned to property readIndexTimeoutMs
+     */
+    public void setReadIndexTimeoutMs(int readIndexTimeoutMs) {
+        this.readIndexTimeoutMs = readIndexTimeoutMs;
+    }
+
+    /**
+     * Getter method for property <tt>readOnlyLeaseBased</tt>.
+     *
+     * @return property value of readOnlyLeaseBased
+     */
+    public boolean isReadOnlyLeaseBased() {
+        return readOnlyLeaseBased;
+    }
+
+    /**
+     * Setter method for property <tt>readOnlyLeaseBased</tt>.
+     *
+     * @param readOnlyLeaseBased  value to be assigned to property readOnlyLeaseBased
+     */
+    public void setReadOnlyLeaseBased(boolean readOnlyLeaseBased) {
+        this.readOnlyLeaseBased = readOnlyLeaseBased;
+    }
+}
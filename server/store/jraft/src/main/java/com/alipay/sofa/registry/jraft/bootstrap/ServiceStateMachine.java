@@ -24,8 +24,9 @@ import com.alipay.sofa.jraft.entity.LeaderChangeContext;
 import com.alipay.sofa.jraft.error.RaftError;
 import com.alipay.sofa.jraft.storage.snapshot.SnapshotReader;
 import com.alipay.sofa.jraft.storage.snapshot.SnapshotWriter;
+import com.alipay.sofa.registry.jraft.command.BatchProcessRequest;
 import com.alipay.sofa.registry.jraft.command.ProcessRequest;
-import com.alipay.sofa.registry.jraft.command.ProcessResponse;
+import com.alipay.sofa.registry.jraft.processor.BatchTaskClosure;
 import com.alipay.sofa.registry.jraft.processor.FollowerProcessListener;
 import com.alipay.sofa.registry.jraft.processor.LeaderProcessListener;
 import com.alipay.sofa.registry.jraft.processor.LeaderTaskClosure;
@@ -111,37 +112,44 @@ public class ServiceStateMachine extends StateMachineAdapter {
     public void onApply(Iterator iter) {
         while (iter.hasNext()) {
             Closure done = iter.done();
-            ByteBuffer data = iter.getData();
-            ProcessRequest request;
-            LeaderTaskClosure closure = null;
 
-            if (done != null) {
-                closure = (LeaderTaskClosure) done;
-                request = closure.getRequest();
-            } else {
-
-                Hessian2Input input = new Hessian2Input(new ByteArrayInputStream(data.array()));
-                SerializerFactory serializerFactory = new SerializerFactory();
-                input.setSerializerFactory(serializerFactory);
-                try {
-                    request = (ProcessRequest) input.readObject();
-                    input.close();
-                } catch (IOException e) {
-                    throw new RuntimeException(
-                        "IOException occurred when Hessian serializer decode!", e);
+            if (done instanceof BatchTaskClosure) {
+                // proposed by this leader, apply every request and fan out the responses
+                for (LeaderTaskClosure closure : ((BatchTaskClosure) done).getClosures()) {
+                    closure.setResponse(Processor.getInstance().process(closure.getRequest()));
                 }
-            }
-
-            ProcessResponse response = Processor.getInstance().process(request);
-
-            if (closure != null) {
-                closure.setResponse(response);
+                done.run(Status.OK());
+            } else if (done != null) {
+                LeaderTaskClosure closure = (LeaderTaskClosure) done;
+                closure.setResponse(Processor.getInstance().process(closure.getRequest()));
                 closure.run(Status.OK());
+            } else {
+                Object command = decode(iter.getData());
+                if (command instanceof BatchProcessRequest) {
+                    for (ProcessRequest request : ((BatchProcessRequest) command).getRequests()) {
+                        Processor.getInstance().process(request);
+                    }
+                } else {
+                    Processor.getInstance().process((ProcessRequest) command);
+                }
             }
             iter.next();
         }
     }
 
+    private Object decode(ByteBuffer data) {
+        Hessian2Input input = new Hessian2Input(new ByteArrayInputStream(data.array()));
+        SerializerFactory serializerFactory = new SerializerFactory();
+        input.setSerializerFactory(serializerFactory);
+        try {
+            Object command = input.readObject();
+            input.close();
+            return command;
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred when Hessian serializer decode!", e);
+        }
+    }
+
     @Override
     public void onSnapshotSave(final SnapshotWriter writer, final Closure done) {
 
@@ -38,6 +38,9 @@ public class ProcessRequest implements Serializable {
     /** traget service unique name */
     private String   serviceName;
 
+    /** command id of the service method on the sender, 0 if unknown */
+    private int      commandId;
+
     public ProcessRequest() {
     }
 
@@ -113,6 +116,24 @@ public class ProcessRequest implements Serializable {
         this.serviceName = serviceName;
     }
 
+    /**
+     * Getter method for property <tt>commandId</tt>.
+     *
+     * @return property value of commandId
+     */
+    public int getCommandId() {
+        return commandId;
+    }
+
+    /**
+     * Setter method for property <tt>commandId</tt>.
+     *
+     * @param commandId  value to be assigned to property commandId
+     */
+    public void setCommandId(int commandId) {
+        this.commandId = commandId;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("ProcessRequest{");
@@ -120,6 +141,7 @@ public class ProcessRequest implements Serializable {
         sb.append(", methodArgSigs=").append(Arrays.toString(methodArgSigs));
         sb.append(", methodArgs=").append(Arrays.toString(methodArgs));
         sb.append(", serviceName='").append(serviceName).append('\'');
+        sb.append(", commandId=").append(commandId);
         sb.append('}');
         return sb.toString();
     }
@@ -17,7 +17,6 @@
 package com.alipay.sofa.registry.jraft.handler;
 
 import com.alipay.remoting.AsyncContext;
-import com.alipay.sofa.jraft.entity.Task;
 import com.alipay.sofa.registry.jraft.bootstrap.RaftServer;
 import com.alipay.sofa.registry.jraft.command.ProcessRequest;
 import com.alipay.sofa.registry.jraft.command.ProcessResponse;
@@ -29,13 +28,8 @@ import com.alipay.sofa.registry.remoting.Channel;
 import com.alipay.sofa.registry.remoting.ChannelHandler;
 import com.alipay.sofa.registry.remoting.RemotingException;
 import com.alipay.sofa.registry.remoting.bolt.BoltChannel;
-import com.caucho.hessian.io.Hessian2Output;
-import com.caucho.hessian.io.SerializerFactory;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.lang.reflect.Method;
-import java.nio.ByteBuffer;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -110,16 +104,16 @@ public class RaftServerHandler implements ChannelHandler {
         Method method = Processor.getInstance().getWorkMethod(processRequest);
 
         if (Processor.getInstance().isLeaderReadMethod(method)) {
-            Object obj = Processor.getInstance().process(method, processRequest);
+            Object obj = Processor.getInstance().process(processRequest);
             long cost = System.currentTimeMillis() - start;
-            LOGGER.info("Raft server process request self cost:{},request={}", cost, processRequest);
+            LOGGER.debug("Raft server process request self cost:{},request={}", cost, processRequest);
             asyncContext.sendResponse(obj);
         } else {
             LeaderTaskClosure closure = new LeaderTaskClosure();
             closure.setRequest(processRequest);
             closure.setDone(status -> {
                 long cost = System.currentTimeMillis() - start;
-                LOGGER.info("Raft server process request by task cost:{},request={},status={}", cost, processRequest,
+                LOGGER.debug("Raft server process request by task cost:{},request={},status={}", cost, processRequest,
                         status);
                 if (status.isOk()) {
                     asyncContext.sendResponse(closure.getResponse());
@@ -128,31 +122,8 @@ public class RaftServerHandler implements ChannelHandler {
                 }
             });
 
-            Task task = createTask(closure, processRequest);
-
-            raftServer.getNode().apply(task);
-        }
-    }
-
-    protected Task createTask(LeaderTaskClosure closure, ProcessRequest request) {
-
-        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-        Hessian2Output hessianOutput = new Hessian2Output(byteStream);
-        SerializerFactory serializerFactory = new SerializerFactory();
-        hessianOutput.setSerializerFactory(serializerFactory);
-        try {
-            hessianOutput.writeObject(request);
-            hessianOutput.close();
-        } catch (IOException e) {
-            LOGGER.error("Raft receive message serialize error!", e);
+            raftServer.getProposalBatcher().propose(closure);
         }
-
-        byte[] cmdBytes = byteStream.toByteArray();
-
-        ByteBuffer data = ByteBuffer.allocate(cmdBytes.length);
-        data.put(cmdBytes);
-        data.flip();
-        return new Task(data, closure);
     }
 
     @Override
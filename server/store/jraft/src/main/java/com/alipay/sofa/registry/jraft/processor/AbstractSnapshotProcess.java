@@ -21,18 +21,47 @@ import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.util.FileUtils;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
 
 /**
+ * Snapshot file is streamed as chunks, so neither save nor load encodes all the values at once:
+ * <pre>
+ * magic(int) kind(byte) [length(int) chunk(bytes)]... 0(int) crc32 of chunks(long)
+ * </pre>
+ * A map is saved as chunks of at most {@link #CHUNK_ENTRIES} entries, other values as one chunk.
+ * The snapshot saved as one hessian encoded value before is still loaded.
  *
  * @author shangyu.wh
  * @version $Id: AbstractSnapshotProcess.java, v 0.1 2018-05-29 12:12 shangyu.wh Exp $
  */
 public abstract class AbstractSnapshotProcess implements SnapshotProcess {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractSnapshotProcess.class);
+    private static final Logger LOGGER        = LoggerFactory
+                                                  .getLogger(AbstractSnapshotProcess.class);
+
+    private static final int    MAGIC         = 0x52534E50;
+
+    private static final byte   KIND_VALUE    = 0;
+
+    private static final byte   KIND_MAP      = 1;
+
+    private static final int    BUFFER_SIZE   = 64 * 1024;
+
+    static final int            CHUNK_ENTRIES = 1024;
 
     /**
      * save snapshot to file
@@ -40,12 +69,60 @@ public abstract class AbstractSnapshotProcess implements SnapshotProcess {
      * @param values
      * @return
      */
+    @SuppressWarnings("unchecked")
     public boolean save(String path, Object values) {
-        try {
-            FileUtils.writeByteArrayToFile(new File(path), CommandCodec.encodeCommand(values),
-                false);
+        if (values instanceof Map) {
+            return saveEntries(path, ((Map<Object, Object>) values)::forEach);
+        }
+        return save(path, KIND_VALUE, out -> out.accept(values));
+    }
+
+    /**
+     * save the entries visited by the visitor to file as a map
+     * @param path
+     * @param visitor
+     * @return
+     */
+    public boolean saveEntries(String path, Consumer<BiConsumer<Object, Object>> visitor) {
+        return save(path, KIND_MAP, out -> {
+            Map<Object, Object> chunk = new HashMap<>();
+            visitor.accept((key, value) -> {
+                chunk.put(key, value);
+                if (chunk.size() >= CHUNK_ENTRIES) {
+                    out.accept(chunk);
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                out.accept(chunk);
+            }
+        });
+    }
+
+    private boolean save(String path, byte kind, Consumer<Consumer<Object>> chunks) {
+        File file = new File(path);
+        try (FileOutputStream fileOut = new FileOutputStream(file);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut,
+                    BUFFER_SIZE))) {
+            CRC32 crc = new CRC32();
+            out.writeInt(MAGIC);
+            out.writeByte(kind);
+            chunks.accept(chunk -> {
+                byte[] bs = CommandCodec.encodeCommand(chunk);
+                try {
+                    out.writeInt(bs.length);
+                    out.write(bs);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                crc.update(bs, 0, bs.length);
+            });
+            out.writeInt(0);
+            out.writeLong(crc.getValue());
+            out.flush();
+            fileOut.getChannel().force(true);
             return true;
-        } catch (IOException e) {
+        } catch (IOException | RuntimeException e) {
             LOGGER.error("Fail to save snapshot", e);
             return false;
         }
@@ -60,12 +137,59 @@ public abstract class AbstractSnapshotProcess implements SnapshotProcess {
      * @throws IOException
      */
     public <T> T load(String path, Class<T> clazz) throws IOException {
-        byte[] bs = FileUtils.readFileToByteArray(new File(path));
+        File file = new File(path);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(
+            file), BUFFER_SIZE))) {
+            if (file.length() < 4 || in.readInt() != MAGIC) {
+                return loadValue(file, clazz);
+            }
+            byte kind = in.readByte();
+            Map<Object, Object> entries = kind == KIND_MAP ? newMap(clazz) : null;
+            Object value = null;
+            CRC32 crc = new CRC32();
+            int length;
+            while ((length = in.readInt()) != 0) {
+                if (length < 0 || length > file.length()) {
+                    throw new IOException("Invalid chunk length " + length + " of snapshot " + path);
+                }
+                byte[] bs = new byte[length];
+                in.readFully(bs);
+                crc.update(bs, 0, length);
+                try {
+                    if (entries != null) {
+                        entries.putAll(CommandCodec.decodeCommand(bs, HashMap.class));
+                    } else {
+                        value = CommandCodec.decodeCommand(bs, clazz);
+                    }
+                } catch (IllegalStateException e) {
+                    throw new IOException("Fail to decode chunk of snapshot " + path, e);
+                }
+            }
+            if (in.readLong() != crc.getValue()) {
+                throw new IOException("Fail to check crc of snapshot " + path);
+            }
+            return clazz.cast(entries != null ? entries : value);
+        }
+    }
+
+    private <T> T loadValue(File file, Class<T> clazz) throws IOException {
+        byte[] bs = FileUtils.readFileToByteArray(file);
         if (bs != null && bs.length > 0) {
             return CommandCodec.decodeCommand(bs, clazz);
         }
-        throw new IOException("Fail to load snapshot from " + path + ", content: "
+        throw new IOException("Fail to load snapshot from " + file.getPath() + ", content: "
                               + Arrays.toString(bs));
     }
 
-}
\ No newline at end of file
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> newMap(Class<?> clazz) throws IOException {
+        if (!Map.class.isAssignableFrom(clazz)) {
+            throw new IOException("Can not load map snapshot as " + clazz.getName());
+        }
+        try {
+            return (Map<Object, Object>) clazz.newInstance();
+        } catch (ReflectiveOperationException e) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.jraft.processor;
+
+import java.util.List;
+
+import com.alipay.sofa.jraft.Closure;
+import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+
+/**
+ * Closure of a batch log entry, its status is passed to the closure of every request in the batch.
+ *
+ * @author agent
+ * @version $Id: BatchTaskClosure.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class BatchTaskClosure implements Closure {
+
+    private static final Logger           LOGGER = LoggerFactory.getLogger(BatchTaskClosure.class);
+
+    private final List<LeaderTaskClosure> closures;
+
+    /**
+     * constructor
+     * @param closures
+     */
+    public BatchTaskClosure(List<LeaderTaskClosure> closures) {
+        this.closures = closures;
+    }
+
+    @Override
+    public void run(Status status) {
+        for (LeaderTaskClosure closure : closures) {
+            try {
+                closure.run(status);
+            } catch (Throwable e) {
+                LOGGER.error("Run closure of request {} error!", closure.getRequest(), e);
+            }
+        }
+    }
+
+    /**
+     * Getter method for property <tt>closures</tt>.
+     *
+     * @return property value of closures
+     */
+    public List<LeaderTaskClosure> getClosures() {
+        return closures;
+    }
+}
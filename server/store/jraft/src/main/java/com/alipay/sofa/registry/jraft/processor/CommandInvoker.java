@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.jraft.processor;
+
+import com.alipay.sofa.registry.jraft.command.ProcessRequest;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Invokes a method of a registered service by a method handle which is bound to the service and
+ * spreads the argument array, so a command is invoked by invokeExact without binding or boxing.
+ *
+ * @author agent
+ * @version $Id: CommandInvoker.java, v 0.1 2026-10-17 agent Exp $
+ */
+final class CommandInvoker {
+
+    private final int          commandId;
+
+    private final String       serviceId;
+
+    private final Method       method;
+
+    private final String[]     methodArgSigs;
+
+    private final MethodHandle methodHandle;
+
+    /**
+     * constructor
+     * @param commandId
+     * @param serviceId
+     * @param method
+     * @param methodArgSigs
+     * @param target
+     * @throws IllegalAccessException
+     */
+    CommandInvoker(int commandId, String serviceId, Method method, String[] methodArgSigs,
+                   Object target) throws IllegalAccessException {
+        this.commandId = commandId;
+        this.serviceId = serviceId;
+        this.method = method;
+        this.methodArgSigs = methodArgSigs;
+        this.methodHandle = MethodHandles.lookup().unreflect(method).bindTo(target)
+            .asSpreader(Object[].class, method.getParameterCount())
+            .asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    /**
+     * whether the request is a command of this invoker
+     * @param request
+     * @return
+     */
+    boolean matches(ProcessRequest request) {
+        return serviceId.equals(request.getServiceName())
+               && method.getName().equals(request.getMethodName())
+               && Arrays.equals(methodArgSigs, request.getMethodArgSigs());
+    }
+
+    /**
+     * invoke the method with arguments
+     * @param args
+     * @return
+     * @throws Throwable
+     */
+    Object invoke(Object[] args) throws Throwable {
+        return (Object) methodHandle.invokeExact(args);
+    }
+
+    /**
+     * Getter method for property <tt>commandId</tt>.
+     *
+     * @return property value of commandId
+     */
+    int getCommandId() {
+        return commandId;
+    }
+
+    /**
+     * Getter method for property <tt>method</tt>.
+     *
+     * @return property value of method
+     */
+    Method getMethod() {
+        return method;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.jraft.processor;
+
+import java.util.Set;
+
+/**
+ * Saves a {@link SnapshotMap.Snapshot} taken by {@link SnapshotProcess#copy()} of the owning
+ * service, the snapshot is closed after saved. Everything else is delegated to the owner, so a
+ * copy loads into the live service like the service itself.
+ *
+ * @author agent
+ * @version $Id: MapSnapshotProcess.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class MapSnapshotProcess extends AbstractSnapshotProcess {
+
+    private final SnapshotProcess            owner;
+
+    private final SnapshotMap.Snapshot<?, ?> snapshot;
+
+    /**
+     * constructor
+     * @param owner
+     * @param snapshot
+     */
+    public MapSnapshotProcess(SnapshotProcess owner, SnapshotMap.Snapshot<?, ?> snapshot) {
+        this.owner = owner;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public boolean save(String path) {
+        try {
+            return saveEntries(path, snapshot::forEach);
+        } finally {
+            snapshot.close();
+        }
+    }
+
+    @Override
+    public boolean load(String path) {
+        return owner.load(path);
+    }
+
+    @Override
+    public SnapshotProcess copy() {
+        return owner.copy();
+    }
+
+    @Override
+    public Set<String> getSnapshotFileNames() {
+        return owner.getSnapshotFileNames();
+    }
+}
@@ -23,10 +23,11 @@ import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.store.api.annotation.ReadOnLeader;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -37,18 +38,19 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class Processor {
 
-    private static final Logger              LOG                  = LoggerFactory
-                                                                      .getLogger(Processor.class);
+    private static final Logger         LOG                  = LoggerFactory
+                                                                 .getLogger(Processor.class);
 
-    private Map<String, Map<String, Method>> workerMethods        = new HashMap<>();
+    private Map<String, Object>         workers              = new HashMap<>();
 
-    private Map<String, Object>              workers              = new HashMap<>();
+    private Map<String, CommandInvoker> invokerMap           = new ConcurrentHashMap<>();
 
-    private Map<String, MethodHandle>        methodHandleMap      = new ConcurrentHashMap<>();
+    /** invokers indexed by command id - 1 */
+    private volatile CommandInvoker[]   invokers             = new CommandInvoker[0];
 
-    private final static String              SERVICE_METHOD_SPLIT = "#@#";
+    private final static String         SERVICE_METHOD_SPLIT = "#@#";
 
-    private static volatile Processor        instance;
+    private static volatile Processor   instance;
 
     /**
      * get processor instance
@@ -65,62 +67,56 @@ public class Processor {
         return instance;
     }
 
-    public void addWorker(String serviceId, Class interfaceClazz, Object target) {
+    public synchronized void addWorker(String serviceId, Class interfaceClazz, Object target) {
         if (workers.get(serviceId) != null) {
             LOG.warn("Service {} has bean existed!", serviceId);
             return;
         }
 
-        Map<String, Method> publicMethods = new HashMap();
+        List<CommandInvoker> newInvokers = new ArrayList<>(Arrays.asList(invokers));
+        Map<String, CommandInvoker> newInvokerMap = new HashMap<>();
         for (Method m : interfaceClazz.getMethods()) {
-            StringBuilder mSigs = new StringBuilder();
-            mSigs.append(m.getName());
-            for (Class<?> paramType : m.getParameterTypes()) {
-                mSigs.append(paramType.getName());
+            String[] sigs = new String[m.getParameterCount()];
+            Class<?>[] paramTypes = m.getParameterTypes();
+            for (int i = 0; i < paramTypes.length; i++) {
+                sigs[i] = paramTypes[i].getName();
+            }
+            String methodKey = getMethodKey(serviceId, m.getName(), sigs);
+            try {
+                CommandInvoker invoker = new CommandInvoker(newInvokers.size() + 1, serviceId, m,
+                    sigs, target);
+                newInvokers.add(invoker);
+                newInvokerMap.put(methodKey, invoker);
+            } catch (IllegalAccessException e) {
+                LOG.error("Service {} lookup method {} error!", serviceId, m.getName(), e);
+                throw new RuntimeException(String.format("Service %s lookup method %s error!",
+                    serviceId, m.getName()), e);
             }
-            publicMethods.put(mSigs.toString(), m);
         }
 
-        workerMethods.put(serviceId, publicMethods);
+        invokerMap.putAll(newInvokerMap);
+        invokers = newInvokers.toArray(new CommandInvoker[newInvokers.size()]);
         workers.put(serviceId, target);
     }
 
     public ProcessResponse process(ProcessRequest request) {
         String methodName = request.getMethodName();
         String serviceId = request.getServiceName();
-        Object target = workers.get(serviceId);
-        if (target == null) {
+        if (workers.get(serviceId) == null) {
             LOG.warn("Can not find service {} from process!", serviceId);
             return ProcessResponse.fail(
                 String.format("Can not find service %s from process!", serviceId)).build();
         }
 
         try {
-            StringBuilder methodKeyBuffer = new StringBuilder();
-            methodKeyBuffer.append(methodName);
-            String[] sig = request.getMethodArgSigs();
-            for (int i = 0; i < sig.length; i++) {
-                methodKeyBuffer.append(sig[i]);
-            }
-            String methodKey = methodKeyBuffer.toString();
-            Method appServiceMethod = workerMethods.get(serviceId).get(methodKey);
-            if (appServiceMethod == null) {
+            CommandInvoker invoker = getInvoker(request);
+            if (invoker == null) {
                 LOG.error("Can not find method {} from processor by serviceId {}", methodName,
                     serviceId);
                 throw new NoSuchMethodException("Can not find method from processor！");
             }
-            Object[] methodArg = request.getMethodArgs();
-            String methodHandleKey = getMethodHandleKey(serviceId, methodKey);
-
-            MethodHandle methodHandle = methodHandleMap.computeIfAbsent(methodHandleKey,k-> {
-                try {
-                    return MethodHandles.lookup().unreflect(appServiceMethod);
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException("Process service request lookup method error!",e);
-                }
-            });
 
-            Object ret = methodHandle.bindTo(target).invokeWithArguments(methodArg);
+            Object ret = invoker.invoke(request.getMethodArgs());
             if (ret != null) {
                 return ProcessResponse.ok(ret).build();
             } else {
@@ -135,109 +131,58 @@ public class Processor {
         }
     }
 
-    public ProcessResponse process(Method method, ProcessRequest request) {
-        String methodName = request.getMethodName();
-        String serviceId = request.getServiceName();
-        Object target = workers.get(serviceId);
-        if (target == null) {
-            LOG.warn("Can not find service {} from process!", serviceId);
-            return ProcessResponse.fail(
-                String.format("Can not find service %s from process!", serviceId)).build();
-        }
-
-        try {
-            Object[] methodArg = request.getMethodArgs();
-
-            StringBuilder methodKeyBuffer = new StringBuilder();
-            methodKeyBuffer.append(methodName);
-            String[] sig = request.getMethodArgSigs();
-            for (int i = 0; i < sig.length; i++) {
-                methodKeyBuffer.append(sig[i]);
-            }
-            String methodKey = methodKeyBuffer.toString();
-            String methodHandleKey = getMethodHandleKey(serviceId, methodKey);
-            MethodHandle methodHandle = methodHandleMap.computeIfAbsent(methodHandleKey,k-> {
-                try {
-                    return MethodHandles.lookup().unreflect(method);
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException("Process service request lookup method error!",e);
-                }
-            });
-
-            Object ret = methodHandle.bindTo(target).invokeWithArguments(methodArg);
-            if (ret != null) {
-                return ProcessResponse.ok(ret).build();
-            } else {
-                return ProcessResponse.ok().build();
-            }
-
-        } catch (Throwable e) {
-            LOG.error("Process service request {} error!", request, e);
-            return ProcessResponse.fail(
-                String.format("Process service %s method %s error!", serviceId, methodName))
-                .build();
+    /**
+     * invoke the request on local service directly
+     * @param request
+     * @return the result of method
+     * @throws Throwable
+     */
+    public Object invoke(ProcessRequest request) throws Throwable {
+        CommandInvoker invoker = getInvoker(request);
+        if (invoker == null) {
+            throw new NoSuchMethodException(String.format(
+                "Can not find service %s method %s from processor!", request.getServiceName(),
+                request.getMethodName()));
         }
+        return invoker.invoke(request.getMethodArgs());
     }
 
     public Method getWorkMethod(ProcessRequest request) {
-        String methodName = request.getMethodName();
-        String serviceId = request.getServiceName();
-        try {
-
-            StringBuilder methodKeyBuffer = new StringBuilder();
-            methodKeyBuffer.append(methodName);
-            String[] sig = request.getMethodArgSigs();
-            for (int i = 0; i < sig.length; i++) {
-                methodKeyBuffer.append(sig[i]);
-            }
-            Method appServiceMethod = workerMethods.get(serviceId).get(methodKeyBuffer.toString());
-            if (appServiceMethod == null) {
-                LOG.error("Can not find method {} from processor by serviceId {}", methodName,
-                    serviceId);
-                throw new NoSuchMethodException("Can not find method from processor！");
-            }
-            return appServiceMethod;
-        } catch (Exception e) {
-            LOG.error("Process request {} get WorkMethod error!", request, e);
+        CommandInvoker invoker = getInvoker(request);
+        if (invoker == null) {
+            LOG.error("Can not find method {} from processor by serviceId {}",
+                request.getMethodName(), request.getServiceName());
             throw new RuntimeException(String.format("Process request %s get WorkMethod error!",
                 request));
         }
+        return invoker.getMethod();
     }
 
-    public MethodHandle getWorkMethodHandle(ProcessRequest request) {
-        String methodName = request.getMethodName();
-        String serviceId = request.getServiceName();
-        try {
+    /**
+     * get the command id of service method, which is set to request to invoke the method
+     * without looking up by name
+     * @param serviceId
+     * @param methodName
+     * @param methodArgSigs
+     * @return the command id, or 0 if the method is not registered
+     */
+    public int getCommandId(String serviceId, String methodName, String[] methodArgSigs) {
+        CommandInvoker invoker = invokerMap.get(getMethodKey(serviceId, methodName, methodArgSigs));
+        return invoker != null ? invoker.getCommandId() : 0;
+    }
 
-            StringBuilder methodKeyBuffer = new StringBuilder();
-            methodKeyBuffer.append(methodName);
-            String[] sig = request.getMethodArgSigs();
-            for (int i = 0; i < sig.length; i++) {
-                methodKeyBuffer.append(sig[i]);
-            }
-            String methodKey = methodKeyBuffer.toString();
-            Method appServiceMethod = workerMethods.get(serviceId).get(methodKey);
-            if (appServiceMethod == null) {
-                LOG.error("Can not find method {} from processor by serviceId {}", methodName,
-                        serviceId);
-                throw new NoSuchMethodException("Can not find method from processor！");
+    private CommandInvoker getInvoker(ProcessRequest request) {
+        int commandId = request.getCommandId();
+        CommandInvoker[] invokers = this.invokers;
+        if (commandId > 0 && commandId <= invokers.length) {
+            CommandInvoker invoker = invokers[commandId - 1];
+            // command id is assigned locally, check it for the request from other node
+            if (invoker.matches(request)) {
+                return invoker;
             }
-
-            String methodHandleKey = getMethodHandleKey(serviceId, methodKey);
-
-            MethodHandle methodHandle = methodHandleMap.computeIfAbsent(methodHandleKey,k-> {
-                try {
-                    return MethodHandles.lookup().unreflect(appServiceMethod);
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException("Process service request lookup method error!",e);
-                }
-            });
-            return methodHandle;
-        } catch (Exception e) {
-            LOG.error("Process request {} get WorkMethod error!", request, e);
-            throw new RuntimeException(String.format("Process request %s get WorkMethod error!",
-                    request));
         }
+        return invokerMap.get(getMethodKey(request.getServiceName(), request.getMethodName(),
+            request.getMethodArgSigs()));
     }
 
     public Map<String, Object> getWorkers() {
@@ -251,8 +196,15 @@ public class Processor {
         return false;
     }
 
-    public String getMethodHandleKey(String serviceId, String methodKey) {
-        return serviceId + SERVICE_METHOD_SPLIT + methodKey;
+    private String getMethodKey(String serviceId, String methodName, String[] methodArgSigs) {
+        StringBuilder methodKeyBuffer = new StringBuilder();
+        methodKeyBuffer.append(serviceId).append(SERVICE_METHOD_SPLIT).append(methodName);
+        if (methodArgSigs != null) {
+            for (String sig : methodArgSigs) {
+                methodKeyBuffer.append(sig);
+            }
+        }
+        return methodKeyBuffer.toString();
     }
 
 }
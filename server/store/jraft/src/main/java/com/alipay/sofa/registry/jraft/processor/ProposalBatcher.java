@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.jraft.processor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.alipay.sofa.jraft.Closure;
+import com.alipay.sofa.jraft.Node;
+import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.jraft.entity.Task;
+import com.alipay.sofa.jraft.error.RaftError;
+import com.alipay.sofa.registry.jraft.command.BatchProcessRequest;
+import com.alipay.sofa.registry.jraft.command.ProcessRequest;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.caucho.hessian.io.Hessian2Output;
+import com.caucho.hessian.io.SerializerFactory;
+
+/**
+ * Groups the requests proposed concurrently into one raft log entry.
+ *
+ * The waiting requests are drained by a single thread into a {@link BatchProcessRequest} of at
+ * most maxBatchSize requests, which is applied as one task with a {@link BatchTaskClosure}. The
+ * thread does not wait for the task to be committed, so several batches are replicated in a
+ * pipeline. A single waiting request is applied as a plain {@link ProcessRequest}.
+ *
+ * A maxBatchSize of 1 turns batching off and every log entry is a plain {@link ProcessRequest}.
+ * Followers before the introduction of {@link BatchProcessRequest} cannot decode batched entries,
+ * so batching must only be enabled after every server of the raft group is upgraded.
+ *
+ * @author agent
+ * @version $Id: ProposalBatcher.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class ProposalBatcher {
+
+    private static final Logger                    LOGGER  = LoggerFactory
+                                                               .getLogger(ProposalBatcher.class);
+
+    private final Node                             node;
+
+    private final int                              maxBatchSize;
+
+    private final BlockingQueue<LeaderTaskClosure> queue;
+
+    private final Thread                           thread;
+
+    private volatile boolean                       stopped = false;
+
+    /**
+     * constructor
+     * @param node
+     * @param maxBatchSize
+     * @param queueSize
+     */
+    public ProposalBatcher(Node node, int maxBatchSize, int queueSize) {
+        this.node = node;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.queue = new LinkedBlockingQueue<>(queueSize);
+        this.thread = new Thread(this::run, "RaftProposalBatcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * start the drain thread
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * stop the drain thread and fail the waiting requests
+     */
+    public void shutdown() {
+        stopped = true;
+        thread.interrupt();
+        List<LeaderTaskClosure> closures = new ArrayList<>();
+        queue.drainTo(closures);
+        fail(closures, new Status(RaftError.ESHUTDOWN, "Raft proposal batcher is shutdown!"));
+    }
+
+    /**
+     * propose a request, the closure is run when the request is applied or failed
+     * @param closure
+     */
+    public void propose(LeaderTaskClosure closure) {
+        if (stopped) {
+            closure.run(new Status(RaftError.ESHUTDOWN, "Raft proposal batcher is shutdown!"));
+            return;
+        }
+        if (!queue.offer(closure)) {
+            LOGGER.warn("Too many raft proposals waiting, reject request {}", closure.getRequest());
+            closure.run(new Status(RaftError.EBUSY, "Too many raft proposals waiting!"));
+            return;
+        }
+        // shutdown may have drained the queue between the check and the offer, whoever
+        // removes the closure from the queue is the one to run it
+        if (stopped && queue.remove(closure)) {
+            closure.run(new Status(RaftError.ESHUTDOWN, "Raft proposal batcher is shutdown!"));
+        }
+    }
+
+    private void run() {
+        while (!stopped) {
+            List<LeaderTaskClosure> closures = new ArrayList<>();
+            try {
+                LeaderTaskClosure first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                closures.add(first);
+                queue.drainTo(closures, maxBatchSize - 1);
+                node.apply(createTask(closures));
+            } catch (InterruptedException e) {
+                LOGGER.info("Raft proposal batcher interrupted!");
+                fail(closures, new Status(RaftError.EINTR, "Raft proposal interrupted!"));
+            } catch (Throwable e) {
+                LOGGER.error("Raft proposal batcher apply {} requests error!", closures.size(), e);
+                fail(closures,
+                    new Status(RaftError.EINTERNAL, "Raft proposal error:%s", e.getMessage()));
+            }
+        }
+    }
+
+    private Task createTask(List<LeaderTaskClosure> closures) throws IOException {
+        if (closures.size() == 1) {
+            LeaderTaskClosure closure = closures.get(0);
+            return new Task(encode(closure.getRequest()), closure);
+        }
+        List<ProcessRequest> requests = new ArrayList<>(closures.size());
+        for (LeaderTaskClosure closure : closures) {
+            requests.add(closure.getRequest());
+        }
+        Closure done = new BatchTaskClosure(closures);
+        return new Task(encode(new BatchProcessRequest(requests)), done);
+    }
+
+    private void fail(List<LeaderTaskClosure> closures, Status status) {
+        new BatchTaskClosure(closures).run(status);
+    }
+
+    /**
+     * encode the log entry data
+     * @param request
+     * @return
+     * @throws IOException
+     */
+    public static ByteBuffer encode(Object request) throws IOException {
+        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        Hessian2Output hessianOutput = new Hessian2Output(byteStream);
+        SerializerFactory serializerFactory = new SerializerFactory();
+        hessianOutput.setSerializerFactory(serializerFactory);
+        hessianOutput.writeObject(request);
+        hessianOutput.close();
+
+        byte[] cmdBytes = byteStream.toByteArray();
+
+        ByteBuffer data = ByteBuffer.allocate(cmdBytes.length);
+        data.put(cmdBytes);
+        data.flip();
+        return data;
+    }
+}
@@ -17,13 +17,18 @@
 package com.alipay.sofa.registry.jraft.processor;
 
 import com.alipay.sofa.registry.jraft.bootstrap.RaftClient;
+import com.alipay.sofa.registry.jraft.bootstrap.RaftServer;
 import com.alipay.sofa.registry.jraft.command.ProcessRequest;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.store.api.annotation.ReadIndex;
+import com.alipay.sofa.registry.store.api.annotation.StaleRead;
 
-import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  *
@@ -32,13 +37,20 @@ import java.lang.reflect.Method;
  */
 public class ProxyHandler implements InvocationHandler {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(ProxyHandler.class);
+    private static final Logger         LOGGER          = LoggerFactory
+                                                            .getLogger(ProxyHandler.class);
 
-    private final Class<?>      interfaceType;
+    private final Class<?>              interfaceType;
 
-    private final String        serviceId;
+    private final String                serviceId;
 
-    private final RaftClient    client;
+    private final RaftClient            client;
+
+    private final Supplier<RaftServer>  serverSupplier;
+
+    private final Map<Method, String[]> paramSignatures = new ConcurrentHashMap<>();
+
+    private final Map<Method, Integer>  commandIds      = new ConcurrentHashMap<>();
 
     /**
      * constructor
@@ -47,23 +59,39 @@ public class ProxyHandler implements InvocationHandler {
      * @param client
      */
     public ProxyHandler(Class<?> interfaceType, String serviceId, RaftClient client) {
+        this(interfaceType, serviceId, client, () -> null);
+    }
+
+    /**
+     * constructor
+     * @param interfaceType
+     * @param serviceId
+     * @param client
+     * @param serverSupplier supply the local raft server to read on follower, maybe started later
+     */
+    public ProxyHandler(Class<?> interfaceType, String serviceId, RaftClient client,
+                        Supplier<RaftServer> serverSupplier) {
         this.interfaceType = interfaceType;
         this.serviceId = serviceId;
         this.client = client;
+        this.serverSupplier = serverSupplier;
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) {
         try {
 
+            String[] methodArgSigs = paramSignatures.computeIfAbsent(method,
+                m -> createParamSignature(m.getParameterTypes()));
             ProcessRequest request = new ProcessRequest();
-            request.setMethodArgSigs(createParamSignature(method.getParameterTypes()));
+            request.setMethodArgSigs(methodArgSigs);
             request.setMethodName(method.getName());
             request.setMethodArgs(args);
 
             request.setServiceName(serviceId);
+            request.setCommandId(getCommandId(method, methodArgSigs));
 
-            if (Processor.getInstance().isLeaderReadMethod(method)) {
+            if (Processor.getInstance().isLeaderReadMethod(method) || isFollowerReadable(method)) {
                 return doInvokeMethod(request);
             }
             return client.sendRequest(request);
@@ -76,18 +104,25 @@ public class ProxyHandler implements InvocationHandler {
         }
     }
 
+    private boolean isFollowerReadable(Method method) {
+        StaleRead staleRead = method.getAnnotation(StaleRead.class);
+        boolean readIndex = method.isAnnotationPresent(ReadIndex.class);
+        if (staleRead == null && !readIndex) {
+            return false;
+        }
+        RaftServer server = serverSupplier.get();
+        if (server == null) {
+            return false;
+        }
+        if (staleRead != null) {
+            return server.isCaughtUp(staleRead.maxLagMillis());
+        }
+        return server.readIndex();
+    }
+
     private Object doInvokeMethod(ProcessRequest request) {
         try {
-
-            Object target = Processor.getInstance().getWorkers().get(serviceId);
-            if (target == null) {
-                LOGGER.error("Can not find service {} from process!", serviceId);
-                throw new RuntimeException(String.format("Can not find service %s from process!",
-                    serviceId));
-            }
-
-            MethodHandle methodHandle = Processor.getInstance().getWorkMethodHandle(request);
-            return methodHandle.bindTo(target).invokeWithArguments(request.getMethodArgs());
+            return Processor.getInstance().invoke(request);
         } catch (Throwable e) {
             LOGGER.error("Directly invoke read only service {} method {} error!",
                 request.getServiceName(), request.getMethodName(), e);
@@ -97,6 +132,19 @@ public class ProxyHandler implements InvocationHandler {
         }
     }
 
+    private int getCommandId(Method method, String[] methodArgSigs) {
+        Integer commandId = commandIds.get(method);
+        if (commandId != null) {
+            return commandId;
+        }
+        // the service may be registered after the proxy created, only cache the found id
+        int id = Processor.getInstance().getCommandId(serviceId, method.getName(), methodArgSigs);
+        if (id > 0) {
+            commandIds.put(method, id);
+        }
+        return id;
+    }
+
     private String[] createParamSignature(Class<?>[] args) {
         if (args == null || args.length == 0) {
             return new String[] {};
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.jraft.processor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A ConcurrentHashMap which can take a point-in-time snapshot without copying all the entries.
+ *
+ * While a snapshot is open, the first write of every key records the value before the write, so
+ * the snapshot is the current entries untouched since it was taken plus the recorded values, and
+ * only costs memory for the keys written during the snapshot. Writes through the views
+ * (keySet, values, entrySet and their iterators) are not recorded and must not be used.
+ *
+ * The snapshot must be taken when no write is in flight, e.g. on the raft state machine thread.
+ *
+ * @author agent
+ * @version $Id: SnapshotMap.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class SnapshotMap<K, V> extends ConcurrentHashMap<K, V> {
+
+    private static final long                      serialVersionUID = 3196542128263085313L;
+
+    private static final Object                    ABSENT           = new Object();
+
+    private transient volatile Map<Object, Object> undo;
+
+    /**
+     * constructor
+     */
+    public SnapshotMap() {
+    }
+
+    /**
+     * constructor
+     * @param map
+     */
+    public SnapshotMap(Map<? extends K, ? extends V> map) {
+        putAll(map);
+    }
+
+    /**
+     * take a snapshot of current entries, a new snapshot closes the previous one
+     * @return
+     */
+    public synchronized Snapshot<K, V> snapshot() {
+        Map<Object, Object> undo = new ConcurrentHashMap<>();
+        this.undo = undo;
+        return new Snapshot<>(this, undo);
+    }
+
+    private synchronized void closeSnapshot(Map<Object, Object> undo) {
+        if (this.undo == undo) {
+            this.undo = null;
+        }
+    }
+
+    private void beforeWrite(Object key) {
+        Map<Object, Object> undo = this.undo;
+        if (undo != null && key != null && !undo.containsKey(key)) {
+            V old = super.get(key);
+            undo.putIfAbsent(key, old == null ? ABSENT : old);
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        beforeWrite(key);
+        return super.put(key, value);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        beforeWrite(key);
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        beforeWrite(key);
+        return super.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        beforeWrite(key);
+        return super.remove(key, value);
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        beforeWrite(key);
+        return super.replace(key, value);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        beforeWrite(key);
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        beforeWrite(key);
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        beforeWrite(key);
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        beforeWrite(key);
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        beforeWrite(key);
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public void clear() {
+        if (undo != null) {
+            for (K key : keySet()) {
+                beforeWrite(key);
+            }
+        }
+        super.clear();
+    }
+
+    /**
+     * point-in-time view of a SnapshotMap
+     */
+    public static class Snapshot<K, V> {
+
+        private final SnapshotMap<K, V>   map;
+
+        private final Map<Object, Object> undo;
+
+        private Snapshot(SnapshotMap<K, V> map, Map<Object, Object> undo) {
+            this.map = map;
+            this.undo = undo;
+        }
+
+        /**
+         * visit the entries when the snapshot was taken, a key written during the visit may be
+         * visited twice with the same value
+         * @param action
+         */
+        @SuppressWarnings("unchecked")
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            for (Map.Entry<K, V> entry : map.entrySet()) {
+                // read the value before checking the undo, which is recorded before a write
+                V value = entry.getValue();
+                if (!undo.containsKey(entry.getKey())) {
+                    action.accept(entry.getKey(), value);
+                }
+            }
+            undo.forEach((key, value) -> {
+                if (value != ABSENT) {
+                    action.accept((K) key, (V) value);
+                }
+            });
+        }
+
+        /**
+         * stop recording the writes
+         */
+        public void close() {
+            map.closeSnapshot(undo);
+        }
+    }
+}
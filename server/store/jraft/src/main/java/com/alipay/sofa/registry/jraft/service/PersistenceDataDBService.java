@@ -17,6 +17,8 @@
 package com.alipay.sofa.registry.jraft.service;
 
 import com.alipay.sofa.registry.jraft.processor.AbstractSnapshotProcess;
+import com.alipay.sofa.registry.jraft.processor.MapSnapshotProcess;
+import com.alipay.sofa.registry.jraft.processor.SnapshotMap;
 import com.alipay.sofa.registry.jraft.processor.SnapshotProcess;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
@@ -37,12 +39,12 @@ import java.util.concurrent.ConcurrentHashMap;
 @RaftService
 public class PersistenceDataDBService extends AbstractSnapshotProcess implements DBService {
 
-    private static final Logger               LOGGER            = LoggerFactory
-                                                                    .getLogger(PersistenceDataDBService.class);
+    private static final Logger         LOGGER            = LoggerFactory
+                                                              .getLogger(PersistenceDataDBService.class);
 
-    private ConcurrentHashMap<String, Object> serviceMap        = new ConcurrentHashMap<>();
+    private SnapshotMap<String, Object> serviceMap        = new SnapshotMap<>();
 
-    private Set<String>                       snapShotFileNames = new HashSet<>();
+    private Set<String>                 snapShotFileNames = new HashSet<>();
 
     /**
      * constructor
@@ -55,12 +57,12 @@ public class PersistenceDataDBService extends AbstractSnapshotProcess implements
      * @param serviceMap
      */
     public PersistenceDataDBService(ConcurrentHashMap<String, Object> serviceMap) {
-        this.serviceMap = serviceMap;
+        this.serviceMap = new SnapshotMap<>(serviceMap);
     }
 
     @Override
     public SnapshotProcess copy() {
-        return new PersistenceDataDBService(new ConcurrentHashMap<>(serviceMap));
+        return new MapSnapshotProcess(this, serviceMap.snapshot());
     }
 
     @Override
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import com.alipay.sofa.registry.jraft.command.ProcessRequest;
+import com.alipay.sofa.registry.jraft.command.ProcessResponse;
+import com.alipay.sofa.registry.jraft.processor.Processor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ * @author agent
+ * @version $Id: TestProcessor.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class TestProcessor {
+
+    public interface CommandService {
+
+        int add(int a, int b);
+
+        void incr();
+
+        String echo(String value);
+    }
+
+    public static class CommandServiceImpl implements CommandService {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        @Override
+        public void incr() {
+            count.getAndIncrement();
+        }
+
+        @Override
+        public String echo(String value) {
+            return value;
+        }
+    }
+
+    private static class HiddenService {
+
+        public String echo(String value) {
+            return value;
+        }
+    }
+
+    private static final String             SERVICE_ID = CommandService.class.getName();
+
+    private static final CommandServiceImpl SERVICE    = new CommandServiceImpl();
+
+    static {
+        Processor.getInstance().addWorker(SERVICE_ID, CommandService.class, SERVICE);
+    }
+
+    private ProcessRequest createRequest(String methodName, String[] sigs, Object[] args) {
+        ProcessRequest request = new ProcessRequest();
+        request.setServiceName(SERVICE_ID);
+        request.setMethodName(methodName);
+        request.setMethodArgSigs(sigs);
+        request.setMethodArgs(args);
+        return request;
+    }
+
+    @Test
+    public void testProcessByCommandId() {
+        Processor processor = Processor.getInstance();
+        ProcessRequest request = createRequest("add", new String[] { "int", "int" }, new Object[] {
+                1, 2 });
+        int commandId = processor.getCommandId(SERVICE_ID, "add", request.getMethodArgSigs());
+        Assert.assertTrue(commandId > 0);
+        request.setCommandId(commandId);
+        Assert.assertEquals(3, ((ProcessResponse) processor.process(request)).getEntity());
+
+        // void method without arguments
+        ProcessRequest incr = createRequest("incr", new String[] {}, null);
+        incr.setCommandId(processor.getCommandId(SERVICE_ID, "incr", new String[] {}));
+        ProcessResponse response = processor.process(incr);
+        Assert.assertTrue(response.getSuccess());
+        Assert.assertNull(response.getEntity());
+        Assert.assertEquals(1, SERVICE.count.get());
+    }
+
+    @Test
+    public void testProcessByName() {
+        Processor processor = Processor.getInstance();
+        ProcessRequest request = createRequest("echo", new String[] { "java.lang.String" },
+            new Object[] { "value" });
+        Assert.assertEquals("value", processor.process(request).getEntity());
+
+        // command id of other method, as a request from node with different ids
+        request.setCommandId(processor.getCommandId(SERVICE_ID, "add",
+            new String[] { "int", "int" }));
+        Assert.assertEquals("value", processor.process(request).getEntity());
+
+        request.setCommandId(Integer.MAX_VALUE);
+        Assert.assertEquals("value", processor.process(request).getEntity());
+    }
+
+    @Test
+    public void testProcessUnknown() {
+        Processor processor = Processor.getInstance();
+        Assert.assertEquals(0, processor.getCommandId(SERVICE_ID, "unknown", new String[] {}));
+        Assert.assertFalse(processor.process(createRequest("unknown", new String[] {}, null))
+            .getSuccess());
+        ProcessRequest request = createRequest("echo", new String[] {}, null);
+        request.setServiceName("unknown");
+        Assert.assertFalse(processor.process(request).getSuccess());
+    }
+
+    @Test
+    public void testAddInaccessibleWorker() {
+        Processor processor = Processor.getInstance();
+        String serviceId = HiddenService.class.getName();
+        try {
+            processor.addWorker(serviceId, HiddenService.class, new HiddenService());
+            Assert.fail("inaccessible worker should not be registered");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalAccessException);
+        }
+        Assert.assertEquals(0,
+            processor.getCommandId(serviceId, "echo", new String[] { "java.lang.String" }));
+        ProcessRequest request = createRequest("echo", new String[] { "java.lang.String" },
+            new Object[] { "value" });
+        request.setServiceName(serviceId);
+        Assert.assertFalse(processor.process(request).getSuccess());
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.alipay.sofa.jraft.Node;
+import com.alipay.sofa.jraft.Status;
+import com.alipay.sofa.jraft.entity.Task;
+import com.alipay.sofa.jraft.error.RaftError;
+import com.alipay.sofa.registry.jraft.bootstrap.RaftServerConfig;
+import com.alipay.sofa.registry.jraft.command.ProcessRequest;
+import com.alipay.sofa.registry.jraft.processor.LeaderTaskClosure;
+import com.alipay.sofa.registry.jraft.processor.ProposalBatcher;
+
+/**
+ *
+ * @author agent
+ * @version $Id: TestProposalBatcher.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class TestProposalBatcher {
+
+    private final List<Task> applied = new CopyOnWriteArrayList<>();
+
+    /**
+     * a node which commits every task at once
+     */
+    private Node createNode() {
+        return (Node) Proxy.newProxyInstance(Node.class.getClassLoader(),
+            new Class<?>[] { Node.class }, (proxy, method, args) -> {
+                if ("apply".equals(method.getName())) {
+                    Task task = (Task) args[0];
+                    applied.add(task);
+                    task.getDone().run(Status.OK());
+                }
+                return null;
+            });
+    }
+
+    private static LeaderTaskClosure createClosure(List<Status> statuses) {
+        LeaderTaskClosure closure = new LeaderTaskClosure();
+        closure.setRequest(new ProcessRequest());
+        closure.setDone(statuses::add);
+        return closure;
+    }
+
+    @Test
+    public void testBatchOffByDefault() throws InterruptedException {
+        ProposalBatcher batcher = new ProposalBatcher(createNode(),
+            new RaftServerConfig().getProposalBatchSize(), 1024);
+        List<Status> statuses = new CopyOnWriteArrayList<>();
+        // queued before the drain thread starts, so they would all fit in one batch
+        for (int i = 0; i < 10; i++) {
+            batcher.propose(createClosure(statuses));
+        }
+        batcher.start();
+        for (int i = 0; i < 300 && statuses.size() < 10; i++) {
+            Thread.sleep(10);
+        }
+        batcher.shutdown();
+
+        Assert.assertEquals(10, statuses.size());
+        Assert.assertEquals(10, applied.size());
+        for (Task task : applied) {
+            Assert.assertTrue(task.getDone() instanceof LeaderTaskClosure);
+        }
+    }
+
+    @Test
+    public void testProposeAfterShutdown() {
+        ProposalBatcher batcher = new ProposalBatcher(createNode(), 64, 1024);
+        batcher.start();
+        batcher.shutdown();
+
+        List<Status> statuses = new CopyOnWriteArrayList<>();
+        batcher.propose(createClosure(statuses));
+        Assert.assertEquals(1, statuses.size());
+        Assert.assertEquals(RaftError.ESHUTDOWN, statuses.get(0).getRaftError());
+    }
+
+    @Test
+    public void testProposeRaceShutdown() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            ProposalBatcher batcher = new ProposalBatcher(createNode(), 64, 1024);
+            batcher.start();
+            AtomicInteger runCount = new AtomicInteger();
+            int threads = 4;
+            int perThread = 50;
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(threads);
+            for (int t = 0; t < threads; t++) {
+                new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            LeaderTaskClosure closure = new LeaderTaskClosure();
+                            closure.setRequest(new ProcessRequest());
+                            closure.setDone(status -> runCount.incrementAndGet());
+                            batcher.propose(closure);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }).start();
+            }
+            start.countDown();
+            batcher.shutdown();
+            done.await();
+            // the drain thread may still be applying its last batch
+            for (int i = 0; i < 100 && runCount.get() < threads * perThread; i++) {
+                Thread.sleep(10);
+            }
+            // every request is answered exactly once, applied or failed
+            Assert.assertEquals(threads * perThread, runCount.get());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import com.alipay.sofa.registry.jraft.bootstrap.RaftClient;
+import com.alipay.sofa.registry.jraft.bootstrap.RaftServer;
+import com.alipay.sofa.registry.jraft.command.ProcessRequest;
+import com.alipay.sofa.registry.jraft.processor.Processor;
+import com.alipay.sofa.registry.jraft.processor.ProxyHandler;
+import com.alipay.sofa.registry.store.api.annotation.ReadIndex;
+import com.alipay.sofa.registry.store.api.annotation.StaleRead;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ * @author agent
+ * @version $Id: TestProxyHandler.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class TestProxyHandler {
+
+    public interface ReadService {
+
+        @ReadIndex
+        String readIndex(String value);
+
+        @StaleRead(maxLagMillis = 60000)
+        String staleRead(String value);
+    }
+
+    public static class ReadServiceImpl implements ReadService {
+
+        @Override
+        public String readIndex(String value) {
+            return value;
+        }
+
+        @Override
+        public String staleRead(String value) {
+            return value;
+        }
+    }
+
+    private static class TestRaftServer extends RaftServer {
+
+        private final AtomicInteger readIndexCount = new AtomicInteger();
+
+        private final AtomicBoolean readIndexOk    = new AtomicBoolean(true);
+
+        TestRaftServer() {
+            super("/tmp/TestProxyHandler", "TestProxyHandler", "127.0.0.1:9614", "127.0.0.1:9614");
+        }
+
+        @Override
+        public boolean readIndex() {
+            readIndexCount.getAndIncrement();
+            return readIndexOk.get();
+        }
+    }
+
+    private static class TestRaftClient extends RaftClient {
+
+        private final AtomicInteger sendCount = new AtomicInteger();
+
+        TestRaftClient() {
+            super("TestProxyHandler", "127.0.0.1:9614", null);
+        }
+
+        @Override
+        public Object sendRequest(ProcessRequest request) {
+            sendCount.getAndIncrement();
+            return "leader";
+        }
+    }
+
+    private ReadService createProxy(TestRaftServer server, TestRaftClient client) {
+        String serviceId = ReadService.class.getName();
+        Processor.getInstance().addWorker(serviceId, ReadService.class, new ReadServiceImpl());
+        return (ReadService) Proxy.newProxyInstance(ReadService.class.getClassLoader(),
+            new Class<?>[] { ReadService.class }, new ProxyHandler(ReadService.class, serviceId,
+                client, () -> server));
+    }
+
+    @Test
+    public void testReadIndex() {
+        TestRaftServer server = new TestRaftServer();
+        TestRaftClient client = new TestRaftClient();
+        ReadService readService = createProxy(server, client);
+
+        Assert.assertEquals("local", readService.readIndex("local"));
+        Assert.assertEquals("local", readService.readIndex("local"));
+        Assert.assertEquals(2, server.readIndexCount.get());
+        Assert.assertEquals(0, client.sendCount.get());
+
+        // without the read index the request is sent to leader by raft client
+        server.readIndexOk.set(false);
+        Assert.assertEquals("leader", readService.readIndex("local"));
+        Assert.assertEquals(3, server.readIndexCount.get());
+        Assert.assertEquals(1, client.sendCount.get());
+    }
+
+    @Test
+    public void testStaleRead() {
+        TestRaftServer server = new TestRaftServer();
+        TestRaftClient client = new TestRaftClient();
+        ReadService readService = createProxy(server, client);
+
+        server.readIndexOk.set(false);
+        Assert.assertEquals("leader", readService.staleRead("local"));
+        Assert.assertEquals(1, server.readIndexCount.get());
+        Assert.assertEquals(1, client.sendCount.get());
+
+        server.readIndexOk.set(true);
+        Assert.assertEquals("local", readService.staleRead("local"));
+        Assert.assertEquals(2, server.readIndexCount.get());
+
+        // caught up within the max lag, read local state machine without read index
+        Assert.assertEquals("local", readService.staleRead("local"));
+        Assert.assertEquals(2, server.readIndexCount.get());
+        Assert.assertEquals(1, client.sendCount.get());
+    }
+}
@@ -23,12 +23,15 @@ import com.alipay.sofa.jraft.entity.RaftOutter.SnapshotMeta;
 import com.alipay.sofa.jraft.storage.snapshot.SnapshotReader;
 import com.alipay.sofa.jraft.storage.snapshot.SnapshotWriter;
 import com.alipay.sofa.registry.jraft.bootstrap.ServiceStateMachine;
+import com.alipay.sofa.registry.jraft.command.BatchProcessRequest;
 import com.alipay.sofa.registry.jraft.command.ProcessRequest;
 import com.alipay.sofa.registry.jraft.command.ProcessResponse;
+import com.alipay.sofa.registry.jraft.processor.BatchTaskClosure;
 import com.alipay.sofa.registry.jraft.processor.FollowerProcessListener;
 import com.alipay.sofa.registry.jraft.processor.LeaderProcessListener;
 import com.alipay.sofa.registry.jraft.processor.LeaderTaskClosure;
 import com.alipay.sofa.registry.jraft.processor.Processor;
+import com.alipay.sofa.registry.jraft.processor.ProposalBatcher;
 import com.alipay.sofa.registry.jraft.processor.SnapshotProcess;
 import com.caucho.hessian.io.Hessian2Output;
 import com.caucho.hessian.io.SerializerFactory;
@@ -47,6 +50,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -208,6 +212,63 @@ public class TestServiceStateMachine {
 
     }
 
+    @Test
+    public void testApplyBatch() {
+        ServiceStateMachine serviceStateMachine = ServiceStateMachine.getInstance();
+
+        Processor processor = Processor.getInstance();
+
+        processor.addWorker(TestServiceStateMachine.class.getSimpleName(),
+            TestServiceStateMachine.class, new TestServiceStateMachine());
+
+        AtomicInteger count = new AtomicInteger();
+        AtomicInteger doneCount = new AtomicInteger();
+
+        List<LeaderTaskClosure> closures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            LeaderTaskClosure leaderTaskClosure = new LeaderTaskClosure();
+            leaderTaskClosure.setRequest(createRequest(TestServiceStateMachine.class.getSimpleName(),
+                "batch" + i));
+            leaderTaskClosure.setDone(status -> {
+                if (status.isOk()) {
+                    doneCount.getAndIncrement();
+                }
+            });
+            closures.add(leaderTaskClosure);
+        }
+        BatchTaskClosure batchTaskClosure = new BatchTaskClosure(closures);
+
+        serviceStateMachine.onApply(new TestIterator(count, ByteBuffer.allocate(10),
+            batchTaskClosure));
+
+        Assert.assertEquals(3, doneCount.get());
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("batch" + i,
+                ((ProcessResponse) closures.get(i).getResponse()).getEntity());
+        }
+    }
+
+    @Test
+    public void testApplyBatchFollower() throws IOException {
+        ServiceStateMachine serviceStateMachine = ServiceStateMachine.getInstance();
+
+        Processor processor = Processor.getInstance();
+
+        String serviceName = "BatchFollowerWorker";
+        TestServiceStateMachine worker = new TestServiceStateMachine();
+        processor.addWorker(serviceName, TestServiceStateMachine.class, worker);
+
+        AtomicInteger count = new AtomicInteger();
+
+        BatchProcessRequest batchProcessRequest = new BatchProcessRequest(Arrays.asList(
+            createRequest(serviceName, "follower0"), createRequest(serviceName, "follower1")));
+
+        serviceStateMachine.onApply(new TestIterator(count, ProposalBatcher
+            .encode(batchProcessRequest), null));
+
+        Assert.assertEquals(Arrays.asList("follower0", "follower1"), worker.invoked);
+    }
+
     @Test
     public void testOnSnapshotSave() throws InterruptedException {
         ServiceStateMachine serviceStateMachine = ServiceStateMachine.getInstance();
@@ -241,7 +302,7 @@ public class TestServiceStateMachine {
                 return new HashSet<>(Arrays.asList(new String[]{"aaa","sss"}));
             }
         };
-        processor.addWorker(process.getClass().getSimpleName(),process.getClass(),process);
+        processor.addWorker(process.getClass().getSimpleName(), SnapshotProcess.class, process);
 
         serviceStateMachine.onSnapshotSave(new SnapshotWriter(){
 
@@ -333,7 +394,7 @@ public class TestServiceStateMachine {
                 return new HashSet<>(Arrays.asList(new String[] { "aaa", "sss" }));
             }
         };
-        processor.addWorker(process.getClass().getSimpleName(), process.getClass(), process);
+        processor.addWorker(process.getClass().getSimpleName(), SnapshotProcess.class, process);
 
         boolean ret = serviceStateMachine.onSnapshotLoad(new SnapshotReader() {
 
@@ -559,7 +620,67 @@ public class TestServiceStateMachine {
 
     }
 
+    private final List<String> invoked = new ArrayList<>();
+
     public String testMethod(String ss) {
+        invoked.add(ss);
         return ss;
     }
+
+    private ProcessRequest createRequest(String serviceName, String arg) {
+        ProcessRequest processRequest = new ProcessRequest();
+        processRequest.setMethodArgs(new Object[] { arg });
+        processRequest.setMethodArgSigs(new String[] { "java.lang.String" });
+        processRequest.setMethodName("testMethod");
+        processRequest.setServiceName(serviceName);
+        return processRequest;
+    }
+
+    private static class TestIterator implements Iterator {
+        private final AtomicInteger count;
+        private final ByteBuffer    data;
+        private final Closure       done;
+
+        TestIterator(AtomicInteger count, ByteBuffer data, Closure done) {
+            this.count = count;
+            this.data = data;
+            this.done = done;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return count.get() == 0;
+        }
+
+        @Override
+        public ByteBuffer next() {
+            count.getAndIncrement();
+            return null;
+        }
+
+        @Override
+        public ByteBuffer getData() {
+            return data;
+        }
+
+        @Override
+        public long getIndex() {
+            return 0;
+        }
+
+        @Override
+        public long getTerm() {
+            return 0;
+        }
+
+        @Override
+        public Closure done() {
+            return done;
+        }
+
+        @Override
+        public void setErrorAndRollback(long ntail, Status st) {
+
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import com.alipay.sofa.registry.jraft.command.CommandCodec;
+import com.alipay.sofa.registry.jraft.processor.MapSnapshotProcess;
+import com.alipay.sofa.registry.jraft.processor.SnapshotMap;
+import com.alipay.sofa.registry.jraft.processor.SnapshotProcess;
+import com.alipay.sofa.registry.jraft.service.PersistenceDataDBService;
+import com.alipay.sofa.registry.util.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * @author agent
+ * @version $Id: TestSnapshotProcess.java, v 0.1 2026-10-17 agent Exp $
+ */
+public class TestSnapshotProcess {
+
+    @Test
+    public void testSnapshotMap() {
+        SnapshotMap<String, String> map = new SnapshotMap<>();
+        map.put("keep", "v0");
+        map.put("update", "v0");
+        map.put("remove", "v0");
+
+        SnapshotMap.Snapshot<String, String> snapshot = map.snapshot();
+        map.put("update", "v1");
+        map.put("update", "v2");
+        map.remove("remove");
+        map.put("add", "v1");
+
+        Map<String, String> entries = new HashMap<>();
+        snapshot.forEach(entries::put);
+        snapshot.close();
+
+        Map<String, String> expect = new HashMap<>();
+        expect.put("keep", "v0");
+        expect.put("update", "v0");
+        expect.put("remove", "v0");
+        Assert.assertEquals(expect, entries);
+
+        // writes after close are not recorded
+        map.put("keep", "v1");
+        entries.clear();
+        snapshot.forEach(entries::put);
+        Assert.assertEquals("v1", entries.get("keep"));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        File file = File.createTempFile("TestSnapshotProcess", "db");
+        file.deleteOnExit();
+
+        ConcurrentHashMap<String, Object> data = new ConcurrentHashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            data.put("dataInfoId" + i, "value" + i);
+        }
+        PersistenceDataDBService service = new PersistenceDataDBService(data);
+        SnapshotProcess copy = service.copy();
+        Assert.assertTrue(copy instanceof MapSnapshotProcess);
+        service.put("dataInfoId0", "changed");
+        service.remove("dataInfoId1");
+        Assert.assertTrue(copy.save(file.getPath()));
+
+        PersistenceDataDBService loaded = new PersistenceDataDBService();
+        Assert.assertTrue(loaded.load(file.getPath()));
+        for (int i = 0; i < 3000; i++) {
+            Assert.assertEquals("value" + i, loaded.get("dataInfoId" + i).getEntity());
+        }
+
+        // a broken snapshot fails the crc check
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(file.length() / 2);
+            int b = raf.read();
+            raf.seek(file.length() / 2);
+            raf.write(b ^ 0xff);
+        }
+        Assert.assertFalse(new PersistenceDataDBService().load(file.getPath()));
+    }
+
+    @Test
+    public void testCopyDelegatesToOwner() throws IOException {
+        File file = File.createTempFile("TestSnapshotProcess", "db");
+        file.deleteOnExit();
+
+        ConcurrentHashMap<String, Object> data = new ConcurrentHashMap<>(Collections.singletonMap(
+            "dataInfoId", "value"));
+        Assert.assertTrue(new PersistenceDataDBService(data).copy().save(file.getPath()));
+
+        // a copy kept by the state machine loads into the live service
+        PersistenceDataDBService service = new PersistenceDataDBService();
+        SnapshotProcess copy = service.copy();
+        Assert.assertEquals(service.getSnapshotFileNames(), copy.getSnapshotFileNames());
+        Assert.assertTrue(copy.load(file.getPath()));
+        Assert.assertEquals("value", service.get("dataInfoId").getEntity());
+
+        // a copy of a copy is taken from the live service too
+        service.put("other", "value");
+        SnapshotProcess next = copy.copy();
+        service.remove("other");
+        Assert.assertTrue(next.save(file.getPath()));
+        PersistenceDataDBService loaded = new PersistenceDataDBService();
+        Assert.assertTrue(loaded.load(file.getPath()));
+        Assert.assertEquals("value", loaded.get("other").getEntity());
+    }
+
+    @Test
+    public void testLoadLegacy() throws IOException {
+        File file = File.createTempFile("TestSnapshotProcess", "db");
+        file.deleteOnExit();
+
+        ConcurrentHashMap<String, Object> data = new ConcurrentHashMap<>(Collections.singletonMap(
+            "dataInfoId", "value"));
+        FileUtils.writeByteArrayToFile(file, CommandCodec.encodeCommand(data), false);
+
+        PersistenceDataDBService loaded = new PersistenceDataDBService();
+        Assert.assertTrue(loaded.load(file.getPath()));
+        Assert.assertEquals("value", loaded.get("dataInfoId").getEntity());
+    }
+}
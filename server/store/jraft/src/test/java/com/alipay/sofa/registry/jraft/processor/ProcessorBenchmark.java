@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.jraft.processor;
+
+import com.alipay.sofa.registry.jraft.command.ProcessRequest;
+import com.alipay.sofa.registry.jraft.command.ProcessResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch benchmark of {@link Processor#process(ProcessRequest)} by command id and by method
+ * name, against the former name lookup with bindTo and invokeWithArguments per call.
+ *
+ * Run {@link #main(String[])} from the test classpath, or pass -prof gc to the JMH runner to
+ * compare allocations as well.
+ * @author agent
+ * @version $Id: ProcessorBenchmark.java, v 0.1 2026-10-17 agent Exp $
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessorBenchmark {
+
+    public interface BenchmarkService {
+
+        Object put(String key, Object value, Long version);
+    }
+
+    public static class BenchmarkServiceImpl implements BenchmarkService {
+
+        @Override
+        public Object put(String key, Object value, Long version) {
+            return value;
+        }
+    }
+
+    private static final String              SERVICE_ID = BenchmarkService.class.getName();
+
+    private Processor                        processor;
+
+    private ProcessRequest                   byId;
+
+    private ProcessRequest                   byName;
+
+    private Map<String, Map<String, Method>> workerMethods;
+
+    private Map<String, Object>              workers;
+
+    private Map<String, MethodHandle>        methodHandleMap;
+
+    @Setup
+    public void setUp() throws Exception {
+        processor = Processor.getInstance();
+        BenchmarkService target = new BenchmarkServiceImpl();
+        processor.addWorker(SERVICE_ID, BenchmarkService.class, target);
+
+        byName = createRequest();
+        byId = createRequest();
+        byId.setCommandId(processor.getCommandId(SERVICE_ID, byId.getMethodName(),
+            byId.getMethodArgSigs()));
+
+        Method method = BenchmarkService.class.getMethod("put", String.class, Object.class,
+            Long.class);
+        Map<String, Method> methods = new HashMap<>();
+        methods.put("put" + String.class.getName() + Object.class.getName() + Long.class.getName(),
+            method);
+        workerMethods = new HashMap<>();
+        workerMethods.put(SERVICE_ID, methods);
+        workers = new HashMap<>();
+        workers.put(SERVICE_ID, target);
+        methodHandleMap = new HashMap<>();
+    }
+
+    private ProcessRequest createRequest() {
+        ProcessRequest request = new ProcessRequest();
+        request.setServiceName(SERVICE_ID);
+        request.setMethodName("put");
+        request.setMethodArgSigs(new String[] { String.class.getName(), Object.class.getName(),
+                Long.class.getName() });
+        request.setMethodArgs(new Object[] { "dataInfoId", "value", 1L });
+        return request;
+    }
+
+    @Benchmark
+    public Object processById() {
+        return processor.process(byId);
+    }
+
+    @Benchmark
+    public Object processByName() {
+        return processor.process(byName);
+    }
+
+    @Benchmark
+    public Object processLegacy() throws Throwable {
+        ProcessRequest request = byName;
+        StringBuilder methodKeyBuffer = new StringBuilder();
+        methodKeyBuffer.append(request.getMethodName());
+        for (String sig : request.getMethodArgSigs()) {
+            methodKeyBuffer.append(sig);
+        }
+        String methodKey = methodKeyBuffer.toString();
+        Method method = workerMethods.get(request.getServiceName()).get(methodKey);
+        MethodHandle methodHandle = methodHandleMap.computeIfAbsent(request.getServiceName()
+                                                                    + "#@#" + methodKey, k -> {
+            try {
+                return MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Object ret = methodHandle.bindTo(workers.get(request.getServiceName()))
+            .invokeWithArguments(request.getMethodArgs());
+        return ProcessResponse.ok(ret).build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProcessorBenchmark.class.getSimpleName()).build())
+            .run();
+    }
+}